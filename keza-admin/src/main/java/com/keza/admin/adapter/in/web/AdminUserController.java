@@ -4,7 +4,9 @@ import com.keza.admin.application.dto.AdminUserResponse;
 import com.keza.admin.application.dto.AdminUserSearchCriteria;
 import com.keza.admin.application.usecase.AdminUserUseCase;
 import com.keza.common.dto.ApiResponse;
+import com.keza.common.dto.PageCursor;
 import com.keza.common.dto.PagedResponse;
+import com.keza.common.dto.PagingMode;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -29,7 +31,12 @@ public class AdminUserController {
             @RequestParam(required = false) Boolean active,
             @RequestParam(required = false) String search,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) PagingMode paging,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        size = Math.max(1, Math.min(size, 100));
 
         AdminUserSearchCriteria criteria = AdminUserSearchCriteria.builder()
                 .kycStatus(kycStatus)
@@ -38,6 +45,12 @@ public class AdminUserController {
                 .search(search)
                 .build();
 
+        if (PagingMode.isCursor(paging, cursor)) {
+            PagedResponse<AdminUserResponse> response = adminUserUseCase.listUsers(
+                    criteria, PageCursor.decode(cursor), size, includeTotal);
+            return ResponseEntity.ok(ApiResponse.success(response));
+        }
+
         Pageable pageable = PageRequest.of(page, size);
         PagedResponse<AdminUserResponse> response = adminUserUseCase.listUsers(criteria, pageable);
         return ResponseEntity.ok(ApiResponse.success(response));
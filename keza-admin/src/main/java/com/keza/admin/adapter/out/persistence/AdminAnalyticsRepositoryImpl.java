@@ -9,12 +9,18 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Slf4j
 @Repository
 @Transactional(readOnly = true)
 public class AdminAnalyticsRepositoryImpl implements AdminAnalyticsRepository {
 
+    /**
+     * Investments that count towards the average and median amounts.
+     */
+    private static final String COUNTED_INVESTMENT_STATUSES = "'COMPLETED', 'COOLING_OFF', 'PENDING'";
+
     @PersistenceContext
     private EntityManager em;
 
@@ -89,9 +95,12 @@ public class AdminAnalyticsRepositoryImpl implements AdminAnalyticsRepository {
 
     @Override
     public BigDecimal averageInvestmentAmount() {
-        String sql = "SELECT COALESCE(AVG(amount), 0) FROM investments WHERE status IN ('COMPLETED', 'COOLING_OFF', 'PENDING')";
-        Object result = em.createNativeQuery(sql).getSingleResult();
-        return result instanceof BigDecimal bd ? bd : new BigDecimal(result.toString());
+        return platformStatistic("average_investment_amount");
+    }
+
+    @Override
+    public BigDecimal medianInvestmentAmount() {
+        return platformStatistic("median_investment_amount");
     }
 
     @Override
@@ -119,10 +128,7 @@ public class AdminAnalyticsRepositoryImpl implements AdminAnalyticsRepository {
 
     @Override
     public BigDecimal averageFundingPercentage() {
-        String sql = "SELECT COALESCE(AVG(CASE WHEN target_amount > 0 THEN (raised_amount / target_amount) * 100 ELSE 0 END), 0) " +
-                "FROM campaigns WHERE status IN ('LIVE', 'FUNDED', 'CLOSED') AND deleted = false";
-        Object result = em.createNativeQuery(sql).getSingleResult();
-        return result instanceof BigDecimal bd ? bd : new BigDecimal(result.toString());
+        return platformStatistic("average_funding_percentage");
     }
 
     // User analytics
@@ -152,4 +158,38 @@ public class AdminAnalyticsRepositoryImpl implements AdminAnalyticsRepository {
         String sql = "SELECT COUNT(*) FROM users WHERE created_at >= NOW() - INTERVAL '" + days + " days' AND deleted = false";
         return ((Number) em.createNativeQuery(sql).getSingleResult()).longValue();
     }
+
+    // Platform statistics
+
+    @Override
+    @Transactional
+    public void refreshPlatformStatistics() {
+        String sql = "INSERT INTO platform_statistics (id, investment_count, average_investment_amount, " +
+                "median_investment_amount, average_funding_percentage, refreshed_at) " +
+                "SELECT 1, i.investment_count, i.average_amount, i.median_amount, c.average_funding, NOW() FROM " +
+                "(SELECT COUNT(*) AS investment_count, COALESCE(AVG(amount), 0) AS average_amount, " +
+                "COALESCE(percentile_cont(0.5) WITHIN GROUP (ORDER BY amount), 0) AS median_amount " +
+                "FROM investments WHERE status IN (" + COUNTED_INVESTMENT_STATUSES + ")) i, " +
+                "(SELECT COALESCE(AVG(CASE WHEN target_amount > 0 THEN (raised_amount / target_amount) * 100 ELSE 0 END), 0) AS average_funding " +
+                "FROM campaigns WHERE status IN ('LIVE', 'FUNDED', 'CLOSED') AND deleted = false) c " +
+                "ON CONFLICT (id) DO UPDATE SET investment_count = EXCLUDED.investment_count, " +
+                "average_investment_amount = EXCLUDED.average_investment_amount, " +
+                "median_investment_amount = EXCLUDED.median_investment_amount, " +
+                "average_funding_percentage = EXCLUDED.average_funding_percentage, " +
+                "refreshed_at = EXCLUDED.refreshed_at";
+        em.createNativeQuery(sql).executeUpdate();
+    }
+
+    /**
+     * Reads one column of the platform statistics; zero until they are first computed.
+     */
+    private BigDecimal platformStatistic(String column) {
+        String sql = "SELECT " + column + " FROM platform_statistics WHERE id = 1";
+        List<?> result = em.createNativeQuery(sql).getResultList();
+        if (result.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+        Object value = result.get(0);
+        return value instanceof BigDecimal bd ? bd : new BigDecimal(value.toString());
+    }
 }
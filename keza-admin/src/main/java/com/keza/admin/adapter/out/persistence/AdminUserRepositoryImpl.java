@@ -1,6 +1,7 @@
 package com.keza.admin.adapter.out.persistence;
 
 import com.keza.admin.domain.port.out.AdminUserRepository;
+import com.keza.common.dto.PageCursor;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
@@ -21,44 +22,18 @@ public class AdminUserRepositoryImpl implements AdminUserRepository {
     @PersistenceContext
     private EntityManager em;
 
+    private static final String USER_COLUMNS = "SELECT u.id, u.email, u.phone, u.first_name, u.last_name, u.user_type, " +
+            "u.kyc_status, u.email_verified, u.phone_verified, u.active, u.locked, " +
+            "u.profile_image_url, u.bio, u.created_at ";
+
     @Override
     public Page<Map<String, Object>> findUsers(String kycStatus, String userType, Boolean active, String search, Pageable pageable) {
-        StringBuilder sql = new StringBuilder(
-                "SELECT u.id, u.email, u.phone, u.first_name, u.last_name, u.user_type, " +
-                "u.kyc_status, u.email_verified, u.phone_verified, u.active, u.locked, " +
-                "u.profile_image_url, u.bio, u.created_at " +
-                "FROM users u WHERE u.deleted = false ");
-
-        StringBuilder countSql = new StringBuilder("SELECT COUNT(*) FROM users u WHERE u.deleted = false ");
-
         Map<String, Object> params = new LinkedHashMap<>();
+        String where = buildUserFilter(kycStatus, userType, active, search, params);
 
-        if (kycStatus != null && !kycStatus.isBlank()) {
-            sql.append("AND u.kyc_status = :kycStatus ");
-            countSql.append("AND u.kyc_status = :kycStatus ");
-            params.put("kycStatus", kycStatus);
-        }
-        if (userType != null && !userType.isBlank()) {
-            sql.append("AND u.user_type = :userType ");
-            countSql.append("AND u.user_type = :userType ");
-            params.put("userType", userType);
-        }
-        if (active != null) {
-            sql.append("AND u.active = :active ");
-            countSql.append("AND u.active = :active ");
-            params.put("active", active);
-        }
-        if (search != null && !search.isBlank()) {
-            sql.append("AND (LOWER(u.first_name) LIKE :search OR LOWER(u.last_name) LIKE :search OR LOWER(u.email) LIKE :search) ");
-            countSql.append("AND (LOWER(u.first_name) LIKE :search OR LOWER(u.last_name) LIKE :search OR LOWER(u.email) LIKE :search) ");
-            params.put("search", "%" + search.toLowerCase() + "%");
-        }
-
-        sql.append("ORDER BY u.created_at DESC ");
-        sql.append("LIMIT :limit OFFSET :offset");
-
-        Query query = em.createNativeQuery(sql.toString());
-        Query countQuery = em.createNativeQuery(countSql.toString());
+        Query query = em.createNativeQuery(USER_COLUMNS + "FROM users u " + where +
+                "ORDER BY u.created_at DESC, u.id DESC LIMIT :limit OFFSET :offset");
+        Query countQuery = em.createNativeQuery("SELECT COUNT(*) FROM users u " + where);
 
         params.forEach((k, v) -> {
             query.setParameter(k, v);
@@ -76,12 +51,66 @@ public class AdminUserRepositoryImpl implements AdminUserRepository {
         return new PageImpl<>(results, pageable, total);
     }
 
+    @Override
+    public List<Map<String, Object>> findUsersAfter(String kycStatus, String userType, Boolean active, String search,
+                                                    PageCursor after, int limit) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder(USER_COLUMNS)
+                .append("FROM users u ")
+                .append(buildUserFilter(kycStatus, userType, active, search, params));
+
+        if (after != null) {
+            // Row comparison matches idx_users_created_at_id, so the scan starts at the cursor
+            sql.append("AND (u.created_at, u.id) < (:cursorCreatedAt, :cursorId) ");
+            params.put("cursorCreatedAt", after.createdAt());
+            params.put("cursorId", after.id());
+        }
+        sql.append("ORDER BY u.created_at DESC, u.id DESC LIMIT :limit");
+
+        Query query = em.createNativeQuery(sql.toString());
+        params.forEach(query::setParameter);
+        query.setParameter("limit", limit);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        return rows.stream().map(this::mapUserRow).toList();
+    }
+
+    @Override
+    public long countMatchingUsers(String kycStatus, String userType, Boolean active, String search) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        Query countQuery = em.createNativeQuery("SELECT COUNT(*) FROM users u " +
+                buildUserFilter(kycStatus, userType, active, search, params));
+        params.forEach(countQuery::setParameter);
+        return ((Number) countQuery.getSingleResult()).longValue();
+    }
+
+    private String buildUserFilter(String kycStatus, String userType, Boolean active, String search,
+                                   Map<String, Object> params) {
+        StringBuilder where = new StringBuilder("WHERE u.deleted = false ");
+
+        if (kycStatus != null && !kycStatus.isBlank()) {
+            where.append("AND u.kyc_status = :kycStatus ");
+            params.put("kycStatus", kycStatus);
+        }
+        if (userType != null && !userType.isBlank()) {
+            where.append("AND u.user_type = :userType ");
+            params.put("userType", userType);
+        }
+        if (active != null) {
+            where.append("AND u.active = :active ");
+            params.put("active", active);
+        }
+        if (search != null && !search.isBlank()) {
+            where.append("AND (LOWER(u.first_name) LIKE :search OR LOWER(u.last_name) LIKE :search OR LOWER(u.email) LIKE :search) ");
+            params.put("search", "%" + search.toLowerCase() + "%");
+        }
+        return where.toString();
+    }
+
     @Override
     public Optional<Map<String, Object>> findUserById(UUID userId) {
-        String sql = "SELECT u.id, u.email, u.phone, u.first_name, u.last_name, u.user_type, " +
-                "u.kyc_status, u.email_verified, u.phone_verified, u.active, u.locked, " +
-                "u.profile_image_url, u.bio, u.created_at " +
-                "FROM users u WHERE u.id = :userId AND u.deleted = false";
+        String sql = USER_COLUMNS + "FROM users u WHERE u.id = :userId AND u.deleted = false";
 
         Query query = em.createNativeQuery(sql);
         query.setParameter("userId", userId);
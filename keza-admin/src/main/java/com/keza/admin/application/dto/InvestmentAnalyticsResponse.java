@@ -21,5 +21,6 @@ public class InvestmentAnalyticsResponse {
     private long cancelledInvestments;
     private BigDecimal totalInvestedAmount;
     private BigDecimal averageInvestmentAmount;
+    private BigDecimal medianInvestmentAmount;
     private long uniqueInvestors;
 }
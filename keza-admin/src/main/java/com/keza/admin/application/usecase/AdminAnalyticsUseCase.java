@@ -48,6 +48,7 @@ public class AdminAnalyticsUseCase {
                 .cancelledInvestments(analyticsRepository.countInvestmentsByStatus("CANCELLED"))
                 .totalInvestedAmount(analyticsRepository.sumTotalInvested())
                 .averageInvestmentAmount(analyticsRepository.averageInvestmentAmount())
+                .medianInvestmentAmount(analyticsRepository.medianInvestmentAmount())
                 .uniqueInvestors(analyticsRepository.countUniqueInvestors())
                 .build();
     }
@@ -3,6 +3,7 @@ package com.keza.admin.application.usecase;
 import com.keza.admin.application.dto.AdminUserResponse;
 import com.keza.admin.application.dto.AdminUserSearchCriteria;
 import com.keza.admin.domain.port.out.AdminUserRepository;
+import com.keza.common.dto.PageCursor;
 import com.keza.common.dto.PagedResponse;
 import com.keza.common.exception.ResourceNotFoundException;
 import com.keza.infrastructure.audit.Audited;
@@ -14,7 +15,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.Instant;
+import java.time.OffsetDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -36,27 +39,33 @@ public class AdminUserUseCase {
                 pageable
         );
 
-        List<AdminUserResponse> content = page.getContent().stream()
-                .map(data -> {
-                    AdminUserResponse response = mapToAdminUserResponse(data);
-                    UUID userId = (UUID) data.get("id");
-                    List<Map<String, Object>> roles = adminUserRepository.findUserRoles(userId);
-                    Set<String> roleNames = roles.stream()
-                            .map(r -> (String) r.get("name"))
-                            .collect(Collectors.toSet());
-                    response.setRoles(roleNames);
-                    return response;
-                })
-                .toList();
-
-        return PagedResponse.<AdminUserResponse>builder()
-                .content(content)
-                .page(page.getNumber())
-                .size(page.getSize())
-                .totalElements(page.getTotalElements())
-                .totalPages(page.getTotalPages())
-                .last(page.isLast())
-                .build();
+        // Rows come back newest first by (created_at, id), so the page can carry a cursor
+        return PagedResponse.from(page.map(this::mapWithRoles),
+                user -> new PageCursor(user.getCreatedAt(), user.getId()));
+    }
+
+    /**
+     * Cursor-paged variant of {@link #listUsers(AdminUserSearchCriteria, Pageable)}; the total is counted only when requested.
+     */
+    @Transactional(readOnly = true)
+    public PagedResponse<AdminUserResponse> listUsers(AdminUserSearchCriteria criteria, PageCursor after,
+                                                      int size, boolean includeTotal) {
+        List<Map<String, Object>> rows = adminUserRepository.findUsersAfter(
+                criteria.getKycStatus(),
+                criteria.getUserType(),
+                criteria.getActive(),
+                criteria.getSearch(),
+                after,
+                size + 1
+        );
+        Long total = includeTotal
+                ? adminUserRepository.countMatchingUsers(criteria.getKycStatus(), criteria.getUserType(),
+                        criteria.getActive(), criteria.getSearch())
+                : null;
+
+        return PagedResponse.fromKeyset(rows, size,
+                data -> new PageCursor(toInstant(data.get("createdAt")), (UUID) data.get("id")),
+                this::mapWithRoles, total);
     }
 
     @Transactional(readOnly = true)
@@ -146,6 +155,17 @@ public class AdminUserUseCase {
         return getUser(userId);
     }
 
+    private AdminUserResponse mapWithRoles(Map<String, Object> data) {
+        AdminUserResponse response = mapToAdminUserResponse(data);
+        UUID userId = (UUID) data.get("id");
+        List<Map<String, Object>> roles = adminUserRepository.findUserRoles(userId);
+        Set<String> roleNames = roles.stream()
+                .map(r -> (String) r.get("name"))
+                .collect(Collectors.toSet());
+        response.setRoles(roleNames);
+        return response;
+    }
+
     private AdminUserResponse mapToAdminUserResponse(Map<String, Object> data) {
         return AdminUserResponse.builder()
                 .id((UUID) data.get("id"))
@@ -161,7 +181,20 @@ public class AdminUserUseCase {
                 .locked(Boolean.TRUE.equals(data.get("locked")))
                 .profileImageUrl((String) data.get("profileImageUrl"))
                 .bio((String) data.get("bio"))
-                .createdAt(data.get("createdAt") instanceof Instant inst ? inst : null)
+                .createdAt(toInstant(data.get("createdAt")))
                 .build();
     }
+
+    /**
+     * Native query timestamps come back as {@link Instant}, {@link Timestamp} or
+     * {@link OffsetDateTime} depending on the driver and Hibernate version.
+     */
+    private static Instant toInstant(Object value) {
+        return switch (value) {
+            case Instant instant -> instant;
+            case Timestamp timestamp -> timestamp.toInstant();
+            case OffsetDateTime offsetDateTime -> offsetDateTime.toInstant();
+            case null, default -> null;
+        };
+    }
 }
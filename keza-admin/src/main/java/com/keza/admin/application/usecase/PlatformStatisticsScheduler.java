@@ -0,0 +1,39 @@
+package com.keza.admin.application.usecase;
+
+import com.keza.admin.domain.port.out.AdminAnalyticsRepository;
+import com.keza.infrastructure.scheduling.SchedulerLease;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Recomputes the platform-wide averages behind the analytics dashboards, so reading them is a
+ * single-row lookup instead of a scan of investments and campaigns. Runs on startup and every
+ * fifteen minutes, the lifetime of the cached analytics, on one replica per tick.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PlatformStatisticsScheduler {
+
+    static final String REFRESH_LEASE = "platform-statistics-refresh";
+
+    static final Duration REFRESH_LEASE_DURATION = Duration.ofSeconds(895);
+
+    private final AdminAnalyticsRepository analyticsRepository;
+    private final SchedulerLease schedulerLease;
+
+    @Scheduled(fixedDelay = 900000)
+    public void refreshPlatformStatistics() {
+        if (!schedulerLease.tryAcquire(REFRESH_LEASE, REFRESH_LEASE_DURATION)) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        analyticsRepository.refreshPlatformStatistics();
+        log.info("Platform statistics refreshed in {} ms", System.currentTimeMillis() - start);
+    }
+}
@@ -6,7 +6,8 @@ import java.math.BigDecimal;
 
 /**
  * Admin-local repository interface for analytics queries via native SQL.
- * Queries users, campaigns, and investments tables directly.
+ * Queries users, campaigns, and investments tables directly. Platform-wide averages are read
+ * from platform_statistics, recomputed by {@link #refreshPlatformStatistics()}.
  */
 @Repository
 public interface AdminAnalyticsRepository {
@@ -34,6 +35,8 @@ public interface AdminAnalyticsRepository {
 
     BigDecimal averageInvestmentAmount();
 
+    BigDecimal medianInvestmentAmount();
+
     long countUniqueInvestors();
 
     // Campaign analytics
@@ -51,4 +54,11 @@ public interface AdminAnalyticsRepository {
     long countUsersByKycStatus(String kycStatus);
 
     long countRegistrationsSince(int days);
+
+    // Platform statistics
+
+    /**
+     * Recomputes the platform-wide averages in one pass over investments and campaigns.
+     */
+    void refreshPlatformStatistics();
 }
@@ -1,5 +1,6 @@
 package com.keza.admin.domain.port.out;
 
+import com.keza.common.dto.PageCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
@@ -18,6 +19,15 @@ public interface AdminUserRepository {
 
     Page<Map<String, Object>> findUsers(String kycStatus, String userType, Boolean active, String search, Pageable pageable);
 
+    /**
+     * Returns up to {@code limit} matching users created before {@code after}, newest first,
+     * or the newest matching users when {@code after} is {@code null}.
+     */
+    List<Map<String, Object>> findUsersAfter(String kycStatus, String userType, Boolean active, String search,
+                                             PageCursor after, int limit);
+
+    long countMatchingUsers(String kycStatus, String userType, Boolean active, String search);
+
     Optional<Map<String, Object>> findUserById(UUID userId);
 
     int updateUserActive(UUID userId, boolean active);
@@ -88,7 +88,7 @@ class AdminUserControllerTest {
                     .content(List.of(sampleUser))
                     .page(0)
                     .size(20)
-                    .totalElements(1)
+                    .totalElements(1L)
                     .totalPages(1)
                     .last(true)
                     .build();
@@ -118,7 +118,7 @@ class AdminUserControllerTest {
                     .content(List.of())
                     .page(0)
                     .size(20)
-                    .totalElements(0)
+                    .totalElements(0L)
                     .totalPages(0)
                     .last(true)
                     .build();
@@ -3,6 +3,7 @@ package com.keza.admin.application.usecase;
 import com.keza.admin.application.dto.AdminUserResponse;
 import com.keza.admin.application.dto.AdminUserSearchCriteria;
 import com.keza.admin.domain.port.out.AdminUserRepository;
+import com.keza.common.dto.PageCursor;
 import com.keza.common.dto.PagedResponse;
 import com.keza.common.exception.ResourceNotFoundException;
 import com.keza.infrastructure.audit.AuditLogger;
@@ -19,7 +20,9 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.sql.Timestamp;
 import java.time.Instant;
+import java.time.OffsetDateTime;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -158,6 +161,70 @@ class AdminUserUseCaseTest {
         }
     }
 
+    @Nested
+    @DisplayName("listUsers with cursor")
+    class ListUsersWithCursor {
+
+        @Test
+        @DisplayName("should fetch one extra row and return a cursor without counting")
+        void shouldReturnNextCursorWithoutCount() {
+            AdminUserSearchCriteria criteria = AdminUserSearchCriteria.builder().build();
+            Map<String, Object> older = new LinkedHashMap<>(sampleUserData);
+            older.put("id", UUID.randomUUID());
+            older.put("createdAt", Instant.now().minusSeconds(60));
+            when(adminUserRepository.findUsersAfter(any(), any(), any(), any(), isNull(), eq(2)))
+                    .thenReturn(List.of(sampleUserData, older));
+            when(adminUserRepository.findUserRoles(userId)).thenReturn(List.of());
+
+            PagedResponse<AdminUserResponse> result = adminUserUseCase.listUsers(criteria, null, 1, false);
+
+            assertThat(result.getContent()).hasSize(1);
+            assertThat(result.isLast()).isFalse();
+            assertThat(PageCursor.decode(result.getNextCursor()))
+                    .isEqualTo(new PageCursor((Instant) sampleUserData.get("createdAt"), userId));
+            assertThat(result.getTotalElements()).isNull();
+            verify(adminUserRepository, never()).countMatchingUsers(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("should build the cursor from a JDBC timestamp")
+        void shouldAcceptTimestampCreatedAt() {
+            Instant createdAt = Instant.parse("2025-03-01T10:00:00Z");
+            Map<String, Object> row = new LinkedHashMap<>(sampleUserData);
+            row.put("createdAt", Timestamp.from(createdAt));
+            Map<String, Object> older = new LinkedHashMap<>(sampleUserData);
+            older.put("id", UUID.randomUUID());
+            older.put("createdAt", OffsetDateTime.parse("2025-03-01T09:00:00Z"));
+            when(adminUserRepository.findUsersAfter(any(), any(), any(), any(), isNull(), eq(2)))
+                    .thenReturn(List.of(row, older));
+            when(adminUserRepository.findUserRoles(userId)).thenReturn(List.of());
+
+            PagedResponse<AdminUserResponse> result = adminUserUseCase.listUsers(
+                    AdminUserSearchCriteria.builder().build(), null, 1, false);
+
+            assertThat(result.getContent().get(0).getCreatedAt()).isEqualTo(createdAt);
+            assertThat(PageCursor.decode(result.getNextCursor())).isEqualTo(new PageCursor(createdAt, userId));
+        }
+
+        @Test
+        @DisplayName("should continue after the given cursor and include the total when requested")
+        void shouldContinueAfterCursor() {
+            AdminUserSearchCriteria criteria = AdminUserSearchCriteria.builder().kycStatus("VERIFIED").build();
+            PageCursor after = new PageCursor(Instant.now(), UUID.randomUUID());
+            when(adminUserRepository.findUsersAfter(eq("VERIFIED"), any(), any(), any(), eq(after), eq(21)))
+                    .thenReturn(List.of(sampleUserData));
+            when(adminUserRepository.findUserRoles(userId)).thenReturn(List.of());
+            when(adminUserRepository.countMatchingUsers("VERIFIED", null, null, null)).thenReturn(21L);
+
+            PagedResponse<AdminUserResponse> result = adminUserUseCase.listUsers(criteria, after, 20, true);
+
+            assertThat(result.getContent()).hasSize(1);
+            assertThat(result.isLast()).isTrue();
+            assertThat(result.getNextCursor()).isNull();
+            assertThat(result.getTotalElements()).isEqualTo(21L);
+        }
+    }
+
     @Nested
     @DisplayName("getUser")
     class GetUser {
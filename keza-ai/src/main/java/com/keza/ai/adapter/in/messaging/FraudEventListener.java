@@ -0,0 +1,94 @@
+package com.keza.ai.adapter.in.messaging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.keza.ai.domain.service.StreamingFraudEngine;
+import com.keza.infrastructure.messaging.EventCodec;
+import com.keza.infrastructure.messaging.event.PaymentEvent;
+import com.keza.investment.domain.event.InvestmentCreatedEvent;
+import com.rabbitmq.client.Channel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static com.keza.infrastructure.config.RabbitMQConfig.FRAUD_LISTENER_FACTORY;
+import static com.keza.infrastructure.config.RabbitMQConfig.FRAUD_PAYMENT_QUEUE;
+
+/**
+ * Feeds investment and payment events to the {@link StreamingFraudEngine}.
+ * <p>
+ * Investments arrive as application events and are checked on {@code fraudEventExecutor} once
+ * their transaction commits. Failed payments arrive on the fraud-payment queue, which receives
+ * every payment event; the other event types are acknowledged and ignored.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FraudEventListener {
+
+    private final StreamingFraudEngine streamingFraudEngine;
+    private final EventCodec eventCodec;
+
+    @Async("fraudEventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInvestmentCreated(InvestmentCreatedEvent event) {
+        try {
+            streamingFraudEngine.onInvestmentCreated(
+                    event.investmentId(), event.investorId(), event.amount(), Instant.now());
+        } catch (RuntimeException e) {
+            log.error("Streaming fraud check failed for investment {}: {}", event.investmentId(), e.getMessage(), e);
+        }
+    }
+
+    @RabbitListener(queues = FRAUD_PAYMENT_QUEUE, containerFactory = FRAUD_LISTENER_FACTORY)
+    public void handlePaymentEvents(List<Message> messages, Channel channel) throws IOException {
+        log.debug("Received batch of {} payment events for fraud checks", messages.size());
+        for (Message message : messages) {
+            handlePaymentEvent(message, channel);
+        }
+    }
+
+    public void handlePaymentEvent(Message message, Channel channel) throws IOException {
+        long deliveryTag = message.getMessageProperties().getDeliveryTag();
+        try {
+            JsonNode event = eventCodec.readTree(message);
+            if (PaymentEvent.PAYMENT_FAILED.equals(event.path("eventType").asText())) {
+                UUID userId = uuidOf(event, "userId");
+                UUID transactionId = uuidOf(event, "transactionId");
+                if (userId != null && transactionId != null) {
+                    Instant at = event.hasNonNull("timestamp")
+                            ? Instant.ofEpochMilli(event.path("timestamp").asLong())
+                            : Instant.now();
+                    streamingFraudEngine.onPaymentFailed(transactionId, userId, at);
+                } else {
+                    log.debug("Skipping fraud check for failed payment without user or transaction: {}",
+                            event.path("providerReference").asText());
+                }
+            }
+            channel.basicAck(deliveryTag, false);
+        } catch (Exception e) {
+            log.error("Failed to apply payment event to fraud rules: {}", e.getMessage(), e);
+            channel.basicNack(deliveryTag, false, false);
+        }
+    }
+
+    private UUID uuidOf(JsonNode event, String field) {
+        String value = event.path(field).asText(null);
+        if (value == null || value.isEmpty() || "null".equals(value)) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.keza.ai.adapter.in.messaging;
+
+import com.keza.ai.adapter.out.messaging.RedisFraudRuleBroadcaster;
+import com.keza.ai.domain.service.FraudRuleRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Recompiles this replica's fraud rules when a change is announced on the rule channel.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FraudRuleChangeListener implements MessageListener {
+
+    private final FraudRuleRegistry fraudRuleRegistry;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(RedisFraudRuleBroadcaster.CHANNEL));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        log.debug("Fraud rule {} changed, reloading rules", new String(message.getBody(), StandardCharsets.UTF_8));
+        fraudRuleRegistry.reload();
+    }
+}
@@ -1,7 +1,10 @@
 package com.keza.ai.adapter.in.web;
 
 import com.keza.ai.application.dto.CampaignOptimizationResponse;
+import com.keza.ai.application.dto.RiskBadgeResponse;
+import com.keza.ai.application.dto.RiskScoreResponse;
 import com.keza.ai.application.usecase.CampaignOptimizationUseCaseBase;
+import com.keza.ai.application.usecase.RiskScoreUseCase;
 import com.keza.common.dto.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -9,6 +12,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -17,6 +21,7 @@ import java.util.UUID;
 public class AiCampaignController {
 
     private final CampaignOptimizationUseCaseBase campaignOptimizationUseCase;
+    private final RiskScoreUseCase riskScoreUseCase;
 
     @GetMapping("/{campaignId}/optimize")
     @PreAuthorize("hasRole('ISSUER') or hasRole('ADMIN')")
@@ -27,4 +32,21 @@ public class AiCampaignController {
         CampaignOptimizationResponse response = campaignOptimizationUseCase.analyzeCampaign(campaignId, issuerId);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
+
+    @GetMapping("/{campaignId}/risk-score")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<RiskScoreResponse>> getRiskScore(
+            @PathVariable UUID campaignId,
+            Authentication authentication) {
+        UUID userId = UUID.fromString(authentication.getName());
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        return ResponseEntity.ok(ApiResponse.success(riskScoreUseCase.getRiskScore(campaignId, userId, admin)));
+    }
+
+    @GetMapping("/risk-badges")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<List<RiskBadgeResponse>>> getRiskBadges(@RequestParam List<UUID> campaignIds) {
+        return ResponseEntity.ok(ApiResponse.success(riskScoreUseCase.getRiskBadges(campaignIds)));
+    }
 }
@@ -0,0 +1,46 @@
+package com.keza.ai.adapter.in.web;
+
+import com.keza.ai.application.dto.FraudRuleResponse;
+import com.keza.ai.application.dto.UpdateFraudRuleRequest;
+import com.keza.ai.application.usecase.FraudRuleUseCase;
+import com.keza.common.dto.ApiResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/admin/fraud-rules")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class FraudRuleController {
+
+    private final FraudRuleUseCase fraudRuleUseCase;
+
+    /**
+     * Lists every fraud rule with its current settings.
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<FraudRuleResponse>>> listRules() {
+        return ResponseEntity.ok(ApiResponse.success(fraudRuleUseCase.getRules()));
+    }
+
+    /**
+     * Enables or disables a fraud rule, or changes its threshold, minimum amount or window.
+     * Takes effect on every replica within a second.
+     */
+    @PutMapping("/{ruleType}")
+    public ResponseEntity<ApiResponse<FraudRuleResponse>> updateRule(
+            Authentication authentication,
+            @PathVariable("ruleType") String ruleType,
+            @Valid @RequestBody UpdateFraudRuleRequest request) {
+        UUID adminId = (UUID) authentication.getPrincipal();
+        FraudRuleResponse response = fraudRuleUseCase.updateRule(ruleType, request, adminId);
+        return ResponseEntity.ok(ApiResponse.success(response, "Fraud rule updated"));
+    }
+}
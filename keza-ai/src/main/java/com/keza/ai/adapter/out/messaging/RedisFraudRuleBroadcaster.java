@@ -0,0 +1,33 @@
+package com.keza.ai.adapter.out.messaging;
+
+import com.keza.ai.domain.event.FraudRuleChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Announces committed fraud rule changes on {@link #CHANNEL}, so every replica, this one
+ * included, recompiles its rules.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisFraudRuleBroadcaster {
+
+    public static final String CHANNEL = "keza:fraud:rules";
+
+    private final StringRedisTemplate redisTemplate;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRuleChanged(FraudRuleChangedEvent event) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, event.ruleType().name());
+        } catch (RuntimeException e) {
+            // Replicas still pick the change up on their periodic reload
+            log.error("Failed to announce fraud rule change {}: {}", event.ruleType(), e.getMessage());
+        }
+    }
+}
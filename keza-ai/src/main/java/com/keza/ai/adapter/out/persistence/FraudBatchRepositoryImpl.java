@@ -0,0 +1,214 @@
+package com.keza.ai.adapter.out.persistence;
+
+import com.keza.ai.domain.model.FraudBatchPhase;
+import com.keza.ai.domain.port.out.FraudBatchRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Slf4j
+@Repository
+@Transactional
+public class FraudBatchRepositoryImpl implements FraudBatchRepository {
+
+    /**
+     * The staged users of the current chunk, {@code (:after, :upper]}.
+     */
+    private static final String CHUNK_USERS = "SELECT b.user_id FROM fraud_batch_users b " +
+            "WHERE b.run_date = :runDate AND b.user_id > :after AND b.user_id <= :upper";
+
+    /**
+     * Alerts already raised for the user, alert type and run date, so a re-run chunk adds none.
+     */
+    private static final String RAISED_FOR_RUN = "SELECT 1 FROM fraud_alerts f " +
+            "WHERE f.user_id = %s AND f.alert_type = '%s' AND f.details ->> 'runDate' = :runDay";
+
+    /**
+     * Active users sharing a phone with other accounts. The window counts every account on each
+     * phone the chunk's users hold, in one pass over those phones.
+     */
+    private static final String SHARED_PHONE = "INSERT INTO fraud_alerts (user_id, alert_type, severity, description, details) " +
+            "SELECT s.id, 'SHARED_PHONE', 'HIGH', " +
+            "format('Phone number %s is registered to %s accounts', s.phone, s.accounts), " +
+            "jsonb_build_object('runDate', :runDay, 'phone', s.phone, 'accounts', s.accounts, 'userIds', s.user_ids) " +
+            "FROM (SELECT u.id, u.phone, COUNT(*) OVER phone_accounts AS accounts, " +
+            "jsonb_agg(u.id) OVER phone_accounts AS user_ids " +
+            "FROM users u WHERE u.deleted = FALSE AND u.phone IN (" +
+            "SELECT c.phone FROM users c WHERE c.id IN (" + CHUNK_USERS + ") AND c.deleted = FALSE AND c.phone <> '') " +
+            "WINDOW phone_accounts AS (PARTITION BY u.phone)) s " +
+            "WHERE s.accounts > :maxAccounts AND s.id IN (" + CHUNK_USERS + ") " +
+            // A phone stays shared from one day to the next, so an open alert covers it
+            "AND NOT EXISTS (SELECT 1 FROM fraud_alerts f WHERE f.user_id = s.id AND f.alert_type = 'SHARED_PHONE' " +
+            "AND f.status IN ('NEW', 'INVESTIGATING')) " +
+            "AND NOT EXISTS (" + RAISED_FOR_RUN.formatted("s.id", "SHARED_PHONE") + ")";
+
+    /**
+     * Users making several payments just under the high-amount threshold within any 24 hours
+     * ending on the run date. The window over each user's near-threshold payments counts and sums
+     * the 24 hours up to every payment; the busiest such window is reported.
+     */
+    private static final String STRUCTURING = "INSERT INTO fraud_alerts (user_id, alert_type, severity, description, details) " +
+            "SELECT s.user_id, 'STRUCTURING', 'HIGH', " +
+            "format('%s payments totalling KES %s within 24 hours, each just under the KES %s threshold', " +
+            "s.payments, s.total, :threshold), " +
+            "jsonb_build_object('runDate', :runDay, 'payments', s.payments, 'total', s.total, " +
+            "'floor', :floor, 'threshold', :threshold, 'windowEnd', s.created_at, 'currency', 'KES') " +
+            "FROM (SELECT DISTINCT ON (w.user_id) w.user_id, w.created_at, w.payments, w.total " +
+            "FROM (SELECT t.user_id, t.created_at, COUNT(*) OVER last_day AS payments, SUM(t.amount) OVER last_day AS total " +
+            "FROM transactions t " +
+            "WHERE t.user_id IN (" + CHUNK_USERS + ") " +
+            "AND t.created_at >= :lookbackFrom AND t.created_at < :to " +
+            "AND t.type IN ('INVESTMENT', 'MARKETPLACE_BUY') AND t.status <> 'FAILED' " +
+            "AND t.amount >= :floor AND t.amount < :threshold " +
+            "WINDOW last_day AS (PARTITION BY t.user_id ORDER BY t.created_at " +
+            "RANGE BETWEEN INTERVAL '24 hours' PRECEDING AND CURRENT ROW)) w " +
+            "WHERE w.created_at >= :from AND w.payments >= :minPayments " +
+            "ORDER BY w.user_id, w.payments DESC, w.total DESC) s " +
+            "WHERE NOT EXISTS (" + RAISED_FOR_RUN.formatted("s.user_id", "STRUCTURING") + ")";
+
+    /**
+     * Cycles of marketplace trades on the run date, each walked from its lowest user id so it is
+     * found once, from the chunk holding that user. Every account in a cycle is alerted.
+     */
+    private static final String CIRCULAR_TRADE = "WITH RECURSIVE walk (start_id, at_id, path) AS (" +
+            "SELECT DISTINCT t.seller_id, t.buyer_id, ARRAY[t.seller_id, t.buyer_id] " +
+            "FROM marketplace_transactions t " +
+            "WHERE t.seller_id IN (" + CHUNK_USERS + ") AND t.buyer_id > t.seller_id " +
+            "AND t.created_at >= :from AND t.created_at < :to AND t.status NOT IN ('FAILED', 'CANCELLED') " +
+            "UNION " +
+            "SELECT w.start_id, t.buyer_id, w.path || t.buyer_id " +
+            "FROM walk w JOIN marketplace_transactions t ON t.seller_id = w.at_id " +
+            "WHERE cardinality(w.path) < :maxLength AND t.buyer_id > w.start_id AND NOT t.buyer_id = ANY (w.path) " +
+            "AND t.created_at >= :from AND t.created_at < :to AND t.status NOT IN ('FAILED', 'CANCELLED')), " +
+            "cycles AS (SELECT DISTINCT w.path FROM walk w " +
+            "WHERE EXISTS (SELECT 1 FROM marketplace_transactions t WHERE t.seller_id = w.at_id AND t.buyer_id = w.start_id " +
+            "AND t.created_at >= :from AND t.created_at < :to AND t.status NOT IN ('FAILED', 'CANCELLED'))) " +
+            "INSERT INTO fraud_alerts (user_id, alert_type, severity, description, details) " +
+            "SELECT DISTINCT ON (m.user_id) m.user_id, 'CIRCULAR_TRADE', 'HIGH', " +
+            "format('Marketplace shares traded around a cycle of %s accounts', cardinality(c.path)), " +
+            "jsonb_build_object('runDate', :runDay, 'accounts', cardinality(c.path), 'cycle', to_jsonb(c.path)) " +
+            "FROM cycles c CROSS JOIN LATERAL unnest(c.path) AS m(user_id) " +
+            "WHERE NOT EXISTS (" + RAISED_FOR_RUN.formatted("m.user_id", "CIRCULAR_TRADE") + ") " +
+            "ORDER BY m.user_id, cardinality(c.path)";
+
+    /**
+     * Structuring looks back a day before the run date, so a burst spanning midnight is seen whole.
+     */
+    private static final Duration STRUCTURING_LOOKBACK = Duration.ofHours(24);
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<FraudBatchPhase, Checkpoint> findCheckpoints(LocalDate runDate) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = em.createNativeQuery(
+                        "SELECT phase, last_key, completed_at IS NOT NULL FROM fraud_batch_runs WHERE run_date = :runDate")
+                .setParameter("runDate", runDate)
+                .getResultList();
+        Map<FraudBatchPhase, Checkpoint> checkpoints = new EnumMap<>(FraudBatchPhase.class);
+        for (Object[] row : rows) {
+            UUID lastKey = row[1] != null ? (UUID) row[1] : Checkpoint.FIRST_KEY;
+            checkpoints.put(FraudBatchPhase.valueOf((String) row[0]), new Checkpoint(lastKey, (Boolean) row[2]));
+        }
+        return checkpoints;
+    }
+
+    @Override
+    public long stageActiveUsers(Run run) {
+        em.createNativeQuery("DELETE FROM fraud_batch_users WHERE run_date < :runDate")
+                .setParameter("runDate", run.date())
+                .executeUpdate();
+
+        int staged = em.createNativeQuery("INSERT INTO fraud_batch_users (run_date, user_id) " +
+                        "SELECT :runDate, a.user_id FROM (" +
+                        "SELECT investor_id AS user_id FROM investments WHERE created_at >= :from AND created_at < :to " +
+                        "UNION SELECT user_id FROM transactions WHERE created_at >= :from AND created_at < :to " +
+                        "UNION SELECT buyer_id FROM marketplace_transactions WHERE created_at >= :from AND created_at < :to " +
+                        "UNION SELECT seller_id FROM marketplace_transactions WHERE created_at >= :from AND created_at < :to) a " +
+                        "ON CONFLICT DO NOTHING")
+                .setParameter("runDate", run.date())
+                .setParameter("from", run.from())
+                .setParameter("to", run.to())
+                .executeUpdate();
+
+        complete(FraudBatchPhase.ACTIVE_USERS, run.date());
+        return staged;
+    }
+
+    @Override
+    public Chunk runChunk(FraudBatchPhase phase, Run run, UUID after, int chunkSize) {
+        @SuppressWarnings("unchecked")
+        List<Object> upper = em.createNativeQuery("SELECT c.user_id FROM (" +
+                        "SELECT user_id FROM fraud_batch_users WHERE run_date = :runDate AND user_id > :after " +
+                        "ORDER BY user_id LIMIT :limit) c ORDER BY c.user_id DESC LIMIT 1")
+                .setParameter("runDate", run.date())
+                .setParameter("after", after)
+                .setParameter("limit", chunkSize)
+                .getResultList();
+        if (upper.isEmpty()) {
+            complete(phase, run.date());
+            return new Chunk(null, 0);
+        }
+        UUID lastKey = (UUID) upper.get(0);
+
+        int alerts = alertQuery(phase, run)
+                .setParameter("runDate", run.date())
+                .setParameter("runDay", run.date().toString())
+                .setParameter("after", after)
+                .setParameter("upper", lastKey)
+                .executeUpdate();
+
+        em.createNativeQuery("INSERT INTO fraud_batch_runs (run_date, phase, last_key, alerts_raised) " +
+                        "VALUES (:runDate, :phase, :lastKey, :alerts) " +
+                        "ON CONFLICT (run_date, phase) DO UPDATE SET last_key = EXCLUDED.last_key, " +
+                        "alerts_raised = fraud_batch_runs.alerts_raised + EXCLUDED.alerts_raised, updated_at = NOW()")
+                .setParameter("runDate", run.date())
+                .setParameter("phase", phase.name())
+                .setParameter("lastKey", lastKey)
+                .setParameter("alerts", alerts)
+                .executeUpdate();
+
+        log.debug("Fraud batch {} for {} processed users up to {}: {} alerts", phase, run.date(), lastKey, alerts);
+        return new Chunk(lastKey, alerts);
+    }
+
+    private Query alertQuery(FraudBatchPhase phase, Run run) {
+        return switch (phase) {
+            case SHARED_PHONE -> em.createNativeQuery(SHARED_PHONE)
+                    .setParameter("maxAccounts", run.maxSharedAccounts());
+            case STRUCTURING -> em.createNativeQuery(STRUCTURING)
+                    .setParameter("lookbackFrom", run.from().minus(STRUCTURING_LOOKBACK))
+                    .setParameter("from", run.from())
+                    .setParameter("to", run.to())
+                    .setParameter("floor", run.structuringFloor())
+                    .setParameter("threshold", run.structuringThreshold())
+                    .setParameter("minPayments", run.minStructuredPayments());
+            case CIRCULAR_TRADE -> em.createNativeQuery(CIRCULAR_TRADE)
+                    .setParameter("from", run.from())
+                    .setParameter("to", run.to())
+                    .setParameter("maxLength", run.maxCycleLength());
+            case ACTIVE_USERS -> throw new IllegalArgumentException("ACTIVE_USERS is staged, not run in chunks");
+        };
+    }
+
+    private void complete(FraudBatchPhase phase, LocalDate runDate) {
+        em.createNativeQuery("INSERT INTO fraud_batch_runs (run_date, phase, completed_at) " +
+                        "VALUES (:runDate, :phase, NOW()) " +
+                        "ON CONFLICT (run_date, phase) DO UPDATE SET completed_at = NOW(), updated_at = NOW()")
+                .setParameter("runDate", runDate)
+                .setParameter("phase", phase.name())
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,132 @@
+package com.keza.ai.adapter.out.persistence;
+
+import com.keza.ai.domain.port.out.FraudWindowStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Fraud windows in Redis, shared by every replica. A window is a sorted set of event IDs scored
+ * by event time that expires once the user has been idle for a full window; updating and
+ * counting it is a single pipelined round trip. Totals are a hash of the investment count and
+ * the sum in cents, next to a set of the investment IDs added since they were last rehydrated.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RedisFraudWindowStore implements FraudWindowStore {
+
+    private static final String WINDOW_PREFIX = "keza:fraud:window:";
+    private static final String TOTALS_PREFIX = "keza:fraud:totals:";
+    private static final String COUNTED_PREFIX = "keza:fraud:totals:counted:";
+    private static final String COOLDOWN_PREFIX = "keza:fraud:cooldown:";
+
+    private static final String COUNT_FIELD = "count";
+    private static final String CENTS_FIELD = "cents";
+
+    /**
+     * Totals of users who stop investing are dropped after this and rehydrated if they return.
+     */
+    private static final Duration TOTALS_TTL = Duration.ofDays(30);
+
+    /**
+     * Records the investment ID and adds the investment to the totals only if the ID is new, so a
+     * redelivered event is not counted twice. Totals that have expired are left for rehydration
+     * rather than restarted from this one investment.
+     */
+    private static final RedisScript<Long> ADD_INVESTMENT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return 0
+            end
+            if redis.call('SADD', KEYS[2], ARGV[1]) == 0 then
+                return 0
+            end
+            redis.call('HINCRBY', KEYS[1], 'count', 1)
+            redis.call('HINCRBY', KEYS[1], 'cents', ARGV[2])
+            redis.call('EXPIRE', KEYS[1], ARGV[3])
+            redis.call('EXPIRE', KEYS[2], ARGV[3])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public boolean hasWindow(String counter, UUID userId) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(windowKey(counter, userId)));
+    }
+
+    @Override
+    public long add(String counter, UUID userId, Map<UUID, Instant> events, Instant now, Duration window) {
+        byte[] key = windowKey(counter, userId).getBytes(StandardCharsets.UTF_8);
+        double cutoff = now.minus(window).toEpochMilli();
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Map.Entry<UUID, Instant> event : events.entrySet()) {
+                connection.zSetCommands().zAdd(key, event.getValue().toEpochMilli(),
+                        event.getKey().toString().getBytes(StandardCharsets.UTF_8));
+            }
+            connection.zSetCommands().zRemRangeByScore(key, Double.NEGATIVE_INFINITY, cutoff);
+            connection.zSetCommands().zCard(key);
+            connection.keyCommands().pExpire(key, window.toMillis());
+            return null;
+        });
+        // The count is the reply before the final expire
+        return ((Number) results.get(results.size() - 2)).longValue();
+    }
+
+    @Override
+    public Optional<InvestmentTotals> totals(UUID userId) {
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(TOTALS_PREFIX + userId);
+        if (!fields.containsKey(COUNT_FIELD) || !fields.containsKey(CENTS_FIELD)) {
+            return Optional.empty();
+        }
+        return Optional.of(new InvestmentTotals(
+                Long.parseLong((String) fields.get(COUNT_FIELD)),
+                BigDecimal.valueOf(Long.parseLong((String) fields.get(CENTS_FIELD)), 2)));
+    }
+
+    @Override
+    public void putTotals(UUID userId, InvestmentTotals totals, UUID investmentId) {
+        String key = TOTALS_PREFIX + userId;
+        String countedKey = COUNTED_PREFIX + userId;
+        redisTemplate.opsForHash().putAll(key, Map.of(
+                COUNT_FIELD, Long.toString(totals.count()),
+                CENTS_FIELD, Long.toString(toCents(totals.sum()))));
+        redisTemplate.delete(countedKey);
+        redisTemplate.opsForSet().add(countedKey, investmentId.toString());
+        redisTemplate.expire(key, TOTALS_TTL);
+        redisTemplate.expire(countedKey, TOTALS_TTL);
+    }
+
+    @Override
+    public boolean addInvestment(UUID userId, UUID investmentId, BigDecimal amount) {
+        Long added = redisTemplate.execute(ADD_INVESTMENT,
+                List.of(TOTALS_PREFIX + userId, COUNTED_PREFIX + userId),
+                investmentId.toString(), Long.toString(toCents(amount)), Long.toString(TOTALS_TTL.toSeconds()));
+        return added != null && added == 1;
+    }
+
+    @Override
+    public boolean startCooldown(String alertType, UUID userId, Duration cooldown) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(COOLDOWN_PREFIX + alertType + ":" + userId, Instant.now().toString(), cooldown));
+    }
+
+    private static String windowKey(String counter, UUID userId) {
+        return WINDOW_PREFIX + counter + ":" + userId;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValue();
+    }
+}
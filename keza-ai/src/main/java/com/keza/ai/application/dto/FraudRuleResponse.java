@@ -0,0 +1,25 @@
+package com.keza.ai.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FraudRuleResponse {
+
+    private String ruleType;
+    private boolean enabled;
+    private BigDecimal threshold;
+    private BigDecimal minAmount;
+    private Long windowSeconds;
+    private UUID updatedBy;
+    private Instant updatedAt;
+}
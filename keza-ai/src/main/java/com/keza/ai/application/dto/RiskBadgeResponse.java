@@ -0,0 +1,21 @@
+package com.keza.ai.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RiskBadgeResponse {
+
+    private UUID campaignId;
+    private int score;
+    private String riskLevel;
+    private Instant scoredAt;
+}
@@ -0,0 +1,31 @@
+package com.keza.ai.application.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Changes to a fraud rule; settings left null are unchanged.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateFraudRuleRequest {
+
+    private Boolean enabled;
+
+    @Positive(message = "Threshold must be positive")
+    private BigDecimal threshold;
+
+    @DecimalMin(value = "0", message = "Minimum amount must not be negative")
+    private BigDecimal minAmount;
+
+    @Positive(message = "Window must be positive")
+    private Long windowSeconds;
+}
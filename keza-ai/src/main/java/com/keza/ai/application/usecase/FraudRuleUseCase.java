@@ -0,0 +1,118 @@
+package com.keza.ai.application.usecase;
+
+import com.keza.ai.application.dto.FraudRuleResponse;
+import com.keza.ai.application.dto.UpdateFraudRuleRequest;
+import com.keza.ai.domain.event.FraudRuleChangedEvent;
+import com.keza.ai.domain.model.FraudRule;
+import com.keza.ai.domain.model.FraudRuleSet;
+import com.keza.ai.domain.model.FraudRuleType;
+import com.keza.ai.domain.port.out.FraudRuleRepository;
+import com.keza.common.exception.BusinessRuleException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FraudRuleUseCase {
+
+    private final FraudRuleRepository fraudRuleRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Returns every fraud rule as stored, or with its defaults if it has never been changed.
+     */
+    @Transactional(readOnly = true)
+    public List<FraudRuleResponse> getRules() {
+        Map<FraudRuleType, FraudRule> stored = fraudRuleRepository.findAll().stream()
+                .collect(Collectors.toMap(FraudRule::getRuleType, Function.identity()));
+        return Arrays.stream(FraudRuleType.values())
+                .map(type -> stored.containsKey(type) ? mapToResponse(stored.get(type)) : defaultResponse(type))
+                .toList();
+    }
+
+    /**
+     * Updates a fraud rule. Once the change commits, every replica is told to recompile its rules.
+     */
+    @Transactional
+    public FraudRuleResponse updateRule(String ruleType, UpdateFraudRuleRequest request, UUID adminId) {
+        FraudRuleType type;
+        try {
+            type = FraudRuleType.valueOf(ruleType.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessRuleException("INVALID_RULE_TYPE",
+                    "Invalid fraud rule type: " + ruleType + ". Valid values: " + Arrays.toString(FraudRuleType.values()));
+        }
+
+        FraudRule rule = fraudRuleRepository.findByRuleType(type)
+                .orElseGet(() -> FraudRule.builder()
+                        .ruleType(type)
+                        .threshold(type.getDefaultThreshold())
+                        .minAmount(type.getDefaultMinAmount())
+                        .windowSeconds(type.getDefaultWindow() != null ? type.getDefaultWindow().toSeconds() : null)
+                        .build());
+
+        if (request.getMinAmount() != null && type.getDefaultMinAmount() == null) {
+            throw new BusinessRuleException("INVALID_RULE_SETTING", type + " has no minimum amount");
+        }
+        if (request.getWindowSeconds() != null && type.getDefaultWindow() == null) {
+            throw new BusinessRuleException("INVALID_RULE_SETTING", type + " has no window");
+        }
+
+        if (request.getEnabled() != null) {
+            rule.setEnabled(request.getEnabled());
+        }
+        if (request.getThreshold() != null) {
+            rule.setThreshold(request.getThreshold());
+        }
+        if (request.getMinAmount() != null) {
+            rule.setMinAmount(request.getMinAmount());
+        }
+        if (request.getWindowSeconds() != null) {
+            rule.setWindowSeconds(request.getWindowSeconds());
+        }
+        rule.setUpdatedBy(adminId);
+
+        rule = fraudRuleRepository.save(rule);
+        eventPublisher.publishEvent(new FraudRuleChangedEvent(type));
+        log.info("Fraud rule {} updated by admin {}: enabled={}, threshold={}, minAmount={}, windowSeconds={}",
+                type, adminId, rule.isEnabled(), rule.getThreshold(), rule.getMinAmount(), rule.getWindowSeconds());
+
+        return mapToResponse(rule);
+    }
+
+    // ---- Private helpers ----
+
+    private FraudRuleResponse defaultResponse(FraudRuleType type) {
+        FraudRuleSet.Rule rule = FraudRuleSet.defaults().rule(type);
+        return FraudRuleResponse.builder()
+                .ruleType(type.name())
+                .enabled(rule.enabled())
+                .threshold(rule.threshold())
+                .minAmount(rule.minAmount())
+                .windowSeconds(rule.window() != null ? rule.window().toSeconds() : null)
+                .build();
+    }
+
+    private FraudRuleResponse mapToResponse(FraudRule rule) {
+        return FraudRuleResponse.builder()
+                .ruleType(rule.getRuleType().name())
+                .enabled(rule.isEnabled())
+                .threshold(rule.getThreshold())
+                .minAmount(rule.getMinAmount())
+                .windowSeconds(rule.getWindowSeconds())
+                .updatedBy(rule.getUpdatedBy())
+                .updatedAt(rule.getUpdatedAt())
+                .build();
+    }
+}
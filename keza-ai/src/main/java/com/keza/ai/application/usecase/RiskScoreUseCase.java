@@ -0,0 +1,84 @@
+package com.keza.ai.application.usecase;
+
+import com.keza.ai.application.dto.RiskBadgeResponse;
+import com.keza.ai.application.dto.RiskScoreResponse;
+import com.keza.ai.domain.port.out.RiskDataPort;
+import com.keza.ai.domain.port.out.RiskDataPort.CampaignDataNotFoundException;
+import com.keza.ai.domain.port.out.RiskDataPort.CampaignRiskData;
+import com.keza.ai.domain.service.CampaignRiskScoreService;
+import com.keza.ai.domain.service.RiskScoringService.RiskScoreResult;
+import com.keza.common.enums.CampaignStatus;
+import com.keza.common.exception.BusinessRuleException;
+import com.keza.common.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class RiskScoreUseCase {
+
+    /**
+     * Most campaigns in one badge request; a listing page shows far fewer.
+     */
+    static final int MAX_BADGES = 100;
+
+    /**
+     * Statuses in which a campaign is published to investors, and its score visible to any user.
+     */
+    static final Set<String> PUBLISHED_STATUSES = Set.of(
+            CampaignStatus.LIVE.name(), CampaignStatus.FUNDED.name(), CampaignStatus.CLOSED.name());
+
+    private final CampaignRiskScoreService campaignRiskScoreService;
+    private final RiskDataPort riskDataPort;
+
+    /**
+     * Returns the campaign's full risk assessment, recomputed only if the campaign changed since
+     * it was last scored. Scores of published campaigns are visible to any user; others only to
+     * the campaign's issuer and admins.
+     */
+    public RiskScoreResponse getRiskScore(UUID campaignId, UUID userId, boolean admin) {
+        CampaignRiskData data;
+        try {
+            data = riskDataPort.getCampaignData(campaignId);
+        } catch (CampaignDataNotFoundException e) {
+            throw new ResourceNotFoundException("Campaign", campaignId);
+        }
+        if (!admin && !PUBLISHED_STATUSES.contains(data.status()) && !userId.equals(data.issuerId())) {
+            throw new BusinessRuleException("FORBIDDEN", "You do not have access to this campaign's risk score");
+        }
+
+        RiskScoreResult result = campaignRiskScoreService.getRiskScore(data);
+        return RiskScoreResponse.builder()
+                .campaignId(campaignId)
+                .score(result.score())
+                .riskLevel(result.riskLevel())
+                .strengths(result.strengths())
+                .risks(result.risks())
+                .recommendation(result.recommendation())
+                .build();
+    }
+
+    /**
+     * Returns the stored risk badges of the given campaigns, for listing pages. Never computes a
+     * score; campaigns not yet scored by the batch job, or not published, are left out.
+     */
+    public List<RiskBadgeResponse> getRiskBadges(List<UUID> campaignIds) {
+        if (campaignIds.size() > MAX_BADGES) {
+            throw new BusinessRuleException("TOO_MANY_CAMPAIGNS",
+                    "At most " + MAX_BADGES + " campaigns can be requested at once");
+        }
+        return campaignRiskScoreService.getStoredScores(riskDataPort.findPublishedCampaignIds(campaignIds))
+                .values().stream()
+                .map(score -> RiskBadgeResponse.builder()
+                        .campaignId(score.getCampaignId())
+                        .score(score.getScore())
+                        .riskLevel(score.getRiskLevel())
+                        .scoredAt(score.getScoredAt())
+                        .build())
+                .toList();
+    }
+}
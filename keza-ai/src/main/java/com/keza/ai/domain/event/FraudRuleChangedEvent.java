@@ -0,0 +1,8 @@
+package com.keza.ai.domain.event;
+
+import com.keza.ai.domain.model.FraudRuleType;
+
+public record FraudRuleChangedEvent(
+        FraudRuleType ruleType
+) {
+}
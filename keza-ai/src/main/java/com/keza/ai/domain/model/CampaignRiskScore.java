@@ -0,0 +1,54 @@
+package com.keza.ai.domain.model;
+
+import com.keza.common.domain.model.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Entity
+@Table(name = "campaign_risk_scores")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CampaignRiskScore extends BaseEntity {
+
+    @Column(name = "campaign_id", nullable = false, unique = true)
+    private UUID campaignId;
+
+    @Column(name = "score", nullable = false)
+    private int score;
+
+    @Column(name = "risk_level", nullable = false, length = 20)
+    private String riskLevel;
+
+    @Builder.Default
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "strengths", nullable = false, columnDefinition = "jsonb")
+    private List<String> strengths = new ArrayList<>();
+
+    @Builder.Default
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "risks", nullable = false, columnDefinition = "jsonb")
+    private List<String> risks = new ArrayList<>();
+
+    @Column(name = "recommendation", nullable = false, columnDefinition = "TEXT")
+    private String recommendation;
+
+    @Column(name = "input_fingerprint", nullable = false, length = 64)
+    private String inputFingerprint;
+
+    @Column(name = "scored_at", nullable = false)
+    private Instant scoredAt;
+}
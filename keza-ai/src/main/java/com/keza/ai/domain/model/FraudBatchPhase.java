@@ -0,0 +1,40 @@
+package com.keza.ai.domain.model;
+
+/**
+ * Phases of the nightly batch fraud analysis, run in declaration order.
+ */
+public enum FraudBatchPhase {
+
+    /**
+     * Collects the users with investments, transactions or marketplace trades on the run date.
+     */
+    ACTIVE_USERS(null),
+
+    /**
+     * Active users whose phone number is registered to other accounts.
+     */
+    SHARED_PHONE(FraudRuleType.SHARED_PHONE),
+
+    /**
+     * Active users splitting payments into several amounts just under the high-amount threshold.
+     */
+    STRUCTURING(FraudRuleType.STRUCTURING),
+
+    /**
+     * Marketplace shares traded around a cycle of accounts back to the first seller.
+     */
+    CIRCULAR_TRADE(FraudRuleType.CIRCULAR_TRADE);
+
+    private final FraudRuleType ruleType;
+
+    FraudBatchPhase(FraudRuleType ruleType) {
+        this.ruleType = ruleType;
+    }
+
+    /**
+     * @return the rule this phase evaluates, or null for a phase that always runs
+     */
+    public FraudRuleType getRuleType() {
+        return ruleType;
+    }
+}
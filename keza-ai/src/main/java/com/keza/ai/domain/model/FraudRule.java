@@ -0,0 +1,42 @@
+package com.keza.ai.domain.model;
+
+import com.keza.common.domain.model.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Entity
+@Table(name = "fraud_rules")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FraudRule extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "rule_type", nullable = false, unique = true, length = 50)
+    private FraudRuleType ruleType;
+
+    @Builder.Default
+    @Column(name = "enabled", nullable = false)
+    private boolean enabled = true;
+
+    @Column(name = "threshold", nullable = false, precision = 19, scale = 4)
+    private BigDecimal threshold;
+
+    @Column(name = "min_amount", precision = 15, scale = 2)
+    private BigDecimal minAmount;
+
+    @Column(name = "window_seconds")
+    private Long windowSeconds;
+
+    @Column(name = "updated_by")
+    private UUID updatedBy;
+}
@@ -0,0 +1,78 @@
+package com.keza.ai.domain.model;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, fully resolved snapshot of the fraud rules: one {@link Rule} for every
+ * {@link FraudRuleType}, with defaults filled in. Compiled once per change, so evaluating a rule
+ * is an array-backed lookup with no parsing or I/O.
+ */
+public record FraudRuleSet(Map<FraudRuleType, Rule> rules) {
+
+    public FraudRuleSet {
+        rules = Collections.unmodifiableMap(new EnumMap<>(rules));
+    }
+
+    public Rule rule(FraudRuleType type) {
+        return rules.get(type);
+    }
+
+    public boolean isEnabled(FraudRuleType type) {
+        return rules.get(type).enabled();
+    }
+
+    /**
+     * @return every rule enabled with its default settings
+     */
+    public static FraudRuleSet defaults() {
+        return compile(List.of());
+    }
+
+    /**
+     * Compiles stored rule settings over the defaults. A rule without a row keeps its defaults,
+     * and a row without a minimum amount or window keeps the default for that setting.
+     */
+    public static FraudRuleSet compile(List<FraudRule> stored) {
+        Map<FraudRuleType, Rule> rules = new EnumMap<>(FraudRuleType.class);
+        for (FraudRuleType type : FraudRuleType.values()) {
+            rules.put(type, new Rule(true, type.getDefaultThreshold(), type.getDefaultMinAmount(), type.getDefaultWindow()));
+        }
+        for (FraudRule row : stored) {
+            FraudRuleType type = row.getRuleType();
+            rules.put(type, new Rule(
+                    row.isEnabled(),
+                    row.getThreshold() != null ? normalize(row.getThreshold()) : type.getDefaultThreshold(),
+                    row.getMinAmount() != null ? normalize(row.getMinAmount()) : type.getDefaultMinAmount(),
+                    row.getWindowSeconds() != null ? Duration.ofSeconds(row.getWindowSeconds()) : type.getDefaultWindow()));
+        }
+        return new FraudRuleSet(rules);
+    }
+
+    /**
+     * Drops the column's trailing zeros, so amounts read back from the database print and compare
+     * like the defaults.
+     */
+    private static BigDecimal normalize(BigDecimal value) {
+        BigDecimal stripped = value.stripTrailingZeros();
+        return stripped.scale() < 0 ? stripped.setScale(0) : stripped;
+    }
+
+    /**
+     * @param minAmount null for rules without one
+     * @param window    null for rules without one
+     */
+    public record Rule(boolean enabled, BigDecimal threshold, BigDecimal minAmount, Duration window) {
+
+        /**
+         * @return the threshold as a count, for rules that count events or accounts
+         */
+        public int limit() {
+            return threshold.intValue();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.keza.ai.domain.model;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * The configurable fraud rules, with the settings each falls back to when the fraud_rules table
+ * has no row for it. What a rule's threshold, minimum amount and window mean is rule-specific.
+ */
+public enum FraudRuleType {
+
+    /**
+     * Raises VELOCITY_VIOLATION at {@code threshold} investments within {@code window}, which is
+     * also the alert's cooldown.
+     */
+    VELOCITY("5", null, Duration.ofHours(1)),
+
+    /**
+     * Raises a HIGH AMOUNT_ANOMALY for investments of at least {@code threshold} KES. Structuring
+     * looks for payments just under this amount.
+     */
+    HIGH_AMOUNT("1000000", null, null),
+
+    /**
+     * Raises a CRITICAL AMOUNT_ANOMALY for investments of at least {@code threshold} KES.
+     */
+    VERY_HIGH_AMOUNT("5000000", null, null),
+
+    /**
+     * Raises AMOUNT_ANOMALY_RELATIVE for investments over {@code minAmount} KES and more than
+     * {@code threshold} times the user's average, at most once per {@code window}.
+     */
+    RELATIVE_AMOUNT("3", "50000", Duration.ofHours(1)),
+
+    /**
+     * Raises FAILED_PAYMENT_PATTERN above {@code threshold} failed payments within {@code window},
+     * which is also the alert's cooldown.
+     */
+    FAILED_PAYMENTS("5", null, Duration.ofHours(24)),
+
+    /**
+     * Raises DUPLICATE_PHONE at registration when more than {@code threshold} accounts share a phone.
+     */
+    DUPLICATE_PHONE("1", null, null),
+
+    /**
+     * Raises DUPLICATE_NATIONAL_ID at registration when more than {@code threshold} accounts share
+     * a national ID.
+     */
+    DUPLICATE_NATIONAL_ID("1", null, null),
+
+    /**
+     * Nightly: raises SHARED_PHONE for active users whose phone is on more than {@code threshold} accounts.
+     */
+    SHARED_PHONE("1", null, null),
+
+    /**
+     * Nightly: raises STRUCTURING at {@code threshold} payments within 24 hours, each from
+     * {@code minAmount} KES up to the {@link #HIGH_AMOUNT} threshold.
+     */
+    STRUCTURING("3", "900000", null),
+
+    /**
+     * Nightly: raises CIRCULAR_TRADE for marketplace trade cycles of up to {@code threshold} accounts.
+     */
+    CIRCULAR_TRADE("4", null, null);
+
+    private final BigDecimal defaultThreshold;
+    private final BigDecimal defaultMinAmount;
+    private final Duration defaultWindow;
+
+    FraudRuleType(String defaultThreshold, String defaultMinAmount, Duration defaultWindow) {
+        this.defaultThreshold = new BigDecimal(defaultThreshold);
+        this.defaultMinAmount = defaultMinAmount != null ? new BigDecimal(defaultMinAmount) : null;
+        this.defaultWindow = defaultWindow;
+    }
+
+    public BigDecimal getDefaultThreshold() {
+        return defaultThreshold;
+    }
+
+    public BigDecimal getDefaultMinAmount() {
+        return defaultMinAmount;
+    }
+
+    public Duration getDefaultWindow() {
+        return defaultWindow;
+    }
+}
@@ -0,0 +1,18 @@
+package com.keza.ai.domain.port.out;
+
+import com.keza.ai.domain.model.CampaignRiskScore;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface CampaignRiskScoreRepository extends JpaRepository<CampaignRiskScore, UUID> {
+
+    Optional<CampaignRiskScore> findByCampaignId(UUID campaignId);
+
+    List<CampaignRiskScore> findByCampaignIdIn(Collection<UUID> campaignIds);
+}
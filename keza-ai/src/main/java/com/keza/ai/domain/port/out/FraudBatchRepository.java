@@ -0,0 +1,80 @@
+package com.keza.ai.domain.port.out;
+
+import com.keza.ai.domain.model.FraudBatchPhase;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Set-based fraud rules over a day of investments, transactions and marketplace trades, via
+ * native SQL. The day's active users are staged once, then each rule walks them in chunks of
+ * user ids; a chunk raises its alerts with a single INSERT ... SELECT and records its checkpoint
+ * in the same transaction, so a chunk is either fully applied or not at all.
+ * <p>
+ * Every method commits independently. Alerts carry the run date in their details and are not
+ * raised twice for the same user, type and run date, so re-running a chunk is harmless.
+ */
+@Repository
+public interface FraudBatchRepository {
+
+    /**
+     * @return the checkpoints recorded for the run date, by phase; phases not yet started are absent
+     */
+    Map<FraudBatchPhase, Checkpoint> findCheckpoints(LocalDate runDate);
+
+    /**
+     * Stages the users active in the run's day and completes the {@link FraudBatchPhase#ACTIVE_USERS}
+     * phase. Users staged for earlier run dates are dropped.
+     *
+     * @return the number of users staged
+     */
+    long stageActiveUsers(Run run);
+
+    /**
+     * Applies a rule phase to the next chunk of staged users after {@code after}, and advances the
+     * phase's checkpoint past them. When no users are left, completes the phase instead.
+     */
+    Chunk runChunk(FraudBatchPhase phase, Run run, UUID after, int chunkSize);
+
+    /**
+     * A run over one calendar day, {@code [from, to)}, with the rule thresholds in force.
+     *
+     * @param maxSharedAccounts      accounts a phone may be registered to before it is reported
+     * @param structuringFloor       payments at or above this and below {@code structuringThreshold}
+     *                               count towards structuring
+     * @param minStructuredPayments  such payments within 24 hours that make a structuring alert
+     * @param maxCycleLength         accounts in the longest trade cycle looked for
+     */
+    record Run(LocalDate date, Instant from, Instant to, int maxSharedAccounts,
+               BigDecimal structuringFloor, BigDecimal structuringThreshold,
+               int minStructuredPayments, int maxCycleLength) {
+    }
+
+    /**
+     * @param lastKey the last user id processed by the phase
+     */
+    record Checkpoint(UUID lastKey, boolean completed) {
+
+        /**
+         * Sorts before every user id, so a phase that has not started resumes from the beginning.
+         */
+        public static final UUID FIRST_KEY = new UUID(0L, 0L);
+
+        public static final Checkpoint NOT_STARTED = new Checkpoint(FIRST_KEY, false);
+    }
+
+    /**
+     * @param lastKey the last user id in the chunk, or {@code null} if the phase had no users left
+     *                and is now complete
+     */
+    record Chunk(UUID lastKey, int alertsRaised) {
+
+        public boolean isLast() {
+            return lastKey == null;
+        }
+    }
+}
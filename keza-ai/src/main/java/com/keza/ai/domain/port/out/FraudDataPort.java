@@ -2,6 +2,7 @@ package com.keza.ai.domain.port.out;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -40,6 +41,26 @@ public interface FraudDataPort {
      */
     long countFailedPaymentsByUserSince(UUID userId, Instant since);
 
+    /**
+     * List the investments made by a user since the given timestamp, used to rebuild a
+     * sliding window that is missing from the streaming fraud store.
+     *
+     * @param userId the user ID
+     * @param since  the earliest timestamp to consider
+     * @return the investment IDs with their creation times
+     */
+    List<Occurrence> findInvestmentsByUserSince(UUID userId, Instant since);
+
+    /**
+     * List the failed payment transactions of a user since the given timestamp, used to
+     * rebuild a sliding window that is missing from the streaming fraud store.
+     *
+     * @param userId the user ID
+     * @param since  the earliest timestamp to consider
+     * @return the transaction IDs with their creation times
+     */
+    List<Occurrence> findFailedPaymentsByUserSince(UUID userId, Instant since);
+
     /**
      * Count the number of (non-deleted) users sharing the given phone number.
      *
@@ -55,4 +76,10 @@ public interface FraudDataPort {
      * @return the number of users with this national ID
      */
     long countUsersWithNationalId(String nationalId);
+
+    /**
+     * An event counted by a fraud rule: the ID of the record it came from and when it happened.
+     */
+    record Occurrence(UUID id, Instant at) {
+    }
 }
@@ -0,0 +1,15 @@
+package com.keza.ai.domain.port.out;
+
+import com.keza.ai.domain.model.FraudRule;
+import com.keza.ai.domain.model.FraudRuleType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface FraudRuleRepository extends JpaRepository<FraudRule, UUID> {
+
+    Optional<FraudRule> findByRuleType(FraudRuleType ruleType);
+}
@@ -0,0 +1,71 @@
+package com.keza.ai.domain.port.out;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Shared state of the streaming fraud rules: per-user sliding windows of events, running
+ * investment totals and alert cooldowns.
+ * <p>
+ * Events are keyed by the ID of the record they came from, so an event that is redelivered, or
+ * that is both rehydrated from the database and received live, is counted once.
+ */
+public interface FraudWindowStore {
+
+    /**
+     * @return false if the store holds no window for this user, because it never saw one or lost
+     * it, in which case it must be rehydrated before counts are trusted
+     */
+    boolean hasWindow(String counter, UUID userId);
+
+    /**
+     * Adds events to a user's window, drops the ones older than {@code window}, and counts the rest.
+     *
+     * @param events event IDs with the times they happened
+     * @return the number of events in {@code (now - window, now]}
+     */
+    long add(String counter, UUID userId, Map<UUID, Instant> events, Instant now, Duration window);
+
+    /**
+     * @return the user's investment totals, or empty if the store has none
+     */
+    Optional<InvestmentTotals> totals(UUID userId);
+
+    /**
+     * Replaces the user's investment totals, when rehydrating them from the database.
+     *
+     * @param investmentId the investment whose event triggered the rehydration, which the
+     *                     database totals already include
+     */
+    void putTotals(UUID userId, InvestmentTotals totals, UUID investmentId);
+
+    /**
+     * Adds an investment to the user's totals unless they already include it.
+     *
+     * @return false if the investment was already added, or the totals are gone
+     */
+    boolean addInvestment(UUID userId, UUID investmentId, BigDecimal amount);
+
+    /**
+     * Starts a cooldown for an alert type, during which the same alert is not raised again.
+     *
+     * @return true if no cooldown was running, meaning the alert should be raised
+     */
+    boolean startCooldown(String alertType, UUID userId, Duration cooldown);
+
+    record InvestmentTotals(long count, BigDecimal sum) {
+
+        public BigDecimal average() {
+            return count == 0 ? BigDecimal.ZERO : sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+        }
+
+        public InvestmentTotals minus(BigDecimal amount) {
+            return new InvestmentTotals(Math.max(count - 1, 0), sum.subtract(amount));
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.keza.ai.domain.port.out;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -20,7 +22,23 @@ public interface RiskDataPort {
     CampaignRiskData getCampaignData(UUID campaignId);
 
     /**
-     * Immutable record containing all campaign fields needed for risk scoring.
+     * Lists the campaigns whose risk scores are shown to investors or reviewers: those in review
+     * or live.
+     *
+     * @return the campaign IDs
+     */
+    List<UUID> findCampaignIdsToScore();
+
+    /**
+     * Filters the given campaigns down to those published to investors: live, funded or closed.
+     *
+     * @return the published campaign IDs
+     */
+    List<UUID> findPublishedCampaignIds(Collection<UUID> campaignIds);
+
+    /**
+     * Immutable record containing all campaign fields needed for risk scoring. The issuer and
+     * status decide who may view the score and are not scoring inputs.
      */
     record CampaignRiskData(
             UUID campaignId,
@@ -43,7 +61,9 @@ public interface RiskDataPort {
             int mediaCount,
             int updateCount,
             boolean issuerKycApproved,
-            int issuerPreviousCampaigns
+            int issuerPreviousCampaigns,
+            UUID issuerId,
+            String status
     ) {}
 
     /**
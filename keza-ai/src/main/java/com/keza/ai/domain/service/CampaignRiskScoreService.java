@@ -0,0 +1,197 @@
+package com.keza.ai.domain.service;
+
+import com.keza.ai.domain.model.CampaignRiskScore;
+import com.keza.ai.domain.port.out.CampaignRiskScoreRepository;
+import com.keza.ai.domain.port.out.RiskDataPort;
+import com.keza.ai.domain.port.out.RiskDataPort.CampaignDataNotFoundException;
+import com.keza.ai.domain.port.out.RiskDataPort.CampaignRiskData;
+import com.keza.ai.domain.service.RiskScoringService.RiskScoreResult;
+import com.keza.infrastructure.scheduling.SchedulerLease;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Persisted campaign risk scores, each stored with the {@link RiskScoringService#inputFingerprint
+ * fingerprint} of the inputs it was computed from.
+ * <p>
+ * Reads are cache-aside: a campaign's stored score is returned while its fingerprint still
+ * matches, and recomputed and stored otherwise, so a model call is made only when the
+ * campaign's content, financials or documents have changed. Listing badges read stored scores
+ * only and never compute one. A batch job rescores changed campaigns in the background on
+ * {@code riskScoringExecutor}, whose pool size bounds the model calls in flight.
+ * <p>
+ * Concurrent misses for the same campaign on one instance share a single computation, so a
+ * burst of requests for a changed campaign makes one model call rather than one each.
+ */
+@Slf4j
+@Service
+public class CampaignRiskScoreService {
+
+    static final String BATCH_LEASE = "campaign-risk-scoring";
+
+    static final Duration BATCH_LEASE_DURATION = Duration.ofSeconds(1795);
+
+    private final RiskScoringService riskScoringService;
+    private final RiskDataPort riskDataPort;
+    private final CampaignRiskScoreRepository scoreRepository;
+    private final SchedulerLease schedulerLease;
+    private final Executor riskScoringExecutor;
+    private final Map<UUID, CompletableFuture<RiskScoreResult>> scoringInFlight = new ConcurrentHashMap<>();
+
+    @Value("${keza.ai.risk-scoring.batch-size:200}")
+    private int batchSize;
+
+    public CampaignRiskScoreService(RiskScoringService riskScoringService,
+                                    RiskDataPort riskDataPort,
+                                    CampaignRiskScoreRepository scoreRepository,
+                                    SchedulerLease schedulerLease,
+                                    @Qualifier("riskScoringExecutor") Executor riskScoringExecutor) {
+        this.riskScoringService = riskScoringService;
+        this.riskDataPort = riskDataPort;
+        this.scoreRepository = scoreRepository;
+        this.schedulerLease = schedulerLease;
+        this.riskScoringExecutor = riskScoringExecutor;
+    }
+
+    /**
+     * Returns the campaign's risk score, recomputing it only if its inputs changed since it was
+     * stored.
+     */
+    public RiskScoreResult getRiskScore(CampaignRiskData data) {
+        String fingerprint = riskScoringService.inputFingerprint(data);
+
+        CampaignRiskScore stored = scoreRepository.findByCampaignId(data.campaignId()).orElse(null);
+        if (stored != null && fingerprint.equals(stored.getInputFingerprint())) {
+            return toResult(stored);
+        }
+        return scoreOnce(data, fingerprint, stored);
+    }
+
+    /**
+     * Returns the stored scores of the given campaigns in one query, without computing any.
+     * Campaigns not yet scored are absent.
+     */
+    public Map<UUID, CampaignRiskScore> getStoredScores(Collection<UUID> campaignIds) {
+        if (campaignIds.isEmpty()) {
+            return Map.of();
+        }
+        return scoreRepository.findByCampaignIdIn(campaignIds).stream()
+                .collect(Collectors.toMap(CampaignRiskScore::getCampaignId, Function.identity()));
+    }
+
+    /**
+     * Rescores the campaigns in review or live whose inputs changed since they were last scored,
+     * at most {@code batchSize} per run.
+     */
+    @Scheduled(fixedDelay = 1800000, initialDelay = 60000)
+    public void scoreChangedCampaigns() {
+        if (!schedulerLease.tryAcquire(BATCH_LEASE, BATCH_LEASE_DURATION)) {
+            return;
+        }
+
+        List<UUID> campaignIds = riskDataPort.findCampaignIdsToScore();
+        Map<UUID, CampaignRiskScore> stored = getStoredScores(campaignIds);
+
+        List<CompletableFuture<Void>> scoring = new ArrayList<>();
+        for (UUID campaignId : campaignIds) {
+            if (scoring.size() >= batchSize) {
+                log.info("Risk scoring batch reached its limit of {} campaigns; the rest wait for the next run",
+                        batchSize);
+                break;
+            }
+            CampaignRiskData data;
+            try {
+                data = riskDataPort.getCampaignData(campaignId);
+            } catch (CampaignDataNotFoundException e) {
+                continue;
+            }
+            String fingerprint = riskScoringService.inputFingerprint(data);
+            CampaignRiskScore current = stored.get(campaignId);
+            if (current != null && fingerprint.equals(current.getInputFingerprint())) {
+                continue;
+            }
+            scoring.add(CompletableFuture
+                    .runAsync(() -> scoreOnce(data, fingerprint, current), riskScoringExecutor)
+                    .exceptionally(e -> {
+                        log.error("Failed to score campaign {}: {}", campaignId, e.getMessage());
+                        return null;
+                    }));
+        }
+
+        CompletableFuture.allOf(scoring.toArray(CompletableFuture[]::new)).join();
+        if (!scoring.isEmpty()) {
+            log.info("Risk scoring batch rescored {} of {} campaigns", scoring.size(), campaignIds.size());
+        }
+    }
+
+    /**
+     * Scores the campaign, or waits for the scoring already running for it on this instance.
+     */
+    private RiskScoreResult scoreOnce(CampaignRiskData data, String fingerprint, CampaignRiskScore stored) {
+        CompletableFuture<RiskScoreResult> mine = new CompletableFuture<>();
+        CompletableFuture<RiskScoreResult> running = scoringInFlight.putIfAbsent(data.campaignId(), mine);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            RiskScoreResult result = score(data, fingerprint, stored);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            scoringInFlight.remove(data.campaignId(), mine);
+        }
+    }
+
+    private RiskScoreResult score(CampaignRiskData data, String fingerprint, CampaignRiskScore stored) {
+        RiskScoreResult result = riskScoringService.calculateRiskScore(data);
+
+        CampaignRiskScore score = stored != null
+                ? stored
+                : CampaignRiskScore.builder().campaignId(data.campaignId()).build();
+        score.setScore(result.score());
+        score.setRiskLevel(result.riskLevel());
+        score.setStrengths(new ArrayList<>(result.strengths()));
+        score.setRisks(new ArrayList<>(result.risks()));
+        score.setRecommendation(result.recommendation());
+        score.setInputFingerprint(fingerprint);
+        score.setScoredAt(Instant.now());
+        try {
+            scoreRepository.save(score);
+        } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+            // Another request or replica stored a score for the campaign meanwhile; either will do
+            log.debug("Risk score of campaign {} stored concurrently: {}", data.campaignId(), e.getMessage());
+        }
+        return result;
+    }
+
+    private RiskScoreResult toResult(CampaignRiskScore score) {
+        return new RiskScoreResult(score.getScore(), score.getRiskLevel(),
+                List.copyOf(score.getStrengths()), List.copyOf(score.getRisks()), score.getRecommendation());
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -42,6 +43,16 @@ public class DefaultFraudDataAdapter implements FraudDataPort {
         return 0;
     }
 
+    @Override
+    public List<Occurrence> findInvestmentsByUserSince(UUID userId, Instant since) {
+        return List.of();
+    }
+
+    @Override
+    public List<Occurrence> findFailedPaymentsByUserSince(UUID userId, Instant since) {
+        return List.of();
+    }
+
     @Override
     public long countUsersWithPhone(String phone) {
         return 0;
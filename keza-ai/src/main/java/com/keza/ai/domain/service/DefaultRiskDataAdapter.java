@@ -6,6 +6,8 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -44,7 +46,19 @@ public class DefaultRiskDataAdapter implements RiskDataPort {
                 0,                           // mediaCount
                 0,                           // updateCount
                 false,                       // issuerKycApproved
-                0                            // issuerPreviousCampaigns
+                0,                           // issuerPreviousCampaigns
+                null,                        // issuerId
+                null                         // status
         );
     }
+
+    @Override
+    public List<UUID> findCampaignIdsToScore() {
+        return List.of();
+    }
+
+    @Override
+    public List<UUID> findPublishedCampaignIds(Collection<UUID> campaignIds) {
+        return List.of();
+    }
 }
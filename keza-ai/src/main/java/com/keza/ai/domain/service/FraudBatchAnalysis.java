@@ -0,0 +1,114 @@
+package com.keza.ai.domain.service;
+
+import com.keza.ai.domain.model.FraudBatchPhase;
+import com.keza.ai.domain.model.FraudRuleSet;
+import com.keza.ai.domain.model.FraudRuleSet.Rule;
+import com.keza.ai.domain.model.FraudRuleType;
+import com.keza.ai.domain.port.out.FraudBatchRepository;
+import com.keza.ai.domain.port.out.FraudBatchRepository.Checkpoint;
+import com.keza.ai.domain.port.out.FraudBatchRepository.Chunk;
+import com.keza.ai.domain.port.out.FraudBatchRepository.Run;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Cross-user fraud rules over one day of activity: shared phone numbers, structuring just under
+ * the high-amount threshold, and circular marketplace trades. Thresholds come from the
+ * {@link FraudRuleRegistry}'s current rule set when a run starts.
+ * <p>
+ * A run works through the {@link FraudBatchPhase phases} in chunks of users, each committed
+ * with its checkpoint, until it finishes or reaches its deadline. The next run for the same
+ * date picks up after the last committed chunk, so a run interrupted by the deadline or a crash
+ * loses at most one chunk of work.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FraudBatchAnalysis {
+
+    static final ZoneId ZONE = ZoneId.of("Africa/Nairobi");
+
+    private final FraudBatchRepository batchRepository;
+    private final FraudRuleRegistry fraudRuleRegistry;
+
+    @Value("${keza.fraud.batch.chunk-size:5000}")
+    private int chunkSize;
+
+    /**
+     * Runs, or resumes, the analysis of {@code runDate}, starting no new chunk after {@code deadline}.
+     * Phases whose rule is disabled are skipped.
+     *
+     * @return true if every enabled phase of the date is complete
+     */
+    public boolean run(LocalDate runDate, Instant deadline) {
+        FraudRuleSet rules = fraudRuleRegistry.current();
+        Map<FraudBatchPhase, Checkpoint> checkpoints = batchRepository.findCheckpoints(runDate);
+        List<FraudBatchPhase> pending = Arrays.stream(FraudBatchPhase.values())
+                .filter(phase -> phase.getRuleType() == null || rules.isEnabled(phase.getRuleType()))
+                .filter(phase -> !checkpoints.getOrDefault(phase, Checkpoint.NOT_STARTED).completed())
+                .toList();
+        if (pending.isEmpty()) {
+            log.debug("Fraud batch analysis of {} already completed", runDate);
+            return true;
+        }
+
+        Rule structuring = rules.rule(FraudRuleType.STRUCTURING);
+        Run run = new Run(runDate,
+                runDate.atStartOfDay(ZONE).toInstant(),
+                runDate.plusDays(1).atStartOfDay(ZONE).toInstant(),
+                rules.rule(FraudRuleType.SHARED_PHONE).limit(),
+                structuring.minAmount(),
+                rules.rule(FraudRuleType.HIGH_AMOUNT).threshold(),
+                structuring.limit(),
+                rules.rule(FraudRuleType.CIRCULAR_TRADE).limit());
+
+        for (FraudBatchPhase phase : pending) {
+            if (!Instant.now().isBefore(deadline)) {
+                log.info("Fraud batch analysis of {} paused before {}", runDate, phase);
+                return false;
+            }
+
+            if (phase == FraudBatchPhase.ACTIVE_USERS) {
+                long staged = batchRepository.stageActiveUsers(run);
+                log.info("Fraud batch analysis of {} staged {} active users", runDate, staged);
+                continue;
+            }
+
+            Checkpoint checkpoint = checkpoints.getOrDefault(phase, Checkpoint.NOT_STARTED);
+            if (!runPhase(phase, run, checkpoint.lastKey(), deadline)) {
+                return false;
+            }
+        }
+
+        log.info("Fraud batch analysis of {} completed", runDate);
+        return true;
+    }
+
+    private boolean runPhase(FraudBatchPhase phase, Run run, UUID after, Instant deadline) {
+        int alerts = 0;
+        while (true) {
+            if (!Instant.now().isBefore(deadline)) {
+                log.info("Fraud batch analysis of {} paused in {} after user {} ({} alerts this session)",
+                        run.date(), phase, after, alerts);
+                return false;
+            }
+            Chunk chunk = batchRepository.runChunk(phase, run, after, chunkSize);
+            alerts += chunk.alertsRaised();
+            if (chunk.isLast()) {
+                log.info("Fraud batch {} of {} completed ({} alerts this session)", phase, run.date(), alerts);
+                return true;
+            }
+            after = chunk.lastKey();
+        }
+    }
+}
@@ -2,11 +2,15 @@ package com.keza.ai.domain.service;
 
 import com.keza.ai.domain.model.FraudAlert;
 import com.keza.ai.domain.model.FraudAlertStatus;
+import com.keza.ai.domain.model.FraudRuleSet;
+import com.keza.ai.domain.model.FraudRuleSet.Rule;
+import com.keza.ai.domain.model.FraudRuleType;
 import com.keza.ai.domain.model.FraudSeverity;
 import com.keza.ai.domain.port.out.FraudAlertRepository;
 import com.keza.ai.domain.port.out.FraudDataPort;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.keza.infrastructure.scheduling.SchedulerLease;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -14,8 +18,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.time.LocalDate;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -25,6 +30,11 @@ import java.util.UUID;
  * Performs velocity checks, amount anomaly detection, duplicate account detection,
  * failed payment pattern analysis, and geographic anomaly stubs
  * to identify potentially fraudulent activity on the platform.
+ * <p>
+ * Live investment and payment events are evaluated by {@link StreamingFraudEngine}, which
+ * raises its alerts through {@link #createAlert}; {@link #checkInvestment} and
+ * {@link #checkPayment} are the synchronous, query-per-check equivalents. Cross-user patterns
+ * are found nightly by {@link FraudBatchAnalysis}.
  */
 @Slf4j
 @Service
@@ -34,14 +44,21 @@ public class FraudDetectionService {
     private final FraudAlertRepository fraudAlertRepository;
     private final FraudDataPort fraudDataPort;
     private final ObjectMapper objectMapper;
+    private final FraudRuleRegistry fraudRuleRegistry;
+    private final FraudBatchAnalysis fraudBatchAnalysis;
+    private final SchedulerLease schedulerLease;
 
-    // Configurable thresholds
-    private static final int MAX_INVESTMENTS_PER_HOUR = 5;
-    private static final BigDecimal HIGH_AMOUNT_THRESHOLD = new BigDecimal("1000000"); // 1M KES
-    private static final BigDecimal VERY_HIGH_AMOUNT_THRESHOLD = new BigDecimal("5000000"); // 5M KES
-    private static final BigDecimal MINIMUM_SUSPICIOUS_AMOUNT = new BigDecimal("50000"); // 50K KES
-    private static final int AMOUNT_ANOMALY_MULTIPLIER = 3;
-    private static final int MAX_FAILED_PAYMENTS_PER_DAY = 5;
+    static final String BATCH_LEASE = "fraud-batch-analysis";
+
+    /**
+     * Just under the ten-minute cron step, which also bounds how long each tick's run may take.
+     */
+    static final Duration BATCH_LEASE_DURATION = Duration.ofSeconds(590);
+
+    /**
+     * Time left at the end of the lease for the chunk in flight to commit.
+     */
+    private static final Duration BATCH_RUN_MARGIN = Duration.ofSeconds(60);
 
     /**
      * Checks for fraud indicators during user registration.
@@ -54,11 +71,13 @@ public class FraudDetectionService {
     @Transactional
     public void checkRegistration(UUID userId, String phone, String nationalId) {
         log.info("Running fraud detection checks for registration: user={}", userId);
+        FraudRuleSet rules = fraudRuleRegistry.current();
 
         // Check for duplicate phone numbers
-        if (phone != null && !phone.isBlank()) {
+        Rule duplicatePhone = rules.rule(FraudRuleType.DUPLICATE_PHONE);
+        if (duplicatePhone.enabled() && phone != null && !phone.isBlank()) {
             long usersWithPhone = fraudDataPort.countUsersWithPhone(phone);
-            if (usersWithPhone > 1) {
+            if (usersWithPhone > duplicatePhone.limit()) {
                 Map<String, Object> details = new LinkedHashMap<>();
                 details.put("phone", phone);
                 details.put("duplicateCount", usersWithPhone);
@@ -76,9 +95,10 @@ public class FraudDetectionService {
         }
 
         // Check for duplicate national IDs
-        if (nationalId != null && !nationalId.isBlank()) {
+        Rule duplicateNationalId = rules.rule(FraudRuleType.DUPLICATE_NATIONAL_ID);
+        if (duplicateNationalId.enabled() && nationalId != null && !nationalId.isBlank()) {
             long usersWithNationalId = fraudDataPort.countUsersWithNationalId(nationalId);
-            if (usersWithNationalId > 1) {
+            if (usersWithNationalId > duplicateNationalId.limit()) {
                 Map<String, Object> details = new LinkedHashMap<>();
                 details.put("nationalId", nationalId);
                 details.put("duplicateCount", usersWithNationalId);
@@ -119,11 +139,13 @@ public class FraudDetectionService {
     public void checkInvestment(UUID userId, BigDecimal amount) {
         log.info("Running fraud detection checks for investment: user={}, amount={}", userId, amount);
 
+        FraudRuleSet rules = fraudRuleRegistry.current();
+
         // 1. Velocity check: too many investments in a short period
-        checkInvestmentVelocity(userId);
+        checkInvestmentVelocity(userId, rules.rule(FraudRuleType.VELOCITY));
 
         // 2. Amount anomaly: unusually large investment (absolute thresholds + relative to user average)
-        checkAmountAnomaly(userId, amount);
+        checkAmountAnomaly(userId, amount, rules);
 
         log.info("Investment fraud checks completed for user {}", userId);
     }
@@ -139,17 +161,22 @@ public class FraudDetectionService {
     public void checkPayment(UUID userId, UUID transactionId) {
         log.info("Running fraud detection checks for payment: user={}, transaction={}", userId, transactionId);
 
-        Instant twentyFourHoursAgo = Instant.now().minus(24, ChronoUnit.HOURS);
-        long failedPayments = fraudDataPort.countFailedPaymentsByUserSince(userId, twentyFourHoursAgo);
+        Rule rule = fraudRuleRegistry.current().rule(FraudRuleType.FAILED_PAYMENTS);
+        if (!rule.enabled()) {
+            return;
+        }
+
+        Instant windowStart = Instant.now().minus(rule.window());
+        long failedPayments = fraudDataPort.countFailedPaymentsByUserSince(userId, windowStart);
 
-        if (failedPayments > MAX_FAILED_PAYMENTS_PER_DAY) {
+        if (failedPayments > rule.limit()) {
             // Avoid duplicate alerts: check if we already raised one recently
             long recentAlerts = fraudAlertRepository.countRecentAlerts(
-                    userId, "FAILED_PAYMENT_PATTERN", twentyFourHoursAgo);
+                    userId, "FAILED_PAYMENT_PATTERN", windowStart);
             if (recentAlerts == 0) {
                 Map<String, Object> details = new LinkedHashMap<>();
                 details.put("failedPaymentsInLast24h", failedPayments);
-                details.put("threshold", MAX_FAILED_PAYMENTS_PER_DAY);
+                details.put("threshold", rule.limit());
                 details.put("transactionId", transactionId.toString());
                 details.put("checkTime", Instant.now().toString());
 
@@ -158,7 +185,7 @@ public class FraudDetectionService {
                         "FAILED_PAYMENT_PATTERN",
                         "HIGH",
                         String.format("High payment failure rate: %d failed payments in the last 24 hours (threshold: %d)",
-                                failedPayments, MAX_FAILED_PAYMENTS_PER_DAY),
+                                failedPayments, rule.limit()),
                         details
                 );
             }
@@ -168,25 +195,20 @@ public class FraudDetectionService {
     }
 
     /**
-     * Runs a daily batch fraud analysis.
-     * Scheduled to execute at 2 AM daily.
-     * <p>
-     * This method can be extended to perform aggregate pattern detection,
-     * cross-user analysis, and other computationally expensive checks
-     * that are not suitable for real-time triggers.
+     * Runs, or resumes, the batch analysis of yesterday's activity in {@link FraudBatchAnalysis}.
+     * Ticks every ten minutes through the 02:00-05:00 maintenance window; one replica runs per
+     * tick under a {@link SchedulerLease} and stops before the lease lapses, and the next tick
+     * continues from its checkpoint until the day is complete.
      */
-    @Scheduled(cron = "0 0 2 * * ?")
-    @Transactional(readOnly = true)
+    @Scheduled(cron = "0 */10 2-4 * * ?", zone = "Africa/Nairobi")
     public void runDailyBatchCheck() {
-        log.info("Starting daily batch fraud detection analysis");
-
-        // Placeholder for aggregate analysis:
-        // - Detect coordinated investment patterns across users
-        // - Flag accounts with consistently suspicious behavior over time
-        // - Re-check geographic anomalies from collected IP data
-        // - Generate summary reports for the compliance team
+        if (!schedulerLease.tryAcquire(BATCH_LEASE, BATCH_LEASE_DURATION)) {
+            return;
+        }
 
-        log.info("Daily batch fraud detection analysis completed");
+        fraudBatchAnalysis.run(
+                LocalDate.now(FraudBatchAnalysis.ZONE).minusDays(1),
+                Instant.now().plus(BATCH_LEASE_DURATION).minus(BATCH_RUN_MARGIN));
     }
 
     /**
@@ -248,8 +270,11 @@ public class FraudDetectionService {
 
     // ---- Private rule-based checks ----
 
-    private void checkInvestmentVelocity(UUID userId) {
-        Instant oneHourAgo = Instant.now().minus(1, ChronoUnit.HOURS);
+    private void checkInvestmentVelocity(UUID userId, Rule rule) {
+        if (!rule.enabled()) {
+            return;
+        }
+        Instant oneHourAgo = Instant.now().minus(rule.window());
 
         // If we already raised a velocity alert in the last hour, skip
         long recentVelocityAlerts = fraudAlertRepository.countRecentAlerts(userId, "VELOCITY_VIOLATION", oneHourAgo);
@@ -260,10 +285,10 @@ public class FraudDetectionService {
         // Query actual investment count from the investment repository via the port
         long recentInvestments = fraudDataPort.countInvestmentsByUserSince(userId, oneHourAgo);
 
-        if (recentInvestments >= MAX_INVESTMENTS_PER_HOUR) {
+        if (recentInvestments >= rule.limit()) {
             Map<String, Object> details = new LinkedHashMap<>();
             details.put("investmentsInLastHour", recentInvestments);
-            details.put("threshold", MAX_INVESTMENTS_PER_HOUR);
+            details.put("threshold", rule.limit());
             details.put("checkTime", Instant.now().toString());
 
             createAlert(
@@ -271,20 +296,22 @@ public class FraudDetectionService {
                     "VELOCITY_VIOLATION",
                     "HIGH",
                     String.format("User made %d investments in the last hour (threshold: %d)",
-                            recentInvestments, MAX_INVESTMENTS_PER_HOUR),
+                            recentInvestments, rule.limit()),
                     details
             );
         }
     }
 
-    private void checkAmountAnomaly(UUID userId, BigDecimal amount) {
+    private void checkAmountAnomaly(UUID userId, BigDecimal amount, FraudRuleSet rules) {
         if (amount == null) return;
 
         // Absolute threshold checks
-        if (amount.compareTo(VERY_HIGH_AMOUNT_THRESHOLD) >= 0) {
+        Rule veryHigh = rules.rule(FraudRuleType.VERY_HIGH_AMOUNT);
+        Rule high = rules.rule(FraudRuleType.HIGH_AMOUNT);
+        if (veryHigh.enabled() && amount.compareTo(veryHigh.threshold()) >= 0) {
             Map<String, Object> details = new LinkedHashMap<>();
             details.put("amount", amount.toPlainString());
-            details.put("threshold", VERY_HIGH_AMOUNT_THRESHOLD.toPlainString());
+            details.put("threshold", veryHigh.threshold().toPlainString());
             details.put("currency", "KES");
 
             createAlert(
@@ -292,13 +319,13 @@ public class FraudDetectionService {
                     "AMOUNT_ANOMALY",
                     "CRITICAL",
                     String.format("Very high investment amount detected: KES %s (threshold: KES %s)",
-                            amount.toPlainString(), VERY_HIGH_AMOUNT_THRESHOLD.toPlainString()),
+                            amount.toPlainString(), veryHigh.threshold().toPlainString()),
                     details
             );
-        } else if (amount.compareTo(HIGH_AMOUNT_THRESHOLD) >= 0) {
+        } else if (high.enabled() && amount.compareTo(high.threshold()) >= 0) {
             Map<String, Object> details = new LinkedHashMap<>();
             details.put("amount", amount.toPlainString());
-            details.put("threshold", HIGH_AMOUNT_THRESHOLD.toPlainString());
+            details.put("threshold", high.threshold().toPlainString());
             details.put("currency", "KES");
 
             createAlert(
@@ -306,26 +333,27 @@ public class FraudDetectionService {
                     "AMOUNT_ANOMALY",
                     "HIGH",
                     String.format("High investment amount detected: KES %s (threshold: KES %s)",
-                            amount.toPlainString(), HIGH_AMOUNT_THRESHOLD.toPlainString()),
+                            amount.toPlainString(), high.threshold().toPlainString()),
                     details
             );
         }
 
-        // Relative threshold check: flag if amount > 3x user's average AND above minimum suspicious amount
-        if (amount.compareTo(MINIMUM_SUSPICIOUS_AMOUNT) > 0) {
+        // Relative threshold check: flag if amount > multiplier x user's average AND above minimum suspicious amount
+        Rule relative = rules.rule(FraudRuleType.RELATIVE_AMOUNT);
+        if (relative.enabled() && amount.compareTo(relative.minAmount()) > 0) {
             BigDecimal userAverage = fraudDataPort.getAverageInvestmentAmount(userId);
             if (userAverage.compareTo(BigDecimal.ZERO) > 0) {
-                BigDecimal threshold = userAverage.multiply(BigDecimal.valueOf(AMOUNT_ANOMALY_MULTIPLIER));
+                BigDecimal threshold = userAverage.multiply(relative.threshold());
                 if (amount.compareTo(threshold) > 0) {
                     // Avoid duplicate: check if we already raised a relative anomaly alert recently
-                    Instant oneHourAgo = Instant.now().minus(1, ChronoUnit.HOURS);
+                    Instant oneHourAgo = Instant.now().minus(relative.window());
                     long recentAlerts = fraudAlertRepository.countRecentAlerts(
                             userId, "AMOUNT_ANOMALY_RELATIVE", oneHourAgo);
                     if (recentAlerts == 0) {
                         Map<String, Object> details = new LinkedHashMap<>();
                         details.put("amount", amount.toPlainString());
                         details.put("userAverage", userAverage.toPlainString());
-                        details.put("multiplier", AMOUNT_ANOMALY_MULTIPLIER);
+                        details.put("multiplier", relative.threshold());
                         details.put("relativeThreshold", threshold.toPlainString());
                         details.put("currency", "KES");
 
@@ -0,0 +1,72 @@
+package com.keza.ai.domain.service;
+
+import com.keza.ai.domain.model.FraudRuleSet;
+import com.keza.ai.domain.port.out.FraudRuleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The fraud rules in force on this replica, compiled from the fraud_rules table into an immutable
+ * {@link FraudRuleSet}. Rule checks read {@link #current()}, a volatile field, so evaluating a rule
+ * adds no lookup to the request.
+ * <p>
+ * The set is recompiled when a rule change is announced over Redis pub/sub, which reaches every
+ * replica within milliseconds of the change committing, and once a minute in case an announcement
+ * was missed. Until the first load, and whenever the table cannot be read, the last compiled set
+ * (initially the defaults) stays in force. Each load is numbered when it starts and a set is
+ * installed only if no later-started load is already in force, so a scheduled reload that read the
+ * table before a change committed cannot overwrite the set the change announcement loaded.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FraudRuleRegistry {
+
+    private final FraudRuleRepository fraudRuleRepository;
+
+    private final AtomicLong loads = new AtomicLong();
+
+    private volatile FraudRuleSet current = FraudRuleSet.defaults();
+
+    /**
+     * Number of the load that compiled {@link #current}; guarded by this registry's monitor.
+     */
+    private long currentLoad;
+
+    public FraudRuleSet current() {
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+    public void reload() {
+        long load = loads.incrementAndGet();
+        FraudRuleSet reloaded;
+        try {
+            reloaded = FraudRuleSet.compile(fraudRuleRepository.findAll());
+        } catch (DataAccessException e) {
+            log.error("Failed to reload fraud rules, keeping the rules in force: {}", e.getMessage());
+            return;
+        }
+        install(load, reloaded);
+    }
+
+    private synchronized void install(long load, FraudRuleSet reloaded) {
+        if (load < currentLoad) {
+            log.debug("Discarding fraud rules from load {}; load {} started later and is in force", load, currentLoad);
+            return;
+        }
+        if (!reloaded.equals(current)) {
+            log.info("Fraud rules reloaded: {}", reloaded.rules());
+        }
+        currentLoad = load;
+        current = reloaded;
+    }
+}
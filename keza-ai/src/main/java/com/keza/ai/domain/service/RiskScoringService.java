@@ -9,7 +9,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.UUID;
 
@@ -41,6 +45,9 @@ public class RiskScoringService {
     private static final BigDecimal MIN_REASONABLE_TARGET = new BigDecimal("100000");    // KES 100K
     private static final BigDecimal MAX_REASONABLE_TARGET = new BigDecimal("100000000"); // KES 100M
 
+    // Bump when the scoring rules or prompt change, so stored scores are recomputed
+    private static final String FINGERPRINT_VERSION = "1";
+
     private final RiskDataPort riskDataPort;
     private final ChatModel chatModel;
 
@@ -59,9 +66,18 @@ public class RiskScoringService {
      * @return a RiskScoreResult containing the score, level, analysis, and recommendation
      */
     public RiskScoreResult calculateRiskScore(UUID campaignId) {
-        log.info("Calculating risk score for campaign: {}", campaignId);
+        return calculateRiskScore(riskDataPort.getCampaignData(campaignId));
+    }
 
-        CampaignRiskData data = riskDataPort.getCampaignData(campaignId);
+    /**
+     * Calculates the risk score of already loaded campaign data.
+     *
+     * @param data the campaign's scoring inputs
+     * @return a RiskScoreResult containing the score, level, analysis, and recommendation
+     */
+    public RiskScoreResult calculateRiskScore(CampaignRiskData data) {
+        UUID campaignId = data.campaignId();
+        log.info("Calculating risk score for campaign: {}", campaignId);
 
         // Rule-based scoring for each dimension
         double campaignCompletenessScore = scoreCampaignCompleteness(data);
@@ -107,6 +123,48 @@ public class RiskScoringService {
         return new RiskScoreResult(score, riskLevel, strengths, risks, recommendation);
     }
 
+    /**
+     * Fingerprints the inputs a score depends on: the campaign's content, financials, documents
+     * and issuer standing. Raised amount and investor count enter only as the bands the rules
+     * distinguish, so ordinary investment activity leaves the fingerprint, and a stored score,
+     * unchanged until the campaign crosses a band. Whether the LLM is available is included too,
+     * so enabling it rescores every campaign.
+     *
+     * @return a SHA-256 hex digest
+     */
+    public String inputFingerprint(CampaignRiskData data) {
+        String inputs = String.join("\u001F",
+                FINGERPRINT_VERSION,
+                String.valueOf(chatModel != null),
+                nullSafe(data.title()),
+                nullSafe(data.description()),
+                nullSafe(data.industry()),
+                nullSafe(data.companyName()),
+                nullSafe(data.companyRegistrationNumber()),
+                nullSafe(data.companyWebsite()),
+                nullSafe(data.companyAddress()),
+                data.targetAmount() != null ? data.targetAmount().stripTrailingZeros().toPlainString() : "N/A",
+                String.valueOf(hasFundingProgress(data, 0.20)),
+                String.valueOf(hasFundingProgress(data, 0.30)),
+                String.valueOf(investorBand(data.investorCount())),
+                String.valueOf(data.wizardStep()),
+                String.valueOf(data.hasFinancialProjections()),
+                String.valueOf(data.hasRiskFactors()),
+                String.valueOf(data.hasUseOfFunds()),
+                String.valueOf(data.hasTeamMembers()),
+                String.valueOf(data.hasPitchVideo()),
+                String.valueOf(data.mediaCount()),
+                String.valueOf(data.updateCount()),
+                String.valueOf(data.issuerKycApproved()),
+                String.valueOf(data.issuerPreviousCampaigns() > 0));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(inputs.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     // ---- Scoring dimensions ----
 
     /**
@@ -444,6 +502,17 @@ public class RiskScoringService {
         return progress > threshold;
     }
 
+    /**
+     * @return the band of the investor count thresholds used across the scoring dimensions
+     */
+    private int investorBand(int investorCount) {
+        if (investorCount > 50) return 4;
+        if (investorCount > 20) return 3;
+        if (investorCount > 10) return 2;
+        if (investorCount > 5) return 1;
+        return 0;
+    }
+
     private String nullSafe(String value) {
         return value != null ? value : "N/A";
     }
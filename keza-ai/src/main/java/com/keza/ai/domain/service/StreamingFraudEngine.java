@@ -0,0 +1,194 @@
+package com.keza.ai.domain.service;
+
+import com.keza.ai.domain.model.FraudRuleSet;
+import com.keza.ai.domain.model.FraudRuleSet.Rule;
+import com.keza.ai.domain.model.FraudRuleType;
+import com.keza.ai.domain.port.out.FraudDataPort;
+import com.keza.ai.domain.port.out.FraudDataPort.Occurrence;
+import com.keza.ai.domain.port.out.FraudWindowStore;
+import com.keza.ai.domain.port.out.FraudWindowStore.InvestmentTotals;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+/**
+ * Evaluates the investment and payment fraud rules on a stream of events, off the request thread.
+ * <p>
+ * Each rule keeps a per-user sliding window in {@link FraudWindowStore}, so an event costs one
+ * store round trip instead of COUNT queries. The database is read only when a user's window or
+ * totals are missing from the store, to rebuild them; cooldowns in the store replace the
+ * recent-alert queries used to suppress repeat alerts. Thresholds and windows come from the
+ * {@link FraudRuleRegistry}'s current rule set.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StreamingFraudEngine {
+
+    static final String INVESTMENTS = "investments";
+    static final String FAILED_PAYMENTS = "failed-payments";
+
+    private final FraudWindowStore windowStore;
+    private final FraudDataPort fraudDataPort;
+    private final FraudDetectionService fraudDetectionService;
+    private final FraudRuleRegistry fraudRuleRegistry;
+
+    public void onInvestmentCreated(UUID investmentId, UUID userId, BigDecimal amount, Instant at) {
+        FraudRuleSet rules = fraudRuleRegistry.current();
+        Rule velocity = rules.rule(FraudRuleType.VELOCITY);
+        if (velocity.enabled()) {
+            checkVelocity(investmentId, userId, at, velocity);
+        }
+
+        if (amount != null) {
+            checkAbsoluteAmount(userId, amount, rules);
+            // Totals are kept up to date even while the relative rule is off, so it resumes on accurate averages
+            InvestmentTotals previous = previousTotals(investmentId, userId, amount);
+            Rule relative = rules.rule(FraudRuleType.RELATIVE_AMOUNT);
+            if (relative.enabled()) {
+                checkRelativeAmount(userId, amount, previous, relative);
+            }
+        }
+    }
+
+    public void onPaymentFailed(UUID transactionId, UUID userId, Instant at) {
+        Rule rule = fraudRuleRegistry.current().rule(FraudRuleType.FAILED_PAYMENTS);
+        if (!rule.enabled()) {
+            return;
+        }
+        long failedPayments = count(FAILED_PAYMENTS, userId, transactionId, at, rule.window(),
+                fraudDataPort::findFailedPaymentsByUserSince);
+        if (failedPayments > rule.limit()
+                && windowStore.startCooldown("FAILED_PAYMENT_PATTERN", userId, rule.window())) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("failedPaymentsInLast24h", failedPayments);
+            details.put("threshold", rule.limit());
+            details.put("transactionId", transactionId.toString());
+            details.put("checkTime", at.toString());
+
+            fraudDetectionService.createAlert(userId, "FAILED_PAYMENT_PATTERN", "HIGH",
+                    String.format("High payment failure rate: %d failed payments in the last 24 hours (threshold: %d)",
+                            failedPayments, rule.limit()),
+                    details);
+        }
+    }
+
+    private void checkVelocity(UUID investmentId, UUID userId, Instant at, Rule rule) {
+        long recentInvestments = count(INVESTMENTS, userId, investmentId, at, rule.window(),
+                fraudDataPort::findInvestmentsByUserSince);
+        if (recentInvestments >= rule.limit()
+                && windowStore.startCooldown("VELOCITY_VIOLATION", userId, rule.window())) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("investmentsInLastHour", recentInvestments);
+            details.put("threshold", rule.limit());
+            details.put("investmentId", investmentId.toString());
+            details.put("checkTime", at.toString());
+
+            fraudDetectionService.createAlert(userId, "VELOCITY_VIOLATION", "HIGH",
+                    String.format("User made %d investments in the last hour (threshold: %d)",
+                            recentInvestments, rule.limit()),
+                    details);
+        }
+    }
+
+    /**
+     * Adds the event to the user's window and counts the window, first rebuilding it from
+     * {@code history} if the store has none. The history may already contain the event; it is
+     * counted once either way.
+     */
+    private long count(String counter, UUID userId, UUID eventId, Instant at, Duration window,
+                       BiFunction<UUID, Instant, List<Occurrence>> history) {
+        Map<UUID, Instant> events = new HashMap<>();
+        if (!windowStore.hasWindow(counter, userId)) {
+            for (Occurrence occurrence : history.apply(userId, at.minus(window))) {
+                events.put(occurrence.id(), occurrence.at());
+            }
+            log.debug("Rehydrated {} window of user {} with {} events", counter, userId, events.size());
+        }
+        events.put(eventId, at);
+        return windowStore.add(counter, userId, events, at, window);
+    }
+
+    /**
+     * @return the user's totals before this investment, which is then added to them once, however
+     * often its event is delivered
+     */
+    private InvestmentTotals previousTotals(UUID investmentId, UUID userId, BigDecimal amount) {
+        Optional<InvestmentTotals> totals = windowStore.totals(userId);
+        if (totals.isPresent()) {
+            // A redelivered event finds the investment already in the totals
+            return windowStore.addInvestment(userId, investmentId, amount)
+                    ? totals.get()
+                    : totals.get().minus(amount);
+        }
+        // The investment is committed before its event is handled, so the database already counts it
+        long count = fraudDataPort.countInvestmentsByUserSince(userId, Instant.EPOCH);
+        InvestmentTotals current = new InvestmentTotals(count,
+                fraudDataPort.getAverageInvestmentAmount(userId).multiply(BigDecimal.valueOf(count)));
+        windowStore.putTotals(userId, current, investmentId);
+        return current.minus(amount);
+    }
+
+    private void checkAbsoluteAmount(UUID userId, BigDecimal amount, FraudRuleSet rules) {
+        Rule veryHigh = rules.rule(FraudRuleType.VERY_HIGH_AMOUNT);
+        Rule high = rules.rule(FraudRuleType.HIGH_AMOUNT);
+        BigDecimal threshold;
+        String severity;
+        if (veryHigh.enabled() && amount.compareTo(veryHigh.threshold()) >= 0) {
+            threshold = veryHigh.threshold();
+            severity = "CRITICAL";
+        } else if (high.enabled() && amount.compareTo(high.threshold()) >= 0) {
+            threshold = high.threshold();
+            severity = "HIGH";
+        } else {
+            return;
+        }
+
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("amount", amount.toPlainString());
+        details.put("threshold", threshold.toPlainString());
+        details.put("currency", "KES");
+
+        fraudDetectionService.createAlert(userId, "AMOUNT_ANOMALY", severity,
+                String.format("%s investment amount detected: KES %s (threshold: KES %s)",
+                        "CRITICAL".equals(severity) ? "Very high" : "High",
+                        amount.toPlainString(), threshold.toPlainString()),
+                details);
+    }
+
+    private void checkRelativeAmount(UUID userId, BigDecimal amount, InvestmentTotals previous, Rule rule) {
+        BigDecimal userAverage = previous.average();
+        if (amount.compareTo(rule.minAmount()) <= 0 || userAverage.signum() <= 0) {
+            return;
+        }
+        BigDecimal threshold = userAverage.multiply(rule.threshold());
+        if (amount.compareTo(threshold) <= 0
+                || !windowStore.startCooldown("AMOUNT_ANOMALY_RELATIVE", userId, rule.window())) {
+            return;
+        }
+
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("amount", amount.toPlainString());
+        details.put("userAverage", userAverage.toPlainString());
+        details.put("multiplier", rule.threshold());
+        details.put("relativeThreshold", threshold.toPlainString());
+        details.put("currency", "KES");
+
+        fraudDetectionService.createAlert(userId, "AMOUNT_ANOMALY_RELATIVE", "MEDIUM",
+                String.format("Investment amount KES %s is %.1fx the user's average of KES %s",
+                        amount.toPlainString(), amount.doubleValue() / userAverage.doubleValue(),
+                        userAverage.toPlainString()),
+                details);
+    }
+}
@@ -0,0 +1,241 @@
+package com.keza.ai.domain.service;
+
+import com.keza.ai.domain.model.CampaignRiskScore;
+import com.keza.ai.domain.port.out.CampaignRiskScoreRepository;
+import com.keza.ai.domain.port.out.RiskDataPort;
+import com.keza.ai.domain.port.out.RiskDataPort.CampaignRiskData;
+import com.keza.ai.domain.service.RiskScoringService.RiskScoreResult;
+import com.keza.infrastructure.scheduling.SchedulerLease;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CampaignRiskScoreService")
+class CampaignRiskScoreServiceTest {
+
+    private static final RiskScoreResult RESULT = new RiskScoreResult(
+            4, "LOW", List.of("Financial health is strong (low risk)"),
+            List.of("No critical risks identified at this time"), "Proceed with standard review procedures.");
+
+    @Mock
+    private RiskScoringService riskScoringService;
+
+    @Mock
+    private RiskDataPort riskDataPort;
+
+    @Mock
+    private CampaignRiskScoreRepository scoreRepository;
+
+    @Mock
+    private SchedulerLease schedulerLease;
+
+    private CampaignRiskScoreService service;
+
+    private UUID campaignId;
+    private CampaignRiskData data;
+
+    @BeforeEach
+    void setUp() {
+        // Runs scoring tasks on the calling thread
+        service = new CampaignRiskScoreService(riskScoringService, riskDataPort, scoreRepository,
+                schedulerLease, Runnable::run);
+        ReflectionTestUtils.setField(service, "batchSize", 10);
+        campaignId = UUID.randomUUID();
+        data = campaignData(campaignId);
+    }
+
+    private CampaignRiskData campaignData(UUID id) {
+        return new CampaignRiskData(id, "AgriTech Kenya", "A".repeat(200), "Agriculture", "AgriTech Ltd",
+                "CPR-2024-005678", null, "456 Moi Ave, Mombasa", new BigDecimal("2000000"),
+                new BigDecimal("300000"), 8, 4, true, false, true, false, false, 1, 0, true, 0, UUID.randomUUID(), "LIVE");
+    }
+
+    private CampaignRiskScore storedScore(UUID id, String fingerprint) {
+        return CampaignRiskScore.builder()
+                .campaignId(id)
+                .score(6)
+                .riskLevel("MEDIUM")
+                .strengths(List.of("Stored strength"))
+                .risks(List.of("Stored risk"))
+                .recommendation("Stored recommendation")
+                .inputFingerprint(fingerprint)
+                .scoredAt(Instant.parse("2026-03-01T00:00:00Z"))
+                .build();
+    }
+
+    @Nested
+    @DisplayName("getRiskScore")
+    class GetRiskScore {
+
+        @Test
+        @DisplayName("should return the stored score without rescoring while the inputs are unchanged")
+        void shouldReturnStoredScore() {
+            when(riskScoringService.inputFingerprint(data)).thenReturn("same");
+            when(scoreRepository.findByCampaignId(campaignId)).thenReturn(Optional.of(storedScore(campaignId, "same")));
+
+            RiskScoreResult result = service.getRiskScore(data);
+
+            assertThat(result.score()).isEqualTo(6);
+            assertThat(result.riskLevel()).isEqualTo("MEDIUM");
+            verify(riskScoringService, never()).calculateRiskScore(any(CampaignRiskData.class));
+            verify(scoreRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("should rescore and store the score when the inputs changed")
+        void shouldRescoreChangedCampaign() {
+            CampaignRiskScore stored = storedScore(campaignId, "old");
+            when(riskScoringService.inputFingerprint(data)).thenReturn("new");
+            when(scoreRepository.findByCampaignId(campaignId)).thenReturn(Optional.of(stored));
+            when(riskScoringService.calculateRiskScore(data)).thenReturn(RESULT);
+
+            RiskScoreResult result = service.getRiskScore(data);
+
+            assertThat(result).isEqualTo(RESULT);
+            verify(scoreRepository).save(stored);
+            assertThat(stored.getScore()).isEqualTo(4);
+            assertThat(stored.getInputFingerprint()).isEqualTo("new");
+        }
+
+        @Test
+        @DisplayName("should score and store a campaign that has never been scored")
+        void shouldScoreNewCampaign() {
+            when(riskScoringService.inputFingerprint(data)).thenReturn("new");
+            when(scoreRepository.findByCampaignId(campaignId)).thenReturn(Optional.empty());
+            when(riskScoringService.calculateRiskScore(data)).thenReturn(RESULT);
+
+            service.getRiskScore(data);
+
+            ArgumentCaptor<CampaignRiskScore> captor = ArgumentCaptor.forClass(CampaignRiskScore.class);
+            verify(scoreRepository).save(captor.capture());
+            assertThat(captor.getValue().getCampaignId()).isEqualTo(campaignId);
+            assertThat(captor.getValue().getRiskLevel()).isEqualTo("LOW");
+            assertThat(captor.getValue().getScoredAt()).isNotNull();
+        }
+
+        @Test
+        @DisplayName("should make one model call for concurrent misses on the same campaign")
+        void shouldShareConcurrentScoring() throws Exception {
+            CountDownLatch scoring = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            when(riskScoringService.inputFingerprint(data)).thenReturn("new");
+            when(scoreRepository.findByCampaignId(campaignId)).thenReturn(Optional.empty());
+            when(riskScoringService.calculateRiskScore(data)).thenAnswer(invocation -> {
+                scoring.countDown();
+                release.await();
+                return RESULT;
+            });
+
+            ExecutorService callers = Executors.newFixedThreadPool(2);
+            try {
+                Future<RiskScoreResult> first = callers.submit(() -> service.getRiskScore(data));
+                scoring.await();
+                Future<RiskScoreResult> second = callers.submit(() -> service.getRiskScore(data));
+                Thread.sleep(100);
+                release.countDown();
+
+                assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(RESULT);
+                assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(RESULT);
+                verify(riskScoringService, times(1)).calculateRiskScore(data);
+            } finally {
+                callers.shutdownNow();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("getStoredScores")
+    class GetStoredScores {
+
+        @Test
+        @DisplayName("should read stored scores without loading or scoring any campaign")
+        void shouldNotScore() {
+            UUID unscored = UUID.randomUUID();
+            when(scoreRepository.findByCampaignIdIn(List.of(campaignId, unscored)))
+                    .thenReturn(List.of(storedScore(campaignId, "fp")));
+
+            var scores = service.getStoredScores(List.of(campaignId, unscored));
+
+            assertThat(scores).containsOnlyKeys(campaignId);
+            verifyNoInteractions(riskDataPort, riskScoringService);
+        }
+    }
+
+    @Nested
+    @DisplayName("scoreChangedCampaigns")
+    class ScoreChangedCampaigns {
+
+        @Test
+        @DisplayName("should rescore only the campaigns whose inputs changed")
+        void shouldRescoreChangedCampaigns() {
+            UUID unchangedId = UUID.randomUUID();
+            CampaignRiskData unchanged = campaignData(unchangedId);
+            when(schedulerLease.tryAcquire(CampaignRiskScoreService.BATCH_LEASE,
+                    CampaignRiskScoreService.BATCH_LEASE_DURATION)).thenReturn(true);
+            when(riskDataPort.findCampaignIdsToScore()).thenReturn(List.of(campaignId, unchangedId));
+            when(scoreRepository.findByCampaignIdIn(List.of(campaignId, unchangedId)))
+                    .thenReturn(List.of(storedScore(unchangedId, "same")));
+            when(riskDataPort.getCampaignData(campaignId)).thenReturn(data);
+            when(riskDataPort.getCampaignData(unchangedId)).thenReturn(unchanged);
+            when(riskScoringService.inputFingerprint(data)).thenReturn("new");
+            when(riskScoringService.inputFingerprint(unchanged)).thenReturn("same");
+            when(riskScoringService.calculateRiskScore(data)).thenReturn(RESULT);
+
+            service.scoreChangedCampaigns();
+
+            verify(riskScoringService).calculateRiskScore(data);
+            verify(riskScoringService, never()).calculateRiskScore(unchanged);
+            verify(scoreRepository, times(1)).save(any());
+        }
+
+        @Test
+        @DisplayName("should stop at the batch size")
+        void shouldStopAtBatchSize() {
+            ReflectionTestUtils.setField(service, "batchSize", 1);
+            UUID otherId = UUID.randomUUID();
+            when(schedulerLease.tryAcquire(any(), any())).thenReturn(true);
+            when(riskDataPort.findCampaignIdsToScore()).thenReturn(List.of(campaignId, otherId));
+            when(scoreRepository.findByCampaignIdIn(any())).thenReturn(List.of());
+            when(riskDataPort.getCampaignData(campaignId)).thenReturn(data);
+            when(riskScoringService.inputFingerprint(data)).thenReturn("new");
+            when(riskScoringService.calculateRiskScore(data)).thenReturn(RESULT);
+
+            service.scoreChangedCampaigns();
+
+            verify(riskDataPort, never()).getCampaignData(otherId);
+            verify(scoreRepository, times(1)).save(any());
+        }
+
+        @Test
+        @DisplayName("should do nothing when another replica holds the lease")
+        void shouldSkipWithoutLease() {
+            when(schedulerLease.tryAcquire(any(), any())).thenReturn(false);
+
+            service.scoreChangedCampaigns();
+
+            verifyNoInteractions(riskDataPort, riskScoringService, scoreRepository);
+        }
+    }
+}
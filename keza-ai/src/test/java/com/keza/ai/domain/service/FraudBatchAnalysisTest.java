@@ -0,0 +1,166 @@
+package com.keza.ai.domain.service;
+
+import com.keza.ai.domain.model.FraudBatchPhase;
+import com.keza.ai.domain.model.FraudRule;
+import com.keza.ai.domain.model.FraudRuleSet;
+import com.keza.ai.domain.model.FraudRuleType;
+import com.keza.ai.domain.port.out.FraudBatchRepository;
+import com.keza.ai.domain.port.out.FraudBatchRepository.Checkpoint;
+import com.keza.ai.domain.port.out.FraudBatchRepository.Chunk;
+import com.keza.ai.domain.port.out.FraudBatchRepository.Run;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FraudBatchAnalysis")
+class FraudBatchAnalysisTest {
+
+    private static final int CHUNK_SIZE = 100;
+    private static final LocalDate RUN_DATE = LocalDate.of(2026, 3, 1);
+
+    @Mock
+    private FraudBatchRepository batchRepository;
+
+    @Mock
+    private FraudRuleRegistry fraudRuleRegistry;
+
+    @InjectMocks
+    private FraudBatchAnalysis analysis;
+
+    private Instant later;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(analysis, "chunkSize", CHUNK_SIZE);
+        later = Instant.now().plus(1, ChronoUnit.HOURS);
+        lenient().when(fraudRuleRegistry.current()).thenReturn(FraudRuleSet.defaults());
+    }
+
+    @Test
+    @DisplayName("should stage active users, then run each rule until its chunks are exhausted")
+    void shouldRunEveryPhase() {
+        UUID first = UUID.randomUUID();
+        when(batchRepository.findCheckpoints(RUN_DATE)).thenReturn(Map.of());
+        when(batchRepository.runChunk(eq(FraudBatchPhase.SHARED_PHONE), any(), eq(Checkpoint.FIRST_KEY), eq(CHUNK_SIZE)))
+                .thenReturn(new Chunk(first, 2));
+        when(batchRepository.runChunk(eq(FraudBatchPhase.SHARED_PHONE), any(), eq(first), eq(CHUNK_SIZE)))
+                .thenReturn(new Chunk(null, 0));
+        when(batchRepository.runChunk(eq(FraudBatchPhase.STRUCTURING), any(), any(), anyInt()))
+                .thenReturn(new Chunk(null, 0));
+        when(batchRepository.runChunk(eq(FraudBatchPhase.CIRCULAR_TRADE), any(), any(), anyInt()))
+                .thenReturn(new Chunk(null, 0));
+
+        assertThat(analysis.run(RUN_DATE, later)).isTrue();
+
+        InOrder inOrder = inOrder(batchRepository);
+        inOrder.verify(batchRepository).stageActiveUsers(any());
+        inOrder.verify(batchRepository, times(2)).runChunk(eq(FraudBatchPhase.SHARED_PHONE), any(), any(), anyInt());
+        inOrder.verify(batchRepository).runChunk(eq(FraudBatchPhase.STRUCTURING), any(), any(), anyInt());
+        inOrder.verify(batchRepository).runChunk(eq(FraudBatchPhase.CIRCULAR_TRADE), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("should cover the run date in Nairobi time and structure just under the high-amount threshold")
+    void shouldBuildRunWindow() {
+        when(batchRepository.findCheckpoints(RUN_DATE)).thenReturn(Map.of());
+        when(batchRepository.runChunk(any(), any(), any(), anyInt())).thenReturn(new Chunk(null, 0));
+
+        analysis.run(RUN_DATE, later);
+
+        ArgumentCaptor<Run> run = ArgumentCaptor.forClass(Run.class);
+        verify(batchRepository).stageActiveUsers(run.capture());
+        assertThat(run.getValue().from()).isEqualTo(Instant.parse("2026-02-28T21:00:00Z"));
+        assertThat(run.getValue().to()).isEqualTo(Instant.parse("2026-03-01T21:00:00Z"));
+        assertThat(run.getValue().structuringThreshold()).isEqualByComparingTo(new BigDecimal("1000000"));
+        assertThat(run.getValue().structuringFloor()).isEqualByComparingTo(new BigDecimal("900000"));
+        assertThat(run.getValue().maxSharedAccounts()).isEqualTo(1);
+        assertThat(run.getValue().minStructuredPayments()).isEqualTo(3);
+        assertThat(run.getValue().maxCycleLength()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("should skip the phases of disabled rules")
+    void shouldSkipDisabledRules() {
+        FraudRule disabled = FraudRule.builder()
+                .ruleType(FraudRuleType.STRUCTURING)
+                .enabled(false)
+                .threshold(new BigDecimal("3"))
+                .build();
+        when(fraudRuleRegistry.current()).thenReturn(FraudRuleSet.compile(List.of(disabled)));
+        when(batchRepository.findCheckpoints(RUN_DATE)).thenReturn(Map.of());
+        when(batchRepository.runChunk(any(), any(), any(), anyInt())).thenReturn(new Chunk(null, 0));
+
+        assertThat(analysis.run(RUN_DATE, later)).isTrue();
+
+        verify(batchRepository).runChunk(eq(FraudBatchPhase.SHARED_PHONE), any(), any(), anyInt());
+        verify(batchRepository, never()).runChunk(eq(FraudBatchPhase.STRUCTURING), any(), any(), anyInt());
+        verify(batchRepository).runChunk(eq(FraudBatchPhase.CIRCULAR_TRADE), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("should resume an interrupted phase after its checkpoint and skip completed phases")
+    void shouldResumeFromCheckpoint() {
+        UUID lastKey = UUID.randomUUID();
+        Map<FraudBatchPhase, Checkpoint> checkpoints = new EnumMap<>(FraudBatchPhase.class);
+        checkpoints.put(FraudBatchPhase.ACTIVE_USERS, new Checkpoint(Checkpoint.FIRST_KEY, true));
+        checkpoints.put(FraudBatchPhase.SHARED_PHONE, new Checkpoint(Checkpoint.FIRST_KEY, true));
+        checkpoints.put(FraudBatchPhase.STRUCTURING, new Checkpoint(lastKey, false));
+        when(batchRepository.findCheckpoints(RUN_DATE)).thenReturn(checkpoints);
+        when(batchRepository.runChunk(any(), any(), any(), anyInt())).thenReturn(new Chunk(null, 0));
+
+        analysis.run(RUN_DATE, later);
+
+        verify(batchRepository, never()).stageActiveUsers(any());
+        verify(batchRepository, never()).runChunk(eq(FraudBatchPhase.SHARED_PHONE), any(), any(), anyInt());
+        verify(batchRepository).runChunk(eq(FraudBatchPhase.STRUCTURING), any(), eq(lastKey), eq(CHUNK_SIZE));
+        verify(batchRepository).runChunk(eq(FraudBatchPhase.CIRCULAR_TRADE), any(), eq(Checkpoint.FIRST_KEY), eq(CHUNK_SIZE));
+    }
+
+    @Test
+    @DisplayName("should start no chunk once the deadline has passed")
+    void shouldStopAtDeadline() {
+        when(batchRepository.findCheckpoints(RUN_DATE)).thenReturn(Map.of());
+
+        assertThat(analysis.run(RUN_DATE, Instant.now().minusSeconds(1))).isFalse();
+
+        verify(batchRepository, never()).stageActiveUsers(any());
+        verify(batchRepository, never()).runChunk(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("should do nothing for a date that is already complete")
+    void shouldSkipCompletedDate() {
+        Map<FraudBatchPhase, Checkpoint> checkpoints = new EnumMap<>(FraudBatchPhase.class);
+        for (FraudBatchPhase phase : FraudBatchPhase.values()) {
+            checkpoints.put(phase, new Checkpoint(Checkpoint.FIRST_KEY, true));
+        }
+        when(batchRepository.findCheckpoints(RUN_DATE)).thenReturn(checkpoints);
+
+        assertThat(analysis.run(RUN_DATE, later)).isTrue();
+
+        verify(batchRepository, never()).stageActiveUsers(any());
+        verify(batchRepository, never()).runChunk(any(), any(), any(), anyInt());
+    }
+}
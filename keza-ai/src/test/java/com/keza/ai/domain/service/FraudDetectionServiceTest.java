@@ -3,9 +3,11 @@ package com.keza.ai.domain.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.keza.ai.domain.model.FraudAlert;
 import com.keza.ai.domain.model.FraudAlertStatus;
+import com.keza.ai.domain.model.FraudRuleSet;
 import com.keza.ai.domain.model.FraudSeverity;
 import com.keza.ai.domain.port.out.FraudAlertRepository;
 import com.keza.ai.domain.port.out.FraudDataPort;
+import com.keza.infrastructure.scheduling.SchedulerLease;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -19,6 +21,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -39,6 +42,15 @@ class FraudDetectionServiceTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private FraudBatchAnalysis fraudBatchAnalysis;
+
+    @Mock
+    private SchedulerLease schedulerLease;
+
+    @Mock
+    private FraudRuleRegistry fraudRuleRegistry;
+
     @InjectMocks
     private FraudDetectionService fraudDetectionService;
 
@@ -50,6 +62,7 @@ class FraudDetectionServiceTest {
     @BeforeEach
     void setUp() {
         userId = UUID.randomUUID();
+        lenient().when(fraudRuleRegistry.current()).thenReturn(FraudRuleSet.defaults());
     }
 
     @Nested
@@ -300,12 +313,12 @@ class FraudDetectionServiceTest {
             @Test
             @DisplayName("should not create relative anomaly alert when amount is below minimum suspicious amount")
             void shouldNotCreateRelativeAnomalyWhenBelowMinimum() {
-                BigDecimal amount = new BigDecimal("30000"); // below MINIMUM_SUSPICIOUS_AMOUNT of 50000
+                BigDecimal amount = new BigDecimal("30000"); // below the relative rule's minimum amount of 50000
 
                 fraudDetectionService.checkInvestment(userId, amount);
 
                 verify(fraudAlertRepository, never()).save(any());
-                // getAverageInvestmentAmount should NOT be called since amount < MINIMUM_SUSPICIOUS_AMOUNT
+                // getAverageInvestmentAmount should NOT be called since amount is below the minimum amount
                 verify(fraudDataPort, never()).getAverageInvestmentAmount(any());
             }
 
@@ -382,13 +395,26 @@ class FraudDetectionServiceTest {
     class RunDailyBatchCheck {
 
         @Test
-        @DisplayName("should run without error")
-        void shouldRunWithoutError() {
+        @DisplayName("should analyse yesterday's activity while holding the lease")
+        void shouldRunBatchAnalysisUnderLease() {
+            when(schedulerLease.tryAcquire(FraudDetectionService.BATCH_LEASE,
+                    FraudDetectionService.BATCH_LEASE_DURATION)).thenReturn(true);
+
             fraudDetectionService.runDailyBatchCheck();
 
-            // Currently a placeholder - just verify it does not throw
+            verify(fraudBatchAnalysis).run(eq(LocalDate.now(FraudBatchAnalysis.ZONE).minusDays(1)), any(Instant.class));
             verifyNoInteractions(fraudAlertRepository);
         }
+
+        @Test
+        @DisplayName("should skip the tick when another replica holds the lease")
+        void shouldSkipWithoutLease() {
+            when(schedulerLease.tryAcquire(any(), any())).thenReturn(false);
+
+            fraudDetectionService.runDailyBatchCheck();
+
+            verifyNoInteractions(fraudBatchAnalysis);
+        }
     }
 
     @Nested
@@ -0,0 +1,86 @@
+package com.keza.ai.domain.service;
+
+import com.keza.ai.domain.model.FraudRule;
+import com.keza.ai.domain.model.FraudRuleSet;
+import com.keza.ai.domain.model.FraudRuleType;
+import com.keza.ai.domain.port.out.FraudRuleRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FraudRuleRegistry")
+class FraudRuleRegistryTest {
+
+    @Mock
+    private FraudRuleRepository fraudRuleRepository;
+
+    @InjectMocks
+    private FraudRuleRegistry registry;
+
+    private static FraudRule velocity(String threshold) {
+        return FraudRule.builder()
+                .ruleType(FraudRuleType.VELOCITY)
+                .threshold(new BigDecimal(threshold))
+                .build();
+    }
+
+    @Test
+    @DisplayName("should install the rules read from the table")
+    void shouldInstallLoadedRules() {
+        when(fraudRuleRepository.findAll()).thenReturn(List.of(velocity("9")));
+
+        registry.reload();
+
+        assertThat(registry.current().rule(FraudRuleType.VELOCITY).limit()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("should keep the rules in force when the table cannot be read")
+    void shouldKeepRulesWhenTableUnreadable() {
+        when(fraudRuleRepository.findAll())
+                .thenReturn(List.of(velocity("9")))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        registry.reload();
+        registry.reload();
+
+        assertThat(registry.current().rule(FraudRuleType.VELOCITY).limit()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("should not let a load that started earlier replace the rules of a later one")
+    void shouldDiscardStaleLoad() throws Exception {
+        CountDownLatch staleReading = new CountDownLatch(1);
+        CountDownLatch changeLoaded = new CountDownLatch(1);
+        when(fraudRuleRepository.findAll())
+                .thenAnswer(invocation -> {
+                    staleReading.countDown();
+                    assertThat(changeLoaded.await(5, TimeUnit.SECONDS)).isTrue();
+                    return List.of(velocity("5"));
+                })
+                .thenReturn(List.of(velocity("9")));
+
+        CompletableFuture<Void> scheduled = CompletableFuture.runAsync(registry::reload);
+        assertThat(staleReading.await(5, TimeUnit.SECONDS)).isTrue();
+        registry.reload();
+        changeLoaded.countDown();
+        scheduled.get(5, TimeUnit.SECONDS);
+
+        FraudRuleSet current = registry.current();
+        assertThat(current.rule(FraudRuleType.VELOCITY).limit()).isEqualTo(9);
+    }
+}
@@ -62,7 +62,9 @@ class RiskScoringServiceTest {
                 5,                           // 5 media items
                 3,                           // 3 updates
                 true,                        // KYC approved
-                2                            // 2 previous campaigns
+                2,                           // 2 previous campaigns
+                UUID.randomUUID(),           // Issuer
+                "LIVE"                       // Status
         );
     }
 
@@ -92,7 +94,9 @@ class RiskScoringServiceTest {
                 0,                           // No media
                 0,                           // No updates
                 false,                       // KYC not approved
-                0                            // No previous campaigns
+                0,                           // No previous campaigns
+                UUID.randomUUID(),           // Issuer
+                "DRAFT"                      // Status
         );
     }
 
@@ -121,7 +125,9 @@ class RiskScoringServiceTest {
                 1,                           // 1 media
                 0,                           // No updates
                 true,                        // KYC approved
-                0                            // First campaign
+                0,                           // First campaign
+                UUID.randomUUID(),           // Issuer
+                "REVIEW"                     // Status
         );
     }
 
@@ -445,4 +451,59 @@ class RiskScoringServiceTest {
             assertThat(r1.hashCode()).isEqualTo(r2.hashCode());
         }
     }
+
+    @Nested
+    @DisplayName("inputFingerprint")
+    class InputFingerprint {
+
+        @Test
+        @DisplayName("should be stable for the same inputs")
+        void shouldBeStable() {
+            UUID campaignId = UUID.randomUUID();
+
+            assertThat(riskScoringService.inputFingerprint(moderateCampaign(campaignId)))
+                    .isEqualTo(riskScoringService.inputFingerprint(moderateCampaign(campaignId)))
+                    .hasSize(64);
+        }
+
+        @Test
+        @DisplayName("should ignore investment activity that stays within the same bands")
+        void shouldIgnoreActivityWithinBands() {
+            UUID campaignId = UUID.randomUUID();
+            CampaignRiskData data = moderateCampaign(campaignId);
+            // 8 -> 9 investors and 15% -> 17.5% funded cross no threshold the rules use
+            CampaignRiskData invested = new CampaignRiskData(data.campaignId(), data.title(), data.description(),
+                    data.industry(), data.companyName(), data.companyRegistrationNumber(), data.companyWebsite(),
+                    data.companyAddress(), data.targetAmount(), new BigDecimal("350000"), 9, data.wizardStep(),
+                    data.hasFinancialProjections(), data.hasRiskFactors(), data.hasUseOfFunds(),
+                    data.hasTeamMembers(), data.hasPitchVideo(), data.mediaCount(), data.updateCount(),
+                    data.issuerKycApproved(), data.issuerPreviousCampaigns(), data.issuerId(), data.status());
+
+            assertThat(riskScoringService.inputFingerprint(invested))
+                    .isEqualTo(riskScoringService.inputFingerprint(data));
+        }
+
+        @Test
+        @DisplayName("should change when the campaign's financials or documents change")
+        void shouldChangeWithFinancialsAndDocuments() {
+            UUID campaignId = UUID.randomUUID();
+            CampaignRiskData data = moderateCampaign(campaignId);
+            CampaignRiskData withTeam = new CampaignRiskData(data.campaignId(), data.title(), data.description(),
+                    data.industry(), data.companyName(), data.companyRegistrationNumber(), data.companyWebsite(),
+                    data.companyAddress(), data.targetAmount(), data.raisedAmount(), data.investorCount(),
+                    data.wizardStep(), data.hasFinancialProjections(), data.hasRiskFactors(), data.hasUseOfFunds(),
+                    true, data.hasPitchVideo(), data.mediaCount(), data.updateCount(),
+                    data.issuerKycApproved(), data.issuerPreviousCampaigns(), data.issuerId(), data.status());
+            CampaignRiskData newTarget = new CampaignRiskData(data.campaignId(), data.title(), data.description(),
+                    data.industry(), data.companyName(), data.companyRegistrationNumber(), data.companyWebsite(),
+                    data.companyAddress(), new BigDecimal("3000000"), data.raisedAmount(), data.investorCount(),
+                    data.wizardStep(), data.hasFinancialProjections(), data.hasRiskFactors(), data.hasUseOfFunds(),
+                    data.hasTeamMembers(), data.hasPitchVideo(), data.mediaCount(), data.updateCount(),
+                    data.issuerKycApproved(), data.issuerPreviousCampaigns(), data.issuerId(), data.status());
+
+            String fingerprint = riskScoringService.inputFingerprint(data);
+            assertThat(riskScoringService.inputFingerprint(withTeam)).isNotEqualTo(fingerprint);
+            assertThat(riskScoringService.inputFingerprint(newTarget)).isNotEqualTo(fingerprint);
+        }
+    }
 }
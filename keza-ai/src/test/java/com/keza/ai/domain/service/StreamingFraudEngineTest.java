@@ -0,0 +1,237 @@
+package com.keza.ai.domain.service;
+
+import com.keza.ai.domain.model.FraudRule;
+import com.keza.ai.domain.model.FraudRuleSet;
+import com.keza.ai.domain.model.FraudRuleType;
+import com.keza.ai.domain.port.out.FraudDataPort;
+import com.keza.ai.domain.port.out.FraudDataPort.Occurrence;
+import com.keza.ai.domain.port.out.FraudWindowStore;
+import com.keza.ai.domain.port.out.FraudWindowStore.InvestmentTotals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StreamingFraudEngine")
+class StreamingFraudEngineTest {
+
+    private static final Duration HOUR = Duration.ofHours(1);
+    private static final Duration DAY = Duration.ofHours(24);
+
+    @Mock
+    private FraudWindowStore windowStore;
+
+    @Mock
+    private FraudDataPort fraudDataPort;
+
+    @Mock
+    private FraudDetectionService fraudDetectionService;
+
+    @Mock
+    private FraudRuleRegistry fraudRuleRegistry;
+
+    @InjectMocks
+    private StreamingFraudEngine engine;
+
+    private UUID userId;
+    private UUID eventId;
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        eventId = UUID.randomUUID();
+        now = Instant.parse("2026-03-02T10:15:30Z");
+        lenient().when(fraudRuleRegistry.current()).thenReturn(FraudRuleSet.defaults());
+    }
+
+    private void warmTotals(long count, String sum) {
+        when(windowStore.totals(userId)).thenReturn(Optional.of(new InvestmentTotals(count, new BigDecimal(sum))));
+        when(windowStore.addInvestment(eq(userId), any(), any())).thenReturn(true);
+    }
+
+    @Nested
+    @DisplayName("investment velocity")
+    class InvestmentVelocity {
+
+        @Test
+        @DisplayName("should count a warm window without touching the database")
+        void shouldCountWarmWindow() {
+            when(windowStore.hasWindow(StreamingFraudEngine.INVESTMENTS, userId)).thenReturn(true);
+            when(windowStore.add(eq(StreamingFraudEngine.INVESTMENTS), eq(userId), eq(Map.of(eventId, now)),
+                    eq(now), eq(HOUR))).thenReturn(2L);
+            warmTotals(2, "20000");
+
+            engine.onInvestmentCreated(eventId, userId, new BigDecimal("10000"), now);
+
+            verify(fraudDataPort, never()).findInvestmentsByUserSince(any(), any());
+            verify(windowStore).addInvestment(userId, eventId, new BigDecimal("10000"));
+            verifyNoInteractions(fraudDetectionService);
+        }
+
+        @Test
+        @DisplayName("should rebuild a missing window from the database, counting the event once")
+        void shouldRehydrateColdWindow() {
+            UUID earlier = UUID.randomUUID();
+            when(windowStore.hasWindow(StreamingFraudEngine.INVESTMENTS, userId)).thenReturn(false);
+            when(fraudDataPort.findInvestmentsByUserSince(userId, now.minus(HOUR)))
+                    .thenReturn(List.of(new Occurrence(earlier, now.minusSeconds(600)), new Occurrence(eventId, now)));
+            when(windowStore.add(any(), any(), anyMap(), any(), any())).thenReturn(2L);
+            warmTotals(1, "10000");
+
+            engine.onInvestmentCreated(eventId, userId, new BigDecimal("10000"), now);
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<Map<UUID, Instant>> events = ArgumentCaptor.forClass(Map.class);
+            verify(windowStore).add(eq(StreamingFraudEngine.INVESTMENTS), eq(userId), events.capture(), eq(now),
+                    eq(HOUR));
+            assertThat(events.getValue()).containsOnlyKeys(earlier, eventId);
+        }
+
+        @Test
+        @DisplayName("should raise VELOCITY_VIOLATION at the threshold once per cooldown")
+        void shouldAlertOnVelocity() {
+            when(windowStore.hasWindow(any(), any())).thenReturn(true);
+            when(windowStore.add(any(), any(), anyMap(), any(), any())).thenReturn(5L);
+            when(windowStore.startCooldown("VELOCITY_VIOLATION", userId, HOUR))
+                    .thenReturn(true, false);
+            warmTotals(4, "40000");
+
+            engine.onInvestmentCreated(eventId, userId, new BigDecimal("10000"), now);
+            engine.onInvestmentCreated(UUID.randomUUID(), userId, new BigDecimal("10000"), now);
+
+            verify(fraudDetectionService, times(1)).createAlert(eq(userId), eq("VELOCITY_VIOLATION"), eq("HIGH"),
+                    contains("5 investments in the last hour"), anyMap());
+        }
+    }
+
+    @Nested
+    @DisplayName("investment amount")
+    class InvestmentAmount {
+
+        @BeforeEach
+        void warmWindow() {
+            when(windowStore.hasWindow(any(), any())).thenReturn(true);
+            when(windowStore.add(any(), any(), anyMap(), any(), any())).thenReturn(1L);
+        }
+
+        @Test
+        @DisplayName("should raise AMOUNT_ANOMALY_RELATIVE against the average before this investment")
+        void shouldAlertOnRelativeAmount() {
+            warmTotals(4, "80000");
+            when(windowStore.startCooldown(eq("AMOUNT_ANOMALY_RELATIVE"), eq(userId), any())).thenReturn(true);
+
+            engine.onInvestmentCreated(eventId, userId, new BigDecimal("100000"), now);
+
+            verify(fraudDetectionService).createAlert(eq(userId), eq("AMOUNT_ANOMALY_RELATIVE"), eq("MEDIUM"),
+                    contains("average of KES 20000.00"), anyMap());
+        }
+
+        @Test
+        @DisplayName("should measure a redelivered investment against the totals without it")
+        void shouldNotCountRedeliveryTwice() {
+            // Five investments including this one, already counted on the first delivery
+            when(windowStore.totals(userId)).thenReturn(Optional.of(new InvestmentTotals(5, new BigDecimal("180000"))));
+            when(windowStore.addInvestment(userId, eventId, new BigDecimal("100000"))).thenReturn(false);
+            when(windowStore.startCooldown(eq("AMOUNT_ANOMALY_RELATIVE"), eq(userId), any())).thenReturn(true);
+
+            engine.onInvestmentCreated(eventId, userId, new BigDecimal("100000"), now);
+
+            verify(fraudDetectionService).createAlert(eq(userId), eq("AMOUNT_ANOMALY_RELATIVE"), eq("MEDIUM"),
+                    contains("average of KES 20000.00"), anyMap());
+        }
+
+        @Test
+        @DisplayName("should rebuild missing totals from the database without counting this investment twice")
+        void shouldRehydrateTotals() {
+            when(windowStore.totals(userId)).thenReturn(Optional.empty());
+            when(fraudDataPort.countInvestmentsByUserSince(userId, Instant.EPOCH)).thenReturn(5L);
+            when(fraudDataPort.getAverageInvestmentAmount(userId)).thenReturn(new BigDecimal("36000"));
+            when(windowStore.startCooldown(eq("AMOUNT_ANOMALY_RELATIVE"), eq(userId), any())).thenReturn(true);
+
+            engine.onInvestmentCreated(eventId, userId, new BigDecimal("100000"), now);
+
+            verify(windowStore).putTotals(userId, new InvestmentTotals(5, new BigDecimal("180000")), eventId);
+            verify(windowStore, never()).addInvestment(any(), any(), any());
+            // Previous four investments average 20,000, so 100,000 is over three times that
+            verify(fraudDetectionService).createAlert(eq(userId), eq("AMOUNT_ANOMALY_RELATIVE"), eq("MEDIUM"),
+                    contains("average of KES 20000.00"), anyMap());
+        }
+
+        @Test
+        @DisplayName("should raise a CRITICAL AMOUNT_ANOMALY for very high amounts")
+        void shouldAlertOnVeryHighAmount() {
+            warmTotals(0, "0");
+
+            engine.onInvestmentCreated(eventId, userId, new BigDecimal("5000000"), now);
+
+            verify(fraudDetectionService).createAlert(eq(userId), eq("AMOUNT_ANOMALY"), eq("CRITICAL"),
+                    contains("Very high investment amount"), anyMap());
+        }
+    }
+
+    @Nested
+    @DisplayName("failed payments")
+    class FailedPayments {
+
+        @Test
+        @DisplayName("should raise FAILED_PAYMENT_PATTERN above the daily threshold")
+        void shouldAlertOnFailedPayments() {
+            when(windowStore.hasWindow(StreamingFraudEngine.FAILED_PAYMENTS, userId)).thenReturn(true);
+            when(windowStore.add(eq(StreamingFraudEngine.FAILED_PAYMENTS), eq(userId), anyMap(), eq(now),
+                    eq(DAY))).thenReturn(6L);
+            when(windowStore.startCooldown("FAILED_PAYMENT_PATTERN", userId, DAY))
+                    .thenReturn(true);
+
+            engine.onPaymentFailed(eventId, userId, now);
+
+            verify(fraudDetectionService).createAlert(eq(userId), eq("FAILED_PAYMENT_PATTERN"), eq("HIGH"),
+                    contains("6 failed payments"), anyMap());
+        }
+
+        @Test
+        @DisplayName("should not alert at the threshold")
+        void shouldNotAlertAtThreshold() {
+            when(windowStore.hasWindow(any(), any())).thenReturn(true);
+            when(windowStore.add(any(), any(), anyMap(), any(), any())).thenReturn(5L);
+
+            engine.onPaymentFailed(eventId, userId, now);
+
+            verifyNoInteractions(fraudDetectionService);
+            verify(windowStore, never()).startCooldown(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("should neither count nor alert while the rule is disabled")
+        void shouldSkipDisabledRule() {
+            FraudRule disabled = FraudRule.builder()
+                    .ruleType(FraudRuleType.FAILED_PAYMENTS)
+                    .enabled(false)
+                    .threshold(BigDecimal.ONE)
+                    .build();
+            when(fraudRuleRegistry.current()).thenReturn(FraudRuleSet.compile(List.of(disabled)));
+
+            engine.onPaymentFailed(eventId, userId, now);
+
+            verifyNoInteractions(windowStore, fraudDataPort, fraudDetectionService);
+        }
+    }
+}
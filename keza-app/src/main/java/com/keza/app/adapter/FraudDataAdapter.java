@@ -2,14 +2,12 @@ package com.keza.app.adapter;
 
 import com.keza.ai.domain.port.out.FraudDataPort;
 import com.keza.common.enums.TransactionStatus;
-import com.keza.investment.domain.model.Investment;
 import com.keza.investment.domain.port.out.InvestmentRepository;
 import com.keza.investment.domain.port.out.TransactionRepository;
 import com.keza.user.domain.port.out.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Primary;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -48,24 +46,11 @@ public class FraudDataAdapter implements FraudDataPort {
 
     @Override
     public BigDecimal getAverageInvestmentAmount(UUID userId) {
-        var cb = investmentRepository.count(
-                (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("investorId"), userId)
-        );
-        if (cb == 0) {
+        BigDecimal average = investmentRepository.averageAmountByInvestorId(userId);
+        if (average == null) {
             return BigDecimal.ZERO;
         }
-
-        // Use Specification to compute the average via findAll + stream.
-        // For production scale, consider adding a custom @Query method with AVG().
-        Specification<Investment> spec = (root, query, criteriaBuilder) ->
-                criteriaBuilder.equal(root.get("investorId"), userId);
-
-        List<Investment> investments = investmentRepository.findAll(spec);
-
-        return investments.stream()
-                .map(Investment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .divide(BigDecimal.valueOf(investments.size()), 2, RoundingMode.HALF_UP);
+        return average.setScale(2, RoundingMode.HALF_UP);
     }
 
     @Override
@@ -79,6 +64,31 @@ public class FraudDataAdapter implements FraudDataPort {
         );
     }
 
+    @Override
+    public List<Occurrence> findInvestmentsByUserSince(UUID userId, Instant since) {
+        return investmentRepository.findAll(
+                        (root, query, cb) -> cb.and(
+                                cb.equal(root.get("investorId"), userId),
+                                cb.greaterThan(root.get("createdAt"), since)
+                        )
+                ).stream()
+                .map(investment -> new Occurrence(investment.getId(), investment.getCreatedAt()))
+                .toList();
+    }
+
+    @Override
+    public List<Occurrence> findFailedPaymentsByUserSince(UUID userId, Instant since) {
+        return transactionRepository.findAll(
+                        (root, query, cb) -> cb.and(
+                                cb.equal(root.get("userId"), userId),
+                                cb.equal(root.get("status"), TransactionStatus.FAILED),
+                                cb.greaterThan(root.get("createdAt"), since)
+                        )
+                ).stream()
+                .map(transaction -> new Occurrence(transaction.getId(), transaction.getCreatedAt()))
+                .toList();
+    }
+
     @Override
     public long countUsersWithPhone(String phone) {
         if (phone == null || phone.isBlank()) {
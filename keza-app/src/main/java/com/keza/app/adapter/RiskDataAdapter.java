@@ -2,7 +2,10 @@ package com.keza.app.adapter;
 
 import com.keza.ai.domain.port.out.RiskDataPort;
 import com.keza.campaign.domain.model.Campaign;
+import com.keza.campaign.domain.port.out.CampaignMediaRepository;
 import com.keza.campaign.domain.port.out.CampaignRepository;
+import com.keza.campaign.domain.port.out.CampaignUpdateRepository;
+import com.keza.common.enums.CampaignStatus;
 import com.keza.common.enums.KycStatus;
 import com.keza.user.domain.model.User;
 import com.keza.user.domain.port.out.UserRepository;
@@ -11,6 +14,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -19,6 +24,9 @@ import java.util.UUID;
  * <p>
  * This adapter lives in keza-app because it has access to all modules. It is marked
  * as {@link Primary} so it takes precedence over the default stub in keza-ai.
+ * <p>
+ * Media, updates and the issuer's other campaigns are counted in the database rather than
+ * loaded, so scoring a campaign costs the same however much it has accumulated.
  */
 @Slf4j
 @Component
@@ -27,6 +35,8 @@ import java.util.UUID;
 public class RiskDataAdapter implements RiskDataPort {
 
     private final CampaignRepository campaignRepository;
+    private final CampaignMediaRepository campaignMediaRepository;
+    private final CampaignUpdateRepository campaignUpdateRepository;
     private final UserRepository userRepository;
 
     @Override
@@ -48,10 +58,7 @@ public class RiskDataAdapter implements RiskDataPort {
             }
 
             // Count other campaigns by the same issuer (track record)
-            long totalIssuerCampaigns = campaignRepository
-                    .findByIssuerIdAndDeletedFalse(campaign.getIssuerId(),
-                            org.springframework.data.domain.Pageable.unpaged())
-                    .getTotalElements();
+            long totalIssuerCampaigns = campaignRepository.countByIssuerIdAndDeletedFalse(campaign.getIssuerId());
             // Subtract 1 for the current campaign
             issuerPreviousCampaigns = Math.max(0, (int) totalIssuerCampaigns - 1);
 
@@ -77,13 +84,29 @@ public class RiskDataAdapter implements RiskDataPort {
                 isNotBlank(campaign.getUseOfFunds()),
                 isNotBlank(campaign.getTeamMembers()),
                 isNotBlank(campaign.getPitchVideoUrl()),
-                campaign.getMedia() != null ? campaign.getMedia().size() : 0,
-                campaign.getUpdates() != null ? campaign.getUpdates().size() : 0,
+                (int) campaignMediaRepository.countByCampaignId(campaignId),
+                (int) campaignUpdateRepository.countByCampaignId(campaignId),
                 issuerKycApproved,
-                issuerPreviousCampaigns
+                issuerPreviousCampaigns,
+                campaign.getIssuerId(),
+                campaign.getStatus().name()
         );
     }
 
+    @Override
+    public List<UUID> findCampaignIdsToScore() {
+        return campaignRepository.findIdsByStatusIn(List.of(CampaignStatus.REVIEW, CampaignStatus.LIVE));
+    }
+
+    @Override
+    public List<UUID> findPublishedCampaignIds(Collection<UUID> campaignIds) {
+        if (campaignIds.isEmpty()) {
+            return List.of();
+        }
+        return campaignRepository.findIdsByIdInAndStatusIn(campaignIds,
+                List.of(CampaignStatus.LIVE, CampaignStatus.FUNDED, CampaignStatus.CLOSED));
+    }
+
     private boolean isNotBlank(String value) {
         return value != null && !value.isBlank();
     }
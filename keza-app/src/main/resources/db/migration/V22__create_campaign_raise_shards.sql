@@ -0,0 +1,17 @@
+-- Striped raised-amount counters. Each LIVE campaign gets a fixed number of shard rows;
+-- investments increment one shard so concurrent investors do not contend on the campaigns row.
+-- Each shard owns a slice (quota) of the campaign's remaining headroom, so the sum of quotas
+-- never exceeds the raise ceiling. Totals are folded back into campaigns periodically.
+CREATE TABLE campaign_raise_shards (
+    id              UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    campaign_id     UUID NOT NULL REFERENCES campaigns(id) ON DELETE CASCADE,
+    shard_no        INT NOT NULL,
+    raised_amount   DECIMAL(15,2) NOT NULL DEFAULT 0,
+    sold_shares     BIGINT NOT NULL DEFAULT 0,
+    investor_count  INT NOT NULL DEFAULT 0,
+    quota           DECIMAL(15,2) NOT NULL DEFAULT 0,
+    created_at      TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at      TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    version         BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uq_campaign_raise_shard UNIQUE (campaign_id, shard_no)
+);
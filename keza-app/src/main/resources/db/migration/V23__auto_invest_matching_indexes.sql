@@ -0,0 +1,6 @@
+-- Indexes backing the auto-invest matching query, which runs once per campaign launch.
+-- Preferences that filter by industry are matched with an array overlap (&&) on the GIN index;
+-- preferences without an industry filter match every campaign and are read from the partial index.
+CREATE INDEX idx_auto_invest_industries ON auto_invest_preferences USING GIN (industries) WHERE enabled = true;
+CREATE INDEX idx_auto_invest_any_industry ON auto_invest_preferences (created_at)
+    WHERE enabled = true AND (industries IS NULL OR cardinality(industries) = 0);
@@ -0,0 +1,22 @@
+-- Running total of each investor's active investments per calendar year (Africa/Nairobi),
+-- maintained transactionally on investment create/cancel/refund so CMA annual limit checks
+-- are a single-row lookup.
+CREATE TABLE investor_annual_totals (
+    id              UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    investor_id     UUID NOT NULL REFERENCES users(id),
+    calendar_year   INT NOT NULL,
+    total_amount    DECIMAL(15,2) NOT NULL DEFAULT 0,
+    created_at      TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at      TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    version         BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uq_investor_annual_total UNIQUE (investor_id, calendar_year)
+);
+
+-- Backfill from existing investments in statuses that count towards CMA aggregate limits
+INSERT INTO investor_annual_totals (investor_id, calendar_year, total_amount)
+SELECT investor_id,
+       CAST(EXTRACT(YEAR FROM created_at AT TIME ZONE 'Africa/Nairobi') AS INT),
+       SUM(amount)
+FROM investments
+WHERE status IN ('PENDING', 'PAYMENT_INITIATED', 'COOLING_OFF', 'COMPLETED')
+GROUP BY 1, 2;
@@ -0,0 +1,58 @@
+-- Materialized per-investor portfolio summary, maintained incrementally as investments change
+-- status so the portfolio endpoint reads one row instead of the investor's full history.
+CREATE TABLE investor_portfolio_summaries (
+    id                      UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    investor_id             UUID NOT NULL REFERENCES users(id),
+    pending_count           INT NOT NULL DEFAULT 0,
+    payment_initiated_count INT NOT NULL DEFAULT 0,
+    cooling_off_count       INT NOT NULL DEFAULT 0,
+    completed_count         INT NOT NULL DEFAULT 0,
+    cancelled_count         INT NOT NULL DEFAULT 0,
+    refunded_count          INT NOT NULL DEFAULT 0,
+    total_invested          DECIMAL(15,2) NOT NULL DEFAULT 0,
+    active_cost             DECIMAL(15,2) NOT NULL DEFAULT 0,
+    active_value            DECIMAL(15,2) NOT NULL DEFAULT 0,
+    lifetime_amount         DECIMAL(15,2) NOT NULL DEFAULT 0,
+    created_at              TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at              TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    version                 BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uq_portfolio_summary_investor UNIQUE (investor_id)
+);
+
+-- Active (COMPLETED, COOLING_OFF) amount per investor and sector
+CREATE TABLE investor_portfolio_sectors (
+    id              UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    investor_id     UUID NOT NULL REFERENCES users(id),
+    sector          VARCHAR(100) NOT NULL,
+    active_amount   DECIMAL(15,2) NOT NULL DEFAULT 0,
+    created_at      TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at      TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    version         BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uq_portfolio_sector UNIQUE (investor_id, sector)
+);
+
+INSERT INTO investor_portfolio_summaries (investor_id, pending_count, payment_initiated_count, cooling_off_count,
+                                          completed_count, cancelled_count, refunded_count, total_invested,
+                                          active_cost, active_value, lifetime_amount)
+SELECT i.investor_id,
+       COUNT(*) FILTER (WHERE i.status = 'PENDING'),
+       COUNT(*) FILTER (WHERE i.status = 'PAYMENT_INITIATED'),
+       COUNT(*) FILTER (WHERE i.status = 'COOLING_OFF'),
+       COUNT(*) FILTER (WHERE i.status = 'COMPLETED'),
+       COUNT(*) FILTER (WHERE i.status = 'CANCELLED'),
+       COUNT(*) FILTER (WHERE i.status = 'REFUNDED'),
+       COALESCE(SUM(i.amount) FILTER (WHERE i.status IN ('PENDING', 'COOLING_OFF', 'COMPLETED')), 0),
+       COALESCE(SUM(i.amount) FILTER (WHERE i.status IN ('COOLING_OFF', 'COMPLETED')), 0),
+       COALESCE(SUM(COALESCE(c.share_price * i.shares, i.amount))
+                FILTER (WHERE i.status IN ('COOLING_OFF', 'COMPLETED')), 0),
+       SUM(i.amount)
+FROM investments i
+LEFT JOIN campaigns c ON c.id = i.campaign_id
+GROUP BY i.investor_id;
+
+INSERT INTO investor_portfolio_sectors (investor_id, sector, active_amount)
+SELECT i.investor_id, COALESCE(c.industry, 'Other'), SUM(i.amount)
+FROM investments i
+LEFT JOIN campaigns c ON c.id = i.campaign_id
+WHERE i.status IN ('COOLING_OFF', 'COMPLETED')
+GROUP BY 1, 2;
@@ -0,0 +1,7 @@
+-- Composite indexes backing cursor pagination on (created_at, id), newest first.
+-- A cursor page reads straight from the index position after the last row returned,
+-- so deep pages cost the same as the first one.
+CREATE INDEX idx_campaigns_created_at_id ON campaigns (created_at DESC, id DESC);
+CREATE INDEX idx_marketplace_listings_status_created_at_id ON marketplace_listings (status, created_at DESC, id DESC);
+CREATE INDEX idx_notifications_user_created_at_id ON notifications (user_id, created_at DESC, id DESC);
+CREATE INDEX idx_users_created_at_id ON users (created_at DESC, id DESC) WHERE deleted = FALSE;
@@ -0,0 +1,14 @@
+-- Partial indexes over LIVE campaigns only, so the deadline scheduler touches just the
+-- campaigns that are due rather than scanning the whole catalogue every tick.
+CREATE INDEX idx_campaigns_live_end_date ON campaigns (end_date)
+    WHERE status = 'LIVE' AND deleted = FALSE;
+CREATE INDEX idx_campaigns_live_fully_raised ON campaigns (id)
+    WHERE status = 'LIVE' AND deleted = FALSE AND raised_amount >= target_amount;
+
+-- One row per scheduled job; a replica runs the job only while it holds the row's lease.
+CREATE TABLE scheduler_leases (
+    name            VARCHAR(100) PRIMARY KEY,
+    locked_until    TIMESTAMPTZ NOT NULL,
+    locked_at       TIMESTAMPTZ NOT NULL,
+    locked_by       VARCHAR(255) NOT NULL
+);
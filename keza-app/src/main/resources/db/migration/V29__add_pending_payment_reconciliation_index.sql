@@ -0,0 +1,4 @@
+-- Pending payments awaiting a provider outcome, in the (created_at, id) order the
+-- reconciliation job pages through. Settled transactions never enter the index.
+CREATE INDEX idx_transactions_pending_created_at ON transactions (created_at DESC, id DESC)
+    WHERE status = 'PENDING' AND provider_reference IS NOT NULL;
@@ -0,0 +1,13 @@
+-- Listings can now be bought in part; shares_remaining is what is still for sale.
+ALTER TABLE marketplace_listings ADD COLUMN shares_remaining BIGINT;
+UPDATE marketplace_listings SET shares_remaining = CASE WHEN status = 'ACTIVE' THEN shares_listed ELSE 0 END;
+ALTER TABLE marketplace_listings
+    ALTER COLUMN shares_remaining SET NOT NULL,
+    ADD CONSTRAINT chk_marketplace_listings_shares_remaining
+        CHECK (shares_remaining >= 0 AND shares_remaining <= shares_listed);
+
+-- The ask side of each campaign's order book in price-time priority, so matching a buy
+-- order reads the best asks straight off the index.
+CREATE INDEX idx_marketplace_listings_order_book
+    ON marketplace_listings (campaign_id, price_per_share, created_at, id)
+    WHERE status = 'ACTIVE';
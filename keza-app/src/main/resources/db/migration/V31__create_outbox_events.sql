@@ -0,0 +1,20 @@
+-- Transactional outbox: messages for RabbitMQ written in the same transaction as the state
+-- change they describe, and relayed to the broker after commit in id order.
+CREATE TABLE outbox_events (
+    id              BIGSERIAL PRIMARY KEY,
+    aggregate_type  VARCHAR(100) NOT NULL,
+    aggregate_id    VARCHAR(100) NOT NULL,
+    exchange        VARCHAR(255) NOT NULL,
+    routing_key     VARCHAR(255) NOT NULL,
+    payload         TEXT NOT NULL,
+    payload_type    VARCHAR(255) NOT NULL,
+    created_at      TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    published_at    TIMESTAMPTZ,
+    attempts        INT NOT NULL DEFAULT 0,
+    last_error      TEXT
+);
+
+-- The relay's work queue: only unpublished rows, in the order they are sent.
+CREATE INDEX idx_outbox_events_unpublished ON outbox_events (id) WHERE published_at IS NULL;
+-- Purging published rows past their retention.
+CREATE INDEX idx_outbox_events_published_at ON outbox_events (published_at) WHERE published_at IS NOT NULL;
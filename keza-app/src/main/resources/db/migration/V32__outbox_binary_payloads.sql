@@ -0,0 +1,7 @@
+-- Outbox payloads are encoded by the producer's configured format (Smile or JSON), so the body
+-- is stored as bytes together with the content type the relay sends it with.
+ALTER TABLE outbox_events
+    ALTER COLUMN payload TYPE BYTEA USING convert_to(payload, 'UTF8');
+
+ALTER TABLE outbox_events
+    ADD COLUMN content_type VARCHAR(100) NOT NULL DEFAULT 'application/json';
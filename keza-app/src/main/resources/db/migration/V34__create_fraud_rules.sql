@@ -0,0 +1,28 @@
+-- Fraud rule settings, editable at runtime. Every replica compiles this table into an in-memory
+-- rule set and recompiles it when a change is announced over Redis pub/sub.
+CREATE TABLE fraud_rules (
+    id              UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    rule_type       VARCHAR(50) NOT NULL,
+    enabled         BOOLEAN NOT NULL DEFAULT TRUE,
+    threshold       DECIMAL(19,4) NOT NULL,
+    min_amount      DECIMAL(15,2),
+    window_seconds  BIGINT,
+    updated_by      UUID REFERENCES users(id),
+    created_at      TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at      TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    version         BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uq_fraud_rules_rule_type UNIQUE (rule_type)
+);
+
+-- The thresholds previously hardcoded in FraudDetectionService and FraudBatchAnalysis
+INSERT INTO fraud_rules (rule_type, threshold, min_amount, window_seconds) VALUES
+    ('VELOCITY', 5, NULL, 3600),
+    ('HIGH_AMOUNT', 1000000, NULL, NULL),
+    ('VERY_HIGH_AMOUNT', 5000000, NULL, NULL),
+    ('RELATIVE_AMOUNT', 3, 50000, 3600),
+    ('FAILED_PAYMENTS', 5, NULL, 86400),
+    ('DUPLICATE_PHONE', 1, NULL, NULL),
+    ('DUPLICATE_NATIONAL_ID', 1, NULL, NULL),
+    ('SHARED_PHONE', 1, NULL, NULL),
+    ('STRUCTURING', 3, 900000, NULL),
+    ('CIRCULAR_TRADE', 4, NULL, NULL);
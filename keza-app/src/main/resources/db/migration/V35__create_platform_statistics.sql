@@ -0,0 +1,15 @@
+-- Per-investor aggregates of the fraud rules (average amount, recent investment count) become
+-- index-only scans: the investor's rows are contiguous in created_at order and carry the amount.
+-- It leads with investor_id, so it also serves every lookup of the index it replaces.
+CREATE INDEX idx_investments_investor_created_at ON investments (investor_id, created_at) INCLUDE (amount);
+DROP INDEX IF EXISTS idx_investments_investor;
+
+-- Platform-wide averages, recomputed periodically rather than on every read. A single row.
+CREATE TABLE platform_statistics (
+    id                          SMALLINT PRIMARY KEY DEFAULT 1 CHECK (id = 1),
+    investment_count            BIGINT NOT NULL,
+    average_investment_amount   DECIMAL(15,2) NOT NULL,
+    median_investment_amount    DECIMAL(15,2) NOT NULL,
+    average_funding_percentage  DECIMAL(7,2) NOT NULL,
+    refreshed_at                TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
@@ -0,0 +1,17 @@
+-- Latest risk score of each campaign, with a fingerprint of the inputs it was computed from.
+-- A score is reused until the campaign's fingerprint changes, so reading it needs no model call.
+CREATE TABLE campaign_risk_scores (
+    id                  UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    campaign_id         UUID NOT NULL REFERENCES campaigns(id) ON DELETE CASCADE,
+    score               INT NOT NULL,
+    risk_level          VARCHAR(20) NOT NULL,
+    strengths           JSONB NOT NULL DEFAULT '[]',
+    risks               JSONB NOT NULL DEFAULT '[]',
+    recommendation      TEXT NOT NULL,
+    input_fingerprint   VARCHAR(64) NOT NULL,
+    scored_at           TIMESTAMPTZ NOT NULL,
+    created_at          TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at          TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    version             BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uq_campaign_risk_scores_campaign UNIQUE (campaign_id)
+);
@@ -0,0 +1,15 @@
+-- A message the broker does not confirm is retried with backoff instead of on every relay
+-- round, and is parked for an operator once it has failed too often.
+ALTER TABLE outbox_events
+    ADD COLUMN next_attempt_at TIMESTAMPTZ,
+    ADD COLUMN parked_at       TIMESTAMPTZ;
+
+-- The relay's work queue now leaves parked rows out.
+DROP INDEX IF EXISTS idx_outbox_events_unpublished;
+CREATE INDEX idx_outbox_events_unpublished ON outbox_events (id)
+    WHERE published_at IS NULL AND parked_at IS NULL;
+-- Rows waiting for a retry, which hold back later messages for the same aggregate.
+CREATE INDEX idx_outbox_events_retrying ON outbox_events (aggregate_type, aggregate_id, id)
+    WHERE published_at IS NULL AND parked_at IS NULL AND next_attempt_at IS NOT NULL;
+-- Parked rows, for operators.
+CREATE INDEX idx_outbox_events_parked ON outbox_events (parked_at) WHERE parked_at IS NOT NULL;
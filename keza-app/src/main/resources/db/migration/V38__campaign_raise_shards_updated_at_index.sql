@@ -0,0 +1,2 @@
+-- The raise fold only aggregates campaigns whose shards changed since its previous run.
+CREATE INDEX idx_campaign_raise_shards_updated_at ON campaign_raise_shards (updated_at);
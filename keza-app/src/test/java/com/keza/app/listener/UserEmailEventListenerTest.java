@@ -1,5 +1,7 @@
 package com.keza.app.listener;
 
+import com.keza.notification.adapter.out.template.NotificationTemplateConfig;
+import com.keza.notification.adapter.out.template.ThymeleafTemplateRenderer;
 import com.keza.notification.domain.service.NotificationService;
 import com.keza.user.domain.event.EmailVerificationRequestedEvent;
 import com.keza.user.domain.event.PasswordResetRequestedEvent;
@@ -8,10 +10,12 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
 
 import java.util.UUID;
 
@@ -25,7 +29,6 @@ class UserEmailEventListenerTest {
     @Mock
     private NotificationService notificationService;
 
-    @InjectMocks
     private UserEmailEventListener listener;
 
     private static final UUID USER_ID = UUID.randomUUID();
@@ -36,6 +39,17 @@ class UserEmailEventListenerTest {
 
     @BeforeEach
     void setUp() {
+        // Renders the real notification templates, so the assertions below cover them
+        ClassLoaderTemplateResolver htmlResolver = new ClassLoaderTemplateResolver();
+        htmlResolver.setPrefix("templates/");
+        htmlResolver.setSuffix(".html");
+        htmlResolver.setTemplateMode(TemplateMode.HTML);
+        htmlResolver.setOrder(1);
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.addTemplateResolver(new NotificationTemplateConfig().textTemplateResolver());
+        engine.addTemplateResolver(htmlResolver);
+
+        listener = new UserEmailEventListener(notificationService, new ThymeleafTemplateRenderer(engine));
         ReflectionTestUtils.setField(listener, "frontendUrl", FRONTEND_URL);
     }
 
@@ -0,0 +1,134 @@
+package com.keza.integration;
+
+import com.keza.notification.domain.model.Notification;
+import com.keza.notification.domain.model.NotificationChannel;
+import com.keza.notification.domain.port.out.NotificationRepository;
+import com.keza.notification.domain.service.NotificationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures JDBC round-trips for multi-row writes using Hibernate statistics, so the effect of
+ * the batching settings in application.yml can be checked repeatably. Each assertion reports the
+ * statement count next to the number of rows written.
+ * Requires Docker Compose services running (PostgreSQL, Redis, RabbitMQ).
+ * Start with: docker compose -f docker/docker-compose.yml up -d
+ * Set KEZA_INTEGRATION_TESTS=true to enable these tests.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@DisplayName("JDBC batching - statements per transaction")
+@EnabledIfEnvironmentVariable(named = "KEZA_INTEGRATION_TESTS", matches = "true")
+class JdbcBatchingIntegrationTest {
+
+    private static final int ROWS = 200;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    private Statistics statistics;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, email, password_hash, first_name, last_name) " +
+                "VALUES (?, ?, 'not-a-hash', 'Batch', 'Tester')", userId, "batch-" + userId + "@example.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM notifications WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    private Notification notification(int i) {
+        return Notification.builder()
+                .userId(userId)
+                .type("BATCH_TEST")
+                .channel(NotificationChannel.IN_APP)
+                .title("Batch " + i)
+                .message("Batch message " + i)
+                .build();
+    }
+
+    private String report(String operation, long rows) {
+        return String.format("%s: %d rows, %d JDBC statements",
+                operation, rows, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("should write bulk inserts in batches instead of one statement per row")
+    void shouldBatchInserts() {
+        statistics.clear();
+
+        transactionTemplate.executeWithoutResult(status -> notificationRepository.saveAll(
+                IntStream.range(0, ROWS).mapToObj(this::notification).toList()));
+
+        String report = report("insert", statistics.getEntityInsertCount());
+        assertThat(statistics.getEntityInsertCount()).as(report).isEqualTo(ROWS);
+        assertThat(statistics.getPrepareStatementCount()).as(report).isLessThanOrEqualTo(ROWS / BATCH_SIZE);
+    }
+
+    @Test
+    @DisplayName("should write bulk updates of versioned entities in batches")
+    void shouldBatchUpdates() {
+        transactionTemplate.executeWithoutResult(status -> notificationRepository.saveAll(
+                IntStream.range(0, ROWS).mapToObj(this::notification).toList()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Notification> notifications =
+                    notificationRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, Limit.of(ROWS));
+            statistics.clear();
+            notifications.forEach(Notification::markAsRead);
+        });
+
+        String report = report("update", statistics.getEntityUpdateCount());
+        assertThat(statistics.getEntityUpdateCount()).as(report).isEqualTo(ROWS);
+        assertThat(statistics.getPrepareStatementCount()).as(report).isLessThanOrEqualTo(ROWS / BATCH_SIZE);
+    }
+
+    @Test
+    @DisplayName("should persist a sent notification with a single INSERT and no UPDATE")
+    void shouldSendNotificationWithOneWrite() {
+        statistics.clear();
+
+        Notification sent = notificationService.sendNotification(userId, "BATCH_TEST", "Title", "Message",
+                NotificationChannel.IN_APP);
+
+        String report = report("sendNotification",
+                statistics.getEntityInsertCount() + statistics.getEntityUpdateCount());
+        assertThat(sent.isSent()).isTrue();
+        assertThat(statistics.getEntityInsertCount()).as(report).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).as(report).isZero();
+    }
+}
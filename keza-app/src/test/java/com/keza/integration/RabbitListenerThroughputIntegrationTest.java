@@ -0,0 +1,116 @@
+package com.keza.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.keza.infrastructure.config.RabbitMQConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures how fast the notification listeners drain their queues on a local broker, so the
+ * concurrency, prefetch and batch settings under keza.messaging.listeners can be compared.
+ * Each test publishes a burst of events straight to a queue and logs messages per second
+ * until every event has produced its notification row.
+ * Requires Docker Compose services running (PostgreSQL, Redis, RabbitMQ).
+ * Start with: docker compose -f docker/docker-compose.yml up -d
+ * Set KEZA_INTEGRATION_TESTS=true to enable these tests.
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("RabbitMQ listeners - queue drain throughput")
+@EnabledIfEnvironmentVariable(named = "KEZA_INTEGRATION_TESTS", matches = "true")
+class RabbitListenerThroughputIntegrationTest {
+
+    private static final int MESSAGES = 2000;
+    private static final Duration DRAIN_TIMEOUT = Duration.ofMinutes(2);
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, email, password_hash, first_name, last_name) " +
+                "VALUES (?, ?, 'not-a-hash', 'Queue', 'Tester')", userId, "queue-" + userId + "@example.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM notifications WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    private void publish(String queue, ObjectNode event) throws Exception {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        rabbitTemplate.send("", queue, new Message(objectMapper.writeValueAsBytes(event), properties));
+    }
+
+    private int notificationCount() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notifications WHERE user_id = ?", Integer.class, userId);
+        return count != null ? count : 0;
+    }
+
+    private void drainAndReport(String queue, long startNanos) throws InterruptedException {
+        long deadline = startNanos + DRAIN_TIMEOUT.toNanos();
+        while (notificationCount() < MESSAGES && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        log.info("{}: {} messages in {}s ({} msg/s)", queue, MESSAGES,
+                String.format("%.2f", seconds), String.format("%.0f", MESSAGES / seconds));
+        assertThat(notificationCount()).isEqualTo(MESSAGES);
+    }
+
+    @Test
+    @DisplayName("should drain the notification queue")
+    void shouldDrainNotificationQueue() throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) {
+            ObjectNode event = objectMapper.createObjectNode();
+            event.put("type", "PAYMENT_RECEIVED");
+            event.put("userId", userId.toString());
+            event.put("amount", String.valueOf(1000 + i));
+            publish(RabbitMQConfig.NOTIFICATION_QUEUE, event);
+        }
+
+        drainAndReport(RabbitMQConfig.NOTIFICATION_QUEUE, start);
+    }
+
+    @Test
+    @DisplayName("should drain the notification-payment queue")
+    void shouldDrainNotificationPaymentQueue() throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) {
+            ObjectNode event = objectMapper.createObjectNode();
+            event.put("eventType", "PAYMENT_COMPLETED");
+            event.put("providerReference", "ws_CO_" + i);
+            event.put("userId", userId.toString());
+            event.put("amount", String.valueOf(1000 + i));
+            publish(RabbitMQConfig.NOTIFICATION_PAYMENT_QUEUE, event);
+        }
+
+        drainAndReport(RabbitMQConfig.NOTIFICATION_PAYMENT_QUEUE, start);
+    }
+}
@@ -3,7 +3,9 @@ package com.keza.campaign.adapter.in.web;
 import com.keza.campaign.application.dto.*;
 import com.keza.campaign.application.usecase.CampaignUseCase;
 import com.keza.common.dto.ApiResponse;
+import com.keza.common.dto.PageCursor;
 import com.keza.common.dto.PagedResponse;
+import com.keza.common.dto.PagingMode;
 import com.keza.common.enums.CampaignStatus;
 import com.keza.common.enums.OfferingType;
 import jakarta.validation.Valid;
@@ -151,9 +153,12 @@ public class CampaignController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) PagingMode paging,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
 
-        size = Math.min(size, 100);
+        size = Math.max(1, Math.min(size, 100));
 
         CampaignSearchCriteria criteria = CampaignSearchCriteria.builder()
                 .industry(industry)
@@ -164,13 +169,25 @@ public class CampaignController {
                 .maxTarget(maxTarget)
                 .build();
 
-        Sort sort = sortDir.equalsIgnoreCase("asc")
+        // Cursor pages are always newest first; sortBy and sortDir apply to offset pages only
+        if (PagingMode.isCursor(paging, cursor)) {
+            PagedResponse<CampaignResponse> results = campaignUseCase.searchCampaigns(
+                    criteria, PageCursor.decode(cursor), size, includeTotal);
+            return ResponseEntity.ok(ApiResponse.success(results));
+        }
+
+        // Keyword results are ranked by relevance, so only other newest-first pages carry a cursor
+        boolean keysetOrder = PageCursor.isKeysetOrder(sortBy, sortDir) && (keyword == null || keyword.isBlank());
+        Sort sort = keysetOrder ? PageCursor.SORT
+                : sortDir.equalsIgnoreCase("asc")
                 ? Sort.by(sortBy).ascending()
                 : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
         Page<CampaignResponse> results = campaignUseCase.searchCampaigns(criteria, pageable);
-        return ResponseEntity.ok(ApiResponse.success(PagedResponse.from(results)));
+        return ResponseEntity.ok(ApiResponse.success(keysetOrder
+                ? PagedResponse.from(results, campaign -> new PageCursor(campaign.getCreatedAt(), campaign.getId()))
+                : PagedResponse.from(results)));
     }
 
     @PostMapping("/{id}/approve")
@@ -15,7 +15,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -62,11 +61,11 @@ public class CampaignInterestController {
 
     @PostMapping("/notify")
     @PreAuthorize("hasRole('ISSUER')")
-    public ResponseEntity<ApiResponse<List<CampaignInterestResponse>>> notifyInterestedInvestors(
+    public ResponseEntity<ApiResponse<Long>> notifyInterestedInvestors(
             @PathVariable UUID campaignId,
             Authentication authentication) {
         UUID issuerId = UUID.fromString(authentication.getName());
-        List<CampaignInterestResponse> notified = interestUseCase.notifyInterestedInvestors(campaignId, issuerId);
-        return ResponseEntity.ok(ApiResponse.success(notified, "Notifications sent to " + notified.size() + " investors"));
+        long notified = interestUseCase.notifyInterestedInvestors(campaignId, issuerId);
+        return ResponseEntity.ok(ApiResponse.success(notified, "Notifications queued for " + notified + " investors"));
     }
 }
@@ -4,6 +4,7 @@ import com.keza.campaign.application.dto.FundDisbursementRequest;
 import com.keza.campaign.application.dto.FundDisbursementResponse;
 import com.keza.campaign.application.usecase.FundDisbursementUseCase;
 import com.keza.common.dto.ApiResponse;
+import com.keza.infrastructure.idempotency.Idempotent;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +24,7 @@ public class FundDisbursementController {
 
     @PostMapping("/request")
     @PreAuthorize("hasRole('ISSUER')")
+    @Idempotent
     public ResponseEntity<ApiResponse<FundDisbursementResponse>> requestRollingClose(
             @PathVariable UUID campaignId,
             Authentication authentication,
@@ -44,6 +46,7 @@ public class FundDisbursementController {
 
     @PutMapping("/{id}/process")
     @PreAuthorize("hasRole('ADMIN')")
+    @Idempotent
     public ResponseEntity<ApiResponse<FundDisbursementResponse>> processDisbursement(
             @PathVariable UUID campaignId,
             @PathVariable UUID id,
@@ -0,0 +1,44 @@
+package com.keza.campaign.adapter.out.persistence;
+
+import com.keza.campaign.domain.port.out.CampaignDeadlineRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@Transactional
+public class CampaignDeadlineRepositoryImpl implements CampaignDeadlineRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<UUID> fundFullyRaised(Instant now) {
+        return ids(em.createNativeQuery("UPDATE campaigns " +
+                        "SET status = 'FUNDED', funded_at = :now, updated_at = :now, version = version + 1 " +
+                        "WHERE status = 'LIVE' AND deleted = FALSE AND raised_amount >= target_amount " +
+                        "RETURNING id")
+                .setParameter("now", now)
+                .getResultList());
+    }
+
+    @Override
+    public List<UUID> closeExpired(Instant now) {
+        return ids(em.createNativeQuery("UPDATE campaigns " +
+                        "SET status = 'CLOSED', updated_at = :now, version = version + 1 " +
+                        "WHERE status = 'LIVE' AND deleted = FALSE AND end_date < :now " +
+                        "AND raised_amount < target_amount " +
+                        "RETURNING id")
+                .setParameter("now", now)
+                .getResultList());
+    }
+
+    private List<UUID> ids(List<?> rows) {
+        return rows.stream().map(UUID.class::cast).toList();
+    }
+}
@@ -0,0 +1,230 @@
+package com.keza.campaign.adapter.out.persistence;
+
+import com.keza.campaign.domain.port.out.CampaignRaiseShardRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.NoResultException;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Repository
+@Transactional
+public class CampaignRaiseShardRepositoryImpl implements CampaignRaiseShardRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public boolean tryIncrement(UUID campaignId, int shardNo, BigDecimal amount, long shares) {
+        String sql = "UPDATE campaign_raise_shards " +
+                "SET raised_amount = raised_amount + :amount, sold_shares = sold_shares + :shares, " +
+                "investor_count = investor_count + 1, updated_at = NOW() " +
+                "WHERE campaign_id = :campaignId AND shard_no = :shardNo " +
+                "AND raised_amount + :amount <= quota";
+        int updated = em.createNativeQuery(sql)
+                .setParameter("amount", amount)
+                .setParameter("shares", shares)
+                .setParameter("campaignId", campaignId)
+                .setParameter("shardNo", shardNo)
+                .executeUpdate();
+        return updated == 1;
+    }
+
+    @Override
+    public boolean rebalanceAndIncrement(UUID campaignId, int shardCount, BigDecimal amount, long shares) {
+        // Lock order is always campaign row first, then shards by shard_no, so concurrent
+        // rebalances of the same campaign serialize instead of deadlocking. The campaign row is
+        // taken FOR NO KEY UPDATE, which does not conflict with the KEY SHARE lock an investment
+        // insert takes through its foreign key while it already holds a shard row.
+        BigDecimal ceiling;
+        try {
+            ceiling = toBigDecimal(em.createNativeQuery(
+                            "SELECT COALESCE(maximum_amount, target_amount) FROM campaigns " +
+                                    "WHERE id = :campaignId FOR NO KEY UPDATE")
+                    .setParameter("campaignId", campaignId)
+                    .getSingleResult());
+        } catch (NoResultException e) {
+            return false;
+        }
+
+        List<BigDecimal> shardTotals = lockShardTotals(campaignId);
+        if (shardTotals.isEmpty()) {
+            insertShards(campaignId, shardCount);
+            shardTotals = lockShardTotals(campaignId);
+        }
+
+        BigDecimal total = shardTotals.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal headroom = ceiling.subtract(total).subtract(amount);
+        if (headroom.signum() < 0) {
+            log.debug("Campaign {} raise ceiling {} reached (total {}, requested {})",
+                    campaignId, ceiling, total, amount);
+            return false;
+        }
+
+        BigDecimal slice = headroom.divide(BigDecimal.valueOf(shardTotals.size()), 2, RoundingMode.FLOOR);
+        em.createNativeQuery("UPDATE campaign_raise_shards SET quota = raised_amount + :slice, updated_at = NOW() " +
+                        "WHERE campaign_id = :campaignId")
+                .setParameter("slice", slice)
+                .setParameter("campaignId", campaignId)
+                .executeUpdate();
+
+        em.createNativeQuery("UPDATE campaign_raise_shards " +
+                        "SET raised_amount = raised_amount + :amount, quota = quota + :amount, " +
+                        "sold_shares = sold_shares + :shares, investor_count = investor_count + 1, " +
+                        "updated_at = NOW() " +
+                        "WHERE campaign_id = :campaignId AND shard_no = 0")
+                .setParameter("amount", amount)
+                .setParameter("shares", shares)
+                .setParameter("campaignId", campaignId)
+                .executeUpdate();
+
+        log.debug("Rebalanced raise shards for campaign {}: headroom {} sliced {} per shard",
+                campaignId, headroom, slice);
+        return true;
+    }
+
+    @Override
+    public boolean decrement(UUID campaignId, int shardNo, BigDecimal amount, long shares) {
+        String sql = "UPDATE campaign_raise_shards " +
+                "SET raised_amount = raised_amount - :amount, sold_shares = sold_shares - :shares, " +
+                "investor_count = investor_count - 1, updated_at = NOW() " +
+                "WHERE campaign_id = :campaignId AND shard_no = :shardNo " +
+                "AND raised_amount >= :amount AND sold_shares >= :shares AND investor_count >= 1";
+        int updated = em.createNativeQuery(sql)
+                .setParameter("amount", amount)
+                .setParameter("shares", shares)
+                .setParameter("campaignId", campaignId)
+                .setParameter("shardNo", shardNo)
+                .executeUpdate();
+        return updated == 1;
+    }
+
+    @Override
+    public boolean decrementAcrossShards(UUID campaignId, BigDecimal amount, long shares) {
+        // Same locks and order as rebalanceAndIncrement: campaign row, then shards by shard_no
+        em.createNativeQuery("SELECT id FROM campaigns WHERE id = :campaignId FOR NO KEY UPDATE")
+                .setParameter("campaignId", campaignId)
+                .getResultList();
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> shards = em.createNativeQuery(
+                        "SELECT shard_no, raised_amount, sold_shares, investor_count FROM campaign_raise_shards " +
+                                "WHERE campaign_id = :campaignId ORDER BY shard_no FOR UPDATE")
+                .setParameter("campaignId", campaignId)
+                .getResultList();
+        if (shards.isEmpty()) {
+            return false;
+        }
+
+        BigDecimal amountLeft = amount;
+        long sharesLeft = shares;
+        int investorsLeft = 1;
+        List<Object[]> fullestFirst = shards.stream()
+                .sorted((a, b) -> toBigDecimal(b[1]).compareTo(toBigDecimal(a[1])))
+                .toList();
+        for (Object[] shard : fullestFirst) {
+            BigDecimal takeAmount = amountLeft.min(toBigDecimal(shard[1]));
+            long takeShares = Math.min(sharesLeft, ((Number) shard[2]).longValue());
+            int takeInvestors = Math.min(investorsLeft, ((Number) shard[3]).intValue());
+            if (takeAmount.signum() <= 0 && takeShares <= 0 && takeInvestors <= 0) {
+                continue;
+            }
+            em.createNativeQuery("UPDATE campaign_raise_shards " +
+                            "SET raised_amount = raised_amount - :amount, sold_shares = sold_shares - :shares, " +
+                            "investor_count = investor_count - :investors, updated_at = NOW() " +
+                            "WHERE campaign_id = :campaignId AND shard_no = :shardNo")
+                    .setParameter("amount", takeAmount.max(BigDecimal.ZERO))
+                    .setParameter("shares", Math.max(takeShares, 0))
+                    .setParameter("investors", Math.max(takeInvestors, 0))
+                    .setParameter("campaignId", campaignId)
+                    .setParameter("shardNo", ((Number) shard[0]).intValue())
+                    .executeUpdate();
+            amountLeft = amountLeft.subtract(takeAmount.max(BigDecimal.ZERO));
+            sharesLeft -= Math.max(takeShares, 0);
+            investorsLeft -= Math.max(takeInvestors, 0);
+        }
+
+        if (amountLeft.signum() > 0 || sharesLeft > 0) {
+            log.warn("Raise shards of campaign {} held less than the released investment; {} and {} shares " +
+                    "left unreleased", campaignId, amountLeft, sharesLeft);
+        }
+        return true;
+    }
+
+    @Override
+    public void initializeShards(UUID campaignId, int shardCount) {
+        insertShards(campaignId, shardCount);
+    }
+
+    @Override
+    public int foldIntoCampaigns(Instant changedSince) {
+        String changed = changedSince == null ? "" :
+                "WHERE campaign_id IN (SELECT campaign_id FROM campaign_raise_shards WHERE updated_at >= :since) ";
+        String sql = "UPDATE campaigns c " +
+                "SET raised_amount = s.raised_amount, sold_shares = s.sold_shares, investor_count = s.investor_count " +
+                "FROM (SELECT campaign_id, SUM(raised_amount) AS raised_amount, " +
+                "SUM(sold_shares) AS sold_shares, SUM(investor_count) AS investor_count " +
+                "FROM campaign_raise_shards " + changed + "GROUP BY campaign_id) s " +
+                "WHERE c.id = s.campaign_id " +
+                "AND (c.raised_amount <> s.raised_amount OR c.sold_shares <> s.sold_shares " +
+                "OR c.investor_count <> s.investor_count)";
+        Query query = em.createNativeQuery(sql);
+        if (changedSince != null) {
+            query.setParameter("since", changedSince);
+        }
+        return query.executeUpdate();
+    }
+
+    private List<BigDecimal> lockShardTotals(UUID campaignId) {
+        @SuppressWarnings("unchecked")
+        List<Object> rows = em.createNativeQuery(
+                        "SELECT raised_amount FROM campaign_raise_shards " +
+                                "WHERE campaign_id = :campaignId ORDER BY shard_no FOR UPDATE")
+                .setParameter("campaignId", campaignId)
+                .getResultList();
+        return rows.stream().map(this::toBigDecimal).toList();
+    }
+
+    /**
+     * Seeds shard 0 with the campaign's current totals and zero headroom; the first
+     * rebalance hands out the remaining headroom.
+     */
+    private void insertShards(UUID campaignId, int shardCount) {
+        String sql = "INSERT INTO campaign_raise_shards " +
+                "(campaign_id, shard_no, raised_amount, sold_shares, investor_count, quota) " +
+                "SELECT c.id, s.n, " +
+                "CASE WHEN s.n = 0 THEN c.raised_amount ELSE 0 END, " +
+                "CASE WHEN s.n = 0 THEN c.sold_shares ELSE 0 END, " +
+                "CASE WHEN s.n = 0 THEN c.investor_count ELSE 0 END, " +
+                "CASE WHEN s.n = 0 THEN c.raised_amount ELSE 0 END " +
+                "FROM campaigns c CROSS JOIN generate_series(0, :lastShard) AS s(n) " +
+                "WHERE c.id = :campaignId " +
+                "ON CONFLICT (campaign_id, shard_no) DO NOTHING";
+        int inserted = em.createNativeQuery(sql)
+                .setParameter("lastShard", shardCount - 1)
+                .setParameter("campaignId", campaignId)
+                .executeUpdate();
+        if (inserted > 0) {
+            log.info("Initialized {} raise shards for campaign {}", inserted, campaignId);
+        }
+    }
+
+    private BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        if (value instanceof BigDecimal bd) {
+            return bd;
+        }
+        return new BigDecimal(value.toString());
+    }
+}
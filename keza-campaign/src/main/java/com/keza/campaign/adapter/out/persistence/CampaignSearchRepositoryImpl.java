@@ -0,0 +1,133 @@
+package com.keza.campaign.adapter.out.persistence;
+
+import com.keza.campaign.domain.port.out.CampaignSearchRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Repository
+@Transactional(readOnly = true)
+public class CampaignSearchRepositoryImpl implements CampaignSearchRepository {
+
+    /**
+     * Must match the expression of idx_campaigns_search (V5) exactly for the GIN index to be used.
+     */
+    private static final String DOCUMENT = "to_tsvector('english', coalesce(c.title,'') || ' ' || " +
+            "coalesce(c.description,'') || ' ' || coalesce(c.company_name,''))";
+
+    private static final String QUERY = "websearch_to_tsquery('english', :keyword)";
+
+    /**
+     * Full query OR (everything before the last word AND the last word as a prefix). Prefixes use
+     * the simple configuration because a partial word must not be stemmed.
+     */
+    private static final String PREFIX_QUERY = "(" + QUERY + " || (websearch_to_tsquery('english', :head) " +
+            "&& to_tsquery('simple', :prefix)))";
+
+    /**
+     * Trailing word being typed; absent when the keyword ends with a space, quote or operator.
+     */
+    private static final Pattern TRAILING_WORD = Pattern.compile("(?<![-\\p{L}\\p{N}])([\\p{L}\\p{N}]+)$");
+
+    // Private-use characters survive ts_headline untouched and cannot occur in escaped text
+    private static final String MARK_START = "\uE000";
+    private static final String MARK_END = "\uE001";
+
+    private static final String HEADLINE_OPTIONS = "StartSel=" + MARK_START + ", StopSel=" + MARK_END +
+            ", MaxWords=30, MinWords=12, MaxFragments=2, FragmentDelimiter=\" ... \"";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public Page<SearchHit> search(String keyword, SearchFilter filter, Pageable pageable) {
+        String trimmed = keyword.strip();
+        Map<String, Object> params = new HashMap<>();
+        params.put("keyword", trimmed);
+
+        String tsQuery = QUERY;
+        Matcher trailing = TRAILING_WORD.matcher(trimmed);
+        if (trailing.find()) {
+            tsQuery = PREFIX_QUERY;
+            params.put("head", trimmed.substring(0, trailing.start()));
+            params.put("prefix", trailing.group(1).toLowerCase() + ":*");
+        }
+
+        StringBuilder where = new StringBuilder(" WHERE c.deleted = false AND " + DOCUMENT + " @@ q.query");
+        if (filter.industry() != null && !filter.industry().isBlank()) {
+            where.append(" AND c.industry = :industry");
+            params.put("industry", filter.industry());
+        }
+        if (filter.offeringType() != null) {
+            where.append(" AND c.offering_type = :offeringType");
+            params.put("offeringType", filter.offeringType().name());
+        }
+        if (filter.status() != null) {
+            where.append(" AND c.status = :status");
+            params.put("status", filter.status().name());
+        }
+        if (filter.minTarget() != null) {
+            where.append(" AND c.target_amount >= :minTarget");
+            params.put("minTarget", filter.minTarget());
+        }
+        if (filter.maxTarget() != null) {
+            where.append(" AND c.target_amount <= :maxTarget");
+            params.put("maxTarget", filter.maxTarget());
+        }
+
+        String from = " FROM campaigns c, (SELECT " + tsQuery + " AS query) q";
+
+        long total = ((Number) bind(em.createNativeQuery("SELECT COUNT(*)" + from + where), params)
+                .getSingleResult()).longValue();
+        if (total == 0) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+
+        // Headlines are expensive, so they are only generated for the page being returned
+        String sql = "SELECT ranked.id, ranked.rank, ts_headline('english', ranked.description, ranked.query, " +
+                "'" + HEADLINE_OPTIONS + "') FROM (" +
+                "SELECT c.id, coalesce(c.description, '') AS description, q.query, " +
+                "ts_rank(" + DOCUMENT + ", q.query) AS rank, c.created_at" + from + where +
+                " ORDER BY rank DESC, c.created_at DESC LIMIT :limit OFFSET :offset) ranked " +
+                "ORDER BY ranked.rank DESC, ranked.created_at DESC";
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = bind(em.createNativeQuery(sql), params)
+                .setParameter("limit", pageable.getPageSize())
+                .setParameter("offset", pageable.getOffset())
+                .getResultList();
+        List<SearchHit> hits = rows.stream()
+                .map(row -> new SearchHit(
+                        (UUID) row[0],
+                        ((Number) row[1]).doubleValue(),
+                        toHtml((String) row[2])))
+                .toList();
+        return new PageImpl<>(hits, pageable, total);
+    }
+
+    private Query bind(Query query, Map<String, Object> params) {
+        params.forEach(query::setParameter);
+        return query;
+    }
+
+    private String toHtml(String headline) {
+        if (headline == null || headline.isBlank()) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(headline)
+                .replace(MARK_START, "<mark>")
+                .replace(MARK_END, "</mark>");
+    }
+}
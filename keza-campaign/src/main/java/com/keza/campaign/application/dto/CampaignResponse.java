@@ -1,5 +1,6 @@
 package com.keza.campaign.application.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.keza.common.enums.CampaignStatus;
 import com.keza.common.enums.OfferingType;
 import lombok.AllArgsConstructor;
@@ -54,6 +55,12 @@ public class CampaignResponse {
     private Instant createdAt;
     private Instant updatedAt;
 
+    /**
+     * Description excerpt with matched terms wrapped in {@code <mark>}, set only on keyword search results.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String searchHighlight;
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -5,13 +5,17 @@ import com.keza.campaign.application.dto.CampaignInterestResponse;
 import com.keza.campaign.application.dto.CampaignInterestSummary;
 import com.keza.campaign.domain.model.Campaign;
 import com.keza.campaign.domain.model.CampaignInterest;
+import com.keza.campaign.domain.model.CampaignInterestRecipient;
 import com.keza.campaign.domain.port.out.CampaignInterestRepository;
 import com.keza.campaign.domain.port.out.CampaignRepository;
 import com.keza.common.enums.CampaignStatus;
 import com.keza.common.exception.BusinessRuleException;
 import com.keza.common.exception.ResourceNotFoundException;
+import com.keza.infrastructure.messaging.NotificationEventPublisher;
+import com.keza.infrastructure.messaging.event.NotificationEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -28,6 +32,13 @@ public class CampaignInterestUseCase {
 
     private final CampaignInterestRepository interestRepository;
     private final CampaignRepository campaignRepository;
+    private final NotificationEventPublisher notificationEventPublisher;
+
+    /**
+     * Interested investors per CAMPAIGN_LAUNCHED event. Each page is read with one keyset query and
+     * becomes one outbox row, which the notification service sends as one bulk request.
+     */
+    static final int NOTIFY_PAGE_SIZE = 1000;
 
     @Transactional
     public CampaignInterestResponse registerInterest(UUID campaignId, UUID userId, CampaignInterestRequest request) {
@@ -90,8 +101,15 @@ public class CampaignInterestUseCase {
                 .map(this::toResponse);
     }
 
-    @Transactional(readOnly = true)
-    public List<CampaignInterestResponse> notifyInterestedInvestors(UUID campaignId, UUID issuerId) {
+    /**
+     * Queues a launch notification for every interested investor and returns how many were queued.
+     * <p>
+     * Registrations are streamed in keyset pages of {@link #NOTIFY_PAGE_SIZE} and each page is
+     * published as one event in this transaction, so the request never holds every registration
+     * in memory and the notifications are sent only if it commits.
+     */
+    @Transactional
+    public long notifyInterestedInvestors(UUID campaignId, UUID issuerId) {
         Campaign campaign = campaignRepository.findByIdAndDeletedFalse(campaignId)
                 .orElseThrow(() -> new ResourceNotFoundException("Campaign", campaignId));
 
@@ -103,10 +121,28 @@ public class CampaignInterestUseCase {
             throw new BusinessRuleException("Campaign must be live to notify interested investors");
         }
 
-        List<CampaignInterest> registrations = interestRepository.findByCampaignId(campaignId);
-        log.info("Notifying {} interested investors for campaign {}", registrations.size(), campaignId);
+        Limit pageSize = Limit.of(NOTIFY_PAGE_SIZE);
+        List<CampaignInterestRecipient> page = interestRepository.findByCampaignIdOrderByUserIdAsc(campaignId, pageSize);
+        long notified = 0;
+        while (!page.isEmpty()) {
+            notificationEventPublisher.publishCampaignLaunched(campaignId, campaign.getTitle(), toRecipients(page));
+            notified += page.size();
+            if (page.size() < NOTIFY_PAGE_SIZE) {
+                break;
+            }
+            UUID lastUserId = page.get(page.size() - 1).getUserId();
+            page = interestRepository.findByCampaignIdAndUserIdGreaterThanOrderByUserIdAsc(campaignId, lastUserId, pageSize);
+        }
+
+        log.info("Queued launch notifications for {} interested investors of campaign {}", notified, campaignId);
+        return notified;
+    }
 
-        return registrations.stream().map(this::toResponse).toList();
+    private List<NotificationEvent.CampaignLaunched.Recipient> toRecipients(List<CampaignInterestRecipient> page) {
+        return page.stream()
+                .map(recipient -> new NotificationEvent.CampaignLaunched.Recipient(
+                        recipient.getUserId().toString(), recipient.getEmail()))
+                .toList();
     }
 
     private CampaignInterestResponse toResponse(CampaignInterest interest) {
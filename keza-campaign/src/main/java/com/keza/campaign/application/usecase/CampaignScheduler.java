@@ -1,74 +1,142 @@
 package com.keza.campaign.application.usecase;
 
-import com.keza.campaign.domain.model.Campaign;
-import com.keza.campaign.domain.port.out.CampaignRepository;
-import com.keza.campaign.domain.service.CampaignStateMachine;
+import com.keza.campaign.domain.event.CampaignStatusChangedEvent;
+import com.keza.campaign.domain.port.out.CampaignDeadlineRepository;
+import com.keza.campaign.domain.port.out.CampaignRaiseShardRepository;
 import com.keza.common.enums.CampaignStatus;
+import com.keza.infrastructure.scheduling.SchedulerLease;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * Time-driven campaign transitions. Auto-fund and auto-close each run as one bulk
+ * UPDATE ... RETURNING over the partial indexes on LIVE campaigns, so a tick costs as much as
+ * the number of campaigns that are due. Each job first takes a {@link SchedulerLease}, so only
+ * one replica runs it per tick.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class CampaignScheduler {
 
-    private final CampaignRepository campaignRepository;
-    private final CampaignStateMachine stateMachine;
+    static final String AUTO_CLOSE_LEASE = "campaign-auto-close";
+    static final String AUTO_FUND_LEASE = "campaign-auto-fund";
+    static final String FOLD_LEASE = "campaign-raise-fold";
+    static final String FULL_FOLD_LEASE = "campaign-raise-full-fold";
+
+    /**
+     * Shared by the auto-close and auto-fund checks, which both tick every minute.
+     */
+    static final Duration DEADLINE_LEASE = Duration.ofSeconds(55);
+
+    static final Duration FOLD_LEASE_DURATION = Duration.ofSeconds(4);
+
+    static final Duration FULL_FOLD_LEASE_DURATION = Duration.ofMinutes(9);
+
+    /**
+     * How far each fold reaches back before the previous one on this replica. Shard updates are
+     * stamped when their transaction starts, so one that commits after a fold began is still
+     * picked up by the next.
+     */
+    static final Duration FOLD_OVERLAP = Duration.ofMinutes(1);
+
+    private final CampaignDeadlineRepository deadlineRepository;
+    private final CampaignRaiseShardRepository raiseShardRepository;
+    private final SchedulerLease schedulerLease;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final UUID SYSTEM_USER = UUID.fromString("00000000-0000-0000-0000-000000000000");
 
-    @Scheduled(fixedRate = 300000)
+    /**
+     * Start of this replica's last fold; until its first, a fold covers every sharded campaign.
+     */
+    private volatile Instant lastFoldStartedAt;
+
+    @Scheduled(fixedDelay = 60000)
     @Transactional
     public void autoCloseExpired() {
-        List<Campaign> expired = campaignRepository.findByStatusAndEndDateBefore(
-                CampaignStatus.LIVE, Instant.now());
-
-        for (Campaign campaign : expired) {
-            try {
-                stateMachine.transition(campaign, CampaignStatus.CLOSED, SYSTEM_USER);
-                campaignRepository.save(campaign);
-                log.info("Auto-closed expired campaign: {}", campaign.getId());
-            } catch (Exception e) {
-                log.error("Failed to auto-close campaign {}: {}", campaign.getId(), e.getMessage());
-            }
+        if (!schedulerLease.tryAcquire(AUTO_CLOSE_LEASE, DEADLINE_LEASE)) {
+            return;
         }
 
-        if (!expired.isEmpty()) {
-            log.info("Auto-close check complete: {} campaigns closed", expired.size());
+        List<UUID> closed = deadlineRepository.closeExpired(Instant.now());
+        for (UUID campaignId : closed) {
+            eventPublisher.publishEvent(new CampaignStatusChangedEvent(
+                    campaignId, CampaignStatus.LIVE, CampaignStatus.CLOSED, SYSTEM_USER));
+            log.info("Auto-closed expired campaign: {}", campaignId);
+        }
+
+        if (!closed.isEmpty()) {
+            log.info("Auto-close check complete: {} campaigns closed", closed.size());
         }
     }
 
-    @Scheduled(fixedRate = 300000)
+    @Scheduled(fixedDelay = 60000)
     @Transactional
     public void autoFund() {
-        List<Campaign> liveCampaigns = campaignRepository.findByStatusAndEndDateBefore(
-                CampaignStatus.LIVE, Instant.now().plusSeconds(86400 * 365));
-
-        int funded = 0;
-        for (Campaign campaign : liveCampaigns) {
-            if (campaign.getRaisedAmount().compareTo(campaign.getTargetAmount()) >= 0) {
-                try {
-                    campaign.setFundedAt(Instant.now());
-                    stateMachine.transition(campaign, CampaignStatus.FUNDED, SYSTEM_USER);
-                    campaignRepository.save(campaign);
-                    funded++;
-                    log.info("Auto-funded campaign: {} (raised: {}, target: {})",
-                            campaign.getId(), campaign.getRaisedAmount(), campaign.getTargetAmount());
-                } catch (Exception e) {
-                    log.error("Failed to auto-fund campaign {}: {}", campaign.getId(), e.getMessage());
-                }
-            }
+        if (!schedulerLease.tryAcquire(AUTO_FUND_LEASE, DEADLINE_LEASE)) {
+            return;
+        }
+
+        List<UUID> funded = deadlineRepository.fundFullyRaised(Instant.now());
+        for (UUID campaignId : funded) {
+            eventPublisher.publishEvent(new CampaignStatusChangedEvent(
+                    campaignId, CampaignStatus.LIVE, CampaignStatus.FUNDED, SYSTEM_USER));
+            log.info("Auto-funded campaign: {}", campaignId);
+        }
+
+        if (!funded.isEmpty()) {
+            log.info("Auto-fund check complete: {} campaigns funded", funded.size());
+        }
+    }
+
+    /**
+     * Folds striped raise shard totals back into campaigns.raised_amount so listings,
+     * analytics and {@link #autoFund()} see near-real-time figures. Only campaigns whose shards
+     * changed since this replica's previous fold are aggregated, so a tick costs as much as the
+     * recent investment activity rather than every campaign ever sharded.
+     */
+    @Scheduled(fixedDelay = 5000)
+    @Transactional
+    public void foldRaiseShards() {
+        if (!schedulerLease.tryAcquire(FOLD_LEASE, FOLD_LEASE_DURATION)) {
+            return;
+        }
+
+        Instant started = Instant.now();
+        Instant changedSince = lastFoldStartedAt != null ? lastFoldStartedAt.minus(FOLD_OVERLAP) : null;
+        int folded = raiseShardRepository.foldIntoCampaigns(changedSince);
+        lastFoldStartedAt = started;
+        if (folded > 0) {
+            log.debug("Folded raise shards into {} campaigns", folded);
+        }
+    }
+
+    /**
+     * Folds every sharded campaign, whatever its last shard update. The incremental fold only
+     * looks back from its own replica's previous run, so a fold that rolled back after that
+     * watermark moved, or a campaign total changed outside the shards, would otherwise stay
+     * wrong until the campaign's shards next changed.
+     */
+    @Scheduled(fixedDelay = 600000, initialDelay = 60000)
+    @Transactional
+    public void foldAllRaiseShards() {
+        if (!schedulerLease.tryAcquire(FULL_FOLD_LEASE, FULL_FOLD_LEASE_DURATION)) {
+            return;
         }
 
-        if (funded > 0) {
-            log.info("Auto-fund check complete: {} campaigns funded", funded);
+        int folded = raiseShardRepository.foldIntoCampaigns(null);
+        if (folded > 0) {
+            log.info("Full fold corrected raise totals of {} campaigns", folded);
         }
     }
 }
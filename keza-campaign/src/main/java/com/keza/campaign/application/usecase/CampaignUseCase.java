@@ -4,7 +4,12 @@ import com.keza.campaign.application.dto.*;
 import com.keza.campaign.domain.model.Campaign;
 import com.keza.campaign.domain.model.CampaignMedia;
 import com.keza.campaign.domain.port.out.CampaignRepository;
+import com.keza.campaign.domain.port.out.CampaignSearchRepository;
+import com.keza.campaign.domain.port.out.CampaignSearchRepository.SearchFilter;
+import com.keza.campaign.domain.port.out.CampaignSearchRepository.SearchHit;
 import com.keza.campaign.domain.service.CampaignStateMachine;
+import com.keza.common.dto.PageCursor;
+import com.keza.common.dto.PagedResponse;
 import com.keza.common.enums.CampaignStatus;
 import com.keza.common.exception.BusinessRuleException;
 import com.keza.common.exception.ResourceNotFoundException;
@@ -14,6 +19,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -22,7 +28,9 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -31,6 +39,7 @@ import java.util.stream.Collectors;
 public class CampaignUseCase {
 
     private final CampaignRepository campaignRepository;
+    private final CampaignSearchRepository campaignSearchRepository;
     private final CampaignStateMachine stateMachine;
 
     @Transactional
@@ -107,12 +116,62 @@ public class CampaignUseCase {
         return mapToResponse(campaign);
     }
 
+    /**
+     * Searches campaigns by filters. When a keyword is given, results come from the full-text
+     * index ranked by relevance, and the requested sort order is ignored.
+     */
     @Transactional(readOnly = true)
     public Page<CampaignResponse> searchCampaigns(CampaignSearchCriteria criteria, Pageable pageable) {
+        if (criteria.getKeyword() != null && !criteria.getKeyword().isBlank()) {
+            return searchByKeyword(criteria, pageable);
+        }
         Specification<Campaign> spec = buildSpecification(criteria);
         return campaignRepository.findAll(spec, pageable).map(this::mapToResponse);
     }
 
+    /**
+     * Cursor-paged variant of {@link #searchCampaigns(CampaignSearchCriteria, Pageable)}, newest
+     * first. Keyword searches are ranked by relevance and have no stable cursor, so they must use
+     * offset paging.
+     */
+    @Transactional(readOnly = true)
+    public PagedResponse<CampaignResponse> searchCampaigns(CampaignSearchCriteria criteria, PageCursor after,
+                                                           int size, boolean includeTotal) {
+        if (criteria.getKeyword() != null && !criteria.getKeyword().isBlank()) {
+            throw new BusinessRuleException("CURSOR_NOT_SUPPORTED",
+                    "Keyword search does not support cursor pagination; use page instead");
+        }
+        Specification<Campaign> spec = buildSpecification(criteria);
+        List<Campaign> rows = campaignRepository.findBy(spec.and(PageCursor.after(after)),
+                query -> query.sortBy(PageCursor.SORT).limit(size + 1).all());
+        Long total = includeTotal ? campaignRepository.count(spec) : null;
+        return PagedResponse.fromKeyset(rows, size, PageCursor::of, this::mapToResponse, total);
+    }
+
+    private Page<CampaignResponse> searchByKeyword(CampaignSearchCriteria criteria, Pageable pageable) {
+        SearchFilter filter = new SearchFilter(criteria.getIndustry(), criteria.getOfferingType(),
+                criteria.getStatus(), criteria.getMinTarget(), criteria.getMaxTarget());
+        Page<SearchHit> hits = campaignSearchRepository.search(criteria.getKeyword(), filter, pageable);
+        if (hits.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.getTotalElements());
+        }
+
+        Map<UUID, Campaign> campaigns = campaignRepository.findAllById(
+                        hits.getContent().stream().map(SearchHit::campaignId).toList())
+                .stream()
+                .collect(Collectors.toMap(Campaign::getId, Function.identity()));
+
+        List<CampaignResponse> responses = hits.getContent().stream()
+                .filter(hit -> campaigns.containsKey(hit.campaignId()))
+                .map(hit -> {
+                    CampaignResponse response = mapToResponse(campaigns.get(hit.campaignId()));
+                    response.setSearchHighlight(hit.highlight());
+                    return response;
+                })
+                .toList();
+        return new PageImpl<>(responses, pageable, hits.getTotalElements());
+    }
+
     @Transactional(readOnly = true)
     @Cacheable(value = "campaigns", key = "'featured-' + #limit")
     public List<CampaignResponse> getFeaturedCampaigns(int limit) {
@@ -266,15 +325,6 @@ public class CampaignUseCase {
                     cb.equal(root.get("status"), criteria.getStatus()));
         }
 
-        if (criteria.getKeyword() != null && !criteria.getKeyword().isBlank()) {
-            String keyword = "%" + criteria.getKeyword().toLowerCase() + "%";
-            spec = spec.and((root, query, cb) -> cb.or(
-                    cb.like(cb.lower(root.get("title")), keyword),
-                    cb.like(cb.lower(root.get("description")), keyword),
-                    cb.like(cb.lower(root.get("companyName")), keyword)
-            ));
-        }
-
         if (criteria.getMinTarget() != null) {
             spec = spec.and((root, query, cb) ->
                     cb.greaterThanOrEqualTo(root.get("targetAmount"), criteria.getMinTarget()));
@@ -67,7 +67,12 @@ public class Campaign extends SoftDeletableEntity {
     @Column(name = "maximum_amount", precision = 15, scale = 2)
     private BigDecimal maximumAmount;
 
-    @Column(name = "raised_amount", nullable = false, precision = 15, scale = 2)
+    /**
+     * Raised amount, sold shares and investor count are accumulated in raise shards and written
+     * back only by {@code CampaignRaiseShardRepository.foldIntoCampaigns}; never updated through
+     * the entity, so saving a campaign cannot overwrite a fresher fold.
+     */
+    @Column(name = "raised_amount", nullable = false, precision = 15, scale = 2, updatable = false)
     @Builder.Default
     private BigDecimal raisedAmount = BigDecimal.ZERO;
 
@@ -77,7 +82,7 @@ public class Campaign extends SoftDeletableEntity {
     @Column(name = "total_shares")
     private Long totalShares;
 
-    @Column(name = "sold_shares", nullable = false)
+    @Column(name = "sold_shares", nullable = false, updatable = false)
     @Builder.Default
     private Long soldShares = 0L;
 
@@ -88,7 +93,7 @@ public class Campaign extends SoftDeletableEntity {
     @Column(name = "max_investment", precision = 15, scale = 2)
     private BigDecimal maxInvestment;
 
-    @Column(name = "investor_count", nullable = false)
+    @Column(name = "investor_count", nullable = false, updatable = false)
     @Builder.Default
     private Integer investorCount = 0;
 
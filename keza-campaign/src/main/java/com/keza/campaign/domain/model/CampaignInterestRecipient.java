@@ -0,0 +1,13 @@
+package com.keza.campaign.domain.model;
+
+import java.util.UUID;
+
+/**
+ * The columns of an interest registration needed to notify its investor, read without loading the entity.
+ */
+public interface CampaignInterestRecipient {
+
+    UUID getUserId();
+
+    String getEmail();
+}
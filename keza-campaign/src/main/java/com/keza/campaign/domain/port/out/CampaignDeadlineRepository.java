@@ -0,0 +1,32 @@
+package com.keza.campaign.domain.port.out;
+
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk LIVE-campaign transitions driven by the deadline scheduler, via native SQL over the
+ * partial indexes on LIVE campaigns. Each method is a single UPDATE ... RETURNING, so its cost
+ * is proportional to the number of campaigns that are due. All methods participate in the
+ * caller's transaction.
+ */
+@Repository
+public interface CampaignDeadlineRepository {
+
+    /**
+     * Moves LIVE campaigns whose raised amount has reached the target to FUNDED.
+     *
+     * @return the ids of the campaigns funded
+     */
+    List<UUID> fundFullyRaised(Instant now);
+
+    /**
+     * Moves LIVE campaigns whose end date has passed to CLOSED. Fully raised campaigns are
+     * left for {@link #fundFullyRaised(Instant)}.
+     *
+     * @return the ids of the campaigns closed
+     */
+    List<UUID> closeExpired(Instant now);
+}
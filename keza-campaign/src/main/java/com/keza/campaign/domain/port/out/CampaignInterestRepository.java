@@ -1,6 +1,8 @@
 package com.keza.campaign.domain.port.out;
 
 import com.keza.campaign.domain.model.CampaignInterest;
+import com.keza.campaign.domain.model.CampaignInterestRecipient;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -24,5 +26,13 @@ public interface CampaignInterestRepository extends JpaRepository<CampaignIntere
 
     boolean existsByCampaignIdAndUserId(UUID campaignId, UUID userId);
 
-    List<CampaignInterest> findByCampaignId(UUID campaignId);
+    /**
+     * Keyset pages of a campaign's interested investors, ordered by user id so each page is a
+     * range scan on the (campaign_id, user_id) unique index. Pass the last user id of the
+     * previous page as {@code afterUserId}.
+     */
+    List<CampaignInterestRecipient> findByCampaignIdOrderByUserIdAsc(UUID campaignId, Limit limit);
+
+    List<CampaignInterestRecipient> findByCampaignIdAndUserIdGreaterThanOrderByUserIdAsc(
+            UUID campaignId, UUID afterUserId, Limit limit);
 }
@@ -13,4 +13,6 @@ public interface CampaignMediaRepository extends JpaRepository<CampaignMedia, UU
     List<CampaignMedia> findByCampaignIdOrderBySortOrderAsc(UUID campaignId);
 
     void deleteByCampaignId(UUID campaignId);
+
+    long countByCampaignId(UUID campaignId);
 }
@@ -0,0 +1,62 @@
+package com.keza.campaign.domain.port.out;
+
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Striped raised-amount counters backed by the campaign_raise_shards table via native SQL.
+ * All methods participate in the caller's transaction.
+ */
+@Repository
+public interface CampaignRaiseShardRepository {
+
+    /**
+     * Adds to a single shard if the shard's quota still has room for the amount.
+     *
+     * @return true if the shard accepted the increment
+     */
+    boolean tryIncrement(UUID campaignId, int shardNo, BigDecimal amount, long shares);
+
+    /**
+     * Locks the campaign row and every shard, re-slices the remaining headroom under the
+     * raise ceiling across the shards and applies the increment. Creates the shard rows,
+     * seeded from the campaign's current totals, if they do not exist yet.
+     *
+     * @return false if the increment would push the campaign over its raise ceiling
+     */
+    boolean rebalanceAndIncrement(UUID campaignId, int shardCount, BigDecimal amount, long shares);
+
+    /**
+     * Subtracts from a single shard if it holds at least the amount, shares and one investor;
+     * freed amount becomes headroom in that shard.
+     *
+     * @return false if the shard does not exist or holds less than the decrement
+     */
+    boolean decrement(UUID campaignId, int shardNo, BigDecimal amount, long shares);
+
+    /**
+     * Locks the campaign row and every shard and subtracts the decrement from the fullest shards
+     * first, clamping at zero if the shards hold less than it in total.
+     *
+     * @return false if the campaign has no shard rows yet
+     */
+    boolean decrementAcrossShards(UUID campaignId, BigDecimal amount, long shares);
+
+    /**
+     * Creates the shard rows for a campaign if they do not exist yet.
+     */
+    void initializeShards(UUID campaignId, int shardCount);
+
+    /**
+     * Writes shard totals back to campaigns.raised_amount, sold_shares and investor_count
+     * for every campaign whose totals have drifted.
+     *
+     * @param changedSince only campaigns with a shard updated at or after this are considered;
+     *                     {@code null} considers every sharded campaign
+     * @return the number of campaigns updated
+     */
+    int foldIntoCampaigns(Instant changedSince);
+}
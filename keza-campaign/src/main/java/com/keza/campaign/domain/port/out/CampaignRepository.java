@@ -6,13 +6,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,15 +25,14 @@ public interface CampaignRepository extends JpaRepository<Campaign, UUID>, JpaSp
 
     Page<Campaign> findByIssuerIdAndDeletedFalse(UUID issuerId, Pageable pageable);
 
-    @Modifying
-    @Query("UPDATE Campaign c SET c.raisedAmount = c.raisedAmount + :amount, " +
-            "c.investorCount = c.investorCount + 1, " +
-            "c.soldShares = c.soldShares + :shares " +
-            "WHERE c.id = :id AND c.version = :version")
-    int updateRaisedAmount(@Param("id") UUID id,
-                           @Param("amount") BigDecimal amount,
-                           @Param("shares") long shares,
-                           @Param("version") long version);
+    long countByIssuerIdAndDeletedFalse(UUID issuerId);
 
     List<Campaign> findByStatusAndEndDateBefore(CampaignStatus status, Instant dateTime);
+
+    @Query("SELECT c.id FROM Campaign c WHERE c.status IN :statuses AND c.deleted = false")
+    List<UUID> findIdsByStatusIn(@Param("statuses") Collection<CampaignStatus> statuses);
+
+    @Query("SELECT c.id FROM Campaign c WHERE c.id IN :ids AND c.status IN :statuses AND c.deleted = false")
+    List<UUID> findIdsByIdInAndStatusIn(@Param("ids") Collection<UUID> ids,
+                                        @Param("statuses") Collection<CampaignStatus> statuses);
 }
@@ -0,0 +1,32 @@
+package com.keza.campaign.domain.port.out;
+
+import com.keza.common.enums.CampaignStatus;
+import com.keza.common.enums.OfferingType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Port for relevance-ranked full-text search over campaign title, description and company name.
+ */
+public interface CampaignSearchRepository {
+
+    /**
+     * Returns campaigns matching the keyword, most relevant first. The keyword accepts web-search
+     * syntax (quoted phrases, {@code or}, {@code -exclusion}) and its last word also matches as a
+     * prefix so partially typed queries return results.
+     */
+    Page<SearchHit> search(String keyword, SearchFilter filter, Pageable pageable);
+
+    record SearchFilter(String industry, OfferingType offeringType, CampaignStatus status,
+                        BigDecimal minTarget, BigDecimal maxTarget) {
+    }
+
+    /**
+     * @param highlight HTML-escaped description excerpt with matched terms wrapped in {@code <mark>}
+     */
+    record SearchHit(UUID campaignId, double rank, String highlight) {
+    }
+}
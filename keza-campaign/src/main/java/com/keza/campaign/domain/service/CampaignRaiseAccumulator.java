@@ -0,0 +1,76 @@
+package com.keza.campaign.domain.service;
+
+import com.keza.campaign.domain.port.out.CampaignRaiseShardRepository;
+import com.keza.common.exception.BusinessRuleException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Accumulates a campaign's raised amount across striped shard rows instead of the single
+ * campaigns row, so concurrent investments in a hot campaign do not serialize on one lock
+ * or fail optimistic version checks.
+ * <p>
+ * Each shard holds a quota carved from the remaining headroom under the raise ceiling
+ * (maximum amount, falling back to the target). A reservation increments one randomly chosen
+ * shard if its quota has room; when the sampled shards are exhausted the headroom is re-sliced
+ * under a campaign row lock. The sum of quotas never exceeds the ceiling, so the ceiling is
+ * enforced atomically. Shard totals are folded back into the campaigns row by
+ * {@code CampaignScheduler.foldRaiseShards}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CampaignRaiseAccumulator {
+
+    static final int SHARD_COUNT = 16;
+
+    /**
+     * Number of shards tried on the lock-free path before falling back to a rebalance.
+     */
+    static final int FAST_PATH_ATTEMPTS = 4;
+
+    private final CampaignRaiseShardRepository shardRepository;
+
+    /**
+     * Adds an investment to the campaign's raised amount, share count and investor count.
+     * Must be called inside the transaction that persists the investment.
+     *
+     * @throws BusinessRuleException with code EXCEEDS_TARGET if the raise ceiling would be exceeded
+     */
+    public void reserve(UUID campaignId, BigDecimal amount, long shares) {
+        int start = ThreadLocalRandom.current().nextInt(SHARD_COUNT);
+        for (int i = 0; i < FAST_PATH_ATTEMPTS; i++) {
+            if (shardRepository.tryIncrement(campaignId, (start + i) % SHARD_COUNT, amount, shares)) {
+                return;
+            }
+        }
+
+        log.debug("Raise shards for campaign {} exhausted on fast path, rebalancing", campaignId);
+        if (!shardRepository.rebalanceAndIncrement(campaignId, SHARD_COUNT, amount, shares)) {
+            throw new BusinessRuleException("EXCEEDS_TARGET",
+                    "Investment amount exceeds the remaining campaign allocation");
+        }
+    }
+
+    /**
+     * Removes a cancelled investment from the campaign's totals. The freed amount becomes
+     * headroom in the shard it is taken from. A random shard is tried first; if it holds less
+     * than the investment, the amount is taken across the shards instead, so no shard goes
+     * negative.
+     */
+    public void release(UUID campaignId, BigDecimal amount, long shares) {
+        int shardNo = ThreadLocalRandom.current().nextInt(SHARD_COUNT);
+        if (shardRepository.decrement(campaignId, shardNo, amount, shares)) {
+            return;
+        }
+        if (!shardRepository.decrementAcrossShards(campaignId, amount, shares)) {
+            shardRepository.initializeShards(campaignId, SHARD_COUNT);
+            shardRepository.decrementAcrossShards(campaignId, amount, shares);
+        }
+    }
+}
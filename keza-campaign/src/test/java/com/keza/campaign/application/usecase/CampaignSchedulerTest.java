@@ -1,11 +1,10 @@
 package com.keza.campaign.application.usecase;
 
-import com.keza.campaign.domain.model.Campaign;
-import com.keza.campaign.domain.port.out.CampaignRepository;
-import com.keza.campaign.domain.service.CampaignStateMachine;
+import com.keza.campaign.domain.event.CampaignStatusChangedEvent;
+import com.keza.campaign.domain.port.out.CampaignDeadlineRepository;
+import com.keza.campaign.domain.port.out.CampaignRaiseShardRepository;
 import com.keza.common.enums.CampaignStatus;
-import com.keza.common.exception.BusinessRuleException;
-import org.junit.jupiter.api.BeforeEach;
+import com.keza.infrastructure.scheduling.SchedulerLease;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -15,17 +14,15 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
-import java.math.BigDecimal;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,94 +30,72 @@ import static org.mockito.Mockito.*;
 class CampaignSchedulerTest {
 
     @Mock
-    private CampaignRepository campaignRepository;
+    private CampaignDeadlineRepository deadlineRepository;
 
     @Mock
-    private CampaignStateMachine stateMachine;
+    private CampaignRaiseShardRepository raiseShardRepository;
+
+    @Mock
+    private SchedulerLease schedulerLease;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private CampaignScheduler campaignScheduler;
 
     @Captor
-    private ArgumentCaptor<CampaignStatus> statusCaptor;
-
-    @Captor
-    private ArgumentCaptor<UUID> userCaptor;
+    private ArgumentCaptor<CampaignStatusChangedEvent> eventCaptor;
 
     private static final UUID SYSTEM_USER = UUID.fromString("00000000-0000-0000-0000-000000000000");
 
-    private Campaign buildLiveCampaign(BigDecimal target, BigDecimal raised, Instant endDate) {
-        Campaign campaign = Campaign.builder()
-                .issuerId(UUID.randomUUID())
-                .title("Test Campaign")
-                .targetAmount(target)
-                .raisedAmount(raised)
-                .status(CampaignStatus.LIVE)
-                .wizardStep(6)
-                .endDate(endDate)
-                .build();
-        campaign.setId(UUID.randomUUID());
-        return campaign;
-    }
-
     @Nested
     @DisplayName("autoCloseExpired")
     class AutoCloseExpired {
 
         @Test
-        @DisplayName("should close expired LIVE campaigns")
+        @DisplayName("should close expired LIVE campaigns and publish a status change for each")
         void shouldCloseExpiredCampaigns() {
-            Campaign expired1 = buildLiveCampaign(
-                    new BigDecimal("100000"), new BigDecimal("50000"),
-                    Instant.now().minus(1, ChronoUnit.DAYS));
-            Campaign expired2 = buildLiveCampaign(
-                    new BigDecimal("200000"), new BigDecimal("100000"),
-                    Instant.now().minus(2, ChronoUnit.DAYS));
-
-            when(campaignRepository.findByStatusAndEndDateBefore(eq(CampaignStatus.LIVE), any(Instant.class)))
-                    .thenReturn(List.of(expired1, expired2));
+            UUID expired1 = UUID.randomUUID();
+            UUID expired2 = UUID.randomUUID();
+            when(schedulerLease.tryAcquire(CampaignScheduler.AUTO_CLOSE_LEASE, CampaignScheduler.DEADLINE_LEASE))
+                    .thenReturn(true);
+            when(deadlineRepository.closeExpired(any(Instant.class))).thenReturn(List.of(expired1, expired2));
 
             campaignScheduler.autoCloseExpired();
 
-            verify(stateMachine).transition(expired1, CampaignStatus.CLOSED, SYSTEM_USER);
-            verify(stateMachine).transition(expired2, CampaignStatus.CLOSED, SYSTEM_USER);
-            verify(campaignRepository).save(expired1);
-            verify(campaignRepository).save(expired2);
+            verify(eventPublisher, times(2)).publishEvent(eventCaptor.capture());
+            assertThat(eventCaptor.getAllValues())
+                    .extracting(CampaignStatusChangedEvent::campaignId)
+                    .containsExactly(expired1, expired2);
+            assertThat(eventCaptor.getAllValues()).allSatisfy(event -> {
+                assertThat(event.oldStatus()).isEqualTo(CampaignStatus.LIVE);
+                assertThat(event.newStatus()).isEqualTo(CampaignStatus.CLOSED);
+                assertThat(event.triggeredBy()).isEqualTo(SYSTEM_USER);
+            });
         }
 
         @Test
         @DisplayName("should do nothing when no expired campaigns exist")
         void shouldDoNothingWhenNoExpiredCampaigns() {
-            when(campaignRepository.findByStatusAndEndDateBefore(eq(CampaignStatus.LIVE), any(Instant.class)))
-                    .thenReturn(Collections.emptyList());
+            when(schedulerLease.tryAcquire(CampaignScheduler.AUTO_CLOSE_LEASE, CampaignScheduler.DEADLINE_LEASE))
+                    .thenReturn(true);
+            when(deadlineRepository.closeExpired(any(Instant.class))).thenReturn(Collections.emptyList());
 
             campaignScheduler.autoCloseExpired();
 
-            verify(stateMachine, never()).transition(any(), any(), any());
-            verify(campaignRepository, never()).save(any());
+            verifyNoInteractions(eventPublisher);
         }
 
         @Test
-        @DisplayName("should continue processing remaining campaigns when one fails")
-        void shouldContinueOnFailure() {
-            Campaign expired1 = buildLiveCampaign(
-                    new BigDecimal("100000"), new BigDecimal("50000"),
-                    Instant.now().minus(1, ChronoUnit.DAYS));
-            Campaign expired2 = buildLiveCampaign(
-                    new BigDecimal("200000"), new BigDecimal("100000"),
-                    Instant.now().minus(2, ChronoUnit.DAYS));
-
-            when(campaignRepository.findByStatusAndEndDateBefore(eq(CampaignStatus.LIVE), any(Instant.class)))
-                    .thenReturn(List.of(expired1, expired2));
-            doThrow(new RuntimeException("DB error"))
-                    .when(stateMachine).transition(expired1, CampaignStatus.CLOSED, SYSTEM_USER);
+        @DisplayName("should skip the tick when another replica holds the lease")
+        void shouldSkipWhenLeaseHeldElsewhere() {
+            when(schedulerLease.tryAcquire(CampaignScheduler.AUTO_CLOSE_LEASE, CampaignScheduler.DEADLINE_LEASE))
+                    .thenReturn(false);
 
             campaignScheduler.autoCloseExpired();
 
-            verify(stateMachine).transition(expired1, CampaignStatus.CLOSED, SYSTEM_USER);
-            verify(stateMachine).transition(expired2, CampaignStatus.CLOSED, SYSTEM_USER);
-            verify(campaignRepository, never()).save(expired1);
-            verify(campaignRepository).save(expired2);
+            verifyNoInteractions(deadlineRepository, eventPublisher);
         }
     }
 
@@ -129,125 +104,114 @@ class CampaignSchedulerTest {
     class AutoFund {
 
         @Test
-        @DisplayName("should fund campaign that reached target amount")
-        void shouldFundCampaignAtTarget() {
-            Campaign fullyFunded = buildLiveCampaign(
-                    new BigDecimal("100000"), new BigDecimal("100000"),
-                    Instant.now().plus(30, ChronoUnit.DAYS));
-
-            when(campaignRepository.findByStatusAndEndDateBefore(eq(CampaignStatus.LIVE), any(Instant.class)))
-                    .thenReturn(List.of(fullyFunded));
+        @DisplayName("should fund fully raised LIVE campaigns and publish a status change for each")
+        void shouldFundFullyRaisedCampaigns() {
+            UUID fullyFunded = UUID.randomUUID();
+            when(schedulerLease.tryAcquire(CampaignScheduler.AUTO_FUND_LEASE, CampaignScheduler.DEADLINE_LEASE))
+                    .thenReturn(true);
+            when(deadlineRepository.fundFullyRaised(any(Instant.class))).thenReturn(List.of(fullyFunded));
 
             campaignScheduler.autoFund();
 
-            verify(stateMachine).transition(fullyFunded, CampaignStatus.FUNDED, SYSTEM_USER);
-            verify(campaignRepository).save(fullyFunded);
-            assertThat(fullyFunded.getFundedAt()).isNotNull();
+            verify(eventPublisher).publishEvent(eventCaptor.capture());
+            CampaignStatusChangedEvent event = eventCaptor.getValue();
+            assertThat(event.campaignId()).isEqualTo(fullyFunded);
+            assertThat(event.oldStatus()).isEqualTo(CampaignStatus.LIVE);
+            assertThat(event.newStatus()).isEqualTo(CampaignStatus.FUNDED);
         }
 
         @Test
-        @DisplayName("should fund campaign that exceeded target amount")
-        void shouldFundCampaignExceedingTarget() {
-            Campaign overFunded = buildLiveCampaign(
-                    new BigDecimal("100000"), new BigDecimal("150000"),
-                    Instant.now().plus(30, ChronoUnit.DAYS));
-
-            when(campaignRepository.findByStatusAndEndDateBefore(eq(CampaignStatus.LIVE), any(Instant.class)))
-                    .thenReturn(List.of(overFunded));
+        @DisplayName("should stamp fundedAt with the current time")
+        void shouldPassCurrentTime() {
+            Instant before = Instant.now();
+            when(schedulerLease.tryAcquire(CampaignScheduler.AUTO_FUND_LEASE, CampaignScheduler.DEADLINE_LEASE))
+                    .thenReturn(true);
+            when(deadlineRepository.fundFullyRaised(any(Instant.class))).thenReturn(List.of());
 
             campaignScheduler.autoFund();
 
-            verify(stateMachine).transition(overFunded, CampaignStatus.FUNDED, SYSTEM_USER);
-            verify(campaignRepository).save(overFunded);
+            verify(deadlineRepository).fundFullyRaised(argThat(now -> !now.isBefore(before)));
         }
 
         @Test
-        @DisplayName("should not fund campaign below target amount")
-        void shouldNotFundBelowTarget() {
-            Campaign underFunded = buildLiveCampaign(
-                    new BigDecimal("100000"), new BigDecimal("50000"),
-                    Instant.now().plus(30, ChronoUnit.DAYS));
-
-            when(campaignRepository.findByStatusAndEndDateBefore(eq(CampaignStatus.LIVE), any(Instant.class)))
-                    .thenReturn(List.of(underFunded));
+        @DisplayName("should skip the tick when another replica holds the lease")
+        void shouldSkipWhenLeaseHeldElsewhere() {
+            when(schedulerLease.tryAcquire(CampaignScheduler.AUTO_FUND_LEASE, CampaignScheduler.DEADLINE_LEASE))
+                    .thenReturn(false);
 
             campaignScheduler.autoFund();
 
-            verify(stateMachine, never()).transition(any(), any(), any());
-            verify(campaignRepository, never()).save(any());
+            verifyNoInteractions(deadlineRepository, eventPublisher);
         }
+    }
+
+    @Nested
+    @DisplayName("foldRaiseShards")
+    class FoldRaiseShards {
 
         @Test
-        @DisplayName("should do nothing when no live campaigns exist")
-        void shouldDoNothingWhenNoLiveCampaigns() {
-            when(campaignRepository.findByStatusAndEndDateBefore(eq(CampaignStatus.LIVE), any(Instant.class)))
-                    .thenReturn(Collections.emptyList());
+        @DisplayName("should fold every sharded campaign first, then only those changed since the previous fold")
+        void shouldFoldShardTotals() {
+            when(schedulerLease.tryAcquire(CampaignScheduler.FOLD_LEASE, CampaignScheduler.FOLD_LEASE_DURATION))
+                    .thenReturn(true);
+            when(raiseShardRepository.foldIntoCampaigns(any())).thenReturn(3);
+            Instant before = Instant.now();
 
-            campaignScheduler.autoFund();
+            campaignScheduler.foldRaiseShards();
+            campaignScheduler.foldRaiseShards();
 
-            verify(stateMachine, never()).transition(any(), any(), any());
-            verify(campaignRepository, never()).save(any());
+            ArgumentCaptor<Instant> changedSince = ArgumentCaptor.forClass(Instant.class);
+            verify(raiseShardRepository, times(2)).foldIntoCampaigns(changedSince.capture());
+            assertThat(changedSince.getAllValues().get(0)).isNull();
+            assertThat(changedSince.getAllValues().get(1))
+                    .isAfterOrEqualTo(before.minus(CampaignScheduler.FOLD_OVERLAP))
+                    .isBefore(Instant.now());
+            verifyNoInteractions(deadlineRepository);
         }
 
         @Test
-        @DisplayName("should fund only campaigns that reached target in a mixed list")
-        void shouldFundOnlyReachedTarget() {
-            Campaign fullyFunded = buildLiveCampaign(
-                    new BigDecimal("100000"), new BigDecimal("100000"),
-                    Instant.now().plus(30, ChronoUnit.DAYS));
-            Campaign underFunded = buildLiveCampaign(
-                    new BigDecimal("200000"), new BigDecimal("50000"),
-                    Instant.now().plus(30, ChronoUnit.DAYS));
-
-            when(campaignRepository.findByStatusAndEndDateBefore(eq(CampaignStatus.LIVE), any(Instant.class)))
-                    .thenReturn(List.of(fullyFunded, underFunded));
+        @DisplayName("should skip the tick when another replica holds the lease")
+        void shouldSkipWhenLeaseHeldElsewhere() {
+            when(schedulerLease.tryAcquire(CampaignScheduler.FOLD_LEASE, CampaignScheduler.FOLD_LEASE_DURATION))
+                    .thenReturn(false);
 
-            campaignScheduler.autoFund();
+            campaignScheduler.foldRaiseShards();
 
-            verify(stateMachine).transition(fullyFunded, CampaignStatus.FUNDED, SYSTEM_USER);
-            verify(stateMachine, never()).transition(eq(underFunded), any(), any());
-            verify(campaignRepository).save(fullyFunded);
-            verify(campaignRepository, never()).save(underFunded);
+            verifyNoInteractions(raiseShardRepository);
         }
+    }
 
-        @Test
-        @DisplayName("should continue processing when one campaign fails to fund")
-        void shouldContinueOnFailure() {
-            Campaign fullyFunded1 = buildLiveCampaign(
-                    new BigDecimal("100000"), new BigDecimal("100000"),
-                    Instant.now().plus(30, ChronoUnit.DAYS));
-            Campaign fullyFunded2 = buildLiveCampaign(
-                    new BigDecimal("200000"), new BigDecimal("200000"),
-                    Instant.now().plus(30, ChronoUnit.DAYS));
-
-            when(campaignRepository.findByStatusAndEndDateBefore(eq(CampaignStatus.LIVE), any(Instant.class)))
-                    .thenReturn(List.of(fullyFunded1, fullyFunded2));
-            doThrow(new RuntimeException("DB error"))
-                    .when(stateMachine).transition(fullyFunded1, CampaignStatus.FUNDED, SYSTEM_USER);
-
-            campaignScheduler.autoFund();
+    @Nested
+    @DisplayName("foldAllRaiseShards")
+    class FoldAllRaiseShards {
 
-            verify(stateMachine).transition(fullyFunded1, CampaignStatus.FUNDED, SYSTEM_USER);
-            verify(stateMachine).transition(fullyFunded2, CampaignStatus.FUNDED, SYSTEM_USER);
-            verify(campaignRepository, never()).save(fullyFunded1);
-            verify(campaignRepository).save(fullyFunded2);
+        @Test
+        @DisplayName("should fold every sharded campaign regardless of earlier incremental folds")
+        void shouldFoldEveryCampaign() {
+            when(schedulerLease.tryAcquire(CampaignScheduler.FOLD_LEASE, CampaignScheduler.FOLD_LEASE_DURATION))
+                    .thenReturn(true);
+            when(schedulerLease.tryAcquire(CampaignScheduler.FULL_FOLD_LEASE, CampaignScheduler.FULL_FOLD_LEASE_DURATION))
+                    .thenReturn(true);
+            campaignScheduler.foldRaiseShards();
+            campaignScheduler.foldRaiseShards();
+
+            campaignScheduler.foldAllRaiseShards();
+
+            ArgumentCaptor<Instant> changedSince = ArgumentCaptor.forClass(Instant.class);
+            verify(raiseShardRepository, times(3)).foldIntoCampaigns(changedSince.capture());
+            assertThat(changedSince.getAllValues().get(1)).isNotNull();
+            assertThat(changedSince.getAllValues().get(2)).isNull();
         }
 
         @Test
-        @DisplayName("should set fundedAt timestamp when funding a campaign")
-        void shouldSetFundedAtTimestamp() {
-            Instant before = Instant.now();
-            Campaign fullyFunded = buildLiveCampaign(
-                    new BigDecimal("100000"), new BigDecimal("100000"),
-                    Instant.now().plus(30, ChronoUnit.DAYS));
-
-            when(campaignRepository.findByStatusAndEndDateBefore(eq(CampaignStatus.LIVE), any(Instant.class)))
-                    .thenReturn(List.of(fullyFunded));
+        @DisplayName("should skip the run when another replica holds the lease")
+        void shouldSkipWhenLeaseHeldElsewhere() {
+            when(schedulerLease.tryAcquire(CampaignScheduler.FULL_FOLD_LEASE, CampaignScheduler.FULL_FOLD_LEASE_DURATION))
+                    .thenReturn(false);
 
-            campaignScheduler.autoFund();
+            campaignScheduler.foldAllRaiseShards();
 
-            assertThat(fullyFunded.getFundedAt()).isNotNull();
-            assertThat(fullyFunded.getFundedAt()).isAfterOrEqualTo(before);
+            verifyNoInteractions(raiseShardRepository);
         }
     }
 }
@@ -6,6 +6,8 @@ import com.keza.campaign.application.dto.CampaignSearchCriteria;
 import com.keza.campaign.domain.model.Campaign;
 import com.keza.campaign.domain.model.CampaignMedia;
 import com.keza.campaign.domain.port.out.CampaignRepository;
+import com.keza.campaign.domain.port.out.CampaignSearchRepository;
+import com.keza.campaign.domain.port.out.CampaignSearchRepository.SearchHit;
 import com.keza.campaign.domain.service.CampaignStateMachine;
 import com.keza.common.enums.CampaignStatus;
 import com.keza.common.enums.OfferingType;
@@ -48,6 +50,9 @@ class CampaignUseCaseTest {
     @Mock
     private CampaignRepository campaignRepository;
 
+    @Mock
+    private CampaignSearchRepository campaignSearchRepository;
+
     @Mock
     private CampaignStateMachine stateMachine;
 
@@ -529,7 +534,6 @@ class CampaignUseCaseTest {
                     .industry("Technology")
                     .offeringType(OfferingType.EQUITY)
                     .status(CampaignStatus.LIVE)
-                    .keyword("green")
                     .minTarget(new BigDecimal("10000"))
                     .maxTarget(new BigDecimal("1000000"))
                     .build();
@@ -538,6 +542,50 @@ class CampaignUseCaseTest {
             campaignUseCase.searchCampaigns(criteria, pageable);
 
             verify(campaignRepository).findAll(any(Specification.class), eq(pageable));
+            verifyNoInteractions(campaignSearchRepository);
+        }
+
+        @Test
+        @DisplayName("should use full-text search in relevance order when a keyword is given")
+        void shouldUseFullTextSearchForKeyword() {
+            Campaign first = buildCompleteCampaign();
+            Campaign second = buildCompleteCampaign();
+            second.setId(UUID.randomUUID());
+            Pageable pageable = PageRequest.of(0, 20);
+            Page<SearchHit> hits = new PageImpl<>(List.of(
+                    new SearchHit(second.getId(), 0.9, "<mark>green</mark> energy"),
+                    new SearchHit(first.getId(), 0.4, null)), pageable, 2);
+            when(campaignSearchRepository.search(eq("green"), any(), eq(pageable))).thenReturn(hits);
+            when(campaignRepository.findAllById(any())).thenReturn(List.of(first, second));
+
+            CampaignSearchCriteria criteria = CampaignSearchCriteria.builder()
+                    .keyword("green")
+                    .status(CampaignStatus.LIVE)
+                    .build();
+
+            Page<CampaignResponse> result = campaignUseCase.searchCampaigns(criteria, pageable);
+
+            assertThat(result.getContent()).extracting(CampaignResponse::getId)
+                    .containsExactly(second.getId(), first.getId());
+            assertThat(result.getContent().get(0).getSearchHighlight()).isEqualTo("<mark>green</mark> energy");
+            assertThat(result.getTotalElements()).isEqualTo(2);
+            verify(campaignSearchRepository).search(eq("green"),
+                    argThat(filter -> filter.status() == CampaignStatus.LIVE), eq(pageable));
+            verify(campaignRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("should return empty page without loading campaigns when nothing matches the keyword")
+        void shouldReturnEmptyPageForUnmatchedKeyword() {
+            Pageable pageable = PageRequest.of(0, 20);
+            when(campaignSearchRepository.search(eq("zzz"), any(), eq(pageable)))
+                    .thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+            Page<CampaignResponse> result = campaignUseCase.searchCampaigns(
+                    CampaignSearchCriteria.builder().keyword("zzz").build(), pageable);
+
+            assertThat(result.getContent()).isEmpty();
+            verify(campaignRepository, never()).findAllById(any());
         }
     }
 
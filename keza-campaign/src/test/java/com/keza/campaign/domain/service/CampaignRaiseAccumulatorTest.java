@@ -0,0 +1,121 @@
+package com.keza.campaign.domain.service;
+
+import com.keza.campaign.domain.port.out.CampaignRaiseShardRepository;
+import com.keza.common.exception.BusinessRuleException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CampaignRaiseAccumulator")
+class CampaignRaiseAccumulatorTest {
+
+    @Mock
+    private CampaignRaiseShardRepository shardRepository;
+
+    @InjectMocks
+    private CampaignRaiseAccumulator accumulator;
+
+    private UUID campaignId;
+    private BigDecimal amount;
+
+    @BeforeEach
+    void setUp() {
+        campaignId = UUID.randomUUID();
+        amount = new BigDecimal("10000");
+    }
+
+    @Nested
+    @DisplayName("reserve")
+    class Reserve {
+
+        @Test
+        @DisplayName("should increment a single shard without rebalancing when it has room")
+        void shouldUseFastPath() {
+            when(shardRepository.tryIncrement(eq(campaignId), anyInt(), eq(amount), eq(100L))).thenReturn(true);
+
+            accumulator.reserve(campaignId, amount, 100L);
+
+            verify(shardRepository, times(1)).tryIncrement(eq(campaignId), anyInt(), eq(amount), eq(100L));
+            verify(shardRepository, never()).rebalanceAndIncrement(any(), anyInt(), any(), anyLong());
+        }
+
+        @Test
+        @DisplayName("should rebalance after the sampled shards are exhausted")
+        void shouldRebalanceWhenShardsExhausted() {
+            when(shardRepository.tryIncrement(eq(campaignId), anyInt(), eq(amount), eq(100L))).thenReturn(false);
+            when(shardRepository.rebalanceAndIncrement(campaignId, CampaignRaiseAccumulator.SHARD_COUNT, amount, 100L))
+                    .thenReturn(true);
+
+            accumulator.reserve(campaignId, amount, 100L);
+
+            verify(shardRepository, times(CampaignRaiseAccumulator.FAST_PATH_ATTEMPTS))
+                    .tryIncrement(eq(campaignId), anyInt(), eq(amount), eq(100L));
+            verify(shardRepository).rebalanceAndIncrement(campaignId, CampaignRaiseAccumulator.SHARD_COUNT, amount, 100L);
+        }
+
+        @Test
+        @DisplayName("should throw EXCEEDS_TARGET when the raise ceiling is reached")
+        void shouldThrowWhenCeilingReached() {
+            when(shardRepository.tryIncrement(eq(campaignId), anyInt(), eq(amount), eq(100L))).thenReturn(false);
+            when(shardRepository.rebalanceAndIncrement(campaignId, CampaignRaiseAccumulator.SHARD_COUNT, amount, 100L))
+                    .thenReturn(false);
+
+            assertThatThrownBy(() -> accumulator.reserve(campaignId, amount, 100L))
+                    .isInstanceOf(BusinessRuleException.class)
+                    .hasMessageContaining("remaining campaign allocation");
+        }
+    }
+
+    @Nested
+    @DisplayName("release")
+    class Release {
+
+        @Test
+        @DisplayName("should decrement a shard")
+        void shouldDecrementShard() {
+            when(shardRepository.decrement(eq(campaignId), anyInt(), eq(amount), eq(100L))).thenReturn(true);
+
+            accumulator.release(campaignId, amount, 100L);
+
+            verify(shardRepository, never()).initializeShards(any(), anyInt());
+            verify(shardRepository, never()).decrementAcrossShards(any(), any(), anyLong());
+        }
+
+        @Test
+        @DisplayName("should take the amount across shards when the sampled shard holds less than it")
+        void shouldDecrementAcrossShards() {
+            when(shardRepository.decrement(eq(campaignId), anyInt(), eq(amount), eq(100L))).thenReturn(false);
+            when(shardRepository.decrementAcrossShards(campaignId, amount, 100L)).thenReturn(true);
+
+            accumulator.release(campaignId, amount, 100L);
+
+            verify(shardRepository, never()).initializeShards(any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("should initialize shards when the campaign has none yet")
+        void shouldInitializeShardsWhenMissing() {
+            when(shardRepository.decrement(eq(campaignId), anyInt(), eq(amount), eq(100L))).thenReturn(false);
+            when(shardRepository.decrementAcrossShards(campaignId, amount, 100L)).thenReturn(false, true);
+
+            accumulator.release(campaignId, amount, 100L);
+
+            verify(shardRepository).initializeShards(campaignId, CampaignRaiseAccumulator.SHARD_COUNT);
+            verify(shardRepository, times(2)).decrementAcrossShards(campaignId, amount, 100L);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.keza.common.dto;
+
+import com.keza.common.domain.model.BaseEntity;
+import com.keza.common.exception.BusinessRuleException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a listing ordered newest first by {@code (created_at, id)}. Clients receive it as
+ * an opaque token in {@link PagedResponse#getNextCursor()} and send it back to fetch the rows
+ * that follow, so every page is an index range scan regardless of how deep it is.
+ */
+public record PageCursor(Instant createdAt, UUID id) {
+
+    private static final String CREATED_AT = "createdAt";
+
+    /**
+     * Order every keyset listing must use; {@code id} breaks ties between rows created in the
+     * same microsecond.
+     */
+    public static final Sort SORT = Sort.by(Sort.Direction.DESC, CREATED_AT)
+            .and(Sort.by(Sort.Direction.DESC, "id"));
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Whether an offset listing requested with {@code sortBy} and {@code sortDir} is ordered
+     * newest first, so it can be served in {@link #SORT} order and its pages carry a cursor.
+     */
+    public static boolean isKeysetOrder(String sortBy, String sortDir) {
+        return CREATED_AT.equals(sortBy) && !"asc".equalsIgnoreCase(sortDir);
+    }
+
+    public static PageCursor of(BaseEntity entity) {
+        return new PageCursor(entity.getCreatedAt(), entity.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously returned to the client. A {@code null} or blank token means
+     * the first page and yields {@code null}.
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.indexOf(SEPARATOR);
+            return new PageCursor(Instant.parse(raw.substring(0, split)), UUID.fromString(raw.substring(split + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessRuleException("INVALID_CURSOR", "Invalid pagination cursor");
+        }
+    }
+
+    /**
+     * Restricts a query to the rows strictly after {@code cursor} in {@link #SORT} order, or to
+     * all rows when {@code cursor} is {@code null}. The redundant {@code createdAt <=} bound lets
+     * the planner turn the predicate into a range on the {@code (created_at, id)} index.
+     */
+    public static <T extends BaseEntity> Specification<T> after(PageCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return cb.conjunction();
+            }
+            return cb.and(
+                    cb.lessThanOrEqualTo(root.get("createdAt"), cursor.createdAt()),
+                    cb.or(
+                            cb.lessThan(root.get("createdAt"), cursor.createdAt()),
+                            cb.lessThan(root.<UUID>get("id"), cursor.id())));
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package com.keza.common.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -7,19 +8,28 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
+import java.util.function.Function;
 
+/**
+ * A page of results. Offset pages carry {@code page}, {@code totalElements} and
+ * {@code totalPages}, and {@code nextCursor} too when they are in {@link PageCursor#SORT} order;
+ * cursor pages carry {@code nextCursor} only, and include {@code totalElements} only when the
+ * caller asked for it.
+ */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PagedResponse<T> {
 
     private List<T> content;
-    private int page;
+    private Integer page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
     private boolean last;
+    private String nextCursor;
 
     public static <T> PagedResponse<T> from(Page<T> page) {
         return PagedResponse.<T>builder()
@@ -31,4 +41,35 @@ public class PagedResponse<T> {
                 .last(page.isLast())
                 .build();
     }
+
+    /**
+     * Builds an offset page in {@link PageCursor#SORT} order that also carries the cursor of its
+     * last row, so a client can continue from it in cursor mode instead of asking for deeper pages.
+     */
+    public static <T> PagedResponse<T> from(Page<T> page, Function<T, PageCursor> cursorOf) {
+        PagedResponse<T> response = from(page);
+        if (page.hasNext() && page.hasContent()) {
+            response.setNextCursor(cursorOf.apply(page.getContent().get(page.getNumberOfElements() - 1)).encode());
+        }
+        return response;
+    }
+
+    /**
+     * Builds a cursor page from rows fetched with a limit of {@code size + 1}; the extra row,
+     * if present, only signals that another page exists and is not returned.
+     *
+     * @param totalElements total matching rows, or {@code null} when it was not counted
+     */
+    public static <E, T> PagedResponse<T> fromKeyset(List<E> rows, int size, Function<E, PageCursor> cursorOf,
+                                                     Function<E, T> mapper, Long totalElements) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+        return PagedResponse.<T>builder()
+                .content(pageRows.stream().map(mapper).toList())
+                .size(size)
+                .totalElements(totalElements)
+                .last(!hasNext)
+                .nextCursor(hasNext ? cursorOf.apply(pageRows.get(size - 1)).encode() : null)
+                .build();
+    }
 }
@@ -0,0 +1,18 @@
+package com.keza.common.dto;
+
+/**
+ * How a listing endpoint pages its results: by page number, or by {@link PageCursor} token.
+ */
+public enum PagingMode {
+
+    OFFSET,
+    CURSOR;
+
+    /**
+     * Whether a request is served in cursor mode: when it asks for it, in which case a missing
+     * cursor means the first page, or when it sends a cursor.
+     */
+    public static boolean isCursor(PagingMode mode, String cursor) {
+        return mode == CURSOR || cursor != null;
+    }
+}
@@ -0,0 +1,8 @@
+package com.keza.common.exception;
+
+public class IdempotencyConflictException extends KezaException {
+
+    public IdempotencyConflictException(String message) {
+        super("IDEMPOTENCY_CONFLICT", message);
+    }
+}
@@ -0,0 +1,70 @@
+package com.keza.common.dto;
+
+import com.keza.common.exception.BusinessRuleException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PageCursor")
+class PageCursorTest {
+
+    @Nested
+    @DisplayName("encode/decode")
+    class EncodeDecode {
+
+        @Test
+        @DisplayName("should round-trip created_at with microsecond precision and id")
+        void shouldRoundTrip() {
+            PageCursor cursor = new PageCursor(Instant.parse("2025-03-01T10:15:30.123456Z"), UUID.randomUUID());
+
+            assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+        }
+
+        @Test
+        @DisplayName("should produce a URL-safe token")
+        void shouldBeUrlSafe() {
+            PageCursor cursor = new PageCursor(Instant.now(), UUID.randomUUID());
+
+            assertThat(cursor.encode()).matches("[A-Za-z0-9_-]+");
+        }
+
+        @Test
+        @DisplayName("should treat null or blank token as the first page")
+        void shouldReturnNullForBlankToken() {
+            assertThat(PageCursor.decode(null)).isNull();
+            assertThat(PageCursor.decode("")).isNull();
+        }
+
+        @Test
+        @DisplayName("should reject a malformed token")
+        void shouldRejectMalformedToken() {
+            assertThatThrownBy(() -> PageCursor.decode("not-a-cursor"))
+                    .isInstanceOf(BusinessRuleException.class)
+                    .hasMessageContaining("Invalid pagination cursor");
+        }
+    }
+
+    @Test
+    @DisplayName("should treat only newest-first createdAt ordering as keyset order")
+    void shouldRecognizeKeysetOrder() {
+        assertThat(PageCursor.isKeysetOrder("createdAt", "desc")).isTrue();
+        assertThat(PageCursor.isKeysetOrder("createdAt", "DESC")).isTrue();
+        assertThat(PageCursor.isKeysetOrder("createdAt", "asc")).isFalse();
+        assertThat(PageCursor.isKeysetOrder("targetAmount", "desc")).isFalse();
+    }
+
+    @Test
+    @DisplayName("should page by cursor when asked to, or when a cursor is sent")
+    void shouldResolvePagingMode() {
+        assertThat(PagingMode.isCursor(PagingMode.CURSOR, null)).isTrue();
+        assertThat(PagingMode.isCursor(null, "abc")).isTrue();
+        assertThat(PagingMode.isCursor(null, null)).isFalse();
+        assertThat(PagingMode.isCursor(PagingMode.OFFSET, null)).isFalse();
+    }
+}
@@ -0,0 +1,83 @@
+package com.keza.common.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PagedResponse")
+class PagedResponseTest {
+
+    private static PageCursor row(int minutesAgo) {
+        return new PageCursor(Instant.parse("2025-03-01T10:00:00Z").minusSeconds(60L * minutesAgo), UUID.randomUUID());
+    }
+
+    @Nested
+    @DisplayName("from with cursor")
+    class FromWithCursor {
+
+        @Test
+        @DisplayName("should carry the cursor of the last row when another page follows")
+        void shouldReturnNextCursorForOffsetPage() {
+            List<PageCursor> rows = List.of(row(0), row(1));
+
+            PagedResponse<PageCursor> page = PagedResponse.from(
+                    new PageImpl<>(rows, PageRequest.of(0, 2, PageCursor.SORT), 5), c -> c);
+
+            assertThat(page.getPage()).isZero();
+            assertThat(page.getTotalElements()).isEqualTo(5L);
+            assertThat(PageCursor.decode(page.getNextCursor())).isEqualTo(rows.get(1));
+        }
+
+        @Test
+        @DisplayName("should leave the cursor out on the last page")
+        void shouldOmitCursorOnLastPage() {
+            List<PageCursor> rows = List.of(row(0));
+
+            PagedResponse<PageCursor> page = PagedResponse.from(
+                    new PageImpl<>(rows, PageRequest.of(2, 2, PageCursor.SORT), 5), c -> c);
+
+            assertThat(page.isLast()).isTrue();
+            assertThat(page.getNextCursor()).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("fromKeyset")
+    class FromKeyset {
+
+        @Test
+        @DisplayName("should drop the look-ahead row and point the cursor at the last returned row")
+        void shouldReturnNextCursorWhenMoreRows() {
+            List<PageCursor> rows = List.of(row(0), row(1), row(2));
+
+            PagedResponse<UUID> page = PagedResponse.fromKeyset(rows, 2, c -> c, PageCursor::id, null);
+
+            assertThat(page.getContent()).containsExactly(rows.get(0).id(), rows.get(1).id());
+            assertThat(page.isLast()).isFalse();
+            assertThat(PageCursor.decode(page.getNextCursor())).isEqualTo(rows.get(1));
+            assertThat(page.getTotalElements()).isNull();
+            assertThat(page.getPage()).isNull();
+        }
+
+        @Test
+        @DisplayName("should mark the final page as last without a cursor")
+        void shouldMarkLastPage() {
+            List<PageCursor> rows = List.of(row(0), row(1));
+
+            PagedResponse<UUID> page = PagedResponse.fromKeyset(rows, 2, c -> c, PageCursor::id, 2L);
+
+            assertThat(page.getContent()).hasSize(2);
+            assertThat(page.isLast()).isTrue();
+            assertThat(page.getNextCursor()).isNull();
+            assertThat(page.getTotalElements()).isEqualTo(2L);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.keza.infrastructure.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -22,4 +23,112 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Bounded pool shared by all auto-invest runs. Each run caps its own in-flight
+     * investments so concurrent campaign launches share the pool fairly.
+     */
+    @Bean(name = "autoInvestExecutor")
+    public Executor autoInvestExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(32);
+        executor.setMaxPoolSize(32);
+        executor.setThreadNamePrefix("keza-auto-invest-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs outbound payment provider calls off the request thread. Sized to the M-Pesa
+     * connection pool with a short queue, so a burst beyond what the provider connections can
+     * carry is rejected immediately instead of piling up behind them.
+     */
+    @Bean(name = "paymentGatewayExecutor")
+    public Executor paymentGatewayExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(50);
+        executor.setMaxPoolSize(50);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("keza-payment-gw-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs provider status checks for payment reconciliation. Deliberately small and separate
+     * from {@code paymentGatewayExecutor}, so a large backlog never competes with live payments
+     * for threads; throughput is set by the per-gateway rate limiters, not by this pool.
+     */
+    @Bean(name = "paymentReconciliationExecutor")
+    public Executor paymentReconciliationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(16);
+        executor.setMaxPoolSize(16);
+        executor.setThreadNamePrefix("keza-payment-reconcile-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Drives payment reconciliation runs, which can take minutes, off the shared scheduler
+     * threads. One thread and no queue: a tick arriving while a run is still going is rejected
+     * rather than stacked behind it.
+     */
+    @Bean(name = "paymentReconciliationRunner")
+    public Executor paymentReconciliationRunner() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("keza-payment-reconcile-run-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Applies investment payment events, one thread per shard of the investment-payment
+     * listener, so every shard of a batch runs at once and each holds at most one database
+     * connection.
+     */
+    @Bean(name = "paymentEventExecutor")
+    public Executor paymentEventExecutor(
+            @Value("${keza.messaging.listeners.investment-payment.shards:8}") int shards) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(shards);
+        executor.setMaxPoolSize(shards);
+        executor.setThreadNamePrefix("keza-payment-event-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs streaming fraud checks for investments after their transaction commits, so the
+     * request that created the investment never waits on them. The queue absorbs bursts; if it
+     * fills, further checks are rejected and logged rather than run on the request thread.
+     */
+    @Bean(name = "fraudEventExecutor")
+    public Executor fraudEventExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(10_000);
+        executor.setThreadNamePrefix("keza-fraud-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Scores campaigns for the risk scoring batch job. Each task makes at most one LLM call, so
+     * the pool size is the number of model calls in flight; the rest of a batch waits in the queue.
+     */
+    @Bean(name = "riskScoringExecutor")
+    public Executor riskScoringExecutor(
+            @Value("${keza.ai.risk-scoring.llm-concurrency:4}") int llmConcurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(llmConcurrency);
+        executor.setMaxPoolSize(llmConcurrency);
+        executor.setThreadNamePrefix("keza-risk-scoring-");
+        executor.initialize();
+        return executor;
+    }
 }
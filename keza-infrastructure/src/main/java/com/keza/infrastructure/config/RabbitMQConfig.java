@@ -1,14 +1,17 @@
 package com.keza.infrastructure.config;
 
+import com.keza.infrastructure.messaging.EventCodec;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 public class RabbitMQConfig {
 
@@ -26,8 +29,14 @@ public class RabbitMQConfig {
     public static final String PAYMENT_CALLBACK_QUEUE = "keza.payment-callback.queue";
     public static final String AI_PROCESSING_QUEUE = "keza.ai-processing.queue";
     public static final String DUE_DILIGENCE_QUEUE = "keza.due-diligence.queue";
-    public static final String INVESTMENT_PAYMENT_QUEUE = "keza.investment-payment.queue";
+    /**
+     * Declared under a new name because a queue's arguments cannot change once it exists; see
+     * {@link com.keza.infrastructure.messaging.InvestmentPaymentQueueMigration} for the old one.
+     */
+    public static final String INVESTMENT_PAYMENT_QUEUE = "keza.investment-payment.sac.queue";
+    public static final String LEGACY_INVESTMENT_PAYMENT_QUEUE = "keza.investment-payment.queue";
     public static final String NOTIFICATION_PAYMENT_QUEUE = "keza.notification-payment.queue";
+    public static final String FRAUD_PAYMENT_QUEUE = "keza.fraud-payment.queue";
 
     // DLQ Queues
     public static final String NOTIFICATION_DLQ = "keza.notification.dlq";
@@ -37,6 +46,7 @@ public class RabbitMQConfig {
     public static final String DUE_DILIGENCE_DLQ = "keza.due-diligence.dlq";
     public static final String INVESTMENT_PAYMENT_DLQ = "keza.investment-payment.dlq";
     public static final String NOTIFICATION_PAYMENT_DLQ = "keza.notification-payment.dlq";
+    public static final String FRAUD_PAYMENT_DLQ = "keza.fraud-payment.dlq";
 
     // Routing Keys
     public static final String NOTIFICATION_ROUTING_KEY = "notification";
@@ -45,6 +55,13 @@ public class RabbitMQConfig {
     public static final String AI_ROUTING_KEY = "ai.processing";
     public static final String DUE_DILIGENCE_ROUTING_KEY = "due-diligence";
 
+    // Listener container factories
+    public static final String NOTIFICATION_LISTENER_FACTORY = "notificationListenerContainerFactory";
+    public static final String KYC_LISTENER_FACTORY = "kycListenerContainerFactory";
+    public static final String PAYMENT_CALLBACK_LISTENER_FACTORY = "paymentCallbackListenerContainerFactory";
+    public static final String INVESTMENT_PAYMENT_LISTENER_FACTORY = "investmentPaymentListenerContainerFactory";
+    public static final String FRAUD_LISTENER_FACTORY = "fraudListenerContainerFactory";
+
     // --- Exchanges ---
     @Bean
     public DirectExchange notificationExchange() {
@@ -117,11 +134,18 @@ public class RabbitMQConfig {
                 .build();
     }
 
+    /**
+     * Single active consumer: the broker delivers to one consumer across all replicas at a time
+     * and fails over to another when it goes away, so payment events stay in queue order
+     * however many instances are running. The previous queue without the argument is drained
+     * and deleted by {@link com.keza.infrastructure.messaging.InvestmentPaymentQueueMigration}.
+     */
     @Bean
     public Queue investmentPaymentQueue() {
         return QueueBuilder.durable(INVESTMENT_PAYMENT_QUEUE)
                 .withArgument("x-dead-letter-exchange", DLX_EXCHANGE)
                 .withArgument("x-dead-letter-routing-key", INVESTMENT_PAYMENT_DLQ)
+                .withArgument("x-single-active-consumer", true)
                 .build();
     }
 
@@ -133,6 +157,14 @@ public class RabbitMQConfig {
                 .build();
     }
 
+    @Bean
+    public Queue fraudPaymentQueue() {
+        return QueueBuilder.durable(FRAUD_PAYMENT_QUEUE)
+                .withArgument("x-dead-letter-exchange", DLX_EXCHANGE)
+                .withArgument("x-dead-letter-routing-key", FRAUD_PAYMENT_DLQ)
+                .build();
+    }
+
     // --- DLQ Queues ---
     @Bean
     public Queue notificationDlq() {
@@ -169,6 +201,11 @@ public class RabbitMQConfig {
         return QueueBuilder.durable(NOTIFICATION_PAYMENT_DLQ).build();
     }
 
+    @Bean
+    public Queue fraudPaymentDlq() {
+        return QueueBuilder.durable(FRAUD_PAYMENT_DLQ).build();
+    }
+
     // --- Bindings ---
     @Bean
     public Binding notificationBinding() {
@@ -205,6 +242,11 @@ public class RabbitMQConfig {
         return BindingBuilder.bind(notificationPaymentQueue()).to(paymentExchange()).with(PAYMENT_ROUTING_KEY);
     }
 
+    @Bean
+    public Binding fraudPaymentBinding() {
+        return BindingBuilder.bind(fraudPaymentQueue()).to(paymentExchange()).with(PAYMENT_ROUTING_KEY);
+    }
+
     // --- DLQ Bindings ---
     @Bean
     public Binding notificationDlqBinding() {
@@ -241,28 +283,130 @@ public class RabbitMQConfig {
         return BindingBuilder.bind(notificationPaymentDlq()).to(dlxExchange()).with(NOTIFICATION_PAYMENT_DLQ);
     }
 
+    @Bean
+    public Binding fraudPaymentDlqBinding() {
+        return BindingBuilder.bind(fraudPaymentDlq()).to(dlxExchange()).with(FRAUD_PAYMENT_DLQ);
+    }
+
     // --- Message Converter ---
+    /**
+     * Chooses the decoder from each message's content type, so JSON and Smile payloads can share
+     * a queue while producers switch format; new messages use {@code keza.messaging.content-type}.
+     */
     @Bean
-    public MessageConverter jsonMessageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public MessageConverter messageConverter(EventCodec eventCodec) {
+        return eventCodec.messageConverter();
     }
 
     @Bean
-    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, MessageConverter messageConverter) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
-        template.setMessageConverter(jsonMessageConverter());
+        template.setMessageConverter(messageConverter);
         return template;
     }
 
     @Bean
     public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
-            ConnectionFactory connectionFactory) {
+            ConnectionFactory connectionFactory, MessageConverter messageConverter) {
+        return listenerContainerFactory(connectionFactory, messageConverter, 1, 1, 10);
+    }
+
+    /**
+     * Notification events. Each event needs its own preference check, rendered email and
+     * insert, so a batch would save nothing per message; throughput comes from several consumers
+     * and a deep prefetch instead.
+     */
+    @Bean(NOTIFICATION_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory notificationListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            MessageConverter messageConverter,
+            @Value("${keza.messaging.listeners.notification.concurrency:2}") int concurrency,
+            @Value("${keza.messaging.listeners.notification.max-concurrency:8}") int maxConcurrency,
+            @Value("${keza.messaging.listeners.notification.prefetch:100}") int prefetch) {
+        return listenerContainerFactory(connectionFactory, messageConverter, concurrency, maxConcurrency, prefetch);
+    }
+
+    /**
+     * KYC document processing runs OCR and AI checks that take seconds per message, so the
+     * prefetch is kept low and work spreads across consumers rather than queueing behind one.
+     */
+    @Bean(KYC_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory kycListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            MessageConverter messageConverter,
+            @Value("${keza.messaging.listeners.kyc.concurrency:2}") int concurrency,
+            @Value("${keza.messaging.listeners.kyc.max-concurrency:6}") int maxConcurrency,
+            @Value("${keza.messaging.listeners.kyc.prefetch:1}") int prefetch) {
+        return listenerContainerFactory(connectionFactory, messageConverter, concurrency, maxConcurrency, prefetch);
+    }
+
+    @Bean(PAYMENT_CALLBACK_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory paymentCallbackListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            MessageConverter messageConverter,
+            @Value("${keza.messaging.listeners.payment-callback.concurrency:2}") int concurrency,
+            @Value("${keza.messaging.listeners.payment-callback.max-concurrency:10}") int maxConcurrency,
+            @Value("${keza.messaging.listeners.payment-callback.prefetch:25}") int prefetch) {
+        return listenerContainerFactory(connectionFactory, messageConverter, concurrency, maxConcurrency, prefetch);
+    }
+
+    /**
+     * Payment events for the same investment must be applied in order, so the queue has a
+     * single active consumer across the cluster and this factory opens one consumer per
+     * replica; the others stand by. It is a batch listener: the active consumer shards each batch
+     * by investment and applies the shards in parallel, which is where the throughput comes from.
+     */
+    @Bean(INVESTMENT_PAYMENT_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory investmentPaymentListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            MessageConverter messageConverter,
+            @Value("${keza.messaging.listeners.investment-payment.concurrency:1}") int concurrency,
+            @Value("${keza.messaging.listeners.investment-payment.max-concurrency:1}") int maxConcurrency,
+            @Value("${keza.messaging.listeners.investment-payment.prefetch:200}") int prefetch,
+            @Value("${keza.messaging.listeners.investment-payment.batch-size:100}") int batchSize,
+            @Value("${keza.messaging.listeners.investment-payment.receive-timeout:100ms}") Duration receiveTimeout) {
+        SimpleRabbitListenerContainerFactory factory =
+                listenerContainerFactory(connectionFactory, messageConverter, concurrency, maxConcurrency, prefetch);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeout.toMillis());
+        return factory;
+    }
+
+    /**
+     * Streaming fraud rules. Each event is one Redis round trip, so a batch is cheap and a single
+     * consumer per replica keeps up; the prefetch bounds how far fraud checks may lag payments.
+     */
+    @Bean(FRAUD_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory fraudListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            MessageConverter messageConverter,
+            @Value("${keza.messaging.listeners.fraud.concurrency:1}") int concurrency,
+            @Value("${keza.messaging.listeners.fraud.max-concurrency:2}") int maxConcurrency,
+            @Value("${keza.messaging.listeners.fraud.prefetch:200}") int prefetch,
+            @Value("${keza.messaging.listeners.fraud.batch-size:100}") int batchSize,
+            @Value("${keza.messaging.listeners.fraud.receive-timeout:200ms}") Duration receiveTimeout) {
+        SimpleRabbitListenerContainerFactory factory =
+                listenerContainerFactory(connectionFactory, messageConverter, concurrency, maxConcurrency, prefetch);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeout.toMillis());
+        return factory;
+    }
+
+    private SimpleRabbitListenerContainerFactory listenerContainerFactory(
+            ConnectionFactory connectionFactory, MessageConverter messageConverter,
+            int concurrency, int maxConcurrency, int prefetch) {
         SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
         factory.setConnectionFactory(connectionFactory);
-        factory.setMessageConverter(jsonMessageConverter());
+        factory.setMessageConverter(messageConverter);
         factory.setDefaultRequeueRejected(false);
         factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
-        factory.setPrefetchCount(10);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(Math.max(concurrency, maxConcurrency));
+        factory.setPrefetchCount(prefetch);
         return factory;
     }
 }
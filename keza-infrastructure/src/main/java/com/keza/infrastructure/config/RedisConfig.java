@@ -12,6 +12,7 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -49,7 +50,8 @@ public class RedisConfig {
                 "campaign-detail", defaultConfig.entryTtl(Duration.ofMinutes(10)),
                 "portfolio", defaultConfig.entryTtl(Duration.ofMinutes(5)),
                 "analytics", defaultConfig.entryTtl(Duration.ofMinutes(15)),
-                "user-profile", defaultConfig.entryTtl(Duration.ofMinutes(10))
+                "user-profile", defaultConfig.entryTtl(Duration.ofMinutes(10)),
+                "notification-preferences", defaultConfig.entryTtl(Duration.ofMinutes(10))
         );
 
         return RedisCacheManager.builder(connectionFactory)
@@ -58,6 +60,16 @@ public class RedisConfig {
                 .build();
     }
 
+    /**
+     * Shared pub/sub subscriptions; listeners register their channels on it.
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
     private ObjectMapper redisObjectMapper() {
         ObjectMapper mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
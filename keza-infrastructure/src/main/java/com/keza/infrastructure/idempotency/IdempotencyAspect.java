@@ -0,0 +1,160 @@
+package com.keza.infrastructure.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.keza.common.exception.BusinessRuleException;
+import com.keza.common.exception.IdempotencyConflictException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Applies {@link Idempotent} to controller methods returning {@link ResponseEntity} or
+ * {@code CompletableFuture<ResponseEntity>}.
+ * <p>
+ * Keys are scoped to the caller and the endpoint. The request is fingerprinted from its method,
+ * path and arguments, so reusing a key for a different payload is rejected rather than answered
+ * with an unrelated response. A retry that arrives while the first request is still running gets
+ * 409 instead of running it twice. Only responses below 500 are kept; after an exception or a
+ * server error the key is freed and a retry runs the request again.
+ */
+@Slf4j
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class IdempotencyAspect {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+
+    @Around("@annotation(idempotent)")
+    public Object handle(ProceedingJoinPoint joinPoint, Idempotent idempotent) throws Throwable {
+        HttpServletRequest request = currentRequest();
+        String idempotencyKey = request != null ? request.getHeader(IDEMPOTENCY_KEY_HEADER) : null;
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return joinPoint.proceed();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BusinessRuleException("INVALID_IDEMPOTENCY_KEY",
+                    "Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        String scope = idempotent.scope().isEmpty()
+                ? signature.getDeclaringType().getSimpleName() + "." + signature.getName()
+                : idempotent.scope();
+        String key = resolveCaller() + ":" + scope + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request, joinPoint.getArgs());
+        boolean async = CompletableFuture.class.isAssignableFrom(signature.getReturnType());
+
+        Optional<IdempotencyStore.Entry> existing = idempotencyStore.claim(key, fingerprint);
+        if (existing.isPresent()) {
+            ResponseEntity<?> replay = replay(existing.get(), fingerprint, idempotencyKey);
+            return async ? CompletableFuture.completedFuture(replay) : replay;
+        }
+
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            idempotencyStore.release(key);
+            throw e;
+        }
+
+        if (result instanceof CompletableFuture<?> future) {
+            return future.whenComplete((response, error) -> record(key, fingerprint, error == null ? response : null));
+        }
+        record(key, fingerprint, result);
+        return result;
+    }
+
+    private ResponseEntity<?> replay(IdempotencyStore.Entry entry, String fingerprint, String idempotencyKey)
+            throws JsonProcessingException {
+        if (!entry.fingerprint().equals(fingerprint)) {
+            throw new BusinessRuleException("IDEMPOTENCY_KEY_REUSED",
+                    "Idempotency-Key " + idempotencyKey + " was already used for a different request");
+        }
+        if (!entry.completed()) {
+            throw new IdempotencyConflictException(
+                    "A request with Idempotency-Key " + idempotencyKey + " is still in progress");
+        }
+
+        log.info("Replaying stored response for Idempotency-Key {}", idempotencyKey);
+        return ResponseEntity.status(entry.status())
+                .header(REPLAYED_HEADER, "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(entry.body() != null ? objectMapper.readTree(entry.body()) : null);
+    }
+
+    private void record(String key, String fingerprint, Object result) {
+        try {
+            if (result instanceof ResponseEntity<?> response && !response.getStatusCode().is5xxServerError()) {
+                String body = response.getBody() != null ? objectMapper.writeValueAsString(response.getBody()) : null;
+                idempotencyStore.complete(key, fingerprint, response.getStatusCode().value(), body);
+            } else {
+                idempotencyStore.release(key);
+            }
+        } catch (Exception e) {
+            // The response has been produced; failing to store it only costs the replay
+            log.warn("Failed to store idempotent response for {}: {}", key, e.getMessage());
+        }
+    }
+
+    private String fingerprint(HttpServletRequest request, Object[] args) throws JsonProcessingException {
+        List<Object> payload = Arrays.stream(args)
+                .filter(arg -> !(arg instanceof Authentication || arg instanceof Principal
+                        || arg instanceof ServletRequest || arg instanceof ServletResponse))
+                .toList();
+        String canonical = request.getMethod() + " " + request.getRequestURI() + "?" + request.getQueryString()
+                + "\n" + objectMapper.writeValueAsString(payload);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private String resolveCaller() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !"anonymousUser".equals(auth.getPrincipal())) {
+            return auth.getName();
+        }
+        return "anonymous";
+    }
+
+    private HttpServletRequest currentRequest() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest();
+        }
+        return null;
+    }
+}
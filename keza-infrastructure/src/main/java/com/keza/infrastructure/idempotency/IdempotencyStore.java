@@ -0,0 +1,98 @@
+package com.keza.infrastructure.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Redis-backed record of requests made with an idempotency key.
+ * <p>
+ * A key is claimed with {@code SET NX} as an in-flight marker that expires after
+ * {@code keza.idempotency.lock-ttl}, so a request whose replica dies mid-flight does not block
+ * the key forever. Once the request finishes, the marker is replaced by the response, kept for
+ * {@code keza.idempotency.response-ttl}.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    static final String KEY_PREFIX = "keza:idempotency:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${keza.idempotency.lock-ttl:60s}")
+    private Duration lockTtl;
+
+    @Value("${keza.idempotency.response-ttl:24h}")
+    private Duration responseTtl;
+
+    public IdempotencyStore(StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * What is stored under a key: the request fingerprint, and the response once there is one.
+     */
+    public record Entry(String fingerprint, Integer status, String body) {
+
+        public boolean completed() {
+            return status != null;
+        }
+    }
+
+    /**
+     * Claims {@code key} for a new request.
+     *
+     * @return empty if the key was free and is now held by the caller, otherwise the entry of the
+     * request that got there first
+     */
+    public Optional<Entry> claim(String key, String fingerprint) {
+        String marker = write(new Entry(fingerprint, null, null));
+        for (int attempt = 0; attempt < 2; attempt++) {
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + key, marker, lockTtl))) {
+                return Optional.empty();
+            }
+            String existing = redisTemplate.opsForValue().get(KEY_PREFIX + key);
+            if (existing != null) {
+                return Optional.of(read(existing));
+            }
+            // Expired between the two calls; try to claim it once more
+        }
+        return Optional.of(new Entry(fingerprint, null, null));
+    }
+
+    public void complete(String key, String fingerprint, int status, String body) {
+        redisTemplate.opsForValue().set(KEY_PREFIX + key, write(new Entry(fingerprint, status, body)), responseTtl);
+    }
+
+    /**
+     * Frees the key after a failed request, so a retry runs the request again.
+     */
+    public void release(String key) {
+        redisTemplate.delete(KEY_PREFIX + key);
+    }
+
+    private String write(Entry entry) {
+        try {
+            return objectMapper.writeValueAsString(entry);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize idempotency entry", e);
+        }
+    }
+
+    private Entry read(String value) {
+        try {
+            return objectMapper.readValue(value, Entry.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read idempotency entry", e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.keza.infrastructure.idempotency;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller method as safe to retry with an {@code Idempotency-Key} header. A repeated
+ * request with the same key and payload gets the first response back without the method running
+ * again. Requests without the header are handled as before.
+ *
+ * @see IdempotencyAspect
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Idempotent {
+
+    /**
+     * Namespace for keys, so a key reused on a different endpoint does not collide. Defaults to
+     * the controller class and method name.
+     */
+    String scope() default "";
+}
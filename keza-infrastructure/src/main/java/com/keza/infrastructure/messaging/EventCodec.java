@@ -0,0 +1,118 @@
+package com.keza.infrastructure.messaging;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.keza.infrastructure.messaging.event.PaymentEvent;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Encodes and decodes RabbitMQ event payloads.
+ * <p>
+ * Producers write {@code keza.messaging.content-type}: plain JSON by default, or Smile (binary
+ * JSON). Consumers pick the decoder from each message's content type, so both formats can be on
+ * a queue at once. Consumers from before this codec read JSON only, so Smile may be switched on
+ * only once every running instance has this codec; from then on, switching between the formats
+ * needs no coordination between services. Smile keeps JSON's data model and field names, which
+ * is what lets consumers that read fields by name stay unchanged; the schema itself lives in the
+ * typed events under {@code messaging.event}.
+ * <p>
+ * The mappers are deliberately separate from the web {@code ObjectMapper}: event field names
+ * are a wire contract and must not follow the snake_case naming used for REST responses.
+ */
+@Component
+public class EventCodec {
+
+    public static final String CONTENT_TYPE_SMILE = "application/x-jackson-smile";
+
+    /**
+     * Packages whose classes a {@code __TypeId__} header may name, besides java.util and java.lang.
+     * The type mapper matches package names exactly, so subpackages must be listed on their own.
+     */
+    static final String[] TRUSTED_PACKAGES = {PaymentEvent.class.getPackageName()};
+
+    private final ObjectMapper jsonMapper = configure(new ObjectMapper());
+    private final ObjectMapper smileMapper = configure(new ObjectMapper(new SmileFactory()));
+    private final String contentType;
+
+    public EventCodec(
+            @Value("${keza.messaging.content-type:" + MessageProperties.CONTENT_TYPE_JSON + "}") String contentType) {
+        if (!CONTENT_TYPE_SMILE.equals(contentType) && !MessageProperties.CONTENT_TYPE_JSON.equals(contentType)) {
+            throw new IllegalArgumentException("Unsupported keza.messaging.content-type: " + contentType);
+        }
+        this.contentType = contentType;
+    }
+
+    /**
+     * @return the content type of payloads produced by {@link #encode}
+     */
+    public String contentType() {
+        return contentType;
+    }
+
+    public byte[] encode(Object payload) {
+        try {
+            return mapperFor(contentType).writeValueAsBytes(payload);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot encode event " + payload.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * Reads a message as a tree, in whichever format it was produced. Messages without a content
+     * type predate this codec and are read as JSON.
+     */
+    public JsonNode readTree(Message message) {
+        try {
+            return mapperFor(message.getMessageProperties().getContentType()).readTree(message.getBody());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot decode event body", e);
+        }
+    }
+
+    public <T> T decode(Message message, Class<T> type) {
+        try {
+            return mapperFor(message.getMessageProperties().getContentType()).readValue(message.getBody(), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot decode event body as " + type.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Converter for {@code RabbitTemplate} and {@code @RabbitListener} payloads: writes the
+     * configured format and reads both.
+     */
+    public MessageConverter messageConverter() {
+        MessageConverter json = new Jackson2JsonMessageConverter(jsonMapper, TRUSTED_PACKAGES);
+        MessageConverter smile = new SmileMessageConverter(smileMapper);
+        ContentTypeDelegatingMessageConverter converter =
+                new ContentTypeDelegatingMessageConverter(CONTENT_TYPE_SMILE.equals(contentType) ? smile : json);
+        converter.addDelegate(MessageProperties.CONTENT_TYPE_JSON, json);
+        converter.addDelegate(CONTENT_TYPE_SMILE, smile);
+        return converter;
+    }
+
+    private ObjectMapper mapperFor(String messageContentType) {
+        return CONTENT_TYPE_SMILE.equals(messageContentType) ? smileMapper : jsonMapper;
+    }
+
+    private static ObjectMapper configure(ObjectMapper mapper) {
+        return mapper.registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+}
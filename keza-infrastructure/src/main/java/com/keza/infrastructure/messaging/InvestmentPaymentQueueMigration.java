@@ -0,0 +1,125 @@
+package com.keza.infrastructure.messaging;
+
+import com.keza.infrastructure.scheduling.SchedulerLease;
+import com.rabbitmq.client.GetResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Properties;
+
+import static com.keza.infrastructure.config.RabbitMQConfig.INVESTMENT_PAYMENT_QUEUE;
+import static com.keza.infrastructure.config.RabbitMQConfig.LEGACY_INVESTMENT_PAYMENT_QUEUE;
+import static com.keza.infrastructure.config.RabbitMQConfig.PAYMENT_EXCHANGE;
+import static com.keza.infrastructure.config.RabbitMQConfig.PAYMENT_ROUTING_KEY;
+
+/**
+ * Retires the investment-payment queue declared before it had a single active consumer.
+ * <p>
+ * RabbitMQ rejects a redeclaration that changes a queue's arguments, so the single-active-consumer
+ * queue has a new name and this job takes the old one out of service. Each tick it unbinds the
+ * old queue from the payment exchange, so new events reach only the new queue. While instances of
+ * the previous release still consume the old queue they drain it themselves; once none is left,
+ * remaining messages are moved to the new queue and the old queue is deleted. The old queue is not
+ * declared by this release, so it stays deleted.
+ * <p>
+ * Moved messages land behind events already in the new queue. Payment outcomes are applied only
+ * when the investment's transition still applies, so a late or repeated event is harmless.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InvestmentPaymentQueueMigration {
+
+    static final String LEASE = "investment-payment-queue-migration";
+
+    static final Duration LEASE_DURATION = Duration.ofSeconds(55);
+
+    /**
+     * Upper bound on messages moved per tick, so a large backlog does not keep one scheduler
+     * thread busy indefinitely.
+     */
+    static final int MAX_MOVED_PER_TICK = 5000;
+
+    private final AmqpAdmin amqpAdmin;
+    private final RabbitTemplate rabbitTemplate;
+    private final SchedulerLease schedulerLease;
+
+    private volatile boolean retired;
+
+    @Scheduled(fixedDelay = 60000, initialDelay = 30000)
+    public void retireLegacyQueue() {
+        if (retired || !schedulerLease.tryAcquire(LEASE, LEASE_DURATION)) {
+            return;
+        }
+        Properties properties = amqpAdmin.getQueueProperties(LEGACY_INVESTMENT_PAYMENT_QUEUE);
+        if (properties == null) {
+            log.info("Legacy queue {} is gone; migration to {} is complete",
+                    LEGACY_INVESTMENT_PAYMENT_QUEUE, INVESTMENT_PAYMENT_QUEUE);
+            retired = true;
+            return;
+        }
+
+        // Repeated every tick: an instance of the previous release redeclares the binding when it reconnects
+        amqpAdmin.removeBinding(new Binding(LEGACY_INVESTMENT_PAYMENT_QUEUE, Binding.DestinationType.QUEUE,
+                PAYMENT_EXCHANGE, PAYMENT_ROUTING_KEY, null));
+
+        int consumers = count(properties, RabbitAdmin.QUEUE_CONSUMER_COUNT);
+        if (consumers > 0) {
+            log.info("Legacy queue {} still has {} consumers and {} messages; waiting for them to drain it",
+                    LEGACY_INVESTMENT_PAYMENT_QUEUE, consumers, count(properties, RabbitAdmin.QUEUE_MESSAGE_COUNT));
+            return;
+        }
+
+        int moved = moveMessages();
+        if (moved > 0) {
+            log.info("Moved {} messages from {} to {}", moved, LEGACY_INVESTMENT_PAYMENT_QUEUE, INVESTMENT_PAYMENT_QUEUE);
+        }
+        if (moved < MAX_MOVED_PER_TICK) {
+            deleteIfUnusedAndEmpty();
+        }
+    }
+
+    /**
+     * Moves messages one at a time, acknowledging each only after it is republished, so a failure
+     * part-way leaves a message in both queues rather than in neither.
+     */
+    private int moveMessages() {
+        Integer moved = rabbitTemplate.execute(channel -> {
+            int count = 0;
+            while (count < MAX_MOVED_PER_TICK) {
+                GetResponse response = channel.basicGet(LEGACY_INVESTMENT_PAYMENT_QUEUE, false);
+                if (response == null) {
+                    break;
+                }
+                channel.basicPublish("", INVESTMENT_PAYMENT_QUEUE, response.getProps(), response.getBody());
+                channel.basicAck(response.getEnvelope().getDeliveryTag(), false);
+                count++;
+            }
+            return count;
+        });
+        return moved == null ? 0 : moved;
+    }
+
+    private void deleteIfUnusedAndEmpty() {
+        try {
+            // The broker refuses if a consumer or a message has arrived since the checks above
+            rabbitTemplate.execute(channel -> channel.queueDelete(LEGACY_INVESTMENT_PAYMENT_QUEUE, true, true));
+            retired = true;
+            log.info("Deleted legacy queue {}", LEGACY_INVESTMENT_PAYMENT_QUEUE);
+        } catch (Exception e) {
+            log.warn("Legacy queue {} not deleted yet, will retry: {}", LEGACY_INVESTMENT_PAYMENT_QUEUE, e.getMessage());
+        }
+    }
+
+    private static int count(Properties properties, Object key) {
+        Object value = properties.get(key);
+        return value instanceof Number number ? number.intValue() : 0;
+    }
+}
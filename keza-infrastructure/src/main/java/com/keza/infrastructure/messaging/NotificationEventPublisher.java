@@ -1,117 +1,87 @@
 package com.keza.infrastructure.messaging;
 
 import com.keza.infrastructure.config.RabbitMQConfig;
+import com.keza.infrastructure.messaging.event.NotificationEvent;
+import com.keza.infrastructure.outbox.OutboxPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.UUID;
 
+/**
+ * Publishes notification events through the outbox, so they are written in the caller's
+ * transaction and sent only if it commits.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class NotificationEventPublisher {
 
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxPublisher outboxPublisher;
 
-    @Async
     public void publishUserRegistered(UUID userId, String email, String firstName) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("type", "USER_REGISTERED");
-        event.put("userId", userId.toString());
-        event.put("email", email);
-        event.put("firstName", firstName);
-        publish(event);
+        publish(userId, new NotificationEvent.UserRegistered(userId.toString(), email, firstName));
     }
 
-    @Async
     public void publishInvestmentConfirmed(UUID userId, String email, String firstName,
                                             String campaignName, BigDecimal amount, String currency) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("type", "INVESTMENT_CONFIRMED");
-        event.put("userId", userId.toString());
-        event.put("email", email);
-        event.put("firstName", firstName);
-        event.put("campaignName", campaignName);
-        event.put("amount", amount.toPlainString());
-        event.put("currency", currency);
-        publish(event);
+        publish(userId, new NotificationEvent.InvestmentConfirmed(userId.toString(), email, firstName,
+                campaignName, amount.toPlainString(), currency));
     }
 
-    @Async
     public void publishInvestmentCancelled(UUID userId, String campaignName, BigDecimal amount) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("type", "INVESTMENT_CANCELLED");
-        event.put("userId", userId.toString());
-        event.put("title", "Investment Cancelled");
-        event.put("message", "Your investment of KES " + amount.toPlainString() + " in " + campaignName + " has been cancelled.");
-        publish(event);
+        publish(userId, new NotificationEvent.InvestmentCancelled(userId.toString(), "Investment Cancelled",
+                "Your investment of KES " + amount.toPlainString() + " in " + campaignName + " has been cancelled."));
     }
 
-    @Async
     public void publishCampaignFunded(UUID issuerId, String campaignName) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("type", "CAMPAIGN_FUNDED");
-        event.put("userId", issuerId.toString());
-        event.put("campaignName", campaignName);
-        publish(event);
+        publish(issuerId, new NotificationEvent.CampaignFunded(issuerId.toString(), campaignName));
     }
 
-    @Async
     public void publishCampaignApproved(UUID issuerId, String campaignName) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("type", "CAMPAIGN_APPROVED");
-        event.put("userId", issuerId.toString());
-        event.put("title", "Campaign Approved");
-        event.put("message", "Your campaign '" + campaignName + "' has been approved and is now live!");
-        publish(event);
+        publish(issuerId, new NotificationEvent.CampaignApproved(issuerId.toString(), "Campaign Approved",
+                "Your campaign '" + campaignName + "' has been approved and is now live!"));
     }
 
-    @Async
     public void publishCampaignRejected(UUID issuerId, String campaignName, String reason) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("type", "CAMPAIGN_REJECTED");
-        event.put("userId", issuerId.toString());
-        event.put("title", "Campaign Update Required");
-        event.put("message", "Your campaign '" + campaignName + "' requires changes: " + reason);
-        publish(event);
+        publish(issuerId, new NotificationEvent.CampaignRejected(issuerId.toString(), "Campaign Update Required",
+                "Your campaign '" + campaignName + "' requires changes: " + reason));
+    }
+
+    /**
+     * Publishes one page of a campaign launch announcement; callers page large audiences so no
+     * event grows unbounded.
+     */
+    public void publishCampaignLaunched(UUID campaignId, String campaignName,
+                                        List<NotificationEvent.CampaignLaunched.Recipient> recipients) {
+        outboxPublisher.publish(
+                "Campaign",
+                campaignId,
+                RabbitMQConfig.NOTIFICATION_EXCHANGE,
+                RabbitMQConfig.NOTIFICATION_ROUTING_KEY,
+                new NotificationEvent.CampaignLaunched(campaignId.toString(), campaignName, recipients));
+        log.debug("Published campaign launch notification page: campaignId={}, recipients={}",
+                campaignId, recipients.size());
     }
 
-    @Async
     public void publishKycApproved(UUID userId, String email, String firstName) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("type", "KYC_APPROVED");
-        event.put("userId", userId.toString());
-        event.put("email", email);
-        event.put("firstName", firstName);
-        publish(event);
+        publish(userId, new NotificationEvent.KycApproved(userId.toString(), email, firstName));
     }
 
-    @Async
     public void publishKycRejected(UUID userId, String email, String firstName) {
-        Map<String, Object> event = new HashMap<>();
-        event.put("type", "KYC_REJECTED");
-        event.put("userId", userId.toString());
-        event.put("email", email);
-        event.put("firstName", firstName);
-        publish(event);
+        publish(userId, new NotificationEvent.KycRejected(userId.toString(), email, firstName));
     }
 
-    private void publish(Map<String, Object> event) {
-        try {
-            rabbitTemplate.convertAndSend(
-                    RabbitMQConfig.NOTIFICATION_EXCHANGE,
-                    RabbitMQConfig.NOTIFICATION_ROUTING_KEY,
-                    event);
-            log.debug("Published notification event: type={}", event.get("type"));
-        } catch (Exception e) {
-            log.error("Failed to publish notification event: type={}, error={}",
-                    event.get("type"), e.getMessage());
-        }
+    private void publish(UUID userId, NotificationEvent event) {
+        outboxPublisher.publish(
+                "User",
+                userId,
+                RabbitMQConfig.NOTIFICATION_EXCHANGE,
+                RabbitMQConfig.NOTIFICATION_ROUTING_KEY,
+                event);
+        log.debug("Published notification event: type={}", event.getClass().getSimpleName());
     }
 }
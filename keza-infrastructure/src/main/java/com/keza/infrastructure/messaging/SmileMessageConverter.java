@@ -0,0 +1,52 @@
+package com.keza.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractMessageConverter;
+import org.springframework.amqp.support.converter.DefaultJackson2JavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JavaTypeMapper;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.io.IOException;
+
+/**
+ * Smile counterpart of {@code Jackson2JsonMessageConverter}: same type headers and the same
+ * rules for choosing the target type, with a binary body.
+ */
+class SmileMessageConverter extends AbstractMessageConverter {
+
+    private final ObjectMapper smileMapper;
+    private final DefaultJackson2JavaTypeMapper typeMapper = new DefaultJackson2JavaTypeMapper();
+
+    SmileMessageConverter(ObjectMapper smileMapper) {
+        this.smileMapper = smileMapper;
+        typeMapper.setTrustedPackages(EventCodec.TRUSTED_PACKAGES);
+        typeMapper.setTypePrecedence(Jackson2JavaTypeMapper.TypePrecedence.INFERRED);
+    }
+
+    @Override
+    protected Message createMessage(Object object, MessageProperties messageProperties) {
+        byte[] body;
+        try {
+            body = smileMapper.writeValueAsBytes(object);
+        } catch (IOException e) {
+            throw new MessageConversionException("Failed to encode " + object.getClass().getName() + " as Smile", e);
+        }
+        messageProperties.setContentType(EventCodec.CONTENT_TYPE_SMILE);
+        messageProperties.setContentLength(body.length);
+        typeMapper.fromJavaType(smileMapper.constructType(object.getClass()), messageProperties);
+        return new Message(body, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) {
+        JavaType targetType = typeMapper.toJavaType(message.getMessageProperties());
+        try {
+            return smileMapper.readValue(message.getBody(), targetType);
+        } catch (IOException e) {
+            throw new MessageConversionException("Failed to decode Smile message as " + targetType, e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.keza.infrastructure.messaging.event;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+import java.util.List;
+
+/**
+ * Events on the notification queue. The {@code type} field names the event and each record is
+ * its schema.
+ * <p>
+ * Consumers read these by field name, and messages already queued must stay readable, so the
+ * schemas only evolve compatibly: new fields are optional and consumers default them; existing
+ * fields are never removed, renamed or retyped. A change that cannot follow those rules is a new
+ * event type (for example {@code USER_REGISTERED_V2}), published alongside the old one until
+ * every consumer handles it.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = NotificationEvent.UserRegistered.class, name = "USER_REGISTERED"),
+        @JsonSubTypes.Type(value = NotificationEvent.InvestmentConfirmed.class, name = "INVESTMENT_CONFIRMED"),
+        @JsonSubTypes.Type(value = NotificationEvent.InvestmentCancelled.class, name = "INVESTMENT_CANCELLED"),
+        @JsonSubTypes.Type(value = NotificationEvent.CampaignFunded.class, name = "CAMPAIGN_FUNDED"),
+        @JsonSubTypes.Type(value = NotificationEvent.CampaignApproved.class, name = "CAMPAIGN_APPROVED"),
+        @JsonSubTypes.Type(value = NotificationEvent.CampaignRejected.class, name = "CAMPAIGN_REJECTED"),
+        @JsonSubTypes.Type(value = NotificationEvent.CampaignLaunched.class, name = "CAMPAIGN_LAUNCHED"),
+        @JsonSubTypes.Type(value = NotificationEvent.KycApproved.class, name = "KYC_APPROVED"),
+        @JsonSubTypes.Type(value = NotificationEvent.KycRejected.class, name = "KYC_REJECTED")
+})
+public sealed interface NotificationEvent {
+
+    record UserRegistered(String userId, String email, String firstName) implements NotificationEvent {
+    }
+
+    record InvestmentConfirmed(String userId, String email, String firstName, String campaignName,
+                               String amount, String currency) implements NotificationEvent {
+    }
+
+    record InvestmentCancelled(String userId, String title, String message) implements NotificationEvent {
+    }
+
+    record CampaignFunded(String userId, String campaignName) implements NotificationEvent {
+    }
+
+    record CampaignApproved(String userId, String title, String message) implements NotificationEvent {
+    }
+
+    record CampaignRejected(String userId, String title, String message) implements NotificationEvent {
+    }
+
+    /**
+     * One page of a launch announcement; large audiences are split across several events.
+     */
+    record CampaignLaunched(String campaignId, String campaignName, List<Recipient> recipients)
+            implements NotificationEvent {
+
+        public record Recipient(String userId, String email) {
+        }
+    }
+
+    record KycApproved(String userId, String email, String firstName) implements NotificationEvent {
+    }
+
+    record KycRejected(String userId, String email, String firstName) implements NotificationEvent {
+    }
+}
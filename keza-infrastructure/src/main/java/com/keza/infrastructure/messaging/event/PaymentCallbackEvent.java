@@ -0,0 +1,41 @@
+package com.keza.infrastructure.messaging.event;
+
+import java.util.Map;
+
+/**
+ * Raw payment outcome queued by the payment module for its callback listener, which enriches it
+ * into a {@link PaymentEvent}. Follows the same evolution rules as {@link NotificationEvent}.
+ *
+ * @param status    COMPLETED, FAILED or REFUNDED
+ * @param success   whether the provider reported success; absent on refunds
+ * @param amount    decimal string, kept as text so no precision is lost on the wire
+ * @param metadata  callback metadata from the provider, such as the transaction and investment ids
+ * @param timestamp epoch milliseconds when the outcome was queued
+ */
+public record PaymentCallbackEvent(
+        String providerReference,
+        String status,
+        Boolean success,
+        String transactionId,
+        String refundReference,
+        String amount,
+        Map<String, Object> metadata,
+        long timestamp
+) {
+
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+    public static final String REFUNDED = "REFUNDED";
+
+    public static PaymentCallbackEvent callback(String providerReference, boolean success,
+                                                Map<String, Object> metadata) {
+        return new PaymentCallbackEvent(providerReference, success ? COMPLETED : FAILED, success,
+                null, null, null, metadata, System.currentTimeMillis());
+    }
+
+    public static PaymentCallbackEvent refund(String providerReference, String transactionId,
+                                              String refundReference, String amount) {
+        return new PaymentCallbackEvent(providerReference, REFUNDED, null,
+                transactionId, refundReference, amount, null, System.currentTimeMillis());
+    }
+}
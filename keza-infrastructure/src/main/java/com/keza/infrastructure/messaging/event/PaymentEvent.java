@@ -0,0 +1,28 @@
+package com.keza.infrastructure.messaging.event;
+
+/**
+ * Payment outcome published to the payment exchange for the investment and notification
+ * modules. Follows the same evolution rules as {@link NotificationEvent}.
+ *
+ * @param eventType PAYMENT_COMPLETED, PAYMENT_FAILED or PAYMENT_REFUNDED
+ * @param amount    decimal string, kept as text so no precision is lost on the wire
+ * @param timestamp epoch milliseconds when the outcome was published
+ */
+public record PaymentEvent(
+        String eventType,
+        String providerReference,
+        String transactionId,
+        String investmentId,
+        String userId,
+        String amount,
+        String currency,
+        String campaignName,
+        String failureReason,
+        String refundReference,
+        long timestamp
+) {
+
+    public static final String PAYMENT_COMPLETED = "PAYMENT_COMPLETED";
+    public static final String PAYMENT_FAILED = "PAYMENT_FAILED";
+    public static final String PAYMENT_REFUNDED = "PAYMENT_REFUNDED";
+}
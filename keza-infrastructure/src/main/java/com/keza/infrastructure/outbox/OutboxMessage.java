@@ -0,0 +1,17 @@
+package com.keza.infrastructure.outbox;
+
+/**
+ * An unpublished row of outbox_events, as claimed by the relay.
+ */
+public record OutboxMessage(
+        long id,
+        String aggregateType,
+        String aggregateId,
+        String exchange,
+        String routingKey,
+        byte[] payload,
+        String contentType,
+        String payloadType,
+        int attempts
+) {
+}
@@ -0,0 +1,31 @@
+package com.keza.infrastructure.outbox;
+
+import com.keza.infrastructure.messaging.EventCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes RabbitMQ messages through the transactional outbox.
+ * <p>
+ * Use this instead of {@code RabbitTemplate.convertAndSend} from code that changes the database.
+ * The message is written in the caller's transaction and sent by {@link OutboxRelay} after
+ * commit. A rollback therefore discards the message, and a slow or unavailable broker never
+ * holds up the request. Delivery is at least once; messages for the same aggregate are sent in
+ * the order they were published.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+    private final OutboxRepository outboxRepository;
+    private final EventCodec eventCodec;
+
+    public void publish(String aggregateType, Object aggregateId, String exchange, String routingKey,
+                        Object payload) {
+        outboxRepository.append(aggregateType, String.valueOf(aggregateId), exchange, routingKey,
+                eventCodec.encode(payload), eventCodec.contentType(), payload.getClass().getName());
+        log.debug("Queued {} message for {} {} in the outbox", routingKey, aggregateType, aggregateId);
+    }
+}
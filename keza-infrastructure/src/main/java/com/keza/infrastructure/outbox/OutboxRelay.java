@@ -0,0 +1,161 @@
+package com.keza.infrastructure.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends committed outbox messages to RabbitMQ.
+ * <p>
+ * Each batch is claimed, sent on one channel and confirmed with a single wait for publisher
+ * confirms, then marked published in the same transaction that claimed it. If the broker does
+ * not confirm the whole batch, its messages are sent again one at a time up to the first that
+ * fails, so one bad message cannot hold back the others. That message is retried with
+ * exponential backoff, holding back later messages for its aggregate meanwhile, and is parked
+ * for an operator after {@code maxAttempts} failures. Messages may therefore be sent more than
+ * once; consumers must tolerate duplicates, which they already do for callbacks.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    static final String TYPE_ID_HEADER = "__TypeId__";
+    static final String AGGREGATE_TYPE_HEADER = "x-aggregate-type";
+    static final String AGGREGATE_ID_HEADER = "x-aggregate-id";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxRepository outboxRepository;
+    private final RabbitTemplate rabbitTemplate;
+
+    @Value("${keza.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${keza.outbox.confirm-timeout:5s}")
+    private Duration confirmTimeout;
+
+    @Value("${keza.outbox.max-attempts:15}")
+    private int maxAttempts;
+
+    @Value("${keza.outbox.retry-backoff:1s}")
+    private Duration retryBackoff;
+
+    @Value("${keza.outbox.max-retry-backoff:10m}")
+    private Duration maxRetryBackoff;
+
+    /**
+     * Sends the oldest unpublished batch.
+     *
+     * @return the number of messages published, 0 if there was nothing to send, another replica
+     * is draining, or the broker rejected the batch
+     */
+    @Transactional
+    public int relayBatch() {
+        List<OutboxMessage> batch = outboxRepository.claimBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = batch.stream().map(OutboxMessage::id).toList();
+
+        try {
+            send(batch);
+        } catch (AmqpConnectException e) {
+            // The broker is unreachable, which says nothing about the messages themselves
+            log.warn("Outbox batch starting at id {} not sent, broker unreachable: {}", ids.get(0), e.getMessage());
+            return 0;
+        } catch (RuntimeException e) {
+            log.warn("Outbox batch of {} messages starting at id {} was not confirmed: {}",
+                    batch.size(), ids.get(0), e.getMessage());
+            return relayOneByOne(batch);
+        }
+
+        outboxRepository.markPublished(ids, Instant.now());
+        log.debug("Relayed {} outbox messages up to id {}", batch.size(), ids.get(ids.size() - 1));
+        return batch.size();
+    }
+
+    /**
+     * Sends the messages of a failed batch one at a time, stopping at the first that fails. That
+     * message is scheduled for a retry or parked; those after it stay claimable for the next round.
+     */
+    private int relayOneByOne(List<OutboxMessage> batch) {
+        List<Long> published = new ArrayList<>();
+        for (OutboxMessage message : batch) {
+            try {
+                send(List.of(message));
+            } catch (RuntimeException e) {
+                markFailed(message, truncate(String.valueOf(e.getMessage())));
+                break;
+            }
+            published.add(message.id());
+        }
+        if (!published.isEmpty()) {
+            outboxRepository.markPublished(published, Instant.now());
+        }
+        return published.size();
+    }
+
+    private void send(List<OutboxMessage> messages) {
+        rabbitTemplate.invoke(operations -> {
+            for (OutboxMessage message : messages) {
+                operations.send(message.exchange(), message.routingKey(), toAmqpMessage(message));
+            }
+            operations.waitForConfirmsOrDie(confirmTimeout.toMillis());
+            return null;
+        });
+    }
+
+    private void markFailed(OutboxMessage message, String error) {
+        int attempts = message.attempts() + 1;
+        Instant now = Instant.now();
+        if (attempts >= maxAttempts) {
+            log.error("Parking outbox message {} for {} {} after {} failed attempts: {}",
+                    message.id(), message.aggregateType(), message.aggregateId(), attempts, error);
+            outboxRepository.markParked(message.id(), error, now);
+            return;
+        }
+        outboxRepository.markFailed(message.id(), error, now.plus(backoff(attempts)));
+    }
+
+    /**
+     * Doubles from {@code retryBackoff} with each failed attempt, up to {@code maxRetryBackoff}.
+     */
+    Duration backoff(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return delay.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : delay;
+    }
+
+    int getBatchSize() {
+        return batchSize;
+    }
+
+    private Message toAmqpMessage(OutboxMessage message) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(message.contentType());
+        if (MessageProperties.CONTENT_TYPE_JSON.equals(message.contentType())) {
+            properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        }
+        properties.setMessageId("outbox-" + message.id());
+        properties.setHeader(TYPE_ID_HEADER, message.payloadType());
+        properties.setHeader(AGGREGATE_TYPE_HEADER, message.aggregateType());
+        properties.setHeader(AGGREGATE_ID_HEADER, message.aggregateId());
+        return new Message(message.payload(), properties);
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
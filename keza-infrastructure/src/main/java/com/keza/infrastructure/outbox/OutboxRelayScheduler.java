@@ -0,0 +1,58 @@
+package com.keza.infrastructure.outbox;
+
+import com.keza.infrastructure.scheduling.SchedulerLease;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Drains the outbox shortly after messages are committed, and purges published rows once they
+ * are past the retention period.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelayScheduler {
+
+    static final String PURGE_LEASE = "outbox-purge";
+
+    static final Duration PURGE_LEASE_DURATION = Duration.ofMinutes(55);
+
+    /**
+     * Upper bound on batches sent per tick, so a large backlog does not keep one scheduler
+     * thread busy indefinitely.
+     */
+    static final int MAX_BATCHES_PER_TICK = 50;
+
+    private final OutboxRelay outboxRelay;
+    private final OutboxRepository outboxRepository;
+    private final SchedulerLease schedulerLease;
+
+    @Value("${keza.outbox.retention:3d}")
+    private Duration retention;
+
+    @Scheduled(fixedDelayString = "${keza.outbox.poll-interval-ms:250}")
+    public void relay() {
+        for (int round = 0; round < MAX_BATCHES_PER_TICK; round++) {
+            if (outboxRelay.relayBatch() < outboxRelay.getBatchSize()) {
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 3600000, initialDelay = 300000)
+    public void purgePublished() {
+        if (!schedulerLease.tryAcquire(PURGE_LEASE, PURGE_LEASE_DURATION)) {
+            return;
+        }
+        int deleted = outboxRepository.deletePublishedBefore(Instant.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Purged {} published outbox messages older than {}", deleted, retention);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.keza.infrastructure.outbox;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Native-SQL access to outbox_events.
+ */
+@Repository
+@Transactional
+public class OutboxRepository {
+
+    /**
+     * Key of the transaction-scoped advisory lock held by the replica draining the outbox.
+     */
+    static final long RELAY_LOCK_KEY = 0x6b657a616f7574L; // "kezaout"
+
+    @PersistenceContext
+    private EntityManager em;
+
+    /**
+     * Adds a message to the outbox. Joins the caller's transaction, so the message is committed
+     * or rolled back together with the change it describes.
+     */
+    public void append(String aggregateType, String aggregateId, String exchange, String routingKey,
+                       byte[] payload, String contentType, String payloadType) {
+        em.createNativeQuery("INSERT INTO outbox_events " +
+                        "(aggregate_type, aggregate_id, exchange, routing_key, payload, content_type, payload_type) " +
+                        "VALUES (:aggregateType, :aggregateId, :exchange, :routingKey, :payload, :contentType, :payloadType)")
+                .setParameter("aggregateType", aggregateType)
+                .setParameter("aggregateId", aggregateId)
+                .setParameter("exchange", exchange)
+                .setParameter("routingKey", routingKey)
+                .setParameter("payload", payload)
+                .setParameter("contentType", contentType)
+                .setParameter("payloadType", payloadType)
+                .executeUpdate();
+    }
+
+    /**
+     * Locks the oldest unpublished messages that are due for the current transaction.
+     * <p>
+     * Only one replica drains at a time: the others fail to take the advisory lock and get an
+     * empty list. A single drainer sending in id order is what keeps messages for the same
+     * aggregate in order. Parked messages are left out, as are messages waiting for a retry and
+     * any later messages for the same aggregate.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<OutboxMessage> claimBatch(int limit) {
+        Boolean locked = (Boolean) em.createNativeQuery("SELECT pg_try_advisory_xact_lock(:key)")
+                .setParameter("key", RELAY_LOCK_KEY)
+                .getSingleResult();
+        if (!Boolean.TRUE.equals(locked)) {
+            return List.of();
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = em.createNativeQuery("SELECT id, aggregate_type, aggregate_id, exchange, routing_key, " +
+                        "payload, content_type, payload_type, attempts FROM outbox_events o " +
+                        "WHERE published_at IS NULL AND parked_at IS NULL " +
+                        "AND (next_attempt_at IS NULL OR next_attempt_at <= NOW()) " +
+                        "AND NOT EXISTS (SELECT 1 FROM outbox_events e WHERE e.published_at IS NULL " +
+                        "AND e.parked_at IS NULL AND e.next_attempt_at > NOW() " +
+                        "AND e.aggregate_type = o.aggregate_type AND e.aggregate_id = o.aggregate_id AND e.id < o.id) " +
+                        "ORDER BY id LIMIT :limit FOR UPDATE")
+                .setParameter("limit", limit)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new OutboxMessage(
+                        ((Number) row[0]).longValue(),
+                        (String) row[1],
+                        (String) row[2],
+                        (String) row[3],
+                        (String) row[4],
+                        (byte[]) row[5],
+                        (String) row[6],
+                        (String) row[7],
+                        ((Number) row[8]).intValue()))
+                .toList();
+    }
+
+    public void markPublished(List<Long> ids, Instant publishedAt) {
+        em.createNativeQuery("UPDATE outbox_events SET published_at = :publishedAt, attempts = attempts + 1, " +
+                        "last_error = NULL, next_attempt_at = NULL WHERE id IN (:ids)")
+                .setParameter("publishedAt", publishedAt)
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    /**
+     * Records a failed send and holds the message back until {@code nextAttemptAt}.
+     */
+    public void markFailed(long id, String error, Instant nextAttemptAt) {
+        em.createNativeQuery("UPDATE outbox_events SET attempts = attempts + 1, last_error = :error, " +
+                        "next_attempt_at = :nextAttemptAt WHERE id = :id")
+                .setParameter("error", error)
+                .setParameter("nextAttemptAt", nextAttemptAt)
+                .setParameter("id", id)
+                .executeUpdate();
+    }
+
+    /**
+     * Records a failed send and takes the message out of the relay for good. Parked rows are
+     * kept past the retention period until an operator resends or deletes them.
+     */
+    public void markParked(long id, String error, Instant parkedAt) {
+        em.createNativeQuery("UPDATE outbox_events SET attempts = attempts + 1, last_error = :error, " +
+                        "parked_at = :parkedAt WHERE id = :id")
+                .setParameter("error", error)
+                .setParameter("parkedAt", parkedAt)
+                .setParameter("id", id)
+                .executeUpdate();
+    }
+
+    public int deletePublishedBefore(Instant cutoff) {
+        return em.createNativeQuery("DELETE FROM outbox_events WHERE published_at < :cutoff")
+                .setParameter("cutoff", cutoff)
+                .executeUpdate();
+    }
+}
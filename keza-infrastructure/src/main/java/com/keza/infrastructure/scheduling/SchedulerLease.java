@@ -0,0 +1,58 @@
+package com.keza.infrastructure.scheduling;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+/**
+ * Cluster-wide leases for scheduled jobs, so a job runs on only one replica per tick.
+ * <p>
+ * A lease is a row in scheduler_leases, taken with a single conditional upsert that succeeds
+ * only when the previous holder's lease has expired. Expiry is judged by the database clock,
+ * so replicas with skewed clocks still agree. Leases are not released early, and a crashed
+ * holder loses its lease once it expires.
+ * <p>
+ * A job holds its lease for slightly less than its tick interval. That keeps the other
+ * replicas out for the rest of the tick, yet the lease has lapsed by the next tick on every
+ * replica, including the one that ran the previous tick. A job whose run may take most of the
+ * interval should also stop short of the lease expiry, or two runs can overlap.
+ */
+@Slf4j
+@Component
+public class SchedulerLease {
+
+    private static final String OWNER = ManagementFactory.getRuntimeMXBean().getName();
+
+    @PersistenceContext
+    private EntityManager em;
+
+    /**
+     * Takes the named lease for {@code holdFor} if no other replica holds it. Commits
+     * independently of any surrounding transaction.
+     *
+     * @return true if this replica now holds the lease
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean tryAcquire(String name, Duration holdFor) {
+        int acquired = em.createNativeQuery(
+                        "INSERT INTO scheduler_leases (name, locked_until, locked_at, locked_by) " +
+                        "VALUES (:name, NOW() + make_interval(secs => :seconds), NOW(), :owner) " +
+                        "ON CONFLICT (name) DO UPDATE SET locked_until = EXCLUDED.locked_until, " +
+                        "locked_at = EXCLUDED.locked_at, locked_by = EXCLUDED.locked_by " +
+                        "WHERE scheduler_leases.locked_until <= NOW()")
+                .setParameter("name", name)
+                .setParameter("seconds", holdFor.toMillis() / 1000.0)
+                .setParameter("owner", OWNER)
+                .executeUpdate();
+        if (acquired == 0) {
+            log.debug("Lease {} is held by another replica", name);
+        }
+        return acquired == 1;
+    }
+}
@@ -1,22 +1,118 @@
 package com.keza.infrastructure.websocket;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
+import java.time.Duration;
+
+/**
+ * STOMP over WebSocket for chat and live campaign updates.
+ * <p>
+ * With {@code keza.websocket.broker.relay-enabled} set, subscriptions live in RabbitMQ's STOMP
+ * plugin instead of this JVM: every replica relays frames to the same broker, so a message
+ * published on one pod reaches subscribers connected to any pod without sticky sessions.
+ * Messages for {@code /user} destinations are rebroadcast through the broker so the pod holding
+ * the user's session can deliver them. Without the relay an in-memory broker is used, which is
+ * only suitable for a single replica.
+ */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    static final String[] BROKER_DESTINATIONS = {"/topic", "/queue"};
+
+    /**
+     * Where a pod publishes user messages it cannot deliver locally, for the pod holding the session.
+     */
+    static final String USER_DESTINATION_BROADCAST = "/topic/unresolved-user-destination";
+
+    /**
+     * Where pods share which users are connected to them.
+     */
+    static final String USER_REGISTRY_BROADCAST = "/topic/simp-user-registry";
+
+    private final TaskScheduler messageBrokerTaskScheduler;
+
+    @Value("${keza.websocket.broker.relay-enabled:false}")
+    private boolean relayEnabled;
+
+    @Value("${keza.websocket.broker.relay-host:${spring.rabbitmq.host:localhost}}")
+    private String relayHost;
+
+    @Value("${keza.websocket.broker.relay-port:61613}")
+    private int relayPort;
+
+    @Value("${keza.websocket.broker.virtual-host:/}")
+    private String virtualHost;
+
+    @Value("${spring.rabbitmq.username:guest}")
+    private String brokerLogin;
+
+    @Value("${spring.rabbitmq.password:guest}")
+    private String brokerPasscode;
+
+    @Value("${keza.websocket.heartbeat:10s}")
+    private Duration heartbeat;
+
+    @Value("${keza.websocket.send-buffer-limit:512KB}")
+    private DataSize sendBufferLimit;
+
+    @Value("${keza.websocket.send-time-limit:10s}")
+    private Duration sendTimeLimit;
+
+    @Value("${keza.websocket.message-size-limit:64KB}")
+    private DataSize messageSizeLimit;
+
+    public WebSocketConfig(@Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler messageBrokerTaskScheduler) {
+        this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker("/topic", "/queue");
+        if (relayEnabled) {
+            registry.enableStompBrokerRelay(BROKER_DESTINATIONS)
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setVirtualHost(virtualHost)
+                    .setClientLogin(brokerLogin)
+                    .setClientPasscode(brokerPasscode)
+                    .setSystemLogin(brokerLogin)
+                    .setSystemPasscode(brokerPasscode)
+                    .setSystemHeartbeatSendInterval(heartbeat.toMillis())
+                    .setSystemHeartbeatReceiveInterval(heartbeat.toMillis())
+                    .setUserDestinationBroadcast(USER_DESTINATION_BROADCAST)
+                    .setUserRegistryBroadcast(USER_REGISTRY_BROADCAST);
+        } else {
+            registry.enableSimpleBroker(BROKER_DESTINATIONS)
+                    .setHeartbeatValue(new long[]{heartbeat.toMillis(), heartbeat.toMillis()})
+                    .setTaskScheduler(messageBrokerTaskScheduler);
+        }
         registry.setApplicationDestinationPrefixes("/app");
         registry.setUserDestinationPrefix("/user");
     }
 
+    /**
+     * Bounds what a slow client can cost: once a session has buffered more than the send buffer
+     * limit, or a send has been blocked longer than the send time limit, the session is closed
+     * instead of queueing messages for it without limit.
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration
+                .setSendBufferSizeLimit((int) sendBufferLimit.toBytes())
+                .setSendTimeLimit((int) sendTimeLimit.toMillis())
+                .setMessageSizeLimit((int) messageSizeLimit.toBytes());
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws/chat")
@@ -87,6 +87,22 @@ class GlobalExceptionHandlerTest {
         }
     }
 
+    @Nested
+    @DisplayName("IdempotencyConflictException")
+    class IdempotencyConflictTests {
+
+        @Test
+        @DisplayName("should return 409 CONFLICT with IDEMPOTENCY_CONFLICT code")
+        void shouldReturn409() {
+            IdempotencyConflictException ex = new IdempotencyConflictException("Request still in progress");
+
+            ResponseEntity<ApiResponse<Void>> response = handler.handleIdempotencyConflict(ex);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+            assertThat(response.getBody().getError().code()).isEqualTo("IDEMPOTENCY_CONFLICT");
+        }
+    }
+
     @Nested
     @DisplayName("BusinessRuleException")
     class BusinessRuleTests {
@@ -0,0 +1,204 @@
+package com.keza.infrastructure.idempotency;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.keza.common.exception.BusinessRuleException;
+import com.keza.common.exception.IdempotencyConflictException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyAspect")
+class IdempotencyAspectTest {
+
+    private static final String KEY = "investor-1:InvestmentController.createInvestment:retry-42";
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+    @Mock
+    private MethodSignature signature;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Idempotent idempotent;
+    private IdempotencyAspect aspect;
+    private MockHttpServletRequest request;
+
+    static class InvestmentController {
+    }
+
+    static class Annotated {
+        @Idempotent
+        void createInvestment() {
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        idempotent = Annotated.class.getDeclaredMethod("createInvestment").getAnnotation(Idempotent.class);
+        aspect = new IdempotencyAspect(idempotencyStore, objectMapper);
+        request = new MockHttpServletRequest("POST", "/api/v1/investments");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("investor-1", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    private void stubSignature(Class<?> returnType, Object... args) {
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(signature.getDeclaringType()).thenReturn(InvestmentController.class);
+        when(signature.getName()).thenReturn("createInvestment");
+        when(signature.getReturnType()).thenReturn(returnType);
+        when(joinPoint.getArgs()).thenReturn(args);
+    }
+
+    @Test
+    @DisplayName("should run the method untouched when no Idempotency-Key is sent")
+    void shouldPassThroughWithoutKey() throws Throwable {
+        ResponseEntity<String> response = ResponseEntity.ok("created");
+        when(joinPoint.proceed()).thenReturn(response);
+
+        assertThat(aspect.handle(joinPoint, idempotent)).isSameAs(response);
+        verifyNoInteractions(idempotencyStore);
+    }
+
+    @Nested
+    @DisplayName("with an Idempotency-Key")
+    class WithKey {
+
+        @BeforeEach
+        void setKey() {
+            request.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "retry-42");
+        }
+
+        @Test
+        @DisplayName("should run the first request and store its response")
+        void shouldStoreFirstResponse() throws Throwable {
+            stubSignature(ResponseEntity.class, Map.of("amount", 5000));
+            when(idempotencyStore.claim(eq(KEY), anyString())).thenReturn(Optional.empty());
+            when(joinPoint.proceed()).thenReturn(ResponseEntity.status(HttpStatus.CREATED).body(Map.of("id", "inv-1")));
+
+            aspect.handle(joinPoint, idempotent);
+
+            verify(idempotencyStore).complete(eq(KEY), anyString(), eq(201), eq("{\"id\":\"inv-1\"}"));
+        }
+
+        @Test
+        @DisplayName("should replay the stored response without running the method again")
+        void shouldReplayStoredResponse() throws Throwable {
+            stubSignature(ResponseEntity.class, Map.of("amount", 5000));
+            ArgumentCaptor<String> fingerprint = ArgumentCaptor.forClass(String.class);
+            when(idempotencyStore.claim(eq(KEY), fingerprint.capture())).thenReturn(Optional.empty());
+            when(joinPoint.proceed()).thenReturn(ResponseEntity.status(HttpStatus.CREATED).body(Map.of("id", "inv-1")));
+            aspect.handle(joinPoint, idempotent);
+            String firstFingerprint = fingerprint.getValue();
+
+            when(idempotencyStore.claim(eq(KEY), anyString())).thenReturn(Optional.of(
+                    new IdempotencyStore.Entry(firstFingerprint, 201, "{\"id\":\"inv-1\"}")));
+            ResponseEntity<?> replay = (ResponseEntity<?>) aspect.handle(joinPoint, idempotent);
+
+            verify(joinPoint, times(1)).proceed();
+            assertThat(replay.getStatusCode().value()).isEqualTo(201);
+            assertThat(replay.getHeaders().getFirst(IdempotencyAspect.REPLAYED_HEADER)).isEqualTo("true");
+            assertThat(((JsonNode) replay.getBody()).get("id").asText()).isEqualTo("inv-1");
+        }
+
+        @Test
+        @DisplayName("should reject a key reused for a different payload")
+        void shouldRejectKeyReuse() throws Throwable {
+            stubSignature(ResponseEntity.class, Map.of("amount", 9000));
+            when(idempotencyStore.claim(eq(KEY), anyString()))
+                    .thenReturn(Optional.of(new IdempotencyStore.Entry("other-fingerprint", 201, "{}")));
+
+            assertThatThrownBy(() -> aspect.handle(joinPoint, idempotent))
+                    .isInstanceOf(BusinessRuleException.class)
+                    .hasMessageContaining("different request");
+            verify(joinPoint, never()).proceed();
+        }
+
+        @Test
+        @DisplayName("should answer 409 while the first request is still running")
+        void shouldRejectConcurrentRetry() throws Throwable {
+            stubSignature(ResponseEntity.class, Map.of("amount", 5000));
+            when(idempotencyStore.claim(eq(KEY), anyString()))
+                    .thenAnswer(inv -> Optional.of(new IdempotencyStore.Entry(inv.getArgument(1), null, null)));
+
+            assertThatThrownBy(() -> aspect.handle(joinPoint, idempotent))
+                    .isInstanceOf(IdempotencyConflictException.class);
+            verify(joinPoint, never()).proceed();
+        }
+
+        @Test
+        @DisplayName("should free the key when the request fails so a retry runs again")
+        void shouldReleaseOnFailure() throws Throwable {
+            stubSignature(ResponseEntity.class, Map.of("amount", 5000));
+            when(idempotencyStore.claim(eq(KEY), anyString())).thenReturn(Optional.empty());
+            when(joinPoint.proceed()).thenThrow(new BusinessRuleException("CAMPAIGN_CLOSED", "closed"));
+
+            assertThatThrownBy(() -> aspect.handle(joinPoint, idempotent))
+                    .isInstanceOf(BusinessRuleException.class);
+            verify(idempotencyStore).release(KEY);
+            verify(idempotencyStore, never()).complete(anyString(), anyString(), anyInt(), any());
+        }
+
+        @Test
+        @DisplayName("should store the response of an asynchronous endpoint once it completes")
+        void shouldStoreAsyncResponse() throws Throwable {
+            stubSignature(CompletableFuture.class, Map.of("amount", 5000));
+            when(idempotencyStore.claim(eq(KEY), anyString())).thenReturn(Optional.empty());
+            CompletableFuture<ResponseEntity<?>> pending = new CompletableFuture<>();
+            when(joinPoint.proceed()).thenReturn(pending);
+
+            CompletableFuture<?> result = (CompletableFuture<?>) aspect.handle(joinPoint, idempotent);
+            verify(idempotencyStore, never()).complete(anyString(), anyString(), anyInt(), any());
+
+            pending.complete(ResponseEntity.ok(Map.of("status", "PENDING")));
+
+            assertThat(result).isCompleted();
+            verify(idempotencyStore).complete(eq(KEY), anyString(), eq(200), eq("{\"status\":\"PENDING\"}"));
+        }
+
+        @Test
+        @DisplayName("should reject keys longer than the limit")
+        void shouldRejectOversizedKey() {
+            request.removeHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER);
+            request.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "k".repeat(IdempotencyAspect.MAX_KEY_LENGTH + 1));
+
+            assertThatThrownBy(() -> aspect.handle(joinPoint, idempotent))
+                    .isInstanceOf(BusinessRuleException.class)
+                    .hasMessageContaining("at most");
+        }
+    }
+}
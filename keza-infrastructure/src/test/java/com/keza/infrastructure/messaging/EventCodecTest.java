@@ -0,0 +1,147 @@
+package com.keza.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.keza.infrastructure.messaging.event.NotificationEvent;
+import com.keza.infrastructure.messaging.event.PaymentEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("EventCodec")
+class EventCodecTest {
+
+    private final EventCodec smileCodec = new EventCodec(EventCodec.CONTENT_TYPE_SMILE);
+    private final EventCodec jsonCodec = new EventCodec(MessageProperties.CONTENT_TYPE_JSON);
+
+    private static Message message(byte[] body, String contentType) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(contentType);
+        return new Message(body, properties);
+    }
+
+    private static NotificationEvent.CampaignLaunched launchPage(int recipients) {
+        return new NotificationEvent.CampaignLaunched(UUID.randomUUID().toString(), "Solar Kiosks",
+                IntStream.range(0, recipients)
+                        .mapToObj(i -> new NotificationEvent.CampaignLaunched.Recipient(
+                                UUID.randomUUID().toString(), "investor" + i + "@example.com"))
+                        .toList());
+    }
+
+    @Nested
+    @DisplayName("encoding")
+    class Encoding {
+
+        @Test
+        @DisplayName("should round-trip a typed event with its type name on the wire")
+        void shouldRoundTripTypedEvent() {
+            NotificationEvent.KycApproved event = new NotificationEvent.KycApproved("user-1", "a@b.com", "Amina");
+
+            Message message = message(smileCodec.encode(event), smileCodec.contentType());
+
+            assertThat(smileCodec.decode(message, NotificationEvent.class)).isEqualTo(event);
+            assertThat(smileCodec.readTree(message).path("type").asText()).isEqualTo("KYC_APPROVED");
+        }
+
+        @Test
+        @DisplayName("should keep camelCase field names and omit null fields")
+        void shouldUseWireFieldNames() {
+            PaymentEvent event = new PaymentEvent(PaymentEvent.PAYMENT_COMPLETED, "ws_CO_1", "tx-1", null,
+                    "user-1", "5000", "KES", null, null, null, 1L);
+
+            String json = new String(jsonCodec.encode(event), StandardCharsets.UTF_8);
+
+            assertThat(json).contains("\"providerReference\":\"ws_CO_1\"").doesNotContain("investmentId");
+        }
+
+        @Test
+        @DisplayName("should encode a campaign launch page smaller than JSON")
+        void shouldBeSmallerThanJson() {
+            NotificationEvent.CampaignLaunched page = launchPage(1000);
+
+            int smileSize = smileCodec.encode(page).length;
+            int jsonSize = jsonCodec.encode(page).length;
+
+            assertThat(smileSize).isLessThan(jsonSize);
+        }
+
+        @Test
+        @DisplayName("should reject an unsupported content type")
+        void shouldRejectUnknownContentType() {
+            assertThatThrownBy(() -> new EventCodec("application/xml"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("decoding")
+    class Decoding {
+
+        @Test
+        @DisplayName("should read JSON and Smile messages by their content type")
+        void shouldReadBothFormats() {
+            PaymentEvent event = new PaymentEvent(PaymentEvent.PAYMENT_REFUNDED, "ws_CO_2", "tx-2", "inv-2",
+                    "user-2", "250.50", "KES", "Solar Kiosks", null, "ref-2", 2L);
+
+            JsonNode fromSmile = smileCodec.readTree(message(smileCodec.encode(event), EventCodec.CONTENT_TYPE_SMILE));
+            JsonNode fromJson = smileCodec.readTree(message(jsonCodec.encode(event), MessageProperties.CONTENT_TYPE_JSON));
+
+            assertThat(fromSmile).isEqualTo(fromJson);
+            assertThat(fromSmile.path("refundReference").asText()).isEqualTo("ref-2");
+        }
+
+        @Test
+        @DisplayName("should read messages without a content type as JSON")
+        void shouldReadLegacyMessagesAsJson() {
+            Message legacy = message("{\"eventType\":\"PAYMENT_COMPLETED\"}".getBytes(StandardCharsets.UTF_8), null);
+
+            assertThat(smileCodec.readTree(legacy).path("eventType").asText()).isEqualTo("PAYMENT_COMPLETED");
+        }
+    }
+
+    @Nested
+    @DisplayName("messageConverter")
+    class Converter {
+
+        @Test
+        @DisplayName("should write the configured format and read either format back")
+        void shouldWriteConfiguredFormat() {
+            MessageConverter smileConverter = smileCodec.messageConverter();
+            MessageConverter jsonConverter = jsonCodec.messageConverter();
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("providerReference", "ws_CO_3");
+            payload.put("status", "COMPLETED");
+
+            Message smile = smileConverter.toMessage(payload, new MessageProperties());
+            Message json = jsonConverter.toMessage(payload, new MessageProperties());
+
+            assertThat(smile.getMessageProperties().getContentType()).isEqualTo(EventCodec.CONTENT_TYPE_SMILE);
+            assertThat(json.getMessageProperties().getContentType()).isEqualTo(MessageProperties.CONTENT_TYPE_JSON);
+            assertThat(smileConverter.fromMessage(smile)).isEqualTo(payload);
+            assertThat(smileConverter.fromMessage(json)).isEqualTo(payload);
+        }
+
+        @Test
+        @DisplayName("should tag typed events with their class for typed listeners")
+        void shouldTagTypedEvents() {
+            NotificationEvent.CampaignLaunched page = launchPage(3);
+
+            Message message = smileCodec.messageConverter().toMessage(page, new MessageProperties());
+
+            assertThat(smileCodec.messageConverter().fromMessage(message)).isEqualTo(page);
+            assertThat((String) message.getMessageProperties().getHeader("__TypeId__"))
+                    .isEqualTo(NotificationEvent.CampaignLaunched.class.getName());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.keza.infrastructure.messaging;
+
+import com.keza.infrastructure.scheduling.SchedulerLease;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+import static com.keza.infrastructure.config.RabbitMQConfig.INVESTMENT_PAYMENT_QUEUE;
+import static com.keza.infrastructure.config.RabbitMQConfig.LEGACY_INVESTMENT_PAYMENT_QUEUE;
+import static com.keza.infrastructure.config.RabbitMQConfig.PAYMENT_EXCHANGE;
+import static com.keza.infrastructure.config.RabbitMQConfig.PAYMENT_ROUTING_KEY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("InvestmentPaymentQueueMigration")
+class InvestmentPaymentQueueMigrationTest {
+
+    @Mock
+    private AmqpAdmin amqpAdmin;
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+    @Mock
+    private SchedulerLease schedulerLease;
+    @Mock
+    private Channel channel;
+
+    @InjectMocks
+    private InvestmentPaymentQueueMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        when(schedulerLease.tryAcquire(eq(InvestmentPaymentQueueMigration.LEASE), any())).thenReturn(true);
+        when(rabbitTemplate.execute(any())).thenAnswer(inv -> ((ChannelCallback<?>) inv.getArgument(0)).doInRabbit(channel));
+    }
+
+    private static Properties queueProperties(int messages, int consumers) {
+        Properties properties = new Properties();
+        properties.put(RabbitAdmin.QUEUE_NAME, LEGACY_INVESTMENT_PAYMENT_QUEUE);
+        properties.put(RabbitAdmin.QUEUE_MESSAGE_COUNT, messages);
+        properties.put(RabbitAdmin.QUEUE_CONSUMER_COUNT, consumers);
+        return properties;
+    }
+
+    private static GetResponse response(long deliveryTag, String body) {
+        return new GetResponse(new Envelope(deliveryTag, false, PAYMENT_EXCHANGE, PAYMENT_ROUTING_KEY),
+                new AMQP.BasicProperties.Builder().contentType("application/json").build(),
+                body.getBytes(StandardCharsets.UTF_8), 0);
+    }
+
+    @Test
+    @DisplayName("should stop checking once the legacy queue no longer exists")
+    void shouldStopWhenLegacyQueueIsGone() {
+        when(amqpAdmin.getQueueProperties(LEGACY_INVESTMENT_PAYMENT_QUEUE)).thenReturn(null);
+
+        migration.retireLegacyQueue();
+        migration.retireLegacyQueue();
+
+        verify(amqpAdmin, times(1)).getQueueProperties(LEGACY_INVESTMENT_PAYMENT_QUEUE);
+        verify(amqpAdmin, never()).removeBinding(any());
+        verifyNoInteractions(rabbitTemplate);
+    }
+
+    @Test
+    @DisplayName("should unbind the legacy queue but leave it to the previous release while it still consumes")
+    void shouldUnbindAndWaitWhileConsumed() {
+        when(amqpAdmin.getQueueProperties(LEGACY_INVESTMENT_PAYMENT_QUEUE)).thenReturn(queueProperties(12, 2));
+
+        migration.retireLegacyQueue();
+
+        ArgumentCaptor<Binding> binding = ArgumentCaptor.forClass(Binding.class);
+        verify(amqpAdmin).removeBinding(binding.capture());
+        assertThat(binding.getValue().getDestination()).isEqualTo(LEGACY_INVESTMENT_PAYMENT_QUEUE);
+        assertThat(binding.getValue().getExchange()).isEqualTo(PAYMENT_EXCHANGE);
+        assertThat(binding.getValue().getRoutingKey()).isEqualTo(PAYMENT_ROUTING_KEY);
+        verifyNoInteractions(rabbitTemplate);
+    }
+
+    @Test
+    @DisplayName("should move leftover messages to the new queue and then delete the legacy queue")
+    void shouldMoveLeftoversAndDelete() throws IOException {
+        when(amqpAdmin.getQueueProperties(LEGACY_INVESTMENT_PAYMENT_QUEUE)).thenReturn(queueProperties(2, 0));
+        GetResponse first = response(1, "{\"eventType\":\"PAYMENT_COMPLETED\"}");
+        GetResponse second = response(2, "{\"eventType\":\"PAYMENT_FAILED\"}");
+        when(channel.basicGet(LEGACY_INVESTMENT_PAYMENT_QUEUE, false)).thenReturn(first, second, null);
+
+        migration.retireLegacyQueue();
+
+        InOrder inOrder = inOrder(channel);
+        inOrder.verify(channel).basicPublish("", INVESTMENT_PAYMENT_QUEUE, first.getProps(), first.getBody());
+        inOrder.verify(channel).basicAck(1, false);
+        inOrder.verify(channel).basicPublish("", INVESTMENT_PAYMENT_QUEUE, second.getProps(), second.getBody());
+        inOrder.verify(channel).basicAck(2, false);
+        inOrder.verify(channel).queueDelete(LEGACY_INVESTMENT_PAYMENT_QUEUE, true, true);
+
+        migration.retireLegacyQueue();
+        verify(amqpAdmin, times(1)).getQueueProperties(LEGACY_INVESTMENT_PAYMENT_QUEUE);
+    }
+
+    @Test
+    @DisplayName("should retry on the next tick when the broker refuses the delete")
+    void shouldRetryWhenDeleteIsRefused() throws IOException {
+        when(amqpAdmin.getQueueProperties(LEGACY_INVESTMENT_PAYMENT_QUEUE)).thenReturn(queueProperties(0, 0));
+        when(channel.basicGet(LEGACY_INVESTMENT_PAYMENT_QUEUE, false)).thenReturn(null);
+        when(channel.queueDelete(LEGACY_INVESTMENT_PAYMENT_QUEUE, true, true))
+                .thenThrow(new IOException("PRECONDITION_FAILED - queue in use"));
+
+        migration.retireLegacyQueue();
+        migration.retireLegacyQueue();
+
+        verify(amqpAdmin, times(2)).getQueueProperties(LEGACY_INVESTMENT_PAYMENT_QUEUE);
+    }
+
+    @Test
+    @DisplayName("should do nothing on replicas that do not hold the lease")
+    void shouldSkipWithoutLease() {
+        when(schedulerLease.tryAcquire(eq(InvestmentPaymentQueueMigration.LEASE), any())).thenReturn(false);
+
+        migration.retireLegacyQueue();
+
+        verifyNoInteractions(amqpAdmin, rabbitTemplate);
+    }
+}
@@ -0,0 +1,195 @@
+package com.keza.infrastructure.outbox;
+
+import com.keza.infrastructure.messaging.EventCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxRelay")
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+    @Mock
+    private RabbitOperations operations;
+
+    @InjectMocks
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 100);
+        ReflectionTestUtils.setField(outboxRelay, "confirmTimeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(outboxRelay, "maxAttempts", 15);
+        ReflectionTestUtils.setField(outboxRelay, "retryBackoff", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(outboxRelay, "maxRetryBackoff", Duration.ofMinutes(10));
+    }
+
+    private OutboxMessage message(long id, String aggregateId) {
+        return message(id, aggregateId, 0);
+    }
+
+    private OutboxMessage message(long id, String aggregateId, int attempts) {
+        return new OutboxMessage(id, "Payment", aggregateId, "keza.payment", "payment.event",
+                ("{\"providerReference\":\"" + aggregateId + "\"}").getBytes(StandardCharsets.UTF_8),
+                "application/json", "java.util.HashMap", attempts);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runCallbacksOnChannel() {
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<Object>>getArgument(0).doInRabbit(operations));
+    }
+
+    @Test
+    @DisplayName("should send a claimed batch in id order, wait for confirms once and mark it published")
+    void shouldRelayBatchInOrder() {
+        when(outboxRepository.claimBatch(100)).thenReturn(List.of(message(7, "ws_CO_1"), message(8, "ws_CO_1")));
+        runCallbacksOnChannel();
+
+        int relayed = outboxRelay.relayBatch();
+
+        assertThat(relayed).isEqualTo(2);
+        ArgumentCaptor<Message> sent = ArgumentCaptor.forClass(Message.class);
+        InOrder inOrder = inOrder(operations, outboxRepository);
+        inOrder.verify(operations, times(2)).send(eq("keza.payment"), eq("payment.event"), sent.capture());
+        inOrder.verify(operations).waitForConfirmsOrDie(5000);
+        inOrder.verify(outboxRepository).markPublished(eq(List.of(7L, 8L)), any());
+
+        Message first = sent.getAllValues().get(0);
+        assertThat(first.getMessageProperties().getMessageId()).isEqualTo("outbox-7");
+        assertThat(first.getMessageProperties().getContentType()).isEqualTo("application/json");
+        assertThat((String) first.getMessageProperties().getHeader(OutboxRelay.TYPE_ID_HEADER))
+                .isEqualTo("java.util.HashMap");
+        assertThat((String) first.getMessageProperties().getHeader(OutboxRelay.AGGREGATE_ID_HEADER))
+                .isEqualTo("ws_CO_1");
+        assertThat(new String(first.getBody(), StandardCharsets.UTF_8)).contains("ws_CO_1");
+        assertThat(sent.getAllValues().get(1).getMessageProperties().getMessageId()).isEqualTo("outbox-8");
+    }
+
+    @Test
+    @DisplayName("should send each row with the content type it was encoded in")
+    void shouldKeepRowContentType() {
+        byte[] smile = {':', ')', '\n', 0x05};
+        when(outboxRepository.claimBatch(100)).thenReturn(List.of(new OutboxMessage(9, "User", "u-1",
+                "keza.notification", "notification", smile, EventCodec.CONTENT_TYPE_SMILE,
+                "java.util.UUID", 0)));
+        runCallbacksOnChannel();
+
+        outboxRelay.relayBatch();
+
+        ArgumentCaptor<Message> sent = ArgumentCaptor.forClass(Message.class);
+        verify(operations).send(eq("keza.notification"), eq("notification"), sent.capture());
+        assertThat(sent.getValue().getMessageProperties().getContentType()).isEqualTo(EventCodec.CONTENT_TYPE_SMILE);
+        assertThat(sent.getValue().getMessageProperties().getContentEncoding()).isNull();
+        assertThat(sent.getValue().getBody()).isEqualTo(smile);
+    }
+
+    @Test
+    @DisplayName("should schedule a retry with backoff when a message is not confirmed")
+    void shouldBackOffWhenNotConfirmed() {
+        when(outboxRepository.claimBatch(100)).thenReturn(List.of(message(7, "ws_CO_1", 2)));
+        runCallbacksOnChannel();
+        doThrow(new AmqpTimeoutException("Timed out waiting for confirms"))
+                .when(operations).waitForConfirmsOrDie(anyLong());
+
+        Instant before = Instant.now();
+        int relayed = outboxRelay.relayBatch();
+
+        assertThat(relayed).isZero();
+        ArgumentCaptor<Instant> nextAttempt = ArgumentCaptor.forClass(Instant.class);
+        verify(outboxRepository).markFailed(eq(7L), eq("Timed out waiting for confirms"), nextAttempt.capture());
+        assertThat(nextAttempt.getValue()).isAfterOrEqualTo(before.plusSeconds(4));
+        verify(outboxRepository, never()).markPublished(anyList(), any());
+        verify(outboxRepository, never()).markParked(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("should resend a failed batch one by one, publishing the messages before the bad one")
+    void shouldIsolateBadMessage() {
+        when(outboxRepository.claimBatch(100)).thenReturn(
+                List.of(message(7, "ws_CO_1"), message(8, "ws_CO_2"), message(9, "ws_CO_3")));
+        runCallbacksOnChannel();
+        // The whole batch fails, then 7 alone succeeds and 8 alone fails
+        doThrow(new AmqpTimeoutException("nack"))
+                .doNothing()
+                .doThrow(new AmqpTimeoutException("nack"))
+                .when(operations).waitForConfirmsOrDie(anyLong());
+
+        int relayed = outboxRelay.relayBatch();
+
+        assertThat(relayed).isEqualTo(1);
+        verify(outboxRepository).markPublished(eq(List.of(7L)), any());
+        verify(outboxRepository).markFailed(eq(8L), eq("nack"), any());
+        verify(operations, times(5)).send(any(), any(), any(Message.class));
+    }
+
+    @Test
+    @DisplayName("should park a message once it has failed the maximum number of times")
+    void shouldParkAfterMaxAttempts() {
+        when(outboxRepository.claimBatch(100)).thenReturn(List.of(message(7, "ws_CO_1", 14)));
+        runCallbacksOnChannel();
+        doThrow(new AmqpTimeoutException("nack")).when(operations).waitForConfirmsOrDie(anyLong());
+
+        outboxRelay.relayBatch();
+
+        verify(outboxRepository).markParked(eq(7L), eq("nack"), any());
+        verify(outboxRepository, never()).markFailed(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("should leave the batch untouched when the broker is unreachable")
+    void shouldNotCountAttemptsWhenBrokerUnreachable() {
+        when(outboxRepository.claimBatch(100)).thenReturn(List.of(message(7, "ws_CO_1")));
+        when(rabbitTemplate.invoke(any())).thenThrow(new AmqpConnectException(new ConnectException("refused")));
+
+        assertThat(outboxRelay.relayBatch()).isZero();
+
+        verify(outboxRepository, never()).markFailed(anyLong(), any(), any());
+        verify(outboxRepository, never()).markParked(anyLong(), any(), any());
+        verify(outboxRepository, never()).markPublished(anyList(), any());
+    }
+
+    @Test
+    @DisplayName("should double the backoff with each attempt up to the maximum")
+    void shouldCapBackoff() {
+        assertThat(outboxRelay.backoff(1)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(outboxRelay.backoff(4)).isEqualTo(Duration.ofSeconds(8));
+        assertThat(outboxRelay.backoff(14)).isEqualTo(Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("should not touch the broker when there is nothing to send")
+    void shouldSkipEmptyBatch() {
+        when(outboxRepository.claimBatch(100)).thenReturn(List.of());
+
+        assertThat(outboxRelay.relayBatch()).isZero();
+
+        verifyNoInteractions(rabbitTemplate);
+    }
+}
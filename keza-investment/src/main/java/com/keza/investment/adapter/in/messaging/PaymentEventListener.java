@@ -1,22 +1,26 @@
 package com.keza.investment.adapter.in.messaging;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.keza.common.enums.TransactionStatus;
-import com.keza.investment.application.usecase.InvestmentUseCase;
-import com.keza.investment.domain.model.Transaction;
-import com.keza.investment.domain.port.out.TransactionRepository;
+import com.keza.infrastructure.messaging.EventCodec;
+import com.keza.investment.application.usecase.PaymentOutcomeUseCase;
 import com.rabbitmq.client.Channel;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
+import static com.keza.infrastructure.config.RabbitMQConfig.INVESTMENT_PAYMENT_LISTENER_FACTORY;
 import static com.keza.infrastructure.config.RabbitMQConfig.INVESTMENT_PAYMENT_QUEUE;
 
 /**
@@ -26,140 +30,120 @@ import static com.keza.infrastructure.config.RabbitMQConfig.INVESTMENT_PAYMENT_Q
  * to update Transaction and Investment statuses accordingly.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class PaymentEventListener {
 
-    private final TransactionRepository transactionRepository;
-    private final InvestmentUseCase investmentUseCase;
-    private final ObjectMapper objectMapper;
+    private final PaymentOutcomeUseCase paymentOutcomeUseCase;
+    private final EventCodec eventCodec;
+    private final Executor paymentEventExecutor;
 
-    @RabbitListener(queues = INVESTMENT_PAYMENT_QUEUE)
-    public void handlePaymentEvent(Message message, Channel channel) throws IOException {
-        long deliveryTag = message.getMessageProperties().getDeliveryTag();
-
-        try {
-            JsonNode event = objectMapper.readTree(message.getBody());
-
-            String eventType = event.path("eventType").asText();
-            String providerReference = event.path("providerReference").asText();
+    @Value("${keza.messaging.listeners.investment-payment.shards:8}")
+    private int shards;
 
-            log.info("Received payment event: eventType={}, providerReference={}", eventType, providerReference);
+    public PaymentEventListener(PaymentOutcomeUseCase paymentOutcomeUseCase,
+                                EventCodec eventCodec,
+                                @Qualifier("paymentEventExecutor") Executor paymentEventExecutor) {
+        this.paymentOutcomeUseCase = paymentOutcomeUseCase;
+        this.eventCodec = eventCodec;
+        this.paymentEventExecutor = paymentEventExecutor;
+    }
 
-            switch (eventType) {
-                case "PAYMENT_COMPLETED" -> handlePaymentCompleted(event);
-                case "PAYMENT_FAILED" -> handlePaymentFailed(event);
-                case "PAYMENT_REFUNDED" -> handlePaymentRefunded(event);
-                default -> log.warn("Unknown payment event type: {}", eventType);
+    /**
+     * Receives payment events in batches and applies independent investments in parallel.
+     * <p>
+     * Each event is assigned to a shard by hashing its investment id (its provider reference
+     * when it has none). A shard applies its events one at a time in delivery order, and the
+     * next batch starts only when every shard is done. The queue has a single active consumer
+     * across all replicas, so together these keep events for the same investment from being
+     * applied concurrently or out of order. Acks are sent from the listener thread once the whole
+     * batch has been applied.
+     */
+    @RabbitListener(queues = INVESTMENT_PAYMENT_QUEUE, containerFactory = INVESTMENT_PAYMENT_LISTENER_FACTORY)
+    public void handlePaymentEvents(List<Message> messages, Channel channel) throws IOException {
+        log.debug("Received batch of {} payment events", messages.size());
+
+        JsonNode[] events = new JsonNode[messages.size()];
+        boolean[] applied = new boolean[messages.size()];
+        Map<Integer, List<Integer>> shardEvents = new LinkedHashMap<>();
+        for (int i = 0; i < messages.size(); i++) {
+            events[i] = parse(messages.get(i));
+            if (events[i] != null) {
+                shardEvents.computeIfAbsent(shardOf(events[i]), shard -> new ArrayList<>()).add(i);
             }
+        }
 
-            channel.basicAck(deliveryTag, false);
-            log.debug("Payment event acknowledged: eventType={}, deliveryTag={}", eventType, deliveryTag);
+        CompletableFuture.allOf(shardEvents.values().stream()
+                        .map(indexes -> CompletableFuture.runAsync(
+                                () -> indexes.forEach(i -> applied[i] = apply(events[i])), paymentEventExecutor))
+                        .toArray(CompletableFuture[]::new))
+                .join();
 
-        } catch (Exception e) {
-            log.error("Failed to process payment event: {}", e.getMessage(), e);
-            channel.basicNack(deliveryTag, false, false);
+        for (int i = 0; i < messages.size(); i++) {
+            acknowledge(messages.get(i), applied[i], channel);
         }
     }
 
-    @Transactional
-    protected void handlePaymentCompleted(JsonNode event) {
-        String providerReference = event.path("providerReference").asText();
-        String investmentIdStr = event.path("investmentId").asText(null);
-
-        log.info("Handling PAYMENT_COMPLETED for providerReference: {}", providerReference);
-
-        // Update transaction status to COMPLETED
-        updateTransactionStatus(providerReference, TransactionStatus.COMPLETED);
-
-        // Complete the investment
-        if (investmentIdStr != null && !investmentIdStr.isEmpty() && !"null".equals(investmentIdStr)) {
-            try {
-                UUID investmentId = UUID.fromString(investmentIdStr);
-                investmentUseCase.completeInvestment(investmentId);
-                log.info("Investment {} completed via payment callback", investmentId);
-            } catch (IllegalArgumentException e) {
-                log.warn("Invalid investmentId in payment event: {}", investmentIdStr);
-            } catch (Exception e) {
-                log.error("Failed to complete investment {}: {}", investmentIdStr, e.getMessage(), e);
-            }
-        } else {
-            log.warn("No investmentId in PAYMENT_COMPLETED event for providerReference: {}", providerReference);
+    private JsonNode parse(Message message) {
+        try {
+            return eventCodec.readTree(message);
+        } catch (Exception e) {
+            log.error("Failed to parse payment event: {}", e.getMessage(), e);
+            return null;
         }
     }
 
-    @Transactional
-    protected void handlePaymentFailed(JsonNode event) {
+    private boolean apply(JsonNode event) {
+        String eventType = event.path("eventType").asText();
         String providerReference = event.path("providerReference").asText();
-        String investmentIdStr = event.path("investmentId").asText(null);
-        String failureReason = event.path("failureReason").asText("Payment failed");
-
-        log.info("Handling PAYMENT_FAILED for providerReference: {}", providerReference);
-
-        // Update transaction status to FAILED
-        updateTransactionStatus(providerReference, TransactionStatus.FAILED);
-
-        // Cancel the investment
-        if (investmentIdStr != null && !investmentIdStr.isEmpty() && !"null".equals(investmentIdStr)) {
-            try {
-                UUID investmentId = UUID.fromString(investmentIdStr);
-                // Use the internal cancel - we look up the investment to get the userId
-                var investmentResponse = investmentUseCase.getInvestment(investmentId);
-                investmentUseCase.cancelInvestment(investmentId, investmentResponse.getInvestorId());
-                log.info("Investment {} cancelled due to payment failure: {}", investmentId, failureReason);
-            } catch (IllegalArgumentException e) {
-                log.warn("Invalid investmentId in payment event: {}", investmentIdStr);
-            } catch (Exception e) {
-                log.error("Failed to cancel investment {}: {}", investmentIdStr, e.getMessage(), e);
+
+        log.info("Received payment event: eventType={}, providerReference={}", eventType, providerReference);
+
+        try {
+            UUID investmentId = investmentIdOf(event);
+            switch (eventType) {
+                case "PAYMENT_COMPLETED" -> paymentOutcomeUseCase.completePayment(providerReference, investmentId);
+                case "PAYMENT_FAILED" -> paymentOutcomeUseCase.failPayment(providerReference, investmentId,
+                        event.path("failureReason").asText("Payment failed"));
+                case "PAYMENT_REFUNDED" -> paymentOutcomeUseCase.refundPayment(providerReference, investmentId,
+                        event.path("refundReference").asText(null));
+                default -> log.warn("Unknown payment event type: {}", eventType);
             }
-        } else {
-            log.warn("No investmentId in PAYMENT_FAILED event for providerReference: {}", providerReference);
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to process payment event: eventType={}, providerReference={}: {}",
+                    eventType, providerReference, e.getMessage(), e);
+            return false;
         }
     }
 
-    @Transactional
-    protected void handlePaymentRefunded(JsonNode event) {
-        String providerReference = event.path("providerReference").asText();
-        String investmentIdStr = event.path("investmentId").asText(null);
-        String refundReference = event.path("refundReference").asText(null);
-
-        log.info("Handling PAYMENT_REFUNDED for providerReference: {}, refundReference: {}",
-                providerReference, refundReference);
-
-        // Update transaction status to REFUNDED
-        updateTransactionStatus(providerReference, TransactionStatus.REFUNDED);
-
-        // Refund the investment
-        if (investmentIdStr != null && !investmentIdStr.isEmpty() && !"null".equals(investmentIdStr)) {
-            try {
-                UUID investmentId = UUID.fromString(investmentIdStr);
-                investmentUseCase.refundInvestment(investmentId);
-                log.info("Investment {} refunded via payment callback", investmentId);
-            } catch (IllegalArgumentException e) {
-                log.warn("Invalid investmentId in payment event: {}", investmentIdStr);
-            } catch (Exception e) {
-                log.error("Failed to refund investment {}: {}", investmentIdStr, e.getMessage(), e);
-            }
+    private void acknowledge(Message message, boolean applied, Channel channel) throws IOException {
+        long deliveryTag = message.getMessageProperties().getDeliveryTag();
+        if (applied) {
+            channel.basicAck(deliveryTag, false);
+            log.debug("Payment event acknowledged: deliveryTag={}", deliveryTag);
         } else {
-            log.warn("No investmentId in PAYMENT_REFUNDED event for providerReference: {}", providerReference);
+            channel.basicNack(deliveryTag, false, false);
         }
     }
 
-    private void updateTransactionStatus(String providerReference, TransactionStatus status) {
-        if (providerReference == null || providerReference.isEmpty()) {
-            log.warn("Cannot update transaction status: providerReference is null or empty");
-            return;
+    private UUID investmentIdOf(JsonNode event) {
+        String investmentId = event.path("investmentId").asText(null);
+        if (investmentId == null || investmentId.isEmpty() || "null".equals(investmentId)) {
+            return null;
         }
+        try {
+            return UUID.fromString(investmentId);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid investmentId in payment event: {}", investmentId);
+            return null;
+        }
+    }
 
-        transactionRepository.findByProviderReference(providerReference)
-                .ifPresentOrElse(
-                        transaction -> {
-                            transaction.setStatus(status);
-                            transactionRepository.save(transaction);
-                            log.info("Transaction {} status updated to {} for providerReference: {}",
-                                    transaction.getId(), status, providerReference);
-                        },
-                        () -> log.warn("No transaction found for providerReference: {}", providerReference)
-                );
+    private int shardOf(JsonNode event) {
+        String key = event.path("investmentId").asText("");
+        if (key.isEmpty() || "null".equals(key)) {
+            key = event.path("providerReference").asText("");
+        }
+        return Math.floorMod(key.hashCode(), shards);
     }
 }
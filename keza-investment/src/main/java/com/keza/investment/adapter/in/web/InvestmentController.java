@@ -2,6 +2,7 @@ package com.keza.investment.adapter.in.web;
 
 import com.keza.common.dto.ApiResponse;
 import com.keza.common.dto.PagedResponse;
+import com.keza.infrastructure.idempotency.Idempotent;
 import com.keza.investment.application.dto.CreateInvestmentRequest;
 import com.keza.investment.application.dto.InvestmentResponse;
 import com.keza.investment.application.dto.PortfolioResponse;
@@ -29,10 +30,13 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class InvestmentController {
 
+    private static final int EXPORT_PAGE_SIZE = 200;
+
     private final InvestmentUseCase investmentUseCase;
     private final PortfolioUseCase portfolioUseCase;
 
     @PostMapping
+    @Idempotent
     public ResponseEntity<ApiResponse<InvestmentResponse>> createInvestment(
             Authentication authentication,
             @Valid @RequestBody CreateInvestmentRequest request) {
@@ -103,8 +107,12 @@ public class InvestmentController {
         PrintWriter writer = response.getWriter();
         writer.println("Investment ID,Campaign,Company,Industry,Amount (KES),Shares,Share Price,Status,Date");
 
-        if (portfolio.getInvestments() != null) {
-            for (InvestmentResponse inv : portfolio.getInvestments()) {
+        // The portfolio only carries recent investments, so page through the full history
+        Pageable pageable = PageRequest.of(0, EXPORT_PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt"));
+        Page<InvestmentResponse> investments;
+        do {
+            investments = investmentUseCase.getUserInvestments(userId, pageable);
+            for (InvestmentResponse inv : investments.getContent()) {
                 writer.printf("\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",%d,\"%s\",\"%s\",\"%s\"%n",
                         inv.getId(),
                         escapeCsv(inv.getCampaignTitle()),
@@ -116,7 +124,8 @@ public class InvestmentController {
                         inv.getStatus(),
                         inv.getCreatedAt());
             }
-        }
+            pageable = investments.nextPageable();
+        } while (investments.hasNext());
 
         writer.println();
         writer.printf("Total Invested,\"%s\"%n", portfolio.getTotalInvested());
@@ -0,0 +1,147 @@
+package com.keza.investment.adapter.out.persistence;
+
+import com.keza.investment.domain.port.out.CampaignDailyStatsRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Repository
+@Transactional
+public class CampaignDailyStatsRepositoryImpl implements CampaignDailyStatsRepository {
+
+    private static final String WATERMARK = "campaign_daily_stats";
+
+    /**
+     * Buckets (campaign, Nairobi day) containing an investment changed since :since.
+     */
+    private static final String DIRTY_BUCKETS = "SELECT DISTINCT campaign_id, " +
+            "CAST(date_trunc('day', created_at AT TIME ZONE 'Africa/Nairobi') AS DATE) AS stat_date " +
+            "FROM investments WHERE updated_at >= :since";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public int refreshChangedBuckets(Duration overlap) {
+        // SKIP LOCKED lets one instance refresh while the others return immediately
+        @SuppressWarnings("unchecked")
+        List<Object> watermark = em.createNativeQuery(
+                        "SELECT refreshed_through FROM analytics_rollup_watermarks " +
+                                "WHERE name = :name FOR UPDATE SKIP LOCKED")
+                .setParameter("name", WATERMARK)
+                .getResultList();
+        if (watermark.isEmpty()) {
+            return -1;
+        }
+
+        Instant runStart = Instant.now();
+        Instant since = toInstant(watermark.get(0)).minus(overlap);
+
+        em.createNativeQuery("DELETE FROM campaign_daily_stats s USING (" + DIRTY_BUCKETS + ") d " +
+                        "WHERE s.campaign_id = d.campaign_id AND s.stat_date = d.stat_date")
+                .setParameter("since", since)
+                .executeUpdate();
+
+        int written = em.createNativeQuery("INSERT INTO campaign_daily_stats (campaign_id, stat_date, status, " +
+                        "investment_count, total_amount, min_amount, max_amount) " +
+                        "SELECT i.campaign_id, d.stat_date, i.status, COUNT(*), SUM(i.amount), " +
+                        "MIN(i.amount), MAX(i.amount) " +
+                        "FROM (" + DIRTY_BUCKETS + ") d " +
+                        "JOIN investments i ON i.campaign_id = d.campaign_id " +
+                        "AND CAST(date_trunc('day', i.created_at AT TIME ZONE 'Africa/Nairobi') AS DATE) = d.stat_date " +
+                        "GROUP BY i.campaign_id, d.stat_date, i.status " +
+                        "ON CONFLICT (campaign_id, stat_date, status) DO UPDATE SET " +
+                        "investment_count = EXCLUDED.investment_count, total_amount = EXCLUDED.total_amount, " +
+                        "min_amount = EXCLUDED.min_amount, max_amount = EXCLUDED.max_amount, " +
+                        "refreshed_at = NOW()")
+                .setParameter("since", since)
+                .executeUpdate();
+
+        em.createNativeQuery("UPDATE analytics_rollup_watermarks SET refreshed_through = :runStart WHERE name = :name")
+                .setParameter("runStart", runStart)
+                .setParameter("name", WATERMARK)
+                .executeUpdate();
+
+        log.debug("Refreshed campaign daily stats for investments changed since {}: {} rows", since, written);
+        return written;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DailyTotal> findDailyTotals(UUID campaignId, List<String> statuses) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = em.createNativeQuery(
+                        "SELECT stat_date, SUM(investment_count), SUM(total_amount) " +
+                                "FROM campaign_daily_stats " +
+                                "WHERE campaign_id = :campaignId AND status IN (:statuses) " +
+                                "GROUP BY stat_date ORDER BY stat_date")
+                .setParameter("campaignId", campaignId)
+                .setParameter("statuses", statuses)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new DailyTotal(
+                        toLocalDate(row[0]),
+                        ((Number) row[1]).longValue(),
+                        toBigDecimal(row[2])))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StatusTotal> findStatusTotals(UUID campaignId) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = em.createNativeQuery(
+                        "SELECT status, SUM(investment_count), SUM(total_amount), MIN(min_amount), MAX(max_amount) " +
+                                "FROM campaign_daily_stats WHERE campaign_id = :campaignId GROUP BY status")
+                .setParameter("campaignId", campaignId)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new StatusTotal(
+                        (String) row[0],
+                        ((Number) row[1]).longValue(),
+                        toBigDecimal(row[2]),
+                        toBigDecimal(row[3]),
+                        toBigDecimal(row[4])))
+                .toList();
+    }
+
+    private LocalDate toLocalDate(Object value) {
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+
+    private Instant toInstant(Object value) {
+        if (value instanceof Timestamp ts) {
+            return ts.toInstant();
+        }
+        if (value instanceof OffsetDateTime odt) {
+            return odt.toInstant();
+        }
+        return (Instant) value;
+    }
+
+    private BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        if (value instanceof BigDecimal bd) {
+            return bd;
+        }
+        return new BigDecimal(value.toString());
+    }
+}
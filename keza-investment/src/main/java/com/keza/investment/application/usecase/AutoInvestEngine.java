@@ -0,0 +1,159 @@
+package com.keza.investment.application.usecase;
+
+import com.keza.campaign.domain.event.CampaignStatusChangedEvent;
+import com.keza.campaign.domain.model.Campaign;
+import com.keza.campaign.domain.port.out.CampaignRepository;
+import com.keza.common.enums.CampaignStatus;
+import com.keza.common.exception.BusinessRuleException;
+import com.keza.investment.domain.port.out.AutoInvestPreferenceRepository;
+import com.keza.investment.domain.port.out.AutoInvestPreferenceRepository.MatchedPreference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes auto-invest preferences when a campaign goes LIVE.
+ * <p>
+ * All enabled preferences are matched against the campaign in a single indexed query, then
+ * investments are placed through {@link AutoInvestUseCase#placeAutoInvestment} on the shared
+ * auto-invest pool. Each run keeps at most {@code keza.auto-invest.per-campaign-concurrency}
+ * investments in flight, so several simultaneous launches progress side by side instead of one
+ * monopolising the pool. A preference too large for the campaign's remaining allocation is
+ * skipped, since a smaller one may still fit; a run stops as soon as the campaign is no longer
+ * accepting investments. A campaign goes LIVE only once, so there is no later run to catch up:
+ * a placement the pool rejects is made on the run's own thread instead.
+ */
+@Slf4j
+@Component
+public class AutoInvestEngine {
+
+    /**
+     * Rejections after which no further investment in the campaign can succeed.
+     */
+    private static final Set<String> CAMPAIGN_CLOSED_CODES = Set.of("CAMPAIGN_NOT_LIVE", "CAMPAIGN_EXPIRED");
+
+    private final AutoInvestPreferenceRepository autoInvestPreferenceRepository;
+    private final CampaignRepository campaignRepository;
+    private final AutoInvestUseCase autoInvestUseCase;
+    private final Executor autoInvestExecutor;
+    private final int perCampaignConcurrency;
+
+    public AutoInvestEngine(AutoInvestPreferenceRepository autoInvestPreferenceRepository,
+                            CampaignRepository campaignRepository,
+                            AutoInvestUseCase autoInvestUseCase,
+                            @Qualifier("autoInvestExecutor") Executor autoInvestExecutor,
+                            @Value("${keza.auto-invest.per-campaign-concurrency:8}") int perCampaignConcurrency) {
+        this.autoInvestPreferenceRepository = autoInvestPreferenceRepository;
+        this.campaignRepository = campaignRepository;
+        this.autoInvestUseCase = autoInvestUseCase;
+        this.autoInvestExecutor = autoInvestExecutor;
+        this.perCampaignConcurrency = perCampaignConcurrency;
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCampaignStatusChanged(CampaignStatusChangedEvent event) {
+        if (event.newStatus() != CampaignStatus.LIVE) {
+            return;
+        }
+        try {
+            runForCampaign(event.campaignId());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Auto-invest run for campaign {} interrupted", event.campaignId());
+        }
+    }
+
+    /**
+     * Matches and places auto-investments for one campaign, returning once every placement
+     * has finished.
+     *
+     * @return the number of investments placed
+     */
+    public int runForCampaign(UUID campaignId) throws InterruptedException {
+        Campaign campaign = campaignRepository.findByIdAndDeletedFalse(campaignId).orElse(null);
+        if (campaign == null || campaign.getStatus() != CampaignStatus.LIVE || campaign.getSharePrice() == null) {
+            log.debug("Skipping auto-invest for campaign {}: not live or not priced", campaignId);
+            return 0;
+        }
+
+        BigDecimal minAmount = campaign.getMinInvestment() != null
+                ? campaign.getMinInvestment().max(campaign.getSharePrice())
+                : campaign.getSharePrice();
+
+        long started = System.currentTimeMillis();
+        List<MatchedPreference> matches = autoInvestPreferenceRepository.findMatchingPreferences(
+                campaign.getIndustry() != null ? campaign.getIndustry() : "",
+                campaign.getOfferingType().name(),
+                campaign.getTargetAmount(),
+                minAmount,
+                campaign.getIssuerId());
+
+        log.info("Auto-invest matched {} preferences for campaign {} in {} ms",
+                matches.size(), campaignId, System.currentTimeMillis() - started);
+
+        Semaphore inFlight = new Semaphore(perCampaignConcurrency);
+        AtomicBoolean campaignClosed = new AtomicBoolean(false);
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+
+        for (MatchedPreference match : matches) {
+            inFlight.acquire();
+            if (campaignClosed.get()) {
+                inFlight.release();
+                break;
+            }
+            BigDecimal amount = campaign.getMaxInvestment() != null
+                    ? match.getAmount().min(campaign.getMaxInvestment())
+                    : match.getAmount();
+            Runnable placement = () -> {
+                try {
+                    autoInvestUseCase.placeAutoInvestment(
+                            match.getPreferenceId(), match.getUserId(), campaignId, amount);
+                    placed.incrementAndGet();
+                } catch (BusinessRuleException e) {
+                    skipped.incrementAndGet();
+                    if (CAMPAIGN_CLOSED_CODES.contains(e.getCode())) {
+                        campaignClosed.set(true);
+                    }
+                    log.debug("Auto-invest skipped for user {} in campaign {}: {}",
+                            match.getUserId(), campaignId, e.getMessage());
+                } catch (Exception e) {
+                    skipped.incrementAndGet();
+                    log.error("Auto-invest failed for user {} in campaign {}: {}",
+                            match.getUserId(), campaignId, e.getMessage());
+                } finally {
+                    inFlight.release();
+                }
+            };
+            try {
+                autoInvestExecutor.execute(placement);
+            } catch (RejectedExecutionException e) {
+                log.debug("Auto-invest pool rejected a placement for campaign {}; placing it on the run's thread: {}",
+                        campaignId, e.getMessage());
+                placement.run();
+            }
+        }
+
+        inFlight.acquire(perCampaignConcurrency);
+        inFlight.release(perCampaignConcurrency);
+
+        log.info("Auto-invest run for campaign {} complete: {} placed, {} skipped in {} ms",
+                campaignId, placed.get(), skipped.get(), System.currentTimeMillis() - started);
+        return placed.get();
+    }
+}
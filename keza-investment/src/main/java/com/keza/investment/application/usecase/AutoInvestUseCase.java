@@ -4,13 +4,17 @@ import com.keza.common.exception.BusinessRuleException;
 import com.keza.common.exception.ResourceNotFoundException;
 import com.keza.investment.application.dto.AutoInvestPreferenceRequest;
 import com.keza.investment.application.dto.AutoInvestPreferenceResponse;
+import com.keza.investment.application.dto.CreateInvestmentRequest;
+import com.keza.investment.application.dto.InvestmentResponse;
 import com.keza.investment.domain.model.AutoInvestPreference;
 import com.keza.investment.domain.port.out.AutoInvestPreferenceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.UUID;
 
 @Slf4j
@@ -19,6 +23,10 @@ import java.util.UUID;
 public class AutoInvestUseCase {
 
     private final AutoInvestPreferenceRepository autoInvestPreferenceRepository;
+    private final InvestmentUseCase investmentUseCase;
+
+    @Value("${keza.auto-invest.payment-method:MPESA}")
+    private String paymentMethod;
 
     @Transactional
     public AutoInvestPreferenceResponse createOrUpdatePreference(UUID userId, AutoInvestPreferenceRequest request) {
@@ -71,6 +79,28 @@ public class AutoInvestUseCase {
         log.info("Auto-invest preference deleted for user {}", userId);
     }
 
+    /**
+     * Places one auto-investment and deducts it from the preference's remaining budget in the
+     * same transaction, so a failed deduction (budget spent or preference disabled concurrently)
+     * rolls back the investment.
+     */
+    @Transactional
+    public InvestmentResponse placeAutoInvestment(UUID preferenceId, UUID userId, UUID campaignId, BigDecimal amount) {
+        InvestmentResponse investment = investmentUseCase.createInvestment(userId, CreateInvestmentRequest.builder()
+                .campaignId(campaignId)
+                .amount(amount)
+                .paymentMethod(paymentMethod)
+                .build());
+
+        if (autoInvestPreferenceRepository.deductBudget(preferenceId, investment.getAmount()) == 0) {
+            throw new BusinessRuleException("INSUFFICIENT_BUDGET",
+                    "Auto-invest budget is no longer available for preference " + preferenceId);
+        }
+
+        log.info("Auto-invested {} KES for user {} in campaign {}", investment.getAmount(), userId, campaignId);
+        return investment;
+    }
+
     private AutoInvestPreferenceResponse mapToResponse(AutoInvestPreference preference) {
         return AutoInvestPreferenceResponse.builder()
                 .id(preference.getId())
@@ -6,13 +6,10 @@ import com.keza.common.enums.InvestmentStatus;
 import com.keza.common.exception.BusinessRuleException;
 import com.keza.common.exception.ResourceNotFoundException;
 import com.keza.investment.application.dto.CampaignAnalyticsResponse;
-import com.keza.investment.domain.model.Investment;
-import com.keza.investment.domain.port.out.InvestmentRepository;
+import com.keza.investment.domain.port.out.CampaignDailyStatsRepository;
+import com.keza.investment.domain.port.out.CampaignDailyStatsRepository.StatusTotal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,7 +17,6 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -30,8 +26,16 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CampaignAnalyticsUseCase {
 
+    /**
+     * Statuses included in the investment size figures and the daily funding chart.
+     */
+    private static final List<String> ACTIVE_STATUSES = Arrays.stream(InvestmentStatus.values())
+            .filter(status -> status != InvestmentStatus.CANCELLED && status != InvestmentStatus.REFUNDED)
+            .map(InvestmentStatus::name)
+            .toList();
+
     private final CampaignRepository campaignRepository;
-    private final InvestmentRepository investmentRepository;
+    private final CampaignDailyStatsRepository dailyStatsRepository;
 
     @Transactional(readOnly = true)
     public CampaignAnalyticsResponse getCampaignAnalytics(UUID campaignId, UUID issuerId) {
@@ -42,10 +46,6 @@ public class CampaignAnalyticsUseCase {
             throw new BusinessRuleException("FORBIDDEN", "You do not own this campaign");
         }
 
-        Page<Investment> investmentsPage = investmentRepository.findByCampaignIdOrderByCreatedAtDesc(
-                campaignId, PageRequest.of(0, 10000, Sort.by(Sort.Direction.DESC, "createdAt")));
-        List<Investment> investments = investmentsPage.getContent();
-
         BigDecimal fundingPercentage = BigDecimal.ZERO;
         if (campaign.getTargetAmount().signum() > 0) {
             fundingPercentage = campaign.getRaisedAmount()
@@ -53,31 +53,26 @@ public class CampaignAnalyticsUseCase {
                     .divide(campaign.getTargetAmount(), 2, RoundingMode.HALF_UP);
         }
 
-        BigDecimal averageInvestment = BigDecimal.ZERO;
-        BigDecimal largestInvestment = BigDecimal.ZERO;
-        BigDecimal smallestInvestment = BigDecimal.ZERO;
-
-        List<Investment> activeInvestments = investments.stream()
-                .filter(inv -> inv.getStatus() != InvestmentStatus.CANCELLED
-                        && inv.getStatus() != InvestmentStatus.REFUNDED)
-                .collect(Collectors.toList());
+        List<StatusTotal> statusTotals = dailyStatsRepository.findStatusTotals(campaignId);
 
-        if (!activeInvestments.isEmpty()) {
-            BigDecimal totalAmount = activeInvestments.stream()
-                    .map(Investment::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            averageInvestment = totalAmount.divide(
-                    BigDecimal.valueOf(activeInvestments.size()), 2, RoundingMode.HALF_UP);
-            largestInvestment = activeInvestments.stream()
-                    .map(Investment::getAmount)
-                    .max(BigDecimal::compareTo)
-                    .orElse(BigDecimal.ZERO);
-            smallestInvestment = activeInvestments.stream()
-                    .map(Investment::getAmount)
-                    .min(BigDecimal::compareTo)
-                    .orElse(BigDecimal.ZERO);
+        long activeCount = 0;
+        BigDecimal activeAmount = BigDecimal.ZERO;
+        BigDecimal largestInvestment = null;
+        BigDecimal smallestInvestment = null;
+        for (StatusTotal total : statusTotals) {
+            if (!ACTIVE_STATUSES.contains(total.status())) {
+                continue;
+            }
+            activeCount += total.count();
+            activeAmount = activeAmount.add(total.amount());
+            largestInvestment = largestInvestment == null ? total.maxAmount() : largestInvestment.max(total.maxAmount());
+            smallestInvestment = smallestInvestment == null ? total.minAmount() : smallestInvestment.min(total.minAmount());
         }
 
+        BigDecimal averageInvestment = activeCount > 0
+                ? activeAmount.divide(BigDecimal.valueOf(activeCount), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+
         int daysRemaining = 0;
         int totalDays = 0;
         if (campaign.getStartDate() != null && campaign.getEndDate() != null) {
@@ -94,18 +89,26 @@ public class CampaignAnalyticsUseCase {
         BigDecimal dailyVelocity = campaign.getRaisedAmount()
                 .divide(BigDecimal.valueOf(elapsedDays), 2, RoundingMode.HALF_UP);
 
+        Map<String, BigDecimal> statusAmounts = new HashMap<>();
+        for (StatusTotal total : statusTotals) {
+            statusAmounts.put(total.status(), total.amount());
+        }
         Map<String, BigDecimal> investmentsByStatus = new LinkedHashMap<>();
         for (InvestmentStatus status : InvestmentStatus.values()) {
-            BigDecimal statusTotal = investments.stream()
-                    .filter(inv -> inv.getStatus() == status)
-                    .map(Investment::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            if (statusTotal.signum() > 0) {
+            BigDecimal statusTotal = statusAmounts.get(status.name());
+            if (statusTotal != null && statusTotal.signum() > 0) {
                 investmentsByStatus.put(status.name(), statusTotal);
             }
         }
 
-        List<CampaignAnalyticsResponse.DailyInvestmentData> dailyInvestments = buildDailyInvestments(activeInvestments);
+        List<CampaignAnalyticsResponse.DailyInvestmentData> dailyInvestments = dailyStatsRepository
+                .findDailyTotals(campaignId, ACTIVE_STATUSES).stream()
+                .map(day -> CampaignAnalyticsResponse.DailyInvestmentData.builder()
+                        .date(day.date().toString())
+                        .amount(day.amount())
+                        .count((int) day.count())
+                        .build())
+                .collect(Collectors.toList());
 
         return CampaignAnalyticsResponse.builder()
                 .totalRaised(campaign.getRaisedAmount())
@@ -115,8 +118,8 @@ public class CampaignAnalyticsUseCase {
                 .totalShares(campaign.getTotalShares() != null ? campaign.getTotalShares() : 0)
                 .soldShares(campaign.getSoldShares())
                 .averageInvestment(averageInvestment)
-                .largestInvestment(largestInvestment)
-                .smallestInvestment(smallestInvestment)
+                .largestInvestment(largestInvestment != null ? largestInvestment : BigDecimal.ZERO)
+                .smallestInvestment(smallestInvestment != null ? smallestInvestment : BigDecimal.ZERO)
                 .daysRemaining(daysRemaining)
                 .totalDays(totalDays)
                 .dailyFundingVelocity(dailyVelocity)
@@ -124,24 +127,4 @@ public class CampaignAnalyticsUseCase {
                 .dailyInvestments(dailyInvestments)
                 .build();
     }
-
-    private List<CampaignAnalyticsResponse.DailyInvestmentData> buildDailyInvestments(List<Investment> investments) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        Map<String, BigDecimal> dailyAmounts = new TreeMap<>();
-        Map<String, Integer> dailyCounts = new TreeMap<>();
-
-        for (Investment inv : investments) {
-            String date = inv.getCreatedAt().atZone(ZoneId.systemDefault()).toLocalDate().format(formatter);
-            dailyAmounts.merge(date, inv.getAmount(), BigDecimal::add);
-            dailyCounts.merge(date, 1, Integer::sum);
-        }
-
-        return dailyAmounts.entrySet().stream()
-                .map(entry -> CampaignAnalyticsResponse.DailyInvestmentData.builder()
-                        .date(entry.getKey())
-                        .amount(entry.getValue())
-                        .count(dailyCounts.getOrDefault(entry.getKey(), 0))
-                        .build())
-                .collect(Collectors.toList());
-    }
 }
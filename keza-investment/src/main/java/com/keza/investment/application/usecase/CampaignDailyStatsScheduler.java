@@ -0,0 +1,36 @@
+package com.keza.investment.application.usecase;
+
+import com.keza.investment.domain.port.out.CampaignDailyStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CampaignDailyStatsScheduler {
+
+    /**
+     * How far before the watermark to re-read, so investments committed by transactions that
+     * were still open at the previous refresh are not missed. Recomputing a bucket is idempotent.
+     */
+    static final Duration REFRESH_OVERLAP = Duration.ofMinutes(5);
+
+    private final CampaignDailyStatsRepository dailyStatsRepository;
+
+    /**
+     * Brings the campaign_daily_stats rollup up to date with recently changed investments.
+     */
+    @Scheduled(fixedDelay = 60000)
+    @Transactional
+    public void refreshDailyStats() {
+        int written = dailyStatsRepository.refreshChangedBuckets(REFRESH_OVERLAP);
+        if (written < 0) {
+            log.debug("Campaign daily stats refresh already running on another instance");
+        }
+    }
+}
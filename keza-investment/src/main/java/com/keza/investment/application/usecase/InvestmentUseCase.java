@@ -2,6 +2,7 @@ package com.keza.investment.application.usecase;
 
 import com.keza.campaign.domain.model.Campaign;
 import com.keza.campaign.domain.port.out.CampaignRepository;
+import com.keza.campaign.domain.service.CampaignRaiseAccumulator;
 import com.keza.common.enums.InvestmentStatus;
 import com.keza.common.enums.PaymentMethod;
 import com.keza.common.exception.BusinessRuleException;
@@ -14,7 +15,9 @@ import com.keza.investment.domain.model.Transaction;
 import com.keza.investment.domain.model.TransactionType;
 import com.keza.investment.domain.port.out.InvestmentRepository;
 import com.keza.investment.domain.port.out.TransactionRepository;
+import com.keza.investment.domain.service.AnnualInvestmentLedger;
 import com.keza.investment.domain.service.InvestmentValidator;
+import com.keza.investment.domain.service.PortfolioProjection;
 import com.keza.user.domain.model.User;
 import com.keza.user.domain.port.out.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -42,8 +45,11 @@ public class InvestmentUseCase {
     private final InvestmentRepository investmentRepository;
     private final TransactionRepository transactionRepository;
     private final CampaignRepository campaignRepository;
+    private final CampaignRaiseAccumulator campaignRaiseAccumulator;
     private final UserRepository userRepository;
     private final InvestmentValidator investmentValidator;
+    private final AnnualInvestmentLedger annualInvestmentLedger;
+    private final PortfolioProjection portfolioProjection;
     private final ApplicationEventPublisher eventPublisher;
     private final InvestmentEventUseCase investmentEventUseCase;
 
@@ -60,8 +66,7 @@ public class InvestmentUseCase {
         boolean alreadyInvested = investmentRepository.existsByInvestorIdAndCampaignId(
                 investorId, request.getCampaignId());
 
-        investmentValidator.validate(investorId, campaign, request.getAmount(),
-                investor.getKycStatus(), alreadyInvested);
+        investmentValidator.validate(investor, campaign, request.getAmount(), alreadyInvested);
 
         PaymentMethod paymentMethod = PaymentMethod.valueOf(request.getPaymentMethod().toUpperCase());
 
@@ -88,6 +93,10 @@ public class InvestmentUseCase {
                 .coolingOffExpiresAt(Instant.now().plus(COOLING_OFF_PERIOD))
                 .build();
 
+        campaignRaiseAccumulator.reserve(campaign.getId(), actualAmount, shares);
+
+        // Queue every entity insert before the native ledger and projection upserts, so the
+        // session is flushed once with the inserts ordered into JDBC batches
         investment = investmentRepository.save(investment);
 
         Transaction transaction = Transaction.builder()
@@ -102,13 +111,11 @@ public class InvestmentUseCase {
 
         transactionRepository.save(transaction);
 
-        int updatedRows = campaignRepository.updateRaisedAmount(
-                campaign.getId(), actualAmount, shares, campaign.getVersion());
+        investmentEventUseCase.recordEvent(investment.getId(), investorId,
+                "INVESTMENT_CREATED", "Investment of " + actualAmount + " KES in " + campaign.getTitle(), null);
 
-        if (updatedRows == 0) {
-            throw new BusinessRuleException("CONCURRENT_UPDATE",
-                    "Campaign was updated by another transaction. Please try again.");
-        }
+        annualInvestmentLedger.record(investment);
+        portfolioProjection.recordCreated(investment, campaign);
 
         eventPublisher.publishEvent(new InvestmentCreatedEvent(
                 investment.getId(), investorId, campaign.getId(), actualAmount));
@@ -116,9 +123,6 @@ public class InvestmentUseCase {
         log.info("Investment {} created successfully: {} shares at {} = {}",
                 investment.getId(), shares, sharePrice, actualAmount);
 
-        investmentEventUseCase.recordEvent(investment.getId(), investorId,
-                "INVESTMENT_CREATED", "Investment of " + actualAmount + " KES in " + campaign.getTitle(), null);
-
         return mapToResponse(investment, campaign);
     }
 
@@ -146,6 +150,7 @@ public class InvestmentUseCase {
                     "The 48-hour cooling-off period has expired. This investment can no longer be cancelled.");
         }
 
+        InvestmentStatus previousStatus = investment.getStatus();
         investment.setStatus(InvestmentStatus.CANCELLED);
         investment.setCancelledAt(Instant.now());
         investment.setCancellationReason("Cancelled by investor within cooling-off period");
@@ -154,15 +159,13 @@ public class InvestmentUseCase {
         BigDecimal investmentAmount = investment.getAmount();
         long investmentShares = investment.getShares();
         investmentRepository.save(investment);
+        annualInvestmentLedger.reverse(investment);
 
         Campaign campaign = campaignRepository.findByIdAndDeletedFalse(campaignId)
                 .orElseThrow(() -> new ResourceNotFoundException("Campaign", campaignId));
 
-        campaignRepository.updateRaisedAmount(
-                campaign.getId(),
-                investmentAmount.negate(),
-                -investmentShares,
-                campaign.getVersion());
+        campaignRaiseAccumulator.release(campaign.getId(), investmentAmount, investmentShares);
+        portfolioProjection.recordTransition(investment, campaign, previousStatus);
 
         Transaction refundTransaction = Transaction.builder()
                 .investmentId(investmentId)
@@ -198,16 +201,20 @@ public class InvestmentUseCase {
                     "Investment cannot be completed from status: " + investment.getStatus());
         }
 
+        InvestmentStatus previousStatus = investment.getStatus();
         investment.setStatus(InvestmentStatus.COMPLETED);
         investment.setCompletedAt(Instant.now());
         investment = investmentRepository.save(investment);
 
+        Campaign campaign = findCampaignSafe(investment.getCampaignId());
+        portfolioProjection.recordTransition(investment, campaign, previousStatus);
+
         log.info("Investment {} completed successfully", investmentId);
 
         investmentEventUseCase.recordEvent(investmentId, investment.getInvestorId(),
                 "INVESTMENT_COMPLETED", "Investment payment confirmed and completed", null);
 
-        return mapToResponse(investment, findCampaignSafe(investment.getCampaignId()));
+        return mapToResponse(investment, campaign);
     }
 
     @Transactional
@@ -223,17 +230,22 @@ public class InvestmentUseCase {
                     "Investment cannot be refunded from status: " + investment.getStatus());
         }
 
+        InvestmentStatus previousStatus = investment.getStatus();
         investment.setStatus(InvestmentStatus.REFUNDED);
         investment.setCancelledAt(Instant.now());
         investment.setCancellationReason("Payment refunded");
         investment = investmentRepository.save(investment);
+        annualInvestmentLedger.reverse(investment);
+
+        Campaign campaign = findCampaignSafe(investment.getCampaignId());
+        portfolioProjection.recordTransition(investment, campaign, previousStatus);
 
         log.info("Investment {} refunded successfully", investmentId);
 
         investmentEventUseCase.recordEvent(investmentId, investment.getInvestorId(),
                 "INVESTMENT_REFUNDED", "Investment refunded", null);
 
-        return mapToResponse(investment, findCampaignSafe(investment.getCampaignId()));
+        return mapToResponse(investment, campaign);
     }
 
     @Transactional(readOnly = true)
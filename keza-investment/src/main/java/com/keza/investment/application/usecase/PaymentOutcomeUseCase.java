@@ -0,0 +1,147 @@
+package com.keza.investment.application.usecase;
+
+import com.keza.common.enums.InvestmentStatus;
+import com.keza.common.enums.TransactionStatus;
+import com.keza.investment.application.dto.InvestmentResponse;
+import com.keza.investment.domain.port.out.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Applies payment provider outcomes to the payment's transaction and its investment.
+ * <p>
+ * Each outcome is one database transaction: the transaction status and the investment
+ * transition are committed together or not at all. An outcome whose transaction already has
+ * the target status is a redelivery and is skipped, so applying the same event twice is safe.
+ * An outcome whose investment can no longer make the transition (already cancelled, say, or
+ * past its cooling-off period) still records the transaction status and leaves the investment
+ * as it is, rather than failing and rolling the status back with it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentOutcomeUseCase {
+
+    private static final Set<InvestmentStatus> COMPLETABLE = EnumSet.of(
+            InvestmentStatus.PENDING, InvestmentStatus.COOLING_OFF, InvestmentStatus.PAYMENT_INITIATED);
+    private static final Set<InvestmentStatus> CANCELLABLE = EnumSet.of(
+            InvestmentStatus.PENDING, InvestmentStatus.COOLING_OFF);
+    private static final Set<InvestmentStatus> REFUNDABLE = EnumSet.complementOf(EnumSet.of(
+            InvestmentStatus.REFUNDED, InvestmentStatus.CANCELLED));
+
+    private final TransactionRepository transactionRepository;
+    private final InvestmentUseCase investmentUseCase;
+
+    @Transactional
+    public void completePayment(String providerReference, UUID investmentId) {
+        log.info("Handling PAYMENT_COMPLETED for providerReference: {}", providerReference);
+
+        if (!updateTransactionStatus(providerReference, TransactionStatus.COMPLETED)) {
+            return;
+        }
+        if (investmentId == null) {
+            log.warn("No investmentId in PAYMENT_COMPLETED event for providerReference: {}", providerReference);
+            return;
+        }
+        InvestmentResponse investment = investmentUseCase.getInvestment(investmentId);
+        if (!canTransition(investment, COMPLETABLE, "completed")) {
+            return;
+        }
+        investmentUseCase.completeInvestment(investmentId);
+        log.info("Investment {} completed via payment callback", investmentId);
+    }
+
+    @Transactional
+    public void failPayment(String providerReference, UUID investmentId, String failureReason) {
+        log.info("Handling PAYMENT_FAILED for providerReference: {}", providerReference);
+
+        if (!updateTransactionStatus(providerReference, TransactionStatus.FAILED)) {
+            return;
+        }
+        if (investmentId == null) {
+            log.warn("No investmentId in PAYMENT_FAILED event for providerReference: {}", providerReference);
+            return;
+        }
+        // Look up the investment to cancel it on behalf of its investor
+        InvestmentResponse investment = investmentUseCase.getInvestment(investmentId);
+        if (!canTransition(investment, CANCELLABLE, "cancelled")) {
+            return;
+        }
+        if (investment.getCoolingOffExpiresAt() != null
+                && Instant.now().isAfter(investment.getCoolingOffExpiresAt())) {
+            log.warn("Investment {} is past its cooling-off period and cannot be cancelled; "
+                    + "leaving it as {} after payment failure", investmentId, investment.getStatus());
+            return;
+        }
+        investmentUseCase.cancelInvestment(investmentId, investment.getInvestorId());
+        log.info("Investment {} cancelled due to payment failure: {}", investmentId, failureReason);
+    }
+
+    @Transactional
+    public void refundPayment(String providerReference, UUID investmentId, String refundReference) {
+        log.info("Handling PAYMENT_REFUNDED for providerReference: {}, refundReference: {}",
+                providerReference, refundReference);
+
+        if (!updateTransactionStatus(providerReference, TransactionStatus.REFUNDED)) {
+            return;
+        }
+        if (investmentId == null) {
+            log.warn("No investmentId in PAYMENT_REFUNDED event for providerReference: {}", providerReference);
+            return;
+        }
+        InvestmentResponse investment = investmentUseCase.getInvestment(investmentId);
+        if (!canTransition(investment, REFUNDABLE, "refunded")) {
+            return;
+        }
+        investmentUseCase.refundInvestment(investmentId);
+        log.info("Investment {} refunded via payment callback", investmentId);
+    }
+
+    /**
+     * Checks the investment's status up front: a transition rejected inside the investment use
+     * case would mark this transaction rollback-only, taking the status update down with it.
+     */
+    private boolean canTransition(InvestmentResponse investment, Set<InvestmentStatus> from, String action) {
+        if (from.contains(InvestmentStatus.valueOf(investment.getStatus()))) {
+            return true;
+        }
+        log.warn("Investment {} cannot be {} from status {}; leaving it unchanged",
+                investment.getId(), action, investment.getStatus());
+        return false;
+    }
+
+    /**
+     * @return false if the transaction already has {@code status}, meaning this outcome was applied before
+     */
+    private boolean updateTransactionStatus(String providerReference, TransactionStatus status) {
+        if (providerReference == null || providerReference.isEmpty()) {
+            log.warn("Cannot update transaction status: providerReference is null or empty");
+            return true;
+        }
+
+        return transactionRepository.findByProviderReference(providerReference)
+                .map(transaction -> {
+                    if (transaction.getStatus() == status) {
+                        log.info("Transaction {} is already {}; skipping redelivered event for providerReference: {}",
+                                transaction.getId(), status, providerReference);
+                        return false;
+                    }
+                    transaction.setStatus(status);
+                    transactionRepository.save(transaction);
+                    log.info("Transaction {} status updated to {} for providerReference: {}",
+                            transaction.getId(), status, providerReference);
+                    return true;
+                })
+                .orElseGet(() -> {
+                    log.warn("No transaction found for providerReference: {}", providerReference);
+                    return true;
+                });
+    }
+}
@@ -1,139 +1,98 @@
 package com.keza.investment.application.usecase;
 
-import com.keza.campaign.domain.model.Campaign;
-import com.keza.campaign.domain.port.out.CampaignRepository;
-import com.keza.common.enums.InvestmentStatus;
 import com.keza.investment.application.dto.InvestmentResponse;
 import com.keza.investment.application.dto.PortfolioResponse;
-import com.keza.investment.domain.model.Investment;
-import com.keza.investment.domain.port.out.InvestmentRepository;
+import com.keza.investment.domain.event.PortfolioChangedEvent;
+import com.keza.investment.domain.model.InvestorPortfolioSector;
+import com.keza.investment.domain.model.InvestorPortfolioSummary;
+import com.keza.investment.domain.port.out.InvestorPortfolioSectorRepository;
+import com.keza.investment.domain.port.out.InvestorPortfolioSummaryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.*;
-import java.util.stream.Collectors;
 
+/**
+ * Serves investor portfolios from the materialized summary maintained by
+ * {@link com.keza.investment.domain.service.PortfolioProjection}. The cached portfolio is
+ * evicted for the affected investor whenever one of their investments changes status.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PortfolioUseCase {
 
-    private final InvestmentRepository investmentRepository;
-    private final CampaignRepository campaignRepository;
+    /**
+     * Number of most recent investments included in the portfolio; the full history is
+     * available through the paged investments endpoint.
+     */
+    static final int RECENT_INVESTMENTS_LIMIT = 20;
+
+    private final InvestorPortfolioSummaryRepository summaryRepository;
+    private final InvestorPortfolioSectorRepository sectorRepository;
     private final InvestmentUseCase investmentUseCase;
 
     @Transactional(readOnly = true)
     @Cacheable(value = "portfolio", key = "#userId")
     public PortfolioResponse getPortfolio(UUID userId) {
-        log.info("Building portfolio for user {}", userId);
-
-        Page<Investment> investmentsPage = investmentRepository.findByInvestorIdOrderByCreatedAtDesc(
-                userId, PageRequest.of(0, 1000, Sort.by(Sort.Direction.DESC, "createdAt")));
-
-        List<Investment> allInvestments = investmentsPage.getContent();
-
-        BigDecimal totalInvested = allInvestments.stream()
-                .filter(inv -> inv.getStatus() == InvestmentStatus.COMPLETED
-                        || inv.getStatus() == InvestmentStatus.COOLING_OFF
-                        || inv.getStatus() == InvestmentStatus.PENDING)
-                .map(Investment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        int activeInvestments = (int) allInvestments.stream()
-                .filter(inv -> inv.getStatus() == InvestmentStatus.COMPLETED
-                        || inv.getStatus() == InvestmentStatus.COOLING_OFF)
-                .count();
+        log.info("Loading portfolio for user {}", userId);
 
-        int pendingInvestments = (int) allInvestments.stream()
-                .filter(inv -> inv.getStatus() == InvestmentStatus.PENDING
-                        || inv.getStatus() == InvestmentStatus.PAYMENT_INITIATED)
-                .count();
+        InvestorPortfolioSummary summary = summaryRepository.findByInvestorId(userId)
+                .orElseGet(() -> InvestorPortfolioSummary.builder().investorId(userId).build());
 
-        int cancelledInvestments = (int) allInvestments.stream()
-                .filter(inv -> inv.getStatus() == InvestmentStatus.CANCELLED
-                        || inv.getStatus() == InvestmentStatus.REFUNDED)
-                .count();
+        List<InvestmentResponse> recentInvestments = summary.getTotalCount() == 0
+                ? Collections.emptyList()
+                : investmentUseCase.getUserInvestments(userId, PageRequest.of(0, RECENT_INVESTMENTS_LIMIT,
+                        Sort.by(Sort.Direction.DESC, "createdAt"))).getContent();
 
-        // Batch lookup campaigns for all investments
-        Set<UUID> campaignIds = allInvestments.stream()
-                .map(Investment::getCampaignId)
-                .collect(Collectors.toSet());
-
-        Map<UUID, Campaign> campaignMap = campaignIds.isEmpty()
-                ? Collections.emptyMap()
-                : campaignRepository.findAllById(campaignIds).stream()
-                        .collect(Collectors.toMap(Campaign::getId, c -> c));
-
-        Map<String, BigDecimal> sectorDistribution = buildSectorDistribution(allInvestments, campaignMap);
-
-        List<InvestmentResponse> investmentResponses = allInvestments.stream()
-                .map(inv -> investmentUseCase.mapToResponse(inv, campaignMap.get(inv.getCampaignId())))
-                .collect(Collectors.toList());
-
-        // Calculate performance metrics
-        BigDecimal totalReturns = calculateTotalReturns(allInvestments, campaignMap);
+        BigDecimal totalReturns = summary.getActiveValue().subtract(summary.getActiveCost());
         BigDecimal roiPercentage = BigDecimal.ZERO;
-        if (totalInvested.signum() > 0) {
+        if (summary.getTotalInvested().signum() > 0) {
             roiPercentage = totalReturns
                     .multiply(BigDecimal.valueOf(100))
-                    .divide(totalInvested, 2, RoundingMode.HALF_UP);
+                    .divide(summary.getTotalInvested(), 2, RoundingMode.HALF_UP);
         }
 
         BigDecimal averageInvestmentAmount = BigDecimal.ZERO;
-        if (!allInvestments.isEmpty()) {
-            BigDecimal allAmounts = allInvestments.stream()
-                    .map(Investment::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            averageInvestmentAmount = allAmounts.divide(
-                    BigDecimal.valueOf(allInvestments.size()), 2, RoundingMode.HALF_UP);
+        if (summary.getTotalCount() > 0) {
+            averageInvestmentAmount = summary.getLifetimeAmount().divide(
+                    BigDecimal.valueOf(summary.getTotalCount()), 2, RoundingMode.HALF_UP);
         }
 
-        Map<String, Integer> stageBreakdown = buildStageBreakdown(allInvestments);
-
         return PortfolioResponse.builder()
-                .totalInvested(totalInvested)
-                .activeInvestments(activeInvestments)
-                .pendingInvestments(pendingInvestments)
-                .cancelledInvestments(cancelledInvestments)
-                .totalInvestmentCount(allInvestments.size())
+                .totalInvested(summary.getTotalInvested())
+                .activeInvestments(summary.getCompletedCount() + summary.getCoolingOffCount())
+                .pendingInvestments(summary.getPendingCount() + summary.getPaymentInitiatedCount())
+                .cancelledInvestments(summary.getCancelledCount() + summary.getRefundedCount())
+                .totalInvestmentCount(summary.getTotalCount())
                 .totalReturns(totalReturns)
                 .roiPercentage(roiPercentage)
                 .averageInvestmentAmount(averageInvestmentAmount)
-                .investmentStageBreakdown(stageBreakdown)
-                .sectorDistribution(sectorDistribution)
-                .investments(investmentResponses)
+                .investmentStageBreakdown(buildStageBreakdown(summary))
+                .sectorDistribution(buildSectorDistribution(sectorRepository.findActiveByInvestorId(userId)))
+                .investments(recentInvestments)
                 .build();
     }
 
-    private Map<String, BigDecimal> buildSectorDistribution(List<Investment> investments,
-                                                             Map<UUID, Campaign> campaignMap) {
-        List<Investment> activeInvestments = investments.stream()
-                .filter(inv -> inv.getStatus() == InvestmentStatus.COMPLETED
-                        || inv.getStatus() == InvestmentStatus.COOLING_OFF)
-                .collect(Collectors.toList());
-
-        if (activeInvestments.isEmpty()) {
-            return Collections.emptyMap();
-        }
-
-        Map<String, BigDecimal> sectorTotals = new HashMap<>();
-
-        for (Investment investment : activeInvestments) {
-            Campaign campaign = campaignMap.get(investment.getCampaignId());
-            String industry = (campaign != null && campaign.getIndustry() != null)
-                    ? campaign.getIndustry() : "Other";
-            sectorTotals.merge(industry, investment.getAmount(), BigDecimal::add);
-        }
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @CacheEvict(value = "portfolio", key = "#event.investorId()")
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        log.debug("Evicted cached portfolio for user {}", event.investorId());
+    }
 
-        BigDecimal total = sectorTotals.values().stream()
+    private Map<String, BigDecimal> buildSectorDistribution(List<InvestorPortfolioSector> sectors) {
+        BigDecimal total = sectors.stream()
+                .map(InvestorPortfolioSector::getActiveAmount)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         if (total.compareTo(BigDecimal.ZERO) == 0) {
@@ -141,43 +100,30 @@ public class PortfolioUseCase {
         }
 
         Map<String, BigDecimal> sectorPercentages = new LinkedHashMap<>();
-        for (Map.Entry<String, BigDecimal> entry : sectorTotals.entrySet()) {
-            BigDecimal percentage = entry.getValue()
+        for (InvestorPortfolioSector sector : sectors) {
+            BigDecimal percentage = sector.getActiveAmount()
                     .multiply(BigDecimal.valueOf(100))
-                    .divide(total, 2, java.math.RoundingMode.HALF_UP);
-            sectorPercentages.put(entry.getKey(), percentage);
+                    .divide(total, 2, RoundingMode.HALF_UP);
+            sectorPercentages.put(sector.getSector(), percentage);
         }
 
         return sectorPercentages;
     }
 
-    private BigDecimal calculateTotalReturns(List<Investment> investments, Map<UUID, Campaign> campaignMap) {
-        BigDecimal totalReturns = BigDecimal.ZERO;
-        for (Investment investment : investments) {
-            if (investment.getStatus() == InvestmentStatus.COMPLETED
-                    || investment.getStatus() == InvestmentStatus.COOLING_OFF) {
-                Campaign campaign = campaignMap.get(investment.getCampaignId());
-                if (campaign != null && campaign.getSharePrice() != null) {
-                    BigDecimal currentValue = campaign.getSharePrice()
-                            .multiply(BigDecimal.valueOf(investment.getShares()));
-                    BigDecimal gain = currentValue.subtract(investment.getAmount());
-                    totalReturns = totalReturns.add(gain);
-                }
-            }
-        }
-        return totalReturns;
+    private Map<String, Integer> buildStageBreakdown(InvestorPortfolioSummary summary) {
+        Map<String, Integer> breakdown = new LinkedHashMap<>();
+        putIfPositive(breakdown, "PENDING", summary.getPendingCount());
+        putIfPositive(breakdown, "PAYMENT_INITIATED", summary.getPaymentInitiatedCount());
+        putIfPositive(breakdown, "COOLING_OFF", summary.getCoolingOffCount());
+        putIfPositive(breakdown, "COMPLETED", summary.getCompletedCount());
+        putIfPositive(breakdown, "CANCELLED", summary.getCancelledCount());
+        putIfPositive(breakdown, "REFUNDED", summary.getRefundedCount());
+        return breakdown;
     }
 
-    private Map<String, Integer> buildStageBreakdown(List<Investment> investments) {
-        Map<String, Integer> breakdown = new LinkedHashMap<>();
-        for (InvestmentStatus status : InvestmentStatus.values()) {
-            int count = (int) investments.stream()
-                    .filter(inv -> inv.getStatus() == status)
-                    .count();
-            if (count > 0) {
-                breakdown.put(status.name(), count);
-            }
+    private void putIfPositive(Map<String, Integer> breakdown, String status, int count) {
+        if (count > 0) {
+            breakdown.put(status, count);
         }
-        return breakdown;
     }
 }
@@ -0,0 +1,8 @@
+package com.keza.investment.domain.event;
+
+import java.util.UUID;
+
+public record PortfolioChangedEvent(
+        UUID investorId
+) {
+}
@@ -0,0 +1,28 @@
+package com.keza.investment.domain.model;
+
+import com.keza.common.domain.model.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Entity
+@Table(name = "investor_annual_totals")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InvestorAnnualTotal extends BaseEntity {
+
+    @Column(name = "investor_id", nullable = false)
+    private UUID investorId;
+
+    @Column(name = "calendar_year", nullable = false)
+    private int calendarYear;
+
+    @Column(name = "total_amount", nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+}
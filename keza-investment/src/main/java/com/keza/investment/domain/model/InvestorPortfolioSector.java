@@ -0,0 +1,28 @@
+package com.keza.investment.domain.model;
+
+import com.keza.common.domain.model.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Entity
+@Table(name = "investor_portfolio_sectors")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InvestorPortfolioSector extends BaseEntity {
+
+    @Column(name = "investor_id", nullable = false)
+    private UUID investorId;
+
+    @Column(nullable = false, length = 100)
+    private String sector;
+
+    @Column(name = "active_amount", nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal activeAmount = BigDecimal.ZERO;
+}
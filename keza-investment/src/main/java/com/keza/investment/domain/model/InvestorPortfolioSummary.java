@@ -0,0 +1,72 @@
+package com.keza.investment.domain.model;
+
+import com.keza.common.domain.model.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Entity
+@Table(name = "investor_portfolio_summaries")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InvestorPortfolioSummary extends BaseEntity {
+
+    @Column(name = "investor_id", nullable = false, unique = true)
+    private UUID investorId;
+
+    @Column(name = "pending_count", nullable = false)
+    private int pendingCount;
+
+    @Column(name = "payment_initiated_count", nullable = false)
+    private int paymentInitiatedCount;
+
+    @Column(name = "cooling_off_count", nullable = false)
+    private int coolingOffCount;
+
+    @Column(name = "completed_count", nullable = false)
+    private int completedCount;
+
+    @Column(name = "cancelled_count", nullable = false)
+    private int cancelledCount;
+
+    @Column(name = "refunded_count", nullable = false)
+    private int refundedCount;
+
+    /**
+     * Sum of PENDING, COOLING_OFF and COMPLETED investment amounts.
+     */
+    @Column(name = "total_invested", nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal totalInvested = BigDecimal.ZERO;
+
+    /**
+     * Amount paid for COOLING_OFF and COMPLETED investments.
+     */
+    @Column(name = "active_cost", nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal activeCost = BigDecimal.ZERO;
+
+    /**
+     * COOLING_OFF and COMPLETED shares valued at the campaign share price.
+     */
+    @Column(name = "active_value", nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal activeValue = BigDecimal.ZERO;
+
+    /**
+     * Sum of all investment amounts regardless of status.
+     */
+    @Column(name = "lifetime_amount", nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal lifetimeAmount = BigDecimal.ZERO;
+
+    public int getTotalCount() {
+        return pendingCount + paymentInitiatedCount + coolingOffCount
+                + completedCount + cancelledCount + refundedCount;
+    }
+}
@@ -2,8 +2,12 @@ package com.keza.investment.domain.port.out;
 
 import com.keza.investment.domain.model.AutoInvestPreference;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,4 +20,51 @@ public interface AutoInvestPreferenceRepository extends JpaRepository<AutoInvest
     boolean existsByUserId(UUID userId);
 
     List<AutoInvestPreference> findByEnabledTrueAndRemainingBudgetGreaterThan(java.math.BigDecimal minBudget);
+
+    /**
+     * Matches every enabled preference against a campaign in one set-based query.
+     * Industry-filtered preferences are found through the GIN overlap index, unfiltered ones
+     * through the partial index; results are ordered by preference age (first come, first served).
+     */
+    @Query(value = "SELECT m.id AS \"preferenceId\", m.user_id AS \"userId\", m.amount AS \"amount\" FROM (" +
+            "SELECT p.id, p.user_id, p.created_at, " +
+            "LEAST(p.remaining_budget, COALESCE(p.max_per_campaign, p.remaining_budget)) AS amount " +
+            "FROM auto_invest_preferences p " +
+            "WHERE p.enabled = true AND p.industries && ARRAY[CAST(:industry AS text)] " +
+            "UNION ALL " +
+            "SELECT p.id, p.user_id, p.created_at, " +
+            "LEAST(p.remaining_budget, COALESCE(p.max_per_campaign, p.remaining_budget)) AS amount " +
+            "FROM auto_invest_preferences p " +
+            "WHERE p.enabled = true AND (p.industries IS NULL OR cardinality(p.industries) = 0)" +
+            ") m JOIN auto_invest_preferences p ON p.id = m.id " +
+            "WHERE (p.offering_types IS NULL OR cardinality(p.offering_types) = 0 " +
+            "OR CAST(:offeringType AS text) = ANY(p.offering_types)) " +
+            "AND (p.min_target_amount IS NULL OR p.min_target_amount <= :targetAmount) " +
+            "AND (p.max_target_amount IS NULL OR p.max_target_amount >= :targetAmount) " +
+            "AND m.amount >= :minAmount " +
+            "AND p.user_id <> :issuerId " +
+            "ORDER BY m.created_at, m.id",
+            nativeQuery = true)
+    List<MatchedPreference> findMatchingPreferences(@Param("industry") String industry,
+                                                    @Param("offeringType") String offeringType,
+                                                    @Param("targetAmount") BigDecimal targetAmount,
+                                                    @Param("minAmount") BigDecimal minAmount,
+                                                    @Param("issuerId") UUID issuerId);
+
+    @Modifying
+    @Query("UPDATE AutoInvestPreference p SET p.remainingBudget = p.remainingBudget - :amount " +
+            "WHERE p.id = :id AND p.enabled = true AND p.remainingBudget >= :amount")
+    int deductBudget(@Param("id") UUID id, @Param("amount") BigDecimal amount);
+
+    /**
+     * Lightweight projection of a preference matched against a campaign.
+     */
+    interface MatchedPreference {
+
+        UUID getPreferenceId();
+
+        UUID getUserId();
+
+        BigDecimal getAmount();
+    }
 }
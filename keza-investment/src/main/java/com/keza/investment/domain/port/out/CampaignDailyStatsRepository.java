@@ -0,0 +1,39 @@
+package com.keza.investment.domain.port.out;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Port for the {@code campaign_daily_stats} rollup of investments per campaign, day and status.
+ */
+public interface CampaignDailyStatsRepository {
+
+    /**
+     * Recomputes every (campaign, day) bucket containing an investment changed since the last
+     * refresh, re-reading the given overlap before the watermark to catch late commits.
+     * Returns -1 without doing anything if another instance is already refreshing.
+     *
+     * @return the number of rollup rows written
+     */
+    int refreshChangedBuckets(Duration overlap);
+
+    /**
+     * Daily count and amount of a campaign's investments in the given statuses, oldest first.
+     */
+    List<DailyTotal> findDailyTotals(UUID campaignId, List<String> statuses);
+
+    /**
+     * Count, amount and amount range of a campaign's investments per status.
+     */
+    List<StatusTotal> findStatusTotals(UUID campaignId);
+
+    record DailyTotal(LocalDate date, long count, BigDecimal amount) {
+    }
+
+    record StatusTotal(String status, long count, BigDecimal amount,
+                       BigDecimal minAmount, BigDecimal maxAmount) {
+    }
+}
@@ -5,8 +5,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,4 +23,13 @@ public interface InvestmentRepository extends JpaRepository<Investment, UUID>, J
     boolean existsByInvestorIdAndCampaignId(UUID investorId, UUID campaignId);
 
     Page<Investment> findByCampaignIdOrderByCreatedAtDesc(UUID campaignId, Pageable pageable);
+
+    /**
+     * Averages the investor's investment amounts in the database, as an index-only scan of
+     * idx_investments_investor_created_at.
+     *
+     * @return the average, or null if the investor has no investments
+     */
+    @Query(value = "SELECT AVG(amount) FROM investments WHERE investor_id = :investorId", nativeQuery = true)
+    BigDecimal averageAmountByInvestorId(@Param("investorId") UUID investorId);
 }
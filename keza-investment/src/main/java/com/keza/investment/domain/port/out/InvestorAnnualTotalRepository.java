@@ -0,0 +1,29 @@
+package com.keza.investment.domain.port.out;
+
+import com.keza.investment.domain.model.InvestorAnnualTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface InvestorAnnualTotalRepository extends JpaRepository<InvestorAnnualTotal, UUID> {
+
+    @Query("SELECT t.totalAmount FROM InvestorAnnualTotal t " +
+            "WHERE t.investorId = :investorId AND t.calendarYear = :year")
+    Optional<BigDecimal> findTotalAmount(@Param("investorId") UUID investorId, @Param("year") int year);
+
+    @Modifying
+    @Query(value = "INSERT INTO investor_annual_totals (investor_id, calendar_year, total_amount) " +
+            "VALUES (:investorId, :year, :amount) " +
+            "ON CONFLICT (investor_id, calendar_year) DO UPDATE " +
+            "SET total_amount = investor_annual_totals.total_amount + EXCLUDED.total_amount, " +
+            "updated_at = NOW()",
+            nativeQuery = true)
+    int addToTotal(@Param("investorId") UUID investorId, @Param("year") int year, @Param("amount") BigDecimal amount);
+}
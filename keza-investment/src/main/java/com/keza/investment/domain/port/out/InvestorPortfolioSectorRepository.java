@@ -0,0 +1,29 @@
+package com.keza.investment.domain.port.out;
+
+import com.keza.investment.domain.model.InvestorPortfolioSector;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface InvestorPortfolioSectorRepository extends JpaRepository<InvestorPortfolioSector, UUID> {
+
+    @Query("SELECT s FROM InvestorPortfolioSector s WHERE s.investorId = :investorId AND s.activeAmount > 0")
+    List<InvestorPortfolioSector> findActiveByInvestorId(@Param("investorId") UUID investorId);
+
+    @Modifying
+    @Query(value = "INSERT INTO investor_portfolio_sectors (investor_id, sector, active_amount) " +
+            "VALUES (:investorId, :sector, :amount) " +
+            "ON CONFLICT (investor_id, sector) DO UPDATE " +
+            "SET active_amount = investor_portfolio_sectors.active_amount + EXCLUDED.active_amount, " +
+            "updated_at = NOW()",
+            nativeQuery = true)
+    int addToSector(@Param("investorId") UUID investorId, @Param("sector") String sector,
+                    @Param("amount") BigDecimal amount);
+}
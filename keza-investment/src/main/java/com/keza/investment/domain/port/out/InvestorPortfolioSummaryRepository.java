@@ -0,0 +1,49 @@
+package com.keza.investment.domain.port.out;
+
+import com.keza.investment.domain.model.InvestorPortfolioSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface InvestorPortfolioSummaryRepository extends JpaRepository<InvestorPortfolioSummary, UUID> {
+
+    Optional<InvestorPortfolioSummary> findByInvestorId(UUID investorId);
+
+    @Modifying
+    @Query(value = "INSERT INTO investor_portfolio_summaries AS s (investor_id, pending_count, " +
+            "payment_initiated_count, cooling_off_count, completed_count, cancelled_count, refunded_count, " +
+            "total_invested, active_cost, active_value, lifetime_amount) " +
+            "VALUES (:investorId, :pending, :paymentInitiated, :coolingOff, :completed, :cancelled, :refunded, " +
+            ":totalInvested, :activeCost, :activeValue, :lifetimeAmount) " +
+            "ON CONFLICT (investor_id) DO UPDATE SET " +
+            "pending_count = s.pending_count + EXCLUDED.pending_count, " +
+            "payment_initiated_count = s.payment_initiated_count + EXCLUDED.payment_initiated_count, " +
+            "cooling_off_count = s.cooling_off_count + EXCLUDED.cooling_off_count, " +
+            "completed_count = s.completed_count + EXCLUDED.completed_count, " +
+            "cancelled_count = s.cancelled_count + EXCLUDED.cancelled_count, " +
+            "refunded_count = s.refunded_count + EXCLUDED.refunded_count, " +
+            "total_invested = s.total_invested + EXCLUDED.total_invested, " +
+            "active_cost = s.active_cost + EXCLUDED.active_cost, " +
+            "active_value = s.active_value + EXCLUDED.active_value, " +
+            "lifetime_amount = s.lifetime_amount + EXCLUDED.lifetime_amount, " +
+            "updated_at = NOW()",
+            nativeQuery = true)
+    int applyDelta(@Param("investorId") UUID investorId,
+                   @Param("pending") int pending,
+                   @Param("paymentInitiated") int paymentInitiated,
+                   @Param("coolingOff") int coolingOff,
+                   @Param("completed") int completed,
+                   @Param("cancelled") int cancelled,
+                   @Param("refunded") int refunded,
+                   @Param("totalInvested") BigDecimal totalInvested,
+                   @Param("activeCost") BigDecimal activeCost,
+                   @Param("activeValue") BigDecimal activeValue,
+                   @Param("lifetimeAmount") BigDecimal lifetimeAmount);
+}
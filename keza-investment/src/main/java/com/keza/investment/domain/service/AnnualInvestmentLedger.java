@@ -0,0 +1,62 @@
+package com.keza.investment.domain.service;
+
+import com.keza.investment.domain.model.Investment;
+import com.keza.investment.domain.port.out.InvestorAnnualTotalRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * Maintains each investor's running total of active investments per calendar year, so the
+ * CMA annual aggregate check reads a single row instead of the investor's full history.
+ * <p>
+ * Investments are attributed to the calendar year (Africa/Nairobi) in which they were created.
+ * {@link #record} and {@link #reverse} must be called inside the transaction that changes the
+ * investment's status, so the ledger never drifts from the investments table.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnnualInvestmentLedger {
+
+    static final ZoneId LEDGER_ZONE = ZoneId.of("Africa/Nairobi");
+
+    private final InvestorAnnualTotalRepository annualTotalRepository;
+
+    /**
+     * Returns the investor's total active investment amount for the current calendar year.
+     */
+    public BigDecimal currentYearTotal(UUID investorId) {
+        return annualTotalRepository.findTotalAmount(investorId, yearOf(Instant.now()))
+                .orElse(BigDecimal.ZERO);
+    }
+
+    /**
+     * Adds a newly created investment to its investor's annual total.
+     */
+    public void record(Investment investment) {
+        int year = yearOf(investment.getCreatedAt());
+        annualTotalRepository.addToTotal(investment.getInvestorId(), year, investment.getAmount());
+        log.debug("Recorded {} against investor {} annual total for {}",
+                investment.getAmount(), investment.getInvestorId(), year);
+    }
+
+    /**
+     * Removes a cancelled or refunded investment from its investor's annual total.
+     */
+    public void reverse(Investment investment) {
+        int year = yearOf(investment.getCreatedAt());
+        annualTotalRepository.addToTotal(investment.getInvestorId(), year, investment.getAmount().negate());
+        log.debug("Reversed {} from investor {} annual total for {}",
+                investment.getAmount(), investment.getInvestorId(), year);
+    }
+
+    private int yearOf(Instant instant) {
+        return (instant != null ? instant : Instant.now()).atZone(LEDGER_ZONE).getYear();
+    }
+}
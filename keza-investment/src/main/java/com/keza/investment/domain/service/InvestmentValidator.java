@@ -2,11 +2,8 @@ package com.keza.investment.domain.service;
 
 import com.keza.campaign.domain.model.Campaign;
 import com.keza.common.enums.CampaignStatus;
-import com.keza.common.enums.InvestmentStatus;
 import com.keza.common.enums.KycStatus;
 import com.keza.common.exception.BusinessRuleException;
-import com.keza.investment.domain.model.Investment;
-import com.keza.investment.domain.port.out.InvestmentRepository;
 import com.keza.user.domain.model.User;
 import com.keza.user.domain.port.out.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -15,11 +12,7 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.Instant;
-import java.time.LocalDate;
-import java.time.ZoneId;
-import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -43,22 +36,31 @@ public class InvestmentValidator {
      */
     static final BigDecimal ACCREDITED_INVESTOR_INCOME_THRESHOLD = new BigDecimal("5000000");
 
-    /**
-     * Investment statuses that count towards CMA aggregate limits.
-     */
-    private static final Set<InvestmentStatus> ACTIVE_INVESTMENT_STATUSES = Set.of(
-            InvestmentStatus.PENDING,
-            InvestmentStatus.PAYMENT_INITIATED,
-            InvestmentStatus.COOLING_OFF,
-            InvestmentStatus.COMPLETED
-    );
-
-    private final InvestmentRepository investmentRepository;
+    private final AnnualInvestmentLedger annualInvestmentLedger;
     private final UserRepository userRepository;
 
     /**
      * Validates whether an investor is eligible to invest in a campaign.
      *
+     * @param investor    the investor, as already loaded by the caller
+     * @param campaign    the campaign to invest in
+     * @param amount      the investment amount
+     * @param alreadyInvested whether the investor already has an investment in this campaign
+     */
+    public void validate(User investor, Campaign campaign, BigDecimal amount, boolean alreadyInvested) {
+
+        validateKycApproved(investor.getKycStatus());
+        validateCampaignIsLive(campaign);
+        validateCampaignNotExpired(campaign);
+        validateNoDuplicateInvestment(alreadyInvested);
+        validateInvestmentAmount(campaign, amount);
+        validateCmaLimits(investor, amount);
+    }
+
+    /**
+     * Validates whether an investor is eligible to invest in a campaign, loading the investor
+     * for the CMA checks.
+     *
      * @param investorId  the investor's user ID
      * @param campaign    the campaign to invest in
      * @param amount      the investment amount
@@ -120,11 +122,8 @@ public class InvestmentValidator {
                     "Investment amount " + amount + " exceeds the maximum of " + campaign.getMaxInvestment());
         }
 
-        BigDecimal remaining = campaign.getTargetAmount().subtract(campaign.getRaisedAmount());
-        if (amount.compareTo(remaining) > 0) {
-            throw new BusinessRuleException("EXCEEDS_TARGET",
-                    "Investment amount exceeds the remaining campaign target of " + remaining);
-        }
+        // The raise ceiling is enforced by CampaignRaiseAccumulator.reserve against the live shard
+        // totals; the campaign's raised amount here is only folded in periodically.
     }
 
     /**
@@ -142,7 +141,20 @@ public class InvestmentValidator {
      * @throws BusinessRuleException if CMA limits would be exceeded
      */
     public void validateCmaLimits(UUID investorId, BigDecimal amount) {
-        if (isAccreditedInvestor(investorId)) {
+        checkCmaLimits(investorId, isAccreditedInvestor(investorId), amount);
+    }
+
+    /**
+     * Validates CMA limits for an investor that has already been loaded.
+     *
+     * @see #validateCmaLimits(UUID, BigDecimal)
+     */
+    public void validateCmaLimits(User investor, BigDecimal amount) {
+        checkCmaLimits(investor.getId(), isAccreditedInvestor(investor), amount);
+    }
+
+    private void checkCmaLimits(UUID investorId, boolean accredited, BigDecimal amount) {
+        if (accredited) {
             log.debug("Investor {} is accredited, CMA retail limits do not apply", investorId);
             return;
         }
@@ -155,7 +167,7 @@ public class InvestmentValidator {
         }
 
         // Check annual aggregate limit
-        BigDecimal totalInvestedThisYear = calculateAnnualInvestmentTotal(investorId);
+        BigDecimal totalInvestedThisYear = annualInvestmentLedger.currentYearTotal(investorId);
         BigDecimal projectedTotal = totalInvestedThisYear.add(amount);
 
         if (projectedTotal.compareTo(CMA_ANNUAL_AGGREGATE_LIMIT) > 0) {
@@ -187,34 +199,21 @@ public class InvestmentValidator {
             return false;
         }
 
-        User user = userOpt.get();
-        BigDecimal annualIncome = user.getAnnualIncome();
-        if (annualIncome == null) {
-            return false;
-        }
-
-        return annualIncome.compareTo(ACCREDITED_INVESTOR_INCOME_THRESHOLD) >= 0;
+        return isAccreditedInvestor(userOpt.get());
     }
 
     /**
-     * Calculates the total amount invested by the given investor in the current calendar year.
-     * Only counts investments in active statuses (PENDING, PAYMENT_INITIATED, COOLING_OFF, COMPLETED).
+     * Checks accreditation for an investor that has already been loaded.
      *
-     * @param investorId the investor's user ID
-     * @return the total invested amount in the current year
+     * @param investor the investor
+     * @return true if the investor is accredited, false otherwise
      */
-    private BigDecimal calculateAnnualInvestmentTotal(UUID investorId) {
-        Instant startOfYear = LocalDate.now().withDayOfYear(1)
-                .atStartOfDay(ZoneId.of("Africa/Nairobi"))
-                .toInstant();
-
-        List<Investment> investments = investmentRepository.findByInvestorIdOrderByCreatedAtDesc(
-                investorId, org.springframework.data.domain.Pageable.unpaged()).getContent();
-
-        return investments.stream()
-                .filter(inv -> inv.getCreatedAt() != null && !inv.getCreatedAt().isBefore(startOfYear))
-                .filter(inv -> ACTIVE_INVESTMENT_STATUSES.contains(inv.getStatus()))
-                .map(Investment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public boolean isAccreditedInvestor(User investor) {
+        BigDecimal annualIncome = investor.getAnnualIncome();
+        if (annualIncome == null) {
+            return false;
+        }
+
+        return annualIncome.compareTo(ACCREDITED_INVESTOR_INCOME_THRESHOLD) >= 0;
     }
 }
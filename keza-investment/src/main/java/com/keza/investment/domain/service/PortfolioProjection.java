@@ -0,0 +1,104 @@
+package com.keza.investment.domain.service;
+
+import com.keza.campaign.domain.model.Campaign;
+import com.keza.common.enums.InvestmentStatus;
+import com.keza.investment.domain.event.PortfolioChangedEvent;
+import com.keza.investment.domain.model.Investment;
+import com.keza.investment.domain.port.out.InvestorPortfolioSectorRepository;
+import com.keza.investment.domain.port.out.InvestorPortfolioSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Keeps the materialized investor portfolio summary in step with investment status changes.
+ * <p>
+ * Each investment contributes to the summary according to its status; a transition applies the
+ * difference between the new and previous contribution as a single atomic upsert. Must be
+ * called inside the transaction that changes the investment, so the summary never drifts from
+ * the investments table. A {@link PortfolioChangedEvent} is published so the investor's cached
+ * portfolio is evicted once the transaction commits.
+ * <p>
+ * Active value is taken from the campaign share price at the time of the transition; share
+ * prices are fixed once a campaign leaves DRAFT, so it matches the current valuation.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PortfolioProjection {
+
+    static final String UNKNOWN_SECTOR = "Other";
+
+    private static final Set<InvestmentStatus> INVESTED_STATUSES = EnumSet.of(
+            InvestmentStatus.PENDING, InvestmentStatus.COOLING_OFF, InvestmentStatus.COMPLETED);
+
+    private static final Set<InvestmentStatus> ACTIVE_STATUSES = EnumSet.of(
+            InvestmentStatus.COOLING_OFF, InvestmentStatus.COMPLETED);
+
+    private final InvestorPortfolioSummaryRepository summaryRepository;
+    private final InvestorPortfolioSectorRepository sectorRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Adds a newly created investment to its investor's portfolio.
+     */
+    public void recordCreated(Investment investment, Campaign campaign) {
+        apply(investment, campaign, null, investment.getStatus());
+    }
+
+    /**
+     * Moves an investment's contribution from its previous status to its current one.
+     */
+    public void recordTransition(Investment investment, Campaign campaign, InvestmentStatus previousStatus) {
+        if (previousStatus == investment.getStatus()) {
+            return;
+        }
+        apply(investment, campaign, previousStatus, investment.getStatus());
+    }
+
+    private void apply(Investment investment, Campaign campaign, InvestmentStatus from, InvestmentStatus to) {
+        BigDecimal amount = investment.getAmount();
+        BigDecimal value = campaign != null && campaign.getSharePrice() != null
+                ? campaign.getSharePrice().multiply(BigDecimal.valueOf(investment.getShares()))
+                : amount;
+
+        int activeDelta = membership(ACTIVE_STATUSES, to) - membership(ACTIVE_STATUSES, from);
+        BigDecimal activeCost = amount.multiply(BigDecimal.valueOf(activeDelta));
+
+        summaryRepository.applyDelta(investment.getInvestorId(),
+                countDelta(InvestmentStatus.PENDING, from, to),
+                countDelta(InvestmentStatus.PAYMENT_INITIATED, from, to),
+                countDelta(InvestmentStatus.COOLING_OFF, from, to),
+                countDelta(InvestmentStatus.COMPLETED, from, to),
+                countDelta(InvestmentStatus.CANCELLED, from, to),
+                countDelta(InvestmentStatus.REFUNDED, from, to),
+                amount.multiply(BigDecimal.valueOf(
+                        membership(INVESTED_STATUSES, to) - membership(INVESTED_STATUSES, from))),
+                activeCost,
+                value.multiply(BigDecimal.valueOf(activeDelta)),
+                from == null ? amount : BigDecimal.ZERO);
+
+        if (activeDelta != 0) {
+            String sector = campaign != null && campaign.getIndustry() != null
+                    ? campaign.getIndustry() : UNKNOWN_SECTOR;
+            sectorRepository.addToSector(investment.getInvestorId(), sector, activeCost);
+        }
+
+        log.debug("Portfolio of investor {} updated for investment {}: {} -> {}",
+                investment.getInvestorId(), investment.getId(), from, to);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(investment.getInvestorId()));
+    }
+
+    private int countDelta(InvestmentStatus status, InvestmentStatus from, InvestmentStatus to) {
+        return (to == status ? 1 : 0) - (from == status ? 1 : 0);
+    }
+
+    private int membership(Set<InvestmentStatus> statuses, InvestmentStatus status) {
+        return status != null && statuses.contains(status) ? 1 : 0;
+    }
+}
@@ -1,30 +1,32 @@
 package com.keza.investment.adapter.in.messaging;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.keza.common.enums.InvestmentStatus;
-import com.keza.common.enums.TransactionStatus;
-import com.keza.investment.application.dto.InvestmentResponse;
-import com.keza.investment.application.usecase.InvestmentUseCase;
-import com.keza.investment.domain.model.Transaction;
-import com.keza.investment.domain.port.out.TransactionRepository;
+import com.keza.common.exception.BusinessRuleException;
+import com.keza.infrastructure.messaging.EventCodec;
+import com.keza.investment.application.usecase.PaymentOutcomeUseCase;
 import com.rabbitmq.client.Channel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.core.MessageProperties;
+import org.springframework.test.util.ReflectionTestUtils;
 
-import java.io.IOException;
-import java.math.BigDecimal;
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -33,197 +35,120 @@ import static org.mockito.Mockito.*;
 class PaymentEventListenerTest {
 
     @Mock
-    private TransactionRepository transactionRepository;
+    private PaymentOutcomeUseCase paymentOutcomeUseCase;
 
-    @Mock
-    private InvestmentUseCase investmentUseCase;
-
-    @Mock
-    private ObjectMapper objectMapper;
+    private final EventCodec eventCodec = new EventCodec(EventCodec.CONTENT_TYPE_SMILE);
 
     @Mock
     private Channel channel;
 
-    @InjectMocks
     private PaymentEventListener listener;
 
     private static final long DELIVERY_TAG = 1L;
     private static final String PROVIDER_REFERENCE = "ws_CO_123";
     private UUID investmentId;
-    private UUID investorId;
 
     @BeforeEach
     void setUp() {
         investmentId = UUID.randomUUID();
-        investorId = UUID.randomUUID();
+        listener = listenerWith(Runnable::run);
+    }
+
+    private PaymentEventListener listenerWith(Executor executor) {
+        PaymentEventListener paymentEventListener = new PaymentEventListener(paymentOutcomeUseCase, eventCodec, executor);
+        ReflectionTestUtils.setField(paymentEventListener, "shards", 4);
+        return paymentEventListener;
     }
 
     private Message createMessage(String json) throws Exception {
+        return createMessage(json, DELIVERY_TAG);
+    }
+
+    private Message createMessage(String json, long deliveryTag) throws Exception {
         MessageProperties props = new MessageProperties();
-        props.setDeliveryTag(DELIVERY_TAG);
-        byte[] body = json.getBytes();
-        Message message = new Message(body, props);
-        when(objectMapper.readTree(body)).thenReturn(new ObjectMapper().readTree(json));
-        return message;
+        props.setDeliveryTag(deliveryTag);
+        props.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        return new Message(json.getBytes(), props);
+    }
+
+    private String event(String eventType, String providerReference, UUID investmentId) {
+        return """
+                {
+                    "eventType": "%s",
+                    "providerReference": "%s",
+                    "investmentId": "%s"
+                }
+                """.formatted(eventType, providerReference, investmentId);
     }
 
     @Nested
-    @DisplayName("PAYMENT_COMPLETED")
-    class PaymentCompleted {
+    @DisplayName("Event dispatch")
+    class EventDispatch {
 
         @Test
-        @DisplayName("should update transaction to COMPLETED and complete investment")
-        void shouldUpdateTransactionAndCompleteInvestment() throws Exception {
-            String json = """
-                    {
-                        "eventType": "PAYMENT_COMPLETED",
-                        "providerReference": "%s",
-                        "investmentId": "%s",
-                        "transactionId": "tx-123"
-                    }
-                    """.formatted(PROVIDER_REFERENCE, investmentId);
+        @DisplayName("should complete the payment and ack on PAYMENT_COMPLETED")
+        void shouldCompletePayment() throws Exception {
+            Message message = createMessage(event("PAYMENT_COMPLETED", PROVIDER_REFERENCE, investmentId));
 
-            Message message = createMessage(json);
+            listener.handlePaymentEvents(List.of(message), channel);
 
-            Transaction transaction = Transaction.builder()
-                    .investmentId(investmentId)
-                    .userId(investorId)
-                    .amount(new BigDecimal("5000"))
-                    .status(TransactionStatus.PENDING)
-                    .providerReference(PROVIDER_REFERENCE)
-                    .build();
-            transaction.setId(UUID.randomUUID());
-
-            when(transactionRepository.findByProviderReference(PROVIDER_REFERENCE))
-                    .thenReturn(Optional.of(transaction));
-            when(investmentUseCase.completeInvestment(investmentId))
-                    .thenReturn(InvestmentResponse.builder().id(investmentId).status("COMPLETED").build());
-
-            listener.handlePaymentEvent(message, channel);
-
-            verify(transactionRepository).findByProviderReference(PROVIDER_REFERENCE);
-            verify(transactionRepository).save(transaction);
-            verify(investmentUseCase).completeInvestment(investmentId);
+            verify(paymentOutcomeUseCase).completePayment(PROVIDER_REFERENCE, investmentId);
             verify(channel).basicAck(DELIVERY_TAG, false);
-
-            assert transaction.getStatus() == TransactionStatus.COMPLETED;
         }
 
         @Test
-        @DisplayName("should ack even when no transaction found")
-        void shouldAckWhenNoTransactionFound() throws Exception {
+        @DisplayName("should fail the payment with its reason on PAYMENT_FAILED")
+        void shouldFailPayment() throws Exception {
             String json = """
                     {
-                        "eventType": "PAYMENT_COMPLETED",
-                        "providerReference": "unknown-ref",
-                        "investmentId": "%s"
+                        "eventType": "PAYMENT_FAILED",
+                        "providerReference": "%s",
+                        "investmentId": "%s",
+                        "failureReason": "Insufficient funds"
                     }
-                    """.formatted(investmentId);
-
+                    """.formatted(PROVIDER_REFERENCE, investmentId);
             Message message = createMessage(json);
 
-            when(transactionRepository.findByProviderReference("unknown-ref"))
-                    .thenReturn(Optional.empty());
-            when(investmentUseCase.completeInvestment(investmentId))
-                    .thenReturn(InvestmentResponse.builder().id(investmentId).status("COMPLETED").build());
-
-            listener.handlePaymentEvent(message, channel);
+            listener.handlePaymentEvents(List.of(message), channel);
 
-            verify(transactionRepository, never()).save(any());
-            verify(investmentUseCase).completeInvestment(investmentId);
+            verify(paymentOutcomeUseCase).failPayment(PROVIDER_REFERENCE, investmentId, "Insufficient funds");
             verify(channel).basicAck(DELIVERY_TAG, false);
         }
-    }
-
-    @Nested
-    @DisplayName("PAYMENT_FAILED")
-    class PaymentFailed {
 
         @Test
-        @DisplayName("should update transaction to FAILED and cancel investment")
-        void shouldUpdateTransactionAndCancelInvestment() throws Exception {
+        @DisplayName("should refund the payment with its refund reference on PAYMENT_REFUNDED")
+        void shouldRefundPayment() throws Exception {
             String json = """
                     {
-                        "eventType": "PAYMENT_FAILED",
+                        "eventType": "PAYMENT_REFUNDED",
                         "providerReference": "%s",
                         "investmentId": "%s",
-                        "failureReason": "Insufficient funds"
+                        "refundReference": "ref-999"
                     }
                     """.formatted(PROVIDER_REFERENCE, investmentId);
-
             Message message = createMessage(json);
 
-            Transaction transaction = Transaction.builder()
-                    .investmentId(investmentId)
-                    .userId(investorId)
-                    .amount(new BigDecimal("5000"))
-                    .status(TransactionStatus.PENDING)
-                    .providerReference(PROVIDER_REFERENCE)
-                    .build();
-            transaction.setId(UUID.randomUUID());
-
-            when(transactionRepository.findByProviderReference(PROVIDER_REFERENCE))
-                    .thenReturn(Optional.of(transaction));
-
-            InvestmentResponse investmentResponse = InvestmentResponse.builder()
-                    .id(investmentId)
-                    .investorId(investorId)
-                    .status("PENDING")
-                    .build();
-            when(investmentUseCase.getInvestment(investmentId)).thenReturn(investmentResponse);
-            when(investmentUseCase.cancelInvestment(investmentId, investorId))
-                    .thenReturn(InvestmentResponse.builder().id(investmentId).status("CANCELLED").build());
-
-            listener.handlePaymentEvent(message, channel);
-
-            verify(transactionRepository).save(transaction);
-            verify(investmentUseCase).getInvestment(investmentId);
-            verify(investmentUseCase).cancelInvestment(investmentId, investorId);
-            verify(channel).basicAck(DELIVERY_TAG, false);
+            listener.handlePaymentEvents(List.of(message), channel);
 
-            assert transaction.getStatus() == TransactionStatus.FAILED;
+            verify(paymentOutcomeUseCase).refundPayment(PROVIDER_REFERENCE, investmentId, "ref-999");
+            verify(channel).basicAck(DELIVERY_TAG, false);
         }
-    }
-
-    @Nested
-    @DisplayName("PAYMENT_REFUNDED")
-    class PaymentRefunded {
 
         @Test
-        @DisplayName("should update transaction to REFUNDED and refund investment")
-        void shouldUpdateTransactionAndRefundInvestment() throws Exception {
+        @DisplayName("should pass a null investmentId when the event has none")
+        void shouldHandleMissingInvestmentId() throws Exception {
             String json = """
                     {
-                        "eventType": "PAYMENT_REFUNDED",
-                        "providerReference": "%s",
-                        "investmentId": "%s",
-                        "refundReference": "ref-999"
+                        "eventType": "PAYMENT_COMPLETED",
+                        "providerReference": "%s"
                     }
-                    """.formatted(PROVIDER_REFERENCE, investmentId);
-
+                    """.formatted(PROVIDER_REFERENCE);
             Message message = createMessage(json);
 
-            Transaction transaction = Transaction.builder()
-                    .investmentId(investmentId)
-                    .userId(investorId)
-                    .amount(new BigDecimal("5000"))
-                    .status(TransactionStatus.COMPLETED)
-                    .providerReference(PROVIDER_REFERENCE)
-                    .build();
-            transaction.setId(UUID.randomUUID());
-
-            when(transactionRepository.findByProviderReference(PROVIDER_REFERENCE))
-                    .thenReturn(Optional.of(transaction));
-            when(investmentUseCase.refundInvestment(investmentId))
-                    .thenReturn(InvestmentResponse.builder().id(investmentId).status("REFUNDED").build());
-
-            listener.handlePaymentEvent(message, channel);
+            listener.handlePaymentEvents(List.of(message), channel);
 
-            verify(transactionRepository).save(transaction);
-            verify(investmentUseCase).refundInvestment(investmentId);
+            verify(paymentOutcomeUseCase).completePayment(PROVIDER_REFERENCE, null);
             verify(channel).basicAck(DELIVERY_TAG, false);
-
-            assert transaction.getStatus() == TransactionStatus.REFUNDED;
         }
     }
 
@@ -232,16 +157,27 @@ class PaymentEventListenerTest {
     class ErrorHandling {
 
         @Test
-        @DisplayName("should nack message on processing exception")
+        @DisplayName("should nack message on parse failure")
         void shouldNackOnException() throws Exception {
             MessageProperties props = new MessageProperties();
             props.setDeliveryTag(DELIVERY_TAG);
             byte[] body = "invalid json".getBytes();
             Message message = new Message(body, props);
 
-            when(objectMapper.readTree(body)).thenThrow(new RuntimeException("Parse error"));
+            listener.handlePaymentEvents(List.of(message), channel);
 
-            listener.handlePaymentEvent(message, channel);
+            verify(channel).basicNack(DELIVERY_TAG, false, false);
+            verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        }
+
+        @Test
+        @DisplayName("should nack when the outcome is rolled back")
+        void shouldNackWhenOutcomeFails() throws Exception {
+            Message message = createMessage(event("PAYMENT_COMPLETED", PROVIDER_REFERENCE, investmentId));
+            doThrow(new BusinessRuleException("INVALID_STATUS", "Investment cannot be completed from status: CANCELLED"))
+                    .when(paymentOutcomeUseCase).completePayment(PROVIDER_REFERENCE, investmentId);
+
+            listener.handlePaymentEvents(List.of(message), channel);
 
             verify(channel).basicNack(DELIVERY_TAG, false, false);
             verify(channel, never()).basicAck(anyLong(), anyBoolean());
@@ -259,31 +195,67 @@ class PaymentEventListenerTest {
 
             Message message = createMessage(json);
 
-            listener.handlePaymentEvent(message, channel);
+            listener.handlePaymentEvents(List.of(message), channel);
 
             verify(channel).basicAck(DELIVERY_TAG, false);
-            verifyNoInteractions(investmentUseCase);
+            verifyNoInteractions(paymentOutcomeUseCase);
         }
+    }
 
-        @Test
-        @DisplayName("should handle missing investmentId in COMPLETED event gracefully")
-        void shouldHandleMissingInvestmentId() throws Exception {
-            String json = """
-                    {
-                        "eventType": "PAYMENT_COMPLETED",
-                        "providerReference": "%s"
-                    }
-                    """.formatted(PROVIDER_REFERENCE);
-
-            Message message = createMessage(json);
-
-            when(transactionRepository.findByProviderReference(PROVIDER_REFERENCE))
-                    .thenReturn(Optional.empty());
+    @Nested
+    @DisplayName("Batches")
+    class Batches {
 
-            listener.handlePaymentEvent(message, channel);
+        @Test
+        @DisplayName("should apply events for the same investment in delivery order")
+        void shouldKeepPerInvestmentOrder() throws Exception {
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                listener = listenerWith(executor);
+                UUID otherInvestment = UUID.randomUUID();
+                List<String> applied = Collections.synchronizedList(new ArrayList<>());
+                doAnswer(invocation -> applied.add("completed:" + invocation.getArgument(0)))
+                        .when(paymentOutcomeUseCase).completePayment(any(), any());
+                doAnswer(invocation -> applied.add("refunded:" + invocation.getArgument(0)))
+                        .when(paymentOutcomeUseCase).refundPayment(any(), any(), any());
+
+                List<Message> batch = List.of(
+                        createMessage(event("PAYMENT_COMPLETED", "ref-1", investmentId), 1),
+                        createMessage(event("PAYMENT_COMPLETED", "ref-2", otherInvestment), 2),
+                        createMessage(event("PAYMENT_REFUNDED", "ref-1", investmentId), 3));
+
+                listener.handlePaymentEvents(batch, channel);
+
+                assertThat(applied).containsSubsequence("completed:ref-1", "refunded:ref-1");
+                assertThat(applied).contains("completed:ref-2");
+                verify(channel).basicAck(1, false);
+                verify(channel).basicAck(2, false);
+                verify(channel).basicAck(3, false);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
 
-            verify(investmentUseCase, never()).completeInvestment(any());
-            verify(channel).basicAck(DELIVERY_TAG, false);
+        @Test
+        @DisplayName("should nack only the events that failed and ack from the listener thread in delivery order")
+        void shouldNackOnlyFailedEvents() throws Exception {
+            UUID failingInvestment = UUID.randomUUID();
+            doThrow(new IllegalStateException("Deadlock detected"))
+                    .when(paymentOutcomeUseCase).completePayment(eq("ref-2"), eq(failingInvestment));
+            doNothing().when(paymentOutcomeUseCase).completePayment(argThat(ref -> !"ref-2".equals(ref)), any());
+
+            List<Message> batch = List.of(
+                    createMessage(event("PAYMENT_COMPLETED", "ref-1", investmentId), 1),
+                    createMessage(event("PAYMENT_COMPLETED", "ref-2", failingInvestment), 2),
+                    createMessage(event("PAYMENT_COMPLETED", "ref-3", UUID.randomUUID()), 3));
+
+            listener.handlePaymentEvents(batch, channel);
+
+            InOrder inOrder = inOrder(channel);
+            inOrder.verify(channel).basicAck(1, false);
+            inOrder.verify(channel).basicNack(2, false, false);
+            inOrder.verify(channel).basicAck(3, false);
+            verify(paymentOutcomeUseCase).completePayment(eq("ref-3"), any());
         }
     }
 }
@@ -0,0 +1,206 @@
+package com.keza.investment.application.usecase;
+
+import com.keza.campaign.domain.event.CampaignStatusChangedEvent;
+import com.keza.campaign.domain.model.Campaign;
+import com.keza.campaign.domain.port.out.CampaignRepository;
+import com.keza.common.enums.CampaignStatus;
+import com.keza.common.exception.BusinessRuleException;
+import com.keza.investment.domain.port.out.AutoInvestPreferenceRepository;
+import com.keza.investment.domain.port.out.AutoInvestPreferenceRepository.MatchedPreference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AutoInvestEngine")
+class AutoInvestEngineTest {
+
+    @Mock
+    private AutoInvestPreferenceRepository autoInvestPreferenceRepository;
+    @Mock
+    private CampaignRepository campaignRepository;
+    @Mock
+    private AutoInvestUseCase autoInvestUseCase;
+
+    private AutoInvestEngine engine;
+
+    private UUID campaignId;
+    private Campaign campaign;
+
+    @BeforeEach
+    void setUp() {
+        engine = new AutoInvestEngine(autoInvestPreferenceRepository, campaignRepository,
+                autoInvestUseCase, Runnable::run, 8);
+
+        campaignId = UUID.randomUUID();
+        campaign = Campaign.builder()
+                .issuerId(UUID.randomUUID())
+                .title("Solar Farms")
+                .industry("ENERGY")
+                .status(CampaignStatus.LIVE)
+                .targetAmount(new BigDecimal("1000000"))
+                .sharePrice(new BigDecimal("100"))
+                .minInvestment(new BigDecimal("1000"))
+                .maxInvestment(new BigDecimal("50000"))
+                .endDate(Instant.now().plus(30, ChronoUnit.DAYS))
+                .build();
+        campaign.setId(campaignId);
+    }
+
+    private MatchedPreference match(BigDecimal amount) {
+        UUID preferenceId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        return new MatchedPreference() {
+            @Override
+            public UUID getPreferenceId() {
+                return preferenceId;
+            }
+
+            @Override
+            public UUID getUserId() {
+                return userId;
+            }
+
+            @Override
+            public BigDecimal getAmount() {
+                return amount;
+            }
+        };
+    }
+
+    @Nested
+    @DisplayName("runForCampaign")
+    class RunForCampaign {
+
+        @Test
+        @DisplayName("should place an investment for every matched preference, capped at campaign maximum")
+        void shouldPlaceForEveryMatch() throws InterruptedException {
+            MatchedPreference small = match(new BigDecimal("5000"));
+            MatchedPreference large = match(new BigDecimal("200000"));
+            when(campaignRepository.findByIdAndDeletedFalse(campaignId)).thenReturn(Optional.of(campaign));
+            when(autoInvestPreferenceRepository.findMatchingPreferences(
+                    eq("ENERGY"), eq("EQUITY"), any(), eq(new BigDecimal("1000")), eq(campaign.getIssuerId())))
+                    .thenReturn(List.of(small, large));
+
+            int placed = engine.runForCampaign(campaignId);
+
+            assertThat(placed).isEqualTo(2);
+            verify(autoInvestUseCase).placeAutoInvestment(
+                    small.getPreferenceId(), small.getUserId(), campaignId, new BigDecimal("5000"));
+            verify(autoInvestUseCase).placeAutoInvestment(
+                    large.getPreferenceId(), large.getUserId(), campaignId, new BigDecimal("50000"));
+        }
+
+        @Test
+        @DisplayName("should skip rejected investors and continue")
+        void shouldSkipRejectedInvestors() throws InterruptedException {
+            MatchedPreference rejected = match(new BigDecimal("5000"));
+            MatchedPreference accepted = match(new BigDecimal("5000"));
+            when(campaignRepository.findByIdAndDeletedFalse(campaignId)).thenReturn(Optional.of(campaign));
+            when(autoInvestPreferenceRepository.findMatchingPreferences(any(), any(), any(), any(), any()))
+                    .thenReturn(List.of(rejected, accepted));
+            lenient().when(autoInvestUseCase.placeAutoInvestment(eq(rejected.getPreferenceId()), any(), any(), any()))
+                    .thenThrow(new BusinessRuleException("KYC_NOT_APPROVED", "KYC not approved"));
+
+            int placed = engine.runForCampaign(campaignId);
+
+            assertThat(placed).isEqualTo(1);
+            verify(autoInvestUseCase).placeAutoInvestment(
+                    eq(accepted.getPreferenceId()), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("should skip a preference larger than the remaining allocation and continue")
+        void shouldSkipPreferenceExceedingTarget() throws InterruptedException {
+            MatchedPreference tooLarge = match(new BigDecimal("50000"));
+            MatchedPreference fits = match(new BigDecimal("5000"));
+            when(campaignRepository.findByIdAndDeletedFalse(campaignId)).thenReturn(Optional.of(campaign));
+            when(autoInvestPreferenceRepository.findMatchingPreferences(any(), any(), any(), any(), any()))
+                    .thenReturn(List.of(tooLarge, fits));
+            lenient().when(autoInvestUseCase.placeAutoInvestment(eq(tooLarge.getPreferenceId()), any(), any(), any()))
+                    .thenThrow(new BusinessRuleException("EXCEEDS_TARGET", "Exceeds remaining allocation"));
+
+            int placed = engine.runForCampaign(campaignId);
+
+            assertThat(placed).isEqualTo(1);
+            verify(autoInvestUseCase).placeAutoInvestment(
+                    eq(fits.getPreferenceId()), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("should stop once the campaign no longer accepts investments")
+        void shouldStopWhenCampaignClosed() throws InterruptedException {
+            MatchedPreference first = match(new BigDecimal("5000"));
+            MatchedPreference second = match(new BigDecimal("5000"));
+            when(campaignRepository.findByIdAndDeletedFalse(campaignId)).thenReturn(Optional.of(campaign));
+            when(autoInvestPreferenceRepository.findMatchingPreferences(any(), any(), any(), any(), any()))
+                    .thenReturn(List.of(first, second));
+            lenient().when(autoInvestUseCase.placeAutoInvestment(eq(first.getPreferenceId()), any(), any(), any()))
+                    .thenThrow(new BusinessRuleException("CAMPAIGN_NOT_LIVE", "Campaign closed"));
+
+            int placed = engine.runForCampaign(campaignId);
+
+            assertThat(placed).isZero();
+            verify(autoInvestUseCase, never()).placeAutoInvestment(
+                    eq(second.getPreferenceId()), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("should place every preference on the run's thread when the pool rejects them")
+        void shouldPlaceInlineWhenPoolRejects() throws InterruptedException {
+            engine = new AutoInvestEngine(autoInvestPreferenceRepository, campaignRepository,
+                    autoInvestUseCase, task -> {
+                        throw new RejectedExecutionException("pool saturated");
+                    }, 1);
+            MatchedPreference first = match(new BigDecimal("5000"));
+            MatchedPreference second = match(new BigDecimal("5000"));
+            when(campaignRepository.findByIdAndDeletedFalse(campaignId)).thenReturn(Optional.of(campaign));
+            when(autoInvestPreferenceRepository.findMatchingPreferences(any(), any(), any(), any(), any()))
+                    .thenReturn(List.of(first, second));
+
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThat(engine.runForCampaign(campaignId)).isEqualTo(2));
+            verify(autoInvestUseCase).placeAutoInvestment(
+                    first.getPreferenceId(), first.getUserId(), campaignId, new BigDecimal("5000"));
+            verify(autoInvestUseCase).placeAutoInvestment(
+                    second.getPreferenceId(), second.getUserId(), campaignId, new BigDecimal("5000"));
+        }
+
+        @Test
+        @DisplayName("should not match preferences when campaign is not live")
+        void shouldSkipWhenNotLive() throws InterruptedException {
+            campaign.setStatus(CampaignStatus.REVIEW);
+            when(campaignRepository.findByIdAndDeletedFalse(campaignId)).thenReturn(Optional.of(campaign));
+
+            assertThat(engine.runForCampaign(campaignId)).isZero();
+            verifyNoInteractions(autoInvestPreferenceRepository, autoInvestUseCase);
+        }
+    }
+
+    @Test
+    @DisplayName("should ignore status changes other than going LIVE")
+    void shouldIgnoreNonLiveTransitions() {
+        engine.onCampaignStatusChanged(new CampaignStatusChangedEvent(
+                campaignId, CampaignStatus.LIVE, CampaignStatus.CLOSED, UUID.randomUUID()));
+
+        verifyNoInteractions(campaignRepository, autoInvestPreferenceRepository, autoInvestUseCase);
+    }
+}
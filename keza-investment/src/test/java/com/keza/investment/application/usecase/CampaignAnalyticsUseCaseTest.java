@@ -0,0 +1,110 @@
+package com.keza.investment.application.usecase;
+
+import com.keza.campaign.domain.model.Campaign;
+import com.keza.campaign.domain.port.out.CampaignRepository;
+import com.keza.common.enums.CampaignStatus;
+import com.keza.common.exception.BusinessRuleException;
+import com.keza.investment.application.dto.CampaignAnalyticsResponse;
+import com.keza.investment.domain.port.out.CampaignDailyStatsRepository;
+import com.keza.investment.domain.port.out.CampaignDailyStatsRepository.DailyTotal;
+import com.keza.investment.domain.port.out.CampaignDailyStatsRepository.StatusTotal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CampaignAnalyticsUseCase")
+class CampaignAnalyticsUseCaseTest {
+
+    @Mock
+    private CampaignRepository campaignRepository;
+    @Mock
+    private CampaignDailyStatsRepository dailyStatsRepository;
+
+    @InjectMocks
+    private CampaignAnalyticsUseCase analyticsUseCase;
+
+    private UUID campaignId;
+    private UUID issuerId;
+    private Campaign campaign;
+
+    @BeforeEach
+    void setUp() {
+        campaignId = UUID.randomUUID();
+        issuerId = UUID.randomUUID();
+        campaign = Campaign.builder()
+                .issuerId(issuerId)
+                .title("Solar Farms")
+                .status(CampaignStatus.LIVE)
+                .targetAmount(new BigDecimal("1000000"))
+                .raisedAmount(new BigDecimal("250000"))
+                .sharePrice(new BigDecimal("100"))
+                .build();
+        campaign.setId(campaignId);
+    }
+
+    @Test
+    @DisplayName("should build investment size figures from active status totals only")
+    void shouldAggregateActiveStatusTotals() {
+        when(campaignRepository.findByIdAndDeletedFalse(campaignId)).thenReturn(Optional.of(campaign));
+        when(dailyStatsRepository.findStatusTotals(campaignId)).thenReturn(List.of(
+                new StatusTotal("COMPLETED", 3, new BigDecimal("30000"), new BigDecimal("5000"), new BigDecimal("15000")),
+                new StatusTotal("PENDING", 1, new BigDecimal("2000"), new BigDecimal("2000"), new BigDecimal("2000")),
+                new StatusTotal("CANCELLED", 1, new BigDecimal("90000"), new BigDecimal("90000"), new BigDecimal("90000"))));
+        when(dailyStatsRepository.findDailyTotals(eq(campaignId), anyList())).thenReturn(List.of());
+
+        CampaignAnalyticsResponse response = analyticsUseCase.getCampaignAnalytics(campaignId, issuerId);
+
+        assertThat(response.getAverageInvestment()).isEqualByComparingTo(new BigDecimal("8000"));
+        assertThat(response.getLargestInvestment()).isEqualByComparingTo(new BigDecimal("15000"));
+        assertThat(response.getSmallestInvestment()).isEqualByComparingTo(new BigDecimal("2000"));
+        assertThat(response.getInvestmentsByStatus())
+                .containsOnlyKeys("PENDING", "COMPLETED", "CANCELLED");
+        assertThat(response.getFundingPercentage()).isEqualByComparingTo(new BigDecimal("25.00"));
+    }
+
+    @Test
+    @DisplayName("should map the daily rollup to the funding chart without cancelled or refunded investments")
+    void shouldMapDailyTotals() {
+        when(campaignRepository.findByIdAndDeletedFalse(campaignId)).thenReturn(Optional.of(campaign));
+        when(dailyStatsRepository.findStatusTotals(campaignId)).thenReturn(List.of());
+        when(dailyStatsRepository.findDailyTotals(eq(campaignId), anyList())).thenReturn(List.of(
+                new DailyTotal(LocalDate.of(2025, 3, 1), 4, new BigDecimal("40000")),
+                new DailyTotal(LocalDate.of(2025, 3, 2), 1, new BigDecimal("5000"))));
+
+        CampaignAnalyticsResponse response = analyticsUseCase.getCampaignAnalytics(campaignId, issuerId);
+
+        assertThat(response.getDailyInvestments()).hasSize(2);
+        assertThat(response.getDailyInvestments().get(0).getDate()).isEqualTo("2025-03-01");
+        assertThat(response.getDailyInvestments().get(0).getCount()).isEqualTo(4);
+        assertThat(response.getAverageInvestment()).isEqualByComparingTo(BigDecimal.ZERO);
+        verify(dailyStatsRepository).findDailyTotals(eq(campaignId),
+                argThat(statuses -> !statuses.contains("CANCELLED") && !statuses.contains("REFUNDED")));
+    }
+
+    @Test
+    @DisplayName("should reject analytics requests from other issuers")
+    void shouldRejectNonOwner() {
+        when(campaignRepository.findByIdAndDeletedFalse(campaignId)).thenReturn(Optional.of(campaign));
+
+        assertThatThrownBy(() -> analyticsUseCase.getCampaignAnalytics(campaignId, UUID.randomUUID()))
+                .isInstanceOf(BusinessRuleException.class);
+        verifyNoInteractions(dailyStatsRepository);
+    }
+}
@@ -2,6 +2,7 @@ package com.keza.investment.application.usecase;
 
 import com.keza.campaign.domain.model.Campaign;
 import com.keza.campaign.domain.port.out.CampaignRepository;
+import com.keza.campaign.domain.service.CampaignRaiseAccumulator;
 import com.keza.common.enums.CampaignStatus;
 import com.keza.common.enums.InvestmentStatus;
 import com.keza.common.enums.KycStatus;
@@ -15,7 +16,9 @@ import com.keza.investment.domain.model.Investment;
 import com.keza.investment.domain.model.Transaction;
 import com.keza.investment.domain.port.out.InvestmentRepository;
 import com.keza.investment.domain.port.out.TransactionRepository;
+import com.keza.investment.domain.service.AnnualInvestmentLedger;
 import com.keza.investment.domain.service.InvestmentValidator;
+import com.keza.investment.domain.service.PortfolioProjection;
 import com.keza.user.domain.model.User;
 import com.keza.user.domain.port.out.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -53,10 +56,16 @@ class InvestmentUseCaseTest {
     @Mock
     private CampaignRepository campaignRepository;
     @Mock
+    private CampaignRaiseAccumulator campaignRaiseAccumulator;
+    @Mock
     private UserRepository userRepository;
     @Mock
     private InvestmentValidator investmentValidator;
     @Mock
+    private AnnualInvestmentLedger annualInvestmentLedger;
+    @Mock
+    private PortfolioProjection portfolioProjection;
+    @Mock
     private ApplicationEventPublisher eventPublisher;
     @Mock
     private InvestmentEventUseCase investmentEventUseCase;
@@ -129,7 +138,6 @@ class InvestmentUseCaseTest {
                 return inv;
             });
             when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
-            when(campaignRepository.updateRaisedAmount(eq(campaignId), any(), eq(100L), eq(1L))).thenReturn(1);
 
             // Act
             InvestmentResponse response = investmentUseCase.createInvestment(investorId, request);
@@ -144,10 +152,12 @@ class InvestmentUseCaseTest {
             assertThat(response.getStatus()).isEqualTo("PENDING");
             assertThat(response.getPaymentMethod()).isEqualTo("MPESA");
 
-            verify(investmentValidator).validate(eq(investorId), eq(campaign),
-                    eq(new BigDecimal("10000")), eq(KycStatus.APPROVED), eq(false));
+            verify(investmentValidator).validate(eq(investor), eq(campaign),
+                    eq(new BigDecimal("10000")), eq(false));
             verify(investmentRepository).save(investmentCaptor.capture());
             assertThat(investmentCaptor.getValue().getCoolingOffExpiresAt()).isNotNull();
+            verify(annualInvestmentLedger).record(investmentCaptor.getValue());
+            verify(portfolioProjection).recordCreated(investmentCaptor.getValue(), campaign);
 
             verify(transactionRepository).save(transactionCaptor.capture());
             Transaction savedTx = transactionCaptor.getValue();
@@ -159,6 +169,8 @@ class InvestmentUseCaseTest {
             assertThat(event.investorId()).isEqualTo(investorId);
             assertThat(event.campaignId()).isEqualTo(campaignId);
             assertThat(event.amount()).isEqualByComparingTo(new BigDecimal("10000"));
+
+            verify(campaignRaiseAccumulator).reserve(eq(campaignId), eq(new BigDecimal("10000")), eq(100L));
         }
 
         @Test
@@ -175,7 +187,6 @@ class InvestmentUseCaseTest {
                 return inv;
             });
             when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
-            when(campaignRepository.updateRaisedAmount(eq(campaignId), any(), eq(100L), eq(1L))).thenReturn(1);
 
             InvestmentResponse response = investmentUseCase.createInvestment(investorId, request);
 
@@ -199,22 +210,21 @@ class InvestmentUseCaseTest {
         }
 
         @Test
-        @DisplayName("should throw CONCURRENT_UPDATE when campaign version has changed")
-        void shouldThrowOnConcurrentUpdate() {
+        @DisplayName("should throw EXCEEDS_TARGET when the raise ceiling has been reached")
+        void shouldThrowWhenRaiseCeilingReached() {
             when(userRepository.findByIdAndDeletedFalse(investorId)).thenReturn(Optional.of(investor));
             when(campaignRepository.findByIdAndDeletedFalse(campaignId)).thenReturn(Optional.of(campaign));
             when(investmentRepository.existsByInvestorIdAndCampaignId(investorId, campaignId)).thenReturn(false);
-            when(investmentRepository.save(any(Investment.class))).thenAnswer(invocation -> {
-                Investment inv = invocation.getArgument(0);
-                inv.setId(UUID.randomUUID());
-                return inv;
-            });
-            when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
-            when(campaignRepository.updateRaisedAmount(any(), any(), anyLong(), anyLong())).thenReturn(0);
+            doThrow(new BusinessRuleException("EXCEEDS_TARGET",
+                    "Investment amount exceeds the remaining campaign allocation"))
+                    .when(campaignRaiseAccumulator).reserve(eq(campaignId), any(), anyLong());
 
             assertThatThrownBy(() -> investmentUseCase.createInvestment(investorId, request))
                     .isInstanceOf(BusinessRuleException.class)
-                    .hasMessageContaining("Campaign was updated by another transaction");
+                    .hasMessageContaining("remaining campaign allocation");
+
+            verify(investmentRepository, never()).save(any());
+            verify(eventPublisher, never()).publishEvent(any(InvestmentCreatedEvent.class));
         }
 
         @Test
@@ -245,7 +255,7 @@ class InvestmentUseCaseTest {
             when(campaignRepository.findByIdAndDeletedFalse(campaignId)).thenReturn(Optional.of(campaign));
             when(investmentRepository.existsByInvestorIdAndCampaignId(investorId, campaignId)).thenReturn(false);
             doThrow(new BusinessRuleException("KYC_NOT_APPROVED", "KYC not approved"))
-                    .when(investmentValidator).validate(any(), any(), any(), any(), anyBoolean());
+                    .when(investmentValidator).validate(any(User.class), any(), any(), anyBoolean());
 
             assertThatThrownBy(() -> investmentUseCase.createInvestment(investorId, request))
                     .isInstanceOf(BusinessRuleException.class)
@@ -282,7 +292,6 @@ class InvestmentUseCaseTest {
             when(investmentRepository.findById(investmentId)).thenReturn(Optional.of(existingInvestment));
             when(investmentRepository.save(any(Investment.class))).thenAnswer(invocation -> invocation.getArgument(0));
             when(campaignRepository.findByIdAndDeletedFalse(campaignId)).thenReturn(Optional.of(campaign));
-            when(campaignRepository.updateRaisedAmount(any(), any(), anyLong(), anyLong())).thenReturn(1);
             when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             InvestmentResponse response = investmentUseCase.cancelInvestment(investmentId, investorId);
@@ -295,11 +304,12 @@ class InvestmentUseCaseTest {
             assertThat(saved.getCancelledAt()).isNotNull();
             assertThat(saved.getCancellationReason()).contains("cooling-off");
 
-            verify(campaignRepository).updateRaisedAmount(
+            verify(campaignRaiseAccumulator).release(
                     eq(campaignId),
-                    eq(new BigDecimal("10000").negate()),
-                    eq(-100L),
-                    eq(campaign.getVersion()));
+                    eq(new BigDecimal("10000")),
+                    eq(100L));
+            verify(annualInvestmentLedger).reverse(saved);
+            verify(portfolioProjection).recordTransition(saved, campaign, InvestmentStatus.PENDING);
 
             verify(transactionRepository).save(transactionCaptor.capture());
             Transaction refund = transactionCaptor.getValue();
@@ -360,7 +370,6 @@ class InvestmentUseCaseTest {
             when(investmentRepository.findById(investmentId)).thenReturn(Optional.of(existingInvestment));
             when(investmentRepository.save(any(Investment.class))).thenAnswer(inv -> inv.getArgument(0));
             when(campaignRepository.findByIdAndDeletedFalse(campaignId)).thenReturn(Optional.of(campaign));
-            when(campaignRepository.updateRaisedAmount(any(), any(), anyLong(), anyLong())).thenReturn(1);
             when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
 
             InvestmentResponse response = investmentUseCase.cancelInvestment(investmentId, investorId);
@@ -402,6 +411,8 @@ class InvestmentUseCaseTest {
             assertThat(response.getStatus()).isEqualTo("COMPLETED");
             verify(investmentRepository).save(investmentCaptor.capture());
             assertThat(investmentCaptor.getValue().getCompletedAt()).isNotNull();
+            verify(portfolioProjection).recordTransition(
+                    investmentCaptor.getValue(), null, InvestmentStatus.PENDING);
         }
 
         @Test
@@ -0,0 +1,213 @@
+package com.keza.investment.application.usecase;
+
+import com.keza.common.enums.TransactionStatus;
+import com.keza.common.exception.BusinessRuleException;
+import com.keza.investment.application.dto.InvestmentResponse;
+import com.keza.investment.domain.model.Transaction;
+import com.keza.investment.domain.port.out.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PaymentOutcomeUseCase")
+class PaymentOutcomeUseCaseTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private InvestmentUseCase investmentUseCase;
+
+    @InjectMocks
+    private PaymentOutcomeUseCase paymentOutcomeUseCase;
+
+    private static final String PROVIDER_REFERENCE = "ws_CO_123";
+    private UUID investmentId;
+    private UUID investorId;
+
+    @BeforeEach
+    void setUp() {
+        investmentId = UUID.randomUUID();
+        investorId = UUID.randomUUID();
+    }
+
+    private Transaction transaction(TransactionStatus status) {
+        Transaction transaction = Transaction.builder()
+                .investmentId(investmentId)
+                .userId(investorId)
+                .amount(new BigDecimal("5000"))
+                .status(status)
+                .providerReference(PROVIDER_REFERENCE)
+                .build();
+        transaction.setId(UUID.randomUUID());
+        when(transactionRepository.findByProviderReference(PROVIDER_REFERENCE)).thenReturn(Optional.of(transaction));
+        return transaction;
+    }
+
+    private void investment(String status) {
+        investment(status, null);
+    }
+
+    private void investment(String status, Instant coolingOffExpiresAt) {
+        when(investmentUseCase.getInvestment(investmentId)).thenReturn(InvestmentResponse.builder()
+                .id(investmentId)
+                .investorId(investorId)
+                .status(status)
+                .coolingOffExpiresAt(coolingOffExpiresAt)
+                .build());
+    }
+
+    @Nested
+    @DisplayName("completePayment")
+    class CompletePayment {
+
+        @Test
+        @DisplayName("should update transaction to COMPLETED and complete investment")
+        void shouldUpdateTransactionAndCompleteInvestment() {
+            Transaction transaction = transaction(TransactionStatus.PENDING);
+            investment("PAYMENT_INITIATED");
+
+            paymentOutcomeUseCase.completePayment(PROVIDER_REFERENCE, investmentId);
+
+            verify(transactionRepository).save(transaction);
+            verify(investmentUseCase).completeInvestment(investmentId);
+            assertThat(transaction.getStatus()).isEqualTo(TransactionStatus.COMPLETED);
+        }
+
+        @Test
+        @DisplayName("should still complete the investment when no transaction is found")
+        void shouldCompleteWhenNoTransactionFound() {
+            when(transactionRepository.findByProviderReference("unknown-ref")).thenReturn(Optional.empty());
+            investment("PENDING");
+
+            paymentOutcomeUseCase.completePayment("unknown-ref", investmentId);
+
+            verify(transactionRepository, never()).save(any());
+            verify(investmentUseCase).completeInvestment(investmentId);
+        }
+
+        @Test
+        @DisplayName("should skip a redelivered event whose transaction is already COMPLETED")
+        void shouldSkipRedelivery() {
+            transaction(TransactionStatus.COMPLETED);
+
+            paymentOutcomeUseCase.completePayment(PROVIDER_REFERENCE, investmentId);
+
+            verify(transactionRepository, never()).save(any());
+            verifyNoInteractions(investmentUseCase);
+        }
+
+        @Test
+        @DisplayName("should still record the payment but leave an investment that can no longer be completed")
+        void shouldSkipInvalidTransition() {
+            Transaction transaction = transaction(TransactionStatus.PENDING);
+            investment("CANCELLED");
+
+            paymentOutcomeUseCase.completePayment(PROVIDER_REFERENCE, investmentId);
+
+            verify(transactionRepository).save(transaction);
+            verify(investmentUseCase, never()).completeInvestment(any());
+            assertThat(transaction.getStatus()).isEqualTo(TransactionStatus.COMPLETED);
+        }
+
+        @Test
+        @DisplayName("should propagate investment failures so the status update rolls back with them")
+        void shouldPropagateInvestmentFailure() {
+            transaction(TransactionStatus.PENDING);
+            investment("PENDING");
+            when(investmentUseCase.completeInvestment(investmentId))
+                    .thenThrow(new BusinessRuleException("INVALID_STATUS", "Investment cannot be completed"));
+
+            assertThatThrownBy(() -> paymentOutcomeUseCase.completePayment(PROVIDER_REFERENCE, investmentId))
+                    .isInstanceOf(BusinessRuleException.class);
+        }
+
+        @Test
+        @DisplayName("should only update the transaction when the event has no investment")
+        void shouldHandleMissingInvestmentId() {
+            Transaction transaction = transaction(TransactionStatus.PENDING);
+
+            paymentOutcomeUseCase.completePayment(PROVIDER_REFERENCE, null);
+
+            verify(transactionRepository).save(transaction);
+            verifyNoInteractions(investmentUseCase);
+        }
+    }
+
+    @Nested
+    @DisplayName("failPayment")
+    class FailPayment {
+
+        @Test
+        @DisplayName("should update transaction to FAILED and cancel investment")
+        void shouldUpdateTransactionAndCancelInvestment() {
+            Transaction transaction = transaction(TransactionStatus.PENDING);
+            investment("PENDING");
+
+            paymentOutcomeUseCase.failPayment(PROVIDER_REFERENCE, investmentId, "Insufficient funds");
+
+            verify(transactionRepository).save(transaction);
+            verify(investmentUseCase).cancelInvestment(investmentId, investorId);
+            assertThat(transaction.getStatus()).isEqualTo(TransactionStatus.FAILED);
+        }
+
+        @Test
+        @DisplayName("should still record the failure but leave an investment whose payment was already initiated")
+        void shouldSkipCancelOfInitiatedPayment() {
+            Transaction transaction = transaction(TransactionStatus.PENDING);
+            investment("PAYMENT_INITIATED");
+
+            paymentOutcomeUseCase.failPayment(PROVIDER_REFERENCE, investmentId, "Insufficient funds");
+
+            verify(transactionRepository).save(transaction);
+            verify(investmentUseCase, never()).cancelInvestment(any(), any());
+            assertThat(transaction.getStatus()).isEqualTo(TransactionStatus.FAILED);
+        }
+
+        @Test
+        @DisplayName("should still record the failure but leave an investment past its cooling-off period")
+        void shouldSkipCancelAfterCoolingOff() {
+            Transaction transaction = transaction(TransactionStatus.PENDING);
+            investment("COOLING_OFF", Instant.now().minusSeconds(60));
+
+            paymentOutcomeUseCase.failPayment(PROVIDER_REFERENCE, investmentId, "Insufficient funds");
+
+            verify(transactionRepository).save(transaction);
+            verify(investmentUseCase, never()).cancelInvestment(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("refundPayment")
+    class RefundPayment {
+
+        @Test
+        @DisplayName("should update transaction to REFUNDED and refund investment")
+        void shouldUpdateTransactionAndRefundInvestment() {
+            Transaction transaction = transaction(TransactionStatus.COMPLETED);
+            investment("COMPLETED");
+
+            paymentOutcomeUseCase.refundPayment(PROVIDER_REFERENCE, investmentId, "ref-999");
+
+            verify(transactionRepository).save(transaction);
+            verify(investmentUseCase).refundInvestment(investmentId);
+            assertThat(transaction.getStatus()).isEqualTo(TransactionStatus.REFUNDED);
+        }
+    }
+}
@@ -1,13 +1,11 @@
 package com.keza.investment.application.usecase;
 
-import com.keza.campaign.domain.model.Campaign;
-import com.keza.campaign.domain.port.out.CampaignRepository;
-import com.keza.common.enums.CampaignStatus;
-import com.keza.common.enums.InvestmentStatus;
-import com.keza.common.enums.PaymentMethod;
+import com.keza.investment.application.dto.InvestmentResponse;
 import com.keza.investment.application.dto.PortfolioResponse;
-import com.keza.investment.domain.model.Investment;
-import com.keza.investment.domain.port.out.InvestmentRepository;
+import com.keza.investment.domain.model.InvestorPortfolioSector;
+import com.keza.investment.domain.model.InvestorPortfolioSummary;
+import com.keza.investment.domain.port.out.InvestorPortfolioSectorRepository;
+import com.keza.investment.domain.port.out.InvestorPortfolioSummaryRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -16,27 +14,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("PortfolioUseCase")
 class PortfolioUseCaseTest {
 
     @Mock
-    private InvestmentRepository investmentRepository;
+    private InvestorPortfolioSummaryRepository summaryRepository;
     @Mock
-    private CampaignRepository campaignRepository;
+    private InvestorPortfolioSectorRepository sectorRepository;
     @Mock
     private InvestmentUseCase investmentUseCase;
 
@@ -50,32 +46,16 @@ class PortfolioUseCaseTest {
         userId = UUID.randomUUID();
     }
 
-    private Investment buildInvestment(UUID campaignId, InvestmentStatus status, BigDecimal amount) {
-        Investment inv = Investment.builder()
-                .investorId(userId)
-                .campaignId(campaignId)
-                .amount(amount)
-                .shares(amount.divide(new BigDecimal("100"), 0, RoundingMode.FLOOR).longValue())
-                .sharePrice(new BigDecimal("100"))
-                .status(status)
-                .paymentMethod(PaymentMethod.MPESA)
-                .build();
-        inv.setId(UUID.randomUUID());
-        return inv;
+    private InvestorPortfolioSummary.InvestorPortfolioSummaryBuilder summary() {
+        return InvestorPortfolioSummary.builder().investorId(userId);
     }
 
-    private Campaign buildCampaign(UUID id, String industry) {
-        Campaign c = Campaign.builder()
-                .issuerId(UUID.randomUUID())
-                .title("Campaign " + industry)
-                .status(CampaignStatus.LIVE)
-                .targetAmount(new BigDecimal("1000000"))
-                .raisedAmount(BigDecimal.ZERO)
-                .sharePrice(new BigDecimal("100"))
-                .industry(industry)
+    private InvestorPortfolioSector sector(String name, String amount) {
+        return InvestorPortfolioSector.builder()
+                .investorId(userId)
+                .sector(name)
+                .activeAmount(new BigDecimal(amount))
                 .build();
-        c.setId(id);
-        return c;
     }
 
     @Nested
@@ -83,11 +63,10 @@ class PortfolioUseCaseTest {
     class GetPortfolio {
 
         @Test
-        @DisplayName("should return empty portfolio when user has no investments")
+        @DisplayName("should return empty portfolio when user has no summary")
         void shouldReturnEmptyPortfolio() {
-            Page<Investment> emptyPage = new PageImpl<>(Collections.emptyList());
-            when(investmentRepository.findByInvestorIdOrderByCreatedAtDesc(eq(userId), any(Pageable.class)))
-                    .thenReturn(emptyPage);
+            when(summaryRepository.findByInvestorId(userId)).thenReturn(Optional.empty());
+            when(sectorRepository.findActiveByInvestorId(userId)).thenReturn(List.of());
 
             PortfolioResponse response = portfolioUseCase.getPortfolio(userId);
 
@@ -95,76 +74,74 @@ class PortfolioUseCaseTest {
             assertThat(response.getActiveInvestments()).isZero();
             assertThat(response.getSectorDistribution()).isEmpty();
             assertThat(response.getInvestments()).isEmpty();
+            verifyNoInteractions(investmentUseCase);
         }
 
         @Test
-        @DisplayName("should calculate totalInvested from COMPLETED, COOLING_OFF and PENDING investments only")
-        void shouldCalculateTotalInvestedCorrectly() {
-            UUID c1 = UUID.randomUUID();
-            UUID c2 = UUID.randomUUID();
-
-            List<Investment> investments = List.of(
-                    buildInvestment(c1, InvestmentStatus.COMPLETED, new BigDecimal("5000")),
-                    buildInvestment(c1, InvestmentStatus.PENDING, new BigDecimal("3000")),
-                    buildInvestment(c2, InvestmentStatus.COOLING_OFF, new BigDecimal("2000")),
-                    buildInvestment(c2, InvestmentStatus.CANCELLED, new BigDecimal("4000")),
-                    buildInvestment(c2, InvestmentStatus.REFUNDED, new BigDecimal("1000"))
-            );
-
-            Page<Investment> page = new PageImpl<>(investments);
-            when(investmentRepository.findByInvestorIdOrderByCreatedAtDesc(eq(userId), any(Pageable.class)))
-                    .thenReturn(page);
-            when(campaignRepository.findAllById(any())).thenReturn(List.of(
-                    buildCampaign(c1, "FinTech"),
-                    buildCampaign(c2, "AgriTech")
-            ));
+        @DisplayName("should derive counts and totals from the materialized summary")
+        void shouldDeriveCountsFromSummary() {
+            when(summaryRepository.findByInvestorId(userId)).thenReturn(Optional.of(summary()
+                    .pendingCount(1)
+                    .coolingOffCount(1)
+                    .completedCount(1)
+                    .cancelledCount(1)
+                    .refundedCount(1)
+                    .totalInvested(new BigDecimal("10000"))
+                    .activeCost(new BigDecimal("7000"))
+                    .activeValue(new BigDecimal("7000"))
+                    .lifetimeAmount(new BigDecimal("15000"))
+                    .build()));
+            when(sectorRepository.findActiveByInvestorId(userId)).thenReturn(List.of());
+            when(investmentUseCase.getUserInvestments(eq(userId), any(Pageable.class)))
+                    .thenReturn(new PageImpl<>(List.of()));
 
             PortfolioResponse response = portfolioUseCase.getPortfolio(userId);
 
-            // totalInvested = 5000 + 3000 + 2000 = 10000 (excludes CANCELLED and REFUNDED)
             assertThat(response.getTotalInvested()).isEqualByComparingTo(new BigDecimal("10000"));
+            assertThat(response.getActiveInvestments()).isEqualTo(2); // COMPLETED + COOLING_OFF
+            assertThat(response.getPendingInvestments()).isEqualTo(1);
+            assertThat(response.getCancelledInvestments()).isEqualTo(2); // CANCELLED + REFUNDED
+            assertThat(response.getTotalInvestmentCount()).isEqualTo(5);
+            assertThat(response.getAverageInvestmentAmount()).isEqualByComparingTo(new BigDecimal("3000"));
+            assertThat(response.getInvestmentStageBreakdown())
+                    .containsOnlyKeys("PENDING", "COOLING_OFF", "COMPLETED", "CANCELLED", "REFUNDED");
         }
 
         @Test
-        @DisplayName("should count only COMPLETED and COOLING_OFF as active investments")
-        void shouldCountActiveInvestments() {
-            UUID c1 = UUID.randomUUID();
-
-            List<Investment> investments = List.of(
-                    buildInvestment(c1, InvestmentStatus.COMPLETED, new BigDecimal("5000")),
-                    buildInvestment(c1, InvestmentStatus.COOLING_OFF, new BigDecimal("3000")),
-                    buildInvestment(c1, InvestmentStatus.PENDING, new BigDecimal("2000")),
-                    buildInvestment(c1, InvestmentStatus.CANCELLED, new BigDecimal("1000"))
-            );
-
-            Page<Investment> page = new PageImpl<>(investments);
-            when(investmentRepository.findByInvestorIdOrderByCreatedAtDesc(eq(userId), any(Pageable.class)))
-                    .thenReturn(page);
-            when(campaignRepository.findAllById(any())).thenReturn(List.of(buildCampaign(c1, "FinTech")));
+        @DisplayName("should compute returns and ROI from active value and cost")
+        void shouldComputeReturns() {
+            when(summaryRepository.findByInvestorId(userId)).thenReturn(Optional.of(summary()
+                    .completedCount(1)
+                    .totalInvested(new BigDecimal("10000"))
+                    .activeCost(new BigDecimal("10000"))
+                    .activeValue(new BigDecimal("12000"))
+                    .lifetimeAmount(new BigDecimal("10000"))
+                    .build()));
+            when(sectorRepository.findActiveByInvestorId(userId)).thenReturn(List.of());
+            when(investmentUseCase.getUserInvestments(eq(userId), any(Pageable.class)))
+                    .thenReturn(new PageImpl<>(List.of()));
 
             PortfolioResponse response = portfolioUseCase.getPortfolio(userId);
 
-            assertThat(response.getActiveInvestments()).isEqualTo(2); // COMPLETED + COOLING_OFF
+            assertThat(response.getTotalReturns()).isEqualByComparingTo(new BigDecimal("2000"));
+            assertThat(response.getRoiPercentage()).isEqualByComparingTo(new BigDecimal("20.00"));
         }
 
         @Test
-        @DisplayName("should compute sector distribution percentages from active investments")
+        @DisplayName("should compute sector distribution percentages from sector rows")
         void shouldComputeSectorDistribution() {
-            UUID c1 = UUID.randomUUID();
-            UUID c2 = UUID.randomUUID();
-
-            List<Investment> investments = List.of(
-                    buildInvestment(c1, InvestmentStatus.COMPLETED, new BigDecimal("7000")),
-                    buildInvestment(c2, InvestmentStatus.COMPLETED, new BigDecimal("3000"))
-            );
-
-            Page<Investment> page = new PageImpl<>(investments);
-            when(investmentRepository.findByInvestorIdOrderByCreatedAtDesc(eq(userId), any(Pageable.class)))
-                    .thenReturn(page);
-            when(campaignRepository.findAllById(any())).thenReturn(List.of(
-                    buildCampaign(c1, "FinTech"),
-                    buildCampaign(c2, "AgriTech")
-            ));
+            when(summaryRepository.findByInvestorId(userId)).thenReturn(Optional.of(summary()
+                    .completedCount(2)
+                    .totalInvested(new BigDecimal("10000"))
+                    .activeCost(new BigDecimal("10000"))
+                    .activeValue(new BigDecimal("10000"))
+                    .lifetimeAmount(new BigDecimal("10000"))
+                    .build()));
+            when(sectorRepository.findActiveByInvestorId(userId)).thenReturn(List.of(
+                    sector("FinTech", "7000"),
+                    sector("AgriTech", "3000")));
+            when(investmentUseCase.getUserInvestments(eq(userId), any(Pageable.class)))
+                    .thenReturn(new PageImpl<>(List.of()));
 
             PortfolioResponse response = portfolioUseCase.getPortfolio(userId);
 
@@ -174,66 +151,22 @@ class PortfolioUseCaseTest {
         }
 
         @Test
-        @DisplayName("should use 'Other' when campaign industry is null")
-        void shouldUseOtherForNullIndustry() {
-            UUID c1 = UUID.randomUUID();
-
-            List<Investment> investments = List.of(
-                    buildInvestment(c1, InvestmentStatus.COMPLETED, new BigDecimal("5000"))
-            );
-
-            Campaign campaignNoIndustry = buildCampaign(c1, null);
-            campaignNoIndustry.setIndustry(null);
-
-            Page<Investment> page = new PageImpl<>(investments);
-            when(investmentRepository.findByInvestorIdOrderByCreatedAtDesc(eq(userId), any(Pageable.class)))
-                    .thenReturn(page);
-            when(campaignRepository.findAllById(any())).thenReturn(List.of(campaignNoIndustry));
-
-            PortfolioResponse response = portfolioUseCase.getPortfolio(userId);
-
-            assertThat(response.getSectorDistribution()).containsKey("Other");
-            assertThat(response.getSectorDistribution().get("Other")).isEqualByComparingTo(new BigDecimal("100.00"));
-        }
-
-        @Test
-        @DisplayName("should return empty sector distribution when only CANCELLED/REFUNDED investments exist")
-        void shouldReturnEmptySectorWhenNoActiveInvestments() {
-            UUID c1 = UUID.randomUUID();
-
-            List<Investment> investments = List.of(
-                    buildInvestment(c1, InvestmentStatus.CANCELLED, new BigDecimal("5000")),
-                    buildInvestment(c1, InvestmentStatus.REFUNDED, new BigDecimal("3000"))
-            );
-
-            Page<Investment> page = new PageImpl<>(investments);
-            when(investmentRepository.findByInvestorIdOrderByCreatedAtDesc(eq(userId), any(Pageable.class)))
-                    .thenReturn(page);
-
-            PortfolioResponse response = portfolioUseCase.getPortfolio(userId);
-
-            assertThat(response.getSectorDistribution()).isEmpty();
-            assertThat(response.getActiveInvestments()).isZero();
-        }
-
-        @Test
-        @DisplayName("should map all investments to response DTOs")
-        void shouldMapAllInvestmentsToResponses() {
-            UUID c1 = UUID.randomUUID();
-
-            List<Investment> investments = List.of(
-                    buildInvestment(c1, InvestmentStatus.COMPLETED, new BigDecimal("5000")),
-                    buildInvestment(c1, InvestmentStatus.CANCELLED, new BigDecimal("3000"))
-            );
-
-            Page<Investment> page = new PageImpl<>(investments);
-            when(investmentRepository.findByInvestorIdOrderByCreatedAtDesc(eq(userId), any(Pageable.class)))
-                    .thenReturn(page);
-            when(campaignRepository.findAllById(any())).thenReturn(List.of(buildCampaign(c1, "FinTech")));
+        @DisplayName("should include only the most recent investments")
+        void shouldIncludeRecentInvestments() {
+            InvestmentResponse recent = InvestmentResponse.builder().id(UUID.randomUUID()).build();
+            when(summaryRepository.findByInvestorId(userId)).thenReturn(Optional.of(summary()
+                    .completedCount(50)
+                    .lifetimeAmount(new BigDecimal("500000"))
+                    .build()));
+            when(sectorRepository.findActiveByInvestorId(userId)).thenReturn(List.of());
+            when(investmentUseCase.getUserInvestments(eq(userId), any(Pageable.class)))
+                    .thenReturn(new PageImpl<>(List.of(recent)));
 
             PortfolioResponse response = portfolioUseCase.getPortfolio(userId);
 
-            assertThat(response.getInvestments()).hasSize(2);
+            assertThat(response.getInvestments()).containsExactly(recent);
+            verify(investmentUseCase).getUserInvestments(eq(userId),
+                    argThat(p -> p.getPageSize() == PortfolioUseCase.RECENT_INVESTMENTS_LIMIT));
         }
     }
 }
@@ -0,0 +1,89 @@
+package com.keza.investment.domain.service;
+
+import com.keza.common.enums.InvestmentStatus;
+import com.keza.investment.domain.model.Investment;
+import com.keza.investment.domain.port.out.InvestorAnnualTotalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AnnualInvestmentLedger")
+class AnnualInvestmentLedgerTest {
+
+    @Mock
+    private InvestorAnnualTotalRepository annualTotalRepository;
+
+    @InjectMocks
+    private AnnualInvestmentLedger ledger;
+
+    private UUID investorId;
+    private Investment investment;
+
+    @BeforeEach
+    void setUp() {
+        investorId = UUID.randomUUID();
+        investment = Investment.builder()
+                .investorId(investorId)
+                .campaignId(UUID.randomUUID())
+                .amount(new BigDecimal("25000"))
+                .shares(250)
+                .sharePrice(new BigDecimal("100"))
+                .status(InvestmentStatus.PENDING)
+                .build();
+    }
+
+    @Test
+    @DisplayName("should return zero when the investor has no ledger row for the current year")
+    void shouldReturnZeroWithoutLedgerRow() {
+        when(annualTotalRepository.findTotalAmount(eq(investorId), anyInt())).thenReturn(Optional.empty());
+
+        assertThat(ledger.currentYearTotal(investorId)).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("should add the investment amount to the year it was created in")
+    void shouldRecordAgainstCreationYear() {
+        investment.setCreatedAt(Instant.parse("2024-06-01T10:00:00Z"));
+
+        ledger.record(investment);
+
+        verify(annualTotalRepository).addToTotal(investorId, 2024, new BigDecimal("25000"));
+    }
+
+    @Test
+    @DisplayName("should subtract the investment amount when reversing")
+    void shouldReverseAgainstCreationYear() {
+        investment.setCreatedAt(Instant.parse("2024-06-01T10:00:00Z"));
+
+        ledger.reverse(investment);
+
+        verify(annualTotalRepository).addToTotal(investorId, 2024, new BigDecimal("-25000"));
+    }
+
+    @Test
+    @DisplayName("should attribute investments to the Nairobi calendar year")
+    void shouldUseNairobiCalendarYear() {
+        // 22:00 UTC on New Year's Eve is already 01:00 on 1 January in Nairobi
+        investment.setCreatedAt(ZonedDateTime.parse("2024-12-31T22:00:00Z").toInstant());
+
+        ledger.record(investment);
+
+        verify(annualTotalRepository).addToTotal(investorId, 2025, new BigDecimal("25000"));
+    }
+}
@@ -0,0 +1,122 @@
+package com.keza.investment.domain.service;
+
+import com.keza.campaign.domain.model.Campaign;
+import com.keza.common.enums.CampaignStatus;
+import com.keza.common.enums.InvestmentStatus;
+import com.keza.investment.domain.event.PortfolioChangedEvent;
+import com.keza.investment.domain.model.Investment;
+import com.keza.investment.domain.port.out.InvestorPortfolioSectorRepository;
+import com.keza.investment.domain.port.out.InvestorPortfolioSummaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PortfolioProjection")
+class PortfolioProjectionTest {
+
+    @Mock
+    private InvestorPortfolioSummaryRepository summaryRepository;
+    @Mock
+    private InvestorPortfolioSectorRepository sectorRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private PortfolioProjection projection;
+
+    private UUID investorId;
+    private Campaign campaign;
+    private Investment investment;
+
+    @BeforeEach
+    void setUp() {
+        investorId = UUID.randomUUID();
+        campaign = Campaign.builder()
+                .issuerId(UUID.randomUUID())
+                .title("Solar Farms")
+                .industry("ENERGY")
+                .status(CampaignStatus.LIVE)
+                .targetAmount(new BigDecimal("1000000"))
+                .sharePrice(new BigDecimal("100"))
+                .build();
+        investment = Investment.builder()
+                .investorId(investorId)
+                .campaignId(UUID.randomUUID())
+                .amount(new BigDecimal("10000"))
+                .shares(100)
+                .sharePrice(new BigDecimal("100"))
+                .status(InvestmentStatus.PENDING)
+                .build();
+    }
+
+    @Test
+    @DisplayName("should add a new pending investment to counts, invested and lifetime totals")
+    void shouldRecordCreated() {
+        projection.recordCreated(investment, campaign);
+
+        BigDecimal amount = new BigDecimal("10000");
+        verify(summaryRepository).applyDelta(investorId, 1, 0, 0, 0, 0, 0,
+                amount, BigDecimal.ZERO, BigDecimal.ZERO, amount);
+        verifyNoInteractions(sectorRepository);
+        verify(eventPublisher).publishEvent(new PortfolioChangedEvent(investorId));
+    }
+
+    @Test
+    @DisplayName("should move a completed investment into active cost, value and its sector")
+    void shouldRecordCompletion() {
+        investment.setStatus(InvestmentStatus.COMPLETED);
+
+        projection.recordTransition(investment, campaign, InvestmentStatus.PENDING);
+
+        BigDecimal amount = new BigDecimal("10000");
+        verify(summaryRepository).applyDelta(investorId, -1, 0, 0, 1, 0, 0,
+                BigDecimal.ZERO, amount, amount, BigDecimal.ZERO);
+        verify(sectorRepository).addToSector(investorId, "ENERGY", amount);
+    }
+
+    @Test
+    @DisplayName("should remove a refunded investment from invested, active and sector totals")
+    void shouldRecordRefund() {
+        investment.setStatus(InvestmentStatus.REFUNDED);
+
+        projection.recordTransition(investment, campaign, InvestmentStatus.COMPLETED);
+
+        BigDecimal negated = new BigDecimal("-10000");
+        verify(summaryRepository).applyDelta(investorId, 0, 0, 0, -1, 0, 1,
+                negated, negated, negated, BigDecimal.ZERO);
+        verify(sectorRepository).addToSector(investorId, "ENERGY", negated);
+    }
+
+    @Test
+    @DisplayName("should attribute investments without a campaign industry to 'Other'")
+    void shouldUseOtherSectorWithoutCampaign() {
+        investment.setStatus(InvestmentStatus.COMPLETED);
+
+        projection.recordTransition(investment, null, InvestmentStatus.PENDING);
+
+        verify(sectorRepository).addToSector(investorId, PortfolioProjection.UNKNOWN_SECTOR, new BigDecimal("10000"));
+    }
+
+    @Test
+    @DisplayName("should do nothing when the status did not change")
+    void shouldIgnoreNoOpTransition() {
+        projection.recordTransition(investment, campaign, InvestmentStatus.PENDING);
+
+        verify(summaryRepository, never()).applyDelta(any(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(),
+                anyInt(), any(), any(), any(), any());
+        verifyNoInteractions(sectorRepository, eventPublisher);
+    }
+}
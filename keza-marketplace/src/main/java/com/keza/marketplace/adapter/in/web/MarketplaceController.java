@@ -1,7 +1,10 @@
 package com.keza.marketplace.adapter.in.web;
 
 import com.keza.common.dto.ApiResponse;
+import com.keza.common.dto.PageCursor;
 import com.keza.common.dto.PagedResponse;
+import com.keza.common.dto.PagingMode;
+import com.keza.infrastructure.idempotency.Idempotent;
 import com.keza.marketplace.application.dto.*;
 import com.keza.marketplace.application.usecase.MarketplaceUseCase;
 import jakarta.validation.Valid;
@@ -45,9 +48,12 @@ public class MarketplaceController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) PagingMode paging,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
 
-        size = Math.min(size, 100);
+        size = Math.max(1, Math.min(size, 100));
 
         MarketplaceSearchCriteria criteria = MarketplaceSearchCriteria.builder()
                 .campaignId(campaignId)
@@ -56,13 +62,24 @@ public class MarketplaceController {
                 .industry(industry)
                 .build();
 
-        Sort sort = sortDir.equalsIgnoreCase("asc")
+        // Cursor pages are always newest first; sortBy and sortDir apply to offset pages only
+        if (PagingMode.isCursor(paging, cursor)) {
+            PagedResponse<ListingResponse> results = marketplaceUseCase.getActiveListings(
+                    criteria, PageCursor.decode(cursor), size, includeTotal);
+            return ResponseEntity.ok(ApiResponse.success(results));
+        }
+
+        boolean keysetOrder = PageCursor.isKeysetOrder(sortBy, sortDir);
+        Sort sort = keysetOrder ? PageCursor.SORT
+                : sortDir.equalsIgnoreCase("asc")
                 ? Sort.by(sortBy).ascending()
                 : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
         Page<ListingResponse> results = marketplaceUseCase.getActiveListings(criteria, pageable);
-        return ResponseEntity.ok(ApiResponse.success(PagedResponse.from(results)));
+        return ResponseEntity.ok(ApiResponse.success(keysetOrder
+                ? PagedResponse.from(results, listing -> new PageCursor(listing.getCreatedAt(), listing.getId()))
+                : PagedResponse.from(results)));
     }
 
     @GetMapping("/listings/{id}")
@@ -82,15 +99,37 @@ public class MarketplaceController {
     }
 
     @PostMapping("/listings/{id}/buy")
+    @Idempotent
     public ResponseEntity<ApiResponse<MarketplaceTransactionResponse>> buyListing(
             @PathVariable UUID id,
+            @RequestParam(required = false) Long shares,
             Authentication authentication) {
 
         UUID buyerId = UUID.fromString(authentication.getName());
-        MarketplaceTransactionResponse response = marketplaceUseCase.buyListing(id, buyerId);
+        MarketplaceTransactionResponse response = marketplaceUseCase.buyListing(id, buyerId, shares);
         return ResponseEntity.ok(ApiResponse.success(response, "Purchase completed successfully"));
     }
 
+    @PostMapping("/orders")
+    @Idempotent
+    public ResponseEntity<ApiResponse<BuyOrderResponse>> placeBuyOrder(
+            @RequestBody @Valid BuyOrderRequest request,
+            Authentication authentication) {
+
+        UUID buyerId = UUID.fromString(authentication.getName());
+        BuyOrderResponse response = marketplaceUseCase.placeBuyOrder(buyerId, request);
+        String message = response.getFilledShares() < response.getRequestedShares()
+                ? "Buy order partially filled"
+                : "Buy order filled";
+        return ResponseEntity.ok(ApiResponse.success(response, message));
+    }
+
+    @GetMapping("/campaigns/{campaignId}/order-book")
+    public ResponseEntity<ApiResponse<OrderBookResponse>> getOrderBook(@PathVariable UUID campaignId) {
+        OrderBookResponse response = marketplaceUseCase.getOrderBook(campaignId);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @GetMapping("/my-listings")
     public ResponseEntity<ApiResponse<PagedResponse<ListingResponse>>> getUserListings(
             @RequestParam(defaultValue = "0") int page,
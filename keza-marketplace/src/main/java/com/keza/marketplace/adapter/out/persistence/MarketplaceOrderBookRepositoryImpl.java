@@ -0,0 +1,124 @@
+package com.keza.marketplace.adapter.out.persistence;
+
+import com.keza.marketplace.domain.model.ListingFill;
+import com.keza.marketplace.domain.model.OrderBookLevel;
+import com.keza.marketplace.domain.port.out.MarketplaceOrderBookRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@Transactional
+public class MarketplaceOrderBookRepositoryImpl implements MarketplaceOrderBookRepository {
+
+    /**
+     * Asks locked per round while matching a buy order. Small, so a buy order holds locks only
+     * on the asks it is about to consume.
+     */
+    private static final int MATCH_BATCH = 10;
+
+    private static final String AVAILABLE = "status = 'ACTIVE' AND seller_id <> :buyerId " +
+            "AND (expires_at IS NULL OR expires_at > :now) ";
+
+    // SET expressions see the row as it was before the update, RETURNING sees it after
+    private static final String FILL_SQL = "UPDATE marketplace_listings SET " +
+            "shares_remaining = shares_remaining - :shares, " +
+            "status = CASE WHEN shares_remaining = :shares THEN 'SOLD' ELSE status END, " +
+            "sold_at = CASE WHEN shares_remaining = :shares THEN :now ELSE sold_at END, " +
+            "buyer_id = CASE WHEN shares_remaining = :shares THEN :buyerId ELSE buyer_id END, " +
+            "updated_at = :now, version = version + 1 " +
+            "WHERE id = :id AND shares_remaining >= :shares AND " + AVAILABLE +
+            "RETURNING id, seller_id, price_per_share, seller_fee, shares_listed, shares_remaining";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public Optional<ListingFill> fillListing(UUID listingId, UUID buyerId, long shares, Instant now) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = em.createNativeQuery(FILL_SQL)
+                .setParameter("id", listingId)
+                .setParameter("buyerId", buyerId)
+                .setParameter("shares", shares)
+                .setParameter("now", now)
+                .getResultList();
+        return rows.stream().findFirst().map(row -> mapFill(row, shares));
+    }
+
+    @Override
+    public List<ListingFill> matchBuyOrder(UUID campaignId, UUID buyerId, long shares, BigDecimal maxPricePerShare,
+                                           Instant now) {
+        List<ListingFill> fills = new ArrayList<>();
+        long needed = shares;
+
+        while (needed > 0) {
+            @SuppressWarnings("unchecked")
+            List<Object[]> asks = em.createNativeQuery("SELECT id, shares_remaining FROM marketplace_listings " +
+                            "WHERE campaign_id = :campaignId AND price_per_share <= :maxPrice AND " + AVAILABLE +
+                            "ORDER BY price_per_share, created_at, id LIMIT :limit FOR UPDATE SKIP LOCKED")
+                    .setParameter("campaignId", campaignId)
+                    .setParameter("maxPrice", maxPricePerShare)
+                    .setParameter("buyerId", buyerId)
+                    .setParameter("now", now)
+                    .setParameter("limit", MATCH_BATCH)
+                    .getResultList();
+            if (asks.isEmpty()) {
+                break;
+            }
+
+            for (Object[] ask : asks) {
+                long take = Math.min(((Number) ask[1]).longValue(), needed);
+                // The row is locked by this transaction, so the conditional update cannot miss
+                fillListing((UUID) ask[0], buyerId, take, now).ifPresent(fills::add);
+                needed -= take;
+                if (needed == 0) {
+                    break;
+                }
+            }
+            if (asks.size() < MATCH_BATCH) {
+                break;
+            }
+        }
+        return fills;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderBookLevel> findAskLevels(UUID campaignId, Instant now, int depth) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = em.createNativeQuery("SELECT price_per_share, SUM(shares_remaining), COUNT(*) " +
+                        "FROM marketplace_listings " +
+                        "WHERE campaign_id = :campaignId AND status = 'ACTIVE' " +
+                        "AND (expires_at IS NULL OR expires_at > :now) " +
+                        "GROUP BY price_per_share ORDER BY price_per_share LIMIT :depth")
+                .setParameter("campaignId", campaignId)
+                .setParameter("now", now)
+                .setParameter("depth", depth)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new OrderBookLevel(
+                        (BigDecimal) row[0],
+                        ((Number) row[1]).longValue(),
+                        ((Number) row[2]).intValue()))
+                .toList();
+    }
+
+    private ListingFill mapFill(Object[] row, long shares) {
+        return new ListingFill(
+                (UUID) row[0],
+                (UUID) row[1],
+                shares,
+                (BigDecimal) row[2],
+                (BigDecimal) row[3],
+                ((Number) row[4]).longValue(),
+                ((Number) row[5]).longValue());
+    }
+}
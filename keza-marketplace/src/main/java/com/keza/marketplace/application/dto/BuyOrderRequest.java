@@ -0,0 +1,29 @@
+package com.keza.marketplace.application.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuyOrderRequest {
+
+    @NotNull(message = "Campaign ID is required")
+    private UUID campaignId;
+
+    @Min(value = 1, message = "Shares must be at least 1")
+    private long shares;
+
+    @NotNull(message = "Maximum price per share is required")
+    @DecimalMin(value = "0.0001", message = "Maximum price per share must be greater than zero")
+    private BigDecimal maxPricePerShare;
+}
@@ -0,0 +1,24 @@
+package com.keza.marketplace.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuyOrderResponse {
+
+    private UUID campaignId;
+    private long requestedShares;
+    private long filledShares;
+    private BigDecimal totalAmount;
+    private BigDecimal averagePricePerShare;
+    private List<MarketplaceTransactionResponse> fills;
+}
@@ -25,6 +25,7 @@ public class ListingResponse {
     private String companyName;
     private String industry;
     private long sharesListed;
+    private long sharesRemaining;
     private BigDecimal pricePerShare;
     private BigDecimal totalPrice;
     private String status;
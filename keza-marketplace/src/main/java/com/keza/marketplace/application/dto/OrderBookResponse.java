@@ -0,0 +1,24 @@
+package com.keza.marketplace.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.keza.marketplace.domain.model.OrderBookLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderBookResponse {
+
+    private UUID campaignId;
+    private BigDecimal bestAsk;
+    private List<OrderBookLevel> asks;
+}
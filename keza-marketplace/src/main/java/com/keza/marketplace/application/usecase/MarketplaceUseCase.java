@@ -2,6 +2,8 @@ package com.keza.marketplace.application.usecase;
 
 import com.keza.campaign.domain.model.Campaign;
 import com.keza.campaign.domain.port.out.CampaignRepository;
+import com.keza.common.dto.PageCursor;
+import com.keza.common.dto.PagedResponse;
 import com.keza.common.exception.BusinessRuleException;
 import com.keza.common.exception.ForbiddenException;
 import com.keza.common.exception.ResourceNotFoundException;
@@ -12,6 +14,7 @@ import com.keza.marketplace.application.dto.*;
 import com.keza.marketplace.domain.event.ListingCreatedEvent;
 import com.keza.marketplace.domain.model.*;
 import com.keza.marketplace.domain.port.out.MarketplaceListingRepository;
+import com.keza.marketplace.domain.port.out.MarketplaceOrderBookRepository;
 import com.keza.marketplace.domain.port.out.MarketplaceTransactionRepository;
 import com.keza.marketplace.domain.service.MarketplaceService;
 import jakarta.persistence.criteria.Predicate;
@@ -25,6 +28,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -35,7 +39,13 @@ import java.util.UUID;
 @Slf4j
 public class MarketplaceUseCase {
 
+    /**
+     * Price levels returned by {@link #getOrderBook(UUID)}.
+     */
+    static final int ORDER_BOOK_DEPTH = 20;
+
     private final MarketplaceListingRepository listingRepository;
+    private final MarketplaceOrderBookRepository orderBookRepository;
     private final MarketplaceTransactionRepository transactionRepository;
     private final InvestmentRepository investmentRepository;
     private final CampaignRepository campaignRepository;
@@ -80,6 +90,7 @@ public class MarketplaceUseCase {
                 .investmentId(request.getInvestmentId())
                 .campaignId(investment.getCampaignId())
                 .sharesListed(request.getSharesListed())
+                .sharesRemaining(request.getSharesListed())
                 .pricePerShare(request.getPricePerShare())
                 .totalPrice(totalPrice)
                 .status(ListingStatus.ACTIVE)
@@ -129,6 +140,18 @@ public class MarketplaceUseCase {
 
     @Transactional
     public MarketplaceTransactionResponse buyListing(UUID listingId, UUID buyerId) {
+        return buyListing(listingId, buyerId, null);
+    }
+
+    /**
+     * Buys {@code shares} from a listing, or everything left on it when {@code shares} is null.
+     * <p>
+     * The listing is decremented by a single conditional update, so two buyers racing for the
+     * last shares cannot both succeed; the loser gets {@code LISTING_NOT_AVAILABLE} instead of
+     * an optimistic-lock failure at commit.
+     */
+    @Transactional
+    public MarketplaceTransactionResponse buyListing(UUID listingId, UUID buyerId, Long shares) {
         log.info("Processing purchase of listing {} by buyer {}", listingId, buyerId);
 
         MarketplaceListing listing = listingRepository.findById(listingId)
@@ -144,45 +167,80 @@ public class MarketplaceUseCase {
                     "You cannot purchase your own listing");
         }
 
-        if (listing.getExpiresAt() != null && Instant.now().isAfter(listing.getExpiresAt())) {
+        Instant now = Instant.now();
+        if (listing.getExpiresAt() != null && now.isAfter(listing.getExpiresAt())) {
             listing.setStatus(ListingStatus.EXPIRED);
             listingRepository.save(listing);
             throw new BusinessRuleException("LISTING_EXPIRED",
                     "This listing has expired");
         }
 
-        BigDecimal sellerFee = listing.getSellerFee();
-        BigDecimal netAmount = MoneyUtil.round(listing.getTotalPrice().subtract(sellerFee));
+        long quantity = shares != null ? shares : listing.getSharesRemaining();
+        if (quantity < 1 || quantity > listing.getSharesRemaining()) {
+            throw new BusinessRuleException("INSUFFICIENT_SHARES",
+                    String.format("Cannot buy %d shares. This listing has %d shares remaining.",
+                            quantity, listing.getSharesRemaining()));
+        }
 
-        // Create marketplace transaction in ESCROW status
-        MarketplaceTransaction transaction = MarketplaceTransaction.builder()
-                .listingId(listingId)
-                .buyerId(buyerId)
-                .sellerId(listing.getSellerId())
-                .shares(listing.getSharesListed())
-                .pricePerShare(listing.getPricePerShare())
-                .totalAmount(listing.getTotalPrice())
-                .sellerFee(sellerFee)
-                .netAmount(netAmount)
-                .status(MarketplaceTransactionStatus.ESCROW)
-                .build();
+        ListingFill fill = orderBookRepository.fillListing(listingId, buyerId, quantity, now)
+                .orElseThrow(() -> new BusinessRuleException("LISTING_NOT_AVAILABLE",
+                        "This listing was just bought or changed. Please refresh and try again."));
 
-        transaction = transactionRepository.save(transaction);
+        MarketplaceTransaction transaction = transactionRepository.save(toTransaction(fill, buyerId));
 
-        // Mark listing as sold
-        listing.setStatus(ListingStatus.SOLD);
-        listing.setSoldAt(Instant.now());
-        listing.setBuyerId(buyerId);
-        listingRepository.save(listing);
+        log.info("Listing {} purchased by buyer {}: {} shares, {} remaining. Transaction {} completed. Net to seller: {}",
+                listingId, buyerId, fill.shares(), fill.sharesRemaining(), transaction.getId(),
+                transaction.getNetAmount());
+
+        return mapToTransactionResponse(transaction);
+    }
 
-        // Complete the transaction (ownership transfer)
-        transaction.setStatus(MarketplaceTransactionStatus.COMPLETED);
-        transaction = transactionRepository.save(transaction);
+    /**
+     * Fills a buy order against the campaign's cheapest active asks at or below
+     * {@code maxPricePerShare}, oldest first within a price. Partially fills when the book is
+     * shallower than the order; fails only when nothing matched.
+     */
+    @Transactional
+    public BuyOrderResponse placeBuyOrder(UUID buyerId, BuyOrderRequest request) {
+        log.info("Matching buy order for {} shares of campaign {} at up to {} by buyer {}",
+                request.getShares(), request.getCampaignId(), request.getMaxPricePerShare(), buyerId);
+
+        List<ListingFill> fills = orderBookRepository.matchBuyOrder(request.getCampaignId(), buyerId,
+                request.getShares(), request.getMaxPricePerShare(), Instant.now());
+        if (fills.isEmpty()) {
+            throw new BusinessRuleException("NO_MATCHING_LISTINGS",
+                    "No active listings match this order at or below " + request.getMaxPricePerShare() + " per share");
+        }
 
-        log.info("Listing {} purchased successfully by buyer {}. Transaction {} completed. Net to seller: {}",
-                listingId, buyerId, transaction.getId(), netAmount);
+        List<MarketplaceTransaction> transactions = transactionRepository.saveAll(
+                fills.stream().map(fill -> toTransaction(fill, buyerId)).toList());
 
-        return mapToTransactionResponse(transaction);
+        long filledShares = fills.stream().mapToLong(ListingFill::shares).sum();
+        BigDecimal totalAmount = transactions.stream()
+                .map(MarketplaceTransaction::getTotalAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        log.info("Buy order by buyer {} filled {} of {} shares across {} listings for {}",
+                buyerId, filledShares, request.getShares(), fills.size(), totalAmount);
+
+        return BuyOrderResponse.builder()
+                .campaignId(request.getCampaignId())
+                .requestedShares(request.getShares())
+                .filledShares(filledShares)
+                .totalAmount(totalAmount)
+                .averagePricePerShare(totalAmount.divide(BigDecimal.valueOf(filledShares), 4, RoundingMode.HALF_UP))
+                .fills(transactions.stream().map(this::mapToTransactionResponse).toList())
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public OrderBookResponse getOrderBook(UUID campaignId) {
+        List<OrderBookLevel> asks = orderBookRepository.findAskLevels(campaignId, Instant.now(), ORDER_BOOK_DEPTH);
+        return OrderBookResponse.builder()
+                .campaignId(campaignId)
+                .bestAsk(asks.isEmpty() ? null : asks.get(0).pricePerShare())
+                .asks(asks)
+                .build();
     }
 
     @Transactional(readOnly = true)
@@ -191,6 +249,20 @@ public class MarketplaceUseCase {
         return listingRepository.findAll(spec, pageable).map(this::mapToResponse);
     }
 
+    /**
+     * Cursor-paged variant of {@link #getActiveListings(MarketplaceSearchCriteria, Pageable)},
+     * newest first; the total is counted only when requested.
+     */
+    @Transactional(readOnly = true)
+    public PagedResponse<ListingResponse> getActiveListings(MarketplaceSearchCriteria criteria, PageCursor after,
+                                                            int size, boolean includeTotal) {
+        Specification<MarketplaceListing> spec = buildSearchSpecification(criteria);
+        List<MarketplaceListing> rows = listingRepository.findBy(spec.and(PageCursor.after(after)),
+                query -> query.sortBy(PageCursor.SORT).limit(size + 1).all());
+        Long total = includeTotal ? listingRepository.count(spec) : null;
+        return PagedResponse.fromKeyset(rows, size, PageCursor::of, this::mapToResponse, total);
+    }
+
     @Transactional(readOnly = true)
     public ListingResponse getListing(UUID id) {
         MarketplaceListing listing = listingRepository.findById(id)
@@ -238,6 +310,7 @@ public class MarketplaceUseCase {
                 .investmentId(listing.getInvestmentId())
                 .campaignId(listing.getCampaignId())
                 .sharesListed(listing.getSharesListed())
+                .sharesRemaining(listing.getSharesRemaining())
                 .pricePerShare(listing.getPricePerShare())
                 .totalPrice(listing.getTotalPrice())
                 .status(listing.getStatus().name())
@@ -264,6 +337,30 @@ public class MarketplaceUseCase {
         return builder.build();
     }
 
+    /**
+     * Builds the completed transaction for a fill. The listing's seller fee is charged pro rata
+     * to the shares taken.
+     */
+    private MarketplaceTransaction toTransaction(ListingFill fill, UUID buyerId) {
+        BigDecimal quantity = BigDecimal.valueOf(fill.shares());
+        BigDecimal totalAmount = MoneyUtil.round(fill.pricePerShare().multiply(quantity));
+        BigDecimal listingFee = fill.listingSellerFee() != null ? fill.listingSellerFee() : BigDecimal.ZERO;
+        BigDecimal sellerFee = MoneyUtil.round(listingFee.multiply(quantity)
+                .divide(BigDecimal.valueOf(fill.sharesListed()), 8, RoundingMode.HALF_UP));
+
+        return MarketplaceTransaction.builder()
+                .listingId(fill.listingId())
+                .buyerId(buyerId)
+                .sellerId(fill.sellerId())
+                .shares(fill.shares())
+                .pricePerShare(fill.pricePerShare())
+                .totalAmount(totalAmount)
+                .sellerFee(sellerFee)
+                .netAmount(MoneyUtil.round(totalAmount.subtract(sellerFee)))
+                .status(MarketplaceTransactionStatus.COMPLETED)
+                .build();
+    }
+
     private MarketplaceTransactionResponse mapToTransactionResponse(MarketplaceTransaction transaction) {
         return MarketplaceTransactionResponse.builder()
                 .id(transaction.getId())
@@ -0,0 +1,20 @@
+package com.keza.marketplace.domain.model;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Shares taken from one listing by a purchase, as applied in the database.
+ *
+ * @param listingSellerFee the seller fee of the whole listing, prorated per fill
+ * @param sharesRemaining  shares left on the listing after this fill
+ */
+public record ListingFill(
+        UUID listingId,
+        UUID sellerId,
+        long shares,
+        BigDecimal pricePerShare,
+        BigDecimal listingSellerFee,
+        long sharesListed,
+        long sharesRemaining
+) {}
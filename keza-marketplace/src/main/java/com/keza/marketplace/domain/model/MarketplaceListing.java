@@ -29,6 +29,12 @@ public class MarketplaceListing extends BaseEntity {
     @Column(name = "shares_listed", nullable = false)
     private long sharesListed;
 
+    /**
+     * Shares still for sale; a listing stays ACTIVE until this reaches zero.
+     */
+    @Column(name = "shares_remaining", nullable = false)
+    private long sharesRemaining;
+
     @Column(name = "price_per_share", nullable = false, precision = 15, scale = 4)
     private BigDecimal pricePerShare;
 
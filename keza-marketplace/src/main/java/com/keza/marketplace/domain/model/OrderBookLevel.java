@@ -0,0 +1,8 @@
+package com.keza.marketplace.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregated asks at one price in a campaign's order book.
+ */
+public record OrderBookLevel(BigDecimal pricePerShare, long shares, int listings) {}
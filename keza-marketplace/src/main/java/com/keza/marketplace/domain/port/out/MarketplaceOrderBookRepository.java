@@ -0,0 +1,45 @@
+package com.keza.marketplace.domain.port.out;
+
+import com.keza.marketplace.domain.model.ListingFill;
+import com.keza.marketplace.domain.model.OrderBookLevel;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Atomic share matching against ACTIVE listings, via native SQL. Every fill is a conditional
+ * UPDATE that only succeeds while the listing is still ACTIVE, unexpired and holds enough
+ * shares, so concurrent buyers can never take the same shares twice. All methods participate
+ * in the caller's transaction.
+ */
+@Repository
+public interface MarketplaceOrderBookRepository {
+
+    /**
+     * Takes {@code shares} from one listing, marking it SOLD when nothing remains.
+     *
+     * @return the fill, or empty if the listing is no longer available in that quantity, has
+     *         expired, or belongs to the buyer
+     */
+    Optional<ListingFill> fillListing(UUID listingId, UUID buyerId, long shares, Instant now);
+
+    /**
+     * Fills up to {@code shares} from a campaign's asks priced at or below
+     * {@code maxPricePerShare}, cheapest first and oldest first within a price. Asks locked by a
+     * concurrent buyer are skipped rather than waited on, so under contention a buyer may be
+     * matched with the next-best ask instead of queueing behind another purchase.
+     *
+     * @return the fills in match order; fewer shares than requested on a partial fill
+     */
+    List<ListingFill> matchBuyOrder(UUID campaignId, UUID buyerId, long shares, BigDecimal maxPricePerShare,
+                                    Instant now);
+
+    /**
+     * Ask-side price levels of a campaign's order book, best price first.
+     */
+    List<OrderBookLevel> findAskLevels(UUID campaignId, Instant now, int depth);
+}
@@ -29,6 +29,7 @@ import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -171,7 +172,7 @@ class MarketplaceControllerTest {
                     .updatedAt(Instant.now())
                     .build();
 
-            when(marketplaceUseCase.buyListing(eq(listingId), eq(userId))).thenReturn(txResponse);
+            when(marketplaceUseCase.buyListing(eq(listingId), eq(userId), isNull())).thenReturn(txResponse);
 
             mockMvc.perform(post("/api/v1/marketplace/listings/{id}/buy", listingId)
                             .principal(authentication))
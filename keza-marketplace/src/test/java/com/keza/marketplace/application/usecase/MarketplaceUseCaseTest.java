@@ -7,14 +7,19 @@ import com.keza.common.exception.ForbiddenException;
 import com.keza.common.exception.ResourceNotFoundException;
 import com.keza.investment.domain.model.Investment;
 import com.keza.investment.domain.port.out.InvestmentRepository;
+import com.keza.marketplace.application.dto.BuyOrderRequest;
+import com.keza.marketplace.application.dto.BuyOrderResponse;
 import com.keza.marketplace.application.dto.CreateListingRequest;
 import com.keza.marketplace.application.dto.ListingResponse;
 import com.keza.marketplace.application.dto.MarketplaceTransactionResponse;
 import com.keza.marketplace.domain.event.ListingCreatedEvent;
+import com.keza.marketplace.domain.model.ListingFill;
 import com.keza.marketplace.domain.model.ListingStatus;
 import com.keza.marketplace.domain.model.MarketplaceListing;
 import com.keza.marketplace.domain.model.MarketplaceTransaction;
+import com.keza.marketplace.domain.model.MarketplaceTransactionStatus;
 import com.keza.marketplace.domain.port.out.MarketplaceListingRepository;
+import com.keza.marketplace.domain.port.out.MarketplaceOrderBookRepository;
 import com.keza.marketplace.domain.port.out.MarketplaceTransactionRepository;
 import com.keza.marketplace.domain.service.MarketplaceService;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,6 +43,7 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -48,6 +54,9 @@ class MarketplaceUseCaseTest {
     @Mock
     private MarketplaceListingRepository listingRepository;
 
+    @Mock
+    private MarketplaceOrderBookRepository orderBookRepository;
+
     @Mock
     private MarketplaceTransactionRepository transactionRepository;
 
@@ -294,23 +303,24 @@ class MarketplaceUseCaseTest {
     @DisplayName("buyListing")
     class BuyListing {
 
-        @Test
-        @DisplayName("should successfully purchase an active listing")
-        void shouldPurchaseSuccessfully() {
-            UUID listingId = UUID.randomUUID();
+        private MarketplaceListing activeListing(UUID listingId, long sharesListed, String pricePerShare,
+                                                 String totalPrice, String sellerFee) {
             MarketplaceListing listing = MarketplaceListing.builder()
                     .sellerId(sellerId)
                     .investmentId(investmentId)
                     .campaignId(campaignId)
-                    .sharesListed(500)
-                    .pricePerShare(new BigDecimal("150"))
-                    .totalPrice(new BigDecimal("75000"))
+                    .sharesListed(sharesListed)
+                    .sharesRemaining(sharesListed)
+                    .pricePerShare(new BigDecimal(pricePerShare))
+                    .totalPrice(new BigDecimal(totalPrice))
                     .status(ListingStatus.ACTIVE)
-                    .sellerFee(new BigDecimal("1500"))
+                    .sellerFee(new BigDecimal(sellerFee))
                     .build();
             listing.setId(listingId);
+            return listing;
+        }
 
-            when(listingRepository.findById(listingId)).thenReturn(Optional.of(listing));
+        private void stubTransactionSave() {
             when(transactionRepository.save(any(MarketplaceTransaction.class))).thenAnswer(inv -> {
                 MarketplaceTransaction tx = inv.getArgument(0);
                 tx.setId(UUID.randomUUID());
@@ -318,7 +328,19 @@ class MarketplaceUseCaseTest {
                 tx.setUpdatedAt(Instant.now());
                 return tx;
             });
-            when(listingRepository.save(any(MarketplaceListing.class))).thenAnswer(inv -> inv.getArgument(0));
+        }
+
+        @Test
+        @DisplayName("should successfully purchase an active listing")
+        void shouldPurchaseSuccessfully() {
+            UUID listingId = UUID.randomUUID();
+            MarketplaceListing listing = activeListing(listingId, 500, "150", "75000", "1500");
+
+            when(listingRepository.findById(listingId)).thenReturn(Optional.of(listing));
+            when(orderBookRepository.fillListing(eq(listingId), eq(buyerId), eq(500L), any(Instant.class)))
+                    .thenReturn(Optional.of(new ListingFill(listingId, sellerId, 500, new BigDecimal("150"),
+                            new BigDecimal("1500"), 500, 0)));
+            stubTransactionSave();
 
             MarketplaceTransactionResponse response = marketplaceUseCase.buyListing(listingId, buyerId);
 
@@ -328,15 +350,61 @@ class MarketplaceUseCaseTest {
             assertThat(response.getShares()).isEqualTo(500);
             assertThat(response.getStatus()).isEqualTo("COMPLETED");
 
-            // Verify listing was marked as SOLD
-            verify(listingRepository, atLeastOnce()).save(listingCaptor.capture());
-            MarketplaceListing savedListing = listingCaptor.getAllValues().stream()
-                    .filter(l -> l.getStatus() == ListingStatus.SOLD)
-                    .findFirst()
-                    .orElse(null);
-            assertThat(savedListing).isNotNull();
-            assertThat(savedListing.getBuyerId()).isEqualTo(buyerId);
-            assertThat(savedListing.getSoldAt()).isNotNull();
+            // The listing is settled by the conditional fill, not by saving the loaded entity
+            verify(listingRepository, never()).save(any(MarketplaceListing.class));
+            verify(transactionRepository).save(transactionCaptor.capture());
+            assertThat(transactionCaptor.getValue().getStatus()).isEqualTo(MarketplaceTransactionStatus.COMPLETED);
+        }
+
+        @Test
+        @DisplayName("should buy part of a listing and charge the seller fee pro rata")
+        void shouldPartiallyFillListing() {
+            UUID listingId = UUID.randomUUID();
+            MarketplaceListing listing = activeListing(listingId, 500, "150", "75000", "1500");
+
+            when(listingRepository.findById(listingId)).thenReturn(Optional.of(listing));
+            when(orderBookRepository.fillListing(eq(listingId), eq(buyerId), eq(200L), any(Instant.class)))
+                    .thenReturn(Optional.of(new ListingFill(listingId, sellerId, 200, new BigDecimal("150"),
+                            new BigDecimal("1500"), 500, 300)));
+            stubTransactionSave();
+
+            MarketplaceTransactionResponse response = marketplaceUseCase.buyListing(listingId, buyerId, 200L);
+
+            assertThat(response.getShares()).isEqualTo(200);
+            assertThat(response.getTotalAmount()).isEqualByComparingTo(new BigDecimal("30000"));
+            assertThat(response.getSellerFee()).isEqualByComparingTo(new BigDecimal("600"));
+            assertThat(response.getNetAmount()).isEqualByComparingTo(new BigDecimal("29400"));
+        }
+
+        @Test
+        @DisplayName("should reject a quantity larger than the shares remaining")
+        void shouldRejectQuantityAboveRemaining() {
+            UUID listingId = UUID.randomUUID();
+            MarketplaceListing listing = activeListing(listingId, 500, "150", "75000", "1500");
+            listing.setSharesRemaining(100);
+
+            when(listingRepository.findById(listingId)).thenReturn(Optional.of(listing));
+
+            assertThatThrownBy(() -> marketplaceUseCase.buyListing(listingId, buyerId, 200L))
+                    .isInstanceOf(BusinessRuleException.class)
+                    .hasMessageContaining("100 shares remaining");
+            verifyNoInteractions(orderBookRepository, transactionRepository);
+        }
+
+        @Test
+        @DisplayName("should report the listing unavailable when a concurrent buyer got there first")
+        void shouldFailWhenConcurrentBuyerWins() {
+            UUID listingId = UUID.randomUUID();
+            MarketplaceListing listing = activeListing(listingId, 500, "150", "75000", "1500");
+
+            when(listingRepository.findById(listingId)).thenReturn(Optional.of(listing));
+            when(orderBookRepository.fillListing(eq(listingId), eq(buyerId), eq(500L), any(Instant.class)))
+                    .thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> marketplaceUseCase.buyListing(listingId, buyerId))
+                    .isInstanceOf(BusinessRuleException.class)
+                    .hasMessageContaining("just bought or changed");
+            verifyNoInteractions(transactionRepository);
         }
 
         @Test
@@ -409,27 +477,13 @@ class MarketplaceUseCaseTest {
         @DisplayName("should calculate correct net amount after fee deduction")
         void shouldCalculateCorrectNetAmount() {
             UUID listingId = UUID.randomUUID();
-            MarketplaceListing listing = MarketplaceListing.builder()
-                    .sellerId(sellerId)
-                    .investmentId(investmentId)
-                    .campaignId(campaignId)
-                    .sharesListed(100)
-                    .pricePerShare(new BigDecimal("100"))
-                    .totalPrice(new BigDecimal("10000"))
-                    .status(ListingStatus.ACTIVE)
-                    .sellerFee(new BigDecimal("200"))
-                    .build();
-            listing.setId(listingId);
+            MarketplaceListing listing = activeListing(listingId, 100, "100", "10000", "200");
 
             when(listingRepository.findById(listingId)).thenReturn(Optional.of(listing));
-            when(transactionRepository.save(any(MarketplaceTransaction.class))).thenAnswer(inv -> {
-                MarketplaceTransaction tx = inv.getArgument(0);
-                tx.setId(UUID.randomUUID());
-                tx.setCreatedAt(Instant.now());
-                tx.setUpdatedAt(Instant.now());
-                return tx;
-            });
-            when(listingRepository.save(any(MarketplaceListing.class))).thenAnswer(inv -> inv.getArgument(0));
+            when(orderBookRepository.fillListing(eq(listingId), eq(buyerId), eq(100L), any(Instant.class)))
+                    .thenReturn(Optional.of(new ListingFill(listingId, sellerId, 100, new BigDecimal("100"),
+                            new BigDecimal("200"), 100, 0)));
+            stubTransactionSave();
 
             MarketplaceTransactionResponse response = marketplaceUseCase.buyListing(listingId, buyerId);
 
@@ -440,6 +494,69 @@ class MarketplaceUseCaseTest {
         }
     }
 
+    @Nested
+    @DisplayName("placeBuyOrder")
+    class PlaceBuyOrder {
+
+        private BuyOrderRequest order(long shares, String maxPricePerShare) {
+            return BuyOrderRequest.builder()
+                    .campaignId(campaignId)
+                    .shares(shares)
+                    .maxPricePerShare(new BigDecimal(maxPricePerShare))
+                    .build();
+        }
+
+        @Test
+        @DisplayName("should record one completed transaction per matched listing")
+        void shouldFillAcrossListings() {
+            UUID cheapest = UUID.randomUUID();
+            UUID next = UUID.randomUUID();
+            BuyOrderRequest request = order(300, "160");
+            when(orderBookRepository.matchBuyOrder(eq(campaignId), eq(buyerId), eq(300L),
+                    eq(new BigDecimal("160")), any(Instant.class)))
+                    .thenReturn(List.of(
+                            new ListingFill(cheapest, sellerId, 100, new BigDecimal("140"), new BigDecimal("280"), 100, 0),
+                            new ListingFill(next, sellerId, 200, new BigDecimal("155"), new BigDecimal("1550"), 500, 300)));
+            when(transactionRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+            BuyOrderResponse response = marketplaceUseCase.placeBuyOrder(buyerId, request);
+
+            assertThat(response.getFilledShares()).isEqualTo(300);
+            assertThat(response.getTotalAmount()).isEqualByComparingTo(new BigDecimal("45000"));
+            assertThat(response.getAveragePricePerShare()).isEqualByComparingTo(new BigDecimal("150"));
+            assertThat(response.getFills()).hasSize(2);
+            assertThat(response.getFills().get(1).getSellerFee()).isEqualByComparingTo(new BigDecimal("620"));
+            assertThat(response.getFills()).allMatch(fill -> fill.getStatus().equals("COMPLETED"));
+        }
+
+        @Test
+        @DisplayName("should report a partial fill when the book is shallower than the order")
+        void shouldPartiallyFill() {
+            BuyOrderRequest request = order(300, "160");
+            when(orderBookRepository.matchBuyOrder(any(), any(), anyLong(), any(), any()))
+                    .thenReturn(List.of(new ListingFill(UUID.randomUUID(), sellerId, 120, new BigDecimal("150"),
+                            new BigDecimal("360"), 120, 0)));
+            when(transactionRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+            BuyOrderResponse response = marketplaceUseCase.placeBuyOrder(buyerId, request);
+
+            assertThat(response.getRequestedShares()).isEqualTo(300);
+            assertThat(response.getFilledShares()).isEqualTo(120);
+        }
+
+        @Test
+        @DisplayName("should throw when no listing matches the price limit")
+        void shouldThrowWhenNothingMatches() {
+            BuyOrderRequest request = order(300, "10");
+            when(orderBookRepository.matchBuyOrder(any(), any(), anyLong(), any(), any())).thenReturn(List.of());
+
+            assertThatThrownBy(() -> marketplaceUseCase.placeBuyOrder(buyerId, request))
+                    .isInstanceOf(BusinessRuleException.class)
+                    .hasMessageContaining("No active listings match");
+            verifyNoInteractions(transactionRepository);
+        }
+    }
+
     @Nested
     @DisplayName("getListing")
     class GetListing {
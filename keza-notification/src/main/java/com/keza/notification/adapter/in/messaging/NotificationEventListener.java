@@ -1,19 +1,26 @@
 package com.keza.notification.adapter.in.messaging;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.keza.infrastructure.config.RabbitMQConfig;
+import com.keza.infrastructure.messaging.EventCodec;
 import com.keza.notification.domain.model.NotificationChannel;
+import com.keza.notification.domain.model.NotificationRecipient;
 import com.keza.notification.domain.port.out.EmailSender;
+import com.keza.notification.domain.port.out.TemplateRenderer;
 import com.keza.notification.domain.service.NotificationService;
 import com.rabbitmq.client.Channel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Component
@@ -23,14 +30,19 @@ public class NotificationEventListener {
 
     private final NotificationService notificationService;
     private final EmailSender emailSender;
-    private final ObjectMapper objectMapper;
+    private final EventCodec eventCodec;
+    private final TemplateRenderer templateRenderer;
 
-    @RabbitListener(queues = RabbitMQConfig.NOTIFICATION_QUEUE)
+    @Value("${keza.notification.frontend-url:https://keza.com}")
+    private String frontendUrl;
+
+    @RabbitListener(queues = RabbitMQConfig.NOTIFICATION_QUEUE,
+            containerFactory = RabbitMQConfig.NOTIFICATION_LISTENER_FACTORY)
     public void handleNotificationEvent(Message message, Channel channel) throws IOException {
         long deliveryTag = message.getMessageProperties().getDeliveryTag();
 
         try {
-            JsonNode event = objectMapper.readTree(message.getBody());
+            JsonNode event = eventCodec.readTree(message);
 
             String eventType = event.path("type").asText();
             String userId = event.path("userId").asText();
@@ -45,6 +57,7 @@ public class NotificationEventListener {
                 case "INVESTMENT_CONFIRMED" -> handleInvestmentConfirmed(event);
                 case "PAYMENT_RECEIVED" -> handlePaymentReceived(event);
                 case "CAMPAIGN_FUNDED" -> handleCampaignFunded(event);
+                case "CAMPAIGN_LAUNCHED" -> handleCampaignLaunched(event);
                 case "INVESTMENT_CANCELLED" -> handleGenericEvent(event);
                 case "CAMPAIGN_APPROVED" -> handleGenericEvent(event);
                 case "CAMPAIGN_REJECTED" -> handleGenericEvent(event);
@@ -128,7 +141,7 @@ public class NotificationEventListener {
 
         // Email notification
         if (!email.isEmpty()) {
-            String htmlBody = buildKycStatusEmailHtml(firstName, status, message);
+            String htmlBody = buildKycStatusEmailHtml(firstName, status);
             notificationService.sendEmailNotification(
                     userId, "KYC_" + status.toUpperCase(), title, message, email, htmlBody, null
             );
@@ -187,6 +200,31 @@ public class NotificationEventListener {
         log.info("Processed CAMPAIGN_FUNDED event for user {}", userId);
     }
 
+    /**
+     * Handles one page of a campaign launch announcement with a single bulk send, rather than
+     * a preference lookup, save and provider request per investor.
+     */
+    private void handleCampaignLaunched(JsonNode event) {
+        String campaignId = event.path("campaignId").asText();
+        String campaignName = event.path("campaignName").asText("a campaign");
+
+        List<NotificationRecipient> recipients = new ArrayList<>();
+        for (JsonNode recipient : event.path("recipients")) {
+            String email = recipient.path("email").asText("");
+            recipients.add(new NotificationRecipient(
+                    UUID.fromString(recipient.path("userId").asText()), email.isEmpty() ? null : email, null));
+        }
+
+        String title = "Campaign Now Live";
+        String message = templateRenderer.render("text/campaign-launched", Map.of("campaignName", campaignName));
+        String data = String.format("{\"campaignId\":\"%s\"}", campaignId);
+
+        int stored = notificationService.sendBulkNotification(
+                "CAMPAIGN_LAUNCHED", title, message, buildCampaignLaunchedEmailHtml(campaignId, campaignName), data, recipients);
+        log.info("Processed CAMPAIGN_LAUNCHED page for campaign {}: {} recipients, {} notifications",
+                campaignId, recipients.size(), stored);
+    }
+
     private void handleGenericEvent(JsonNode event) {
         String userId = event.path("userId").asText();
         String type = event.path("type").asText("GENERIC");
@@ -203,38 +241,12 @@ public class NotificationEventListener {
     // --- HTML email builders ---
 
     private String buildWelcomeEmailHtml(String firstName) {
-        return """
-                <!DOCTYPE html>
-                <html>
-                <head><meta charset="UTF-8"></head>
-                <body style="font-family: Arial, sans-serif; max-width: 600px; margin: 0 auto; padding: 20px;">
-                    <div style="background-color: #1a5632; padding: 20px; text-align: center; border-radius: 8px 8px 0 0;">
-                        <h1 style="color: #ffffff; margin: 0;">Welcome to Keza!</h1>
-                    </div>
-                    <div style="background-color: #f9f9f9; padding: 30px; border-radius: 0 0 8px 8px;">
-                        <p>Hello %s,</p>
-                        <p>Thank you for joining Keza, East Africa's premier equity crowdfunding platform.</p>
-                        <p>Here's what you can do next:</p>
-                        <ul>
-                            <li>Complete your KYC verification to start investing</li>
-                            <li>Browse available investment opportunities</li>
-                            <li>Set up your notification preferences</li>
-                        </ul>
-                        <div style="text-align: center; margin: 30px 0;">
-                            <a href="https://keza.com/dashboard" style="background-color: #1a5632; color: white; padding: 12px 30px; text-decoration: none; border-radius: 5px; font-weight: bold;">Go to Dashboard</a>
-                        </div>
-                        <p>If you have any questions, our support team is here to help.</p>
-                        <p>Best regards,<br>The Keza Team</p>
-                    </div>
-                    <div style="text-align: center; padding: 15px; color: #888; font-size: 12px;">
-                        <p>&copy; 2026 Keza. All rights reserved.</p>
-                    </div>
-                </body>
-                </html>
-                """.formatted(firstName);
+        return templateRenderer.render("email/welcome", Map.of(
+                "firstName", firstName,
+                "dashboardUrl", frontendUrl + "/dashboard"));
     }
 
-    private String buildKycStatusEmailHtml(String firstName, String status, String messageText) {
+    private String buildKycStatusEmailHtml(String firstName, String status) {
         String statusColor = switch (status) {
             case "approved" -> "#28a745";
             case "rejected" -> "#dc3545";
@@ -248,66 +260,27 @@ public class NotificationEventListener {
             default -> "Updated";
         };
 
-        return """
-                <!DOCTYPE html>
-                <html>
-                <head><meta charset="UTF-8"></head>
-                <body style="font-family: Arial, sans-serif; max-width: 600px; margin: 0 auto; padding: 20px;">
-                    <div style="background-color: #1a5632; padding: 20px; text-align: center; border-radius: 8px 8px 0 0;">
-                        <h1 style="color: #ffffff; margin: 0;">KYC Verification Update</h1>
-                    </div>
-                    <div style="background-color: #f9f9f9; padding: 30px; border-radius: 0 0 8px 8px;">
-                        <p>Hello %s,</p>
-                        <div style="background-color: %s; color: white; padding: 10px 20px; border-radius: 5px; text-align: center; margin: 20px 0;">
-                            <strong>Status: %s</strong>
-                        </div>
-                        <p>%s</p>
-                        <div style="text-align: center; margin: 30px 0;">
-                            <a href="https://keza.com/kyc" style="background-color: #1a5632; color: white; padding: 12px 30px; text-decoration: none; border-radius: 5px; font-weight: bold;">View KYC Status</a>
-                        </div>
-                        <p>Best regards,<br>The Keza Team</p>
-                    </div>
-                    <div style="text-align: center; padding: 15px; color: #888; font-size: 12px;">
-                        <p>&copy; 2026 Keza. All rights reserved.</p>
-                    </div>
-                </body>
-                </html>
-                """.formatted(firstName, statusColor, statusLabel, messageText);
+        return templateRenderer.render("email/kyc-status", Map.of(
+                "firstName", firstName,
+                "status", status,
+                "statusColor", statusColor,
+                "statusLabel", statusLabel,
+                "kycUrl", frontendUrl + "/kyc"));
     }
 
     private String buildInvestmentConfirmationEmailHtml(String firstName, String campaignName, String amount, String currency) {
-        return """
-                <!DOCTYPE html>
-                <html>
-                <head><meta charset="UTF-8"></head>
-                <body style="font-family: Arial, sans-serif; max-width: 600px; margin: 0 auto; padding: 20px;">
-                    <div style="background-color: #1a5632; padding: 20px; text-align: center; border-radius: 8px 8px 0 0;">
-                        <h1 style="color: #ffffff; margin: 0;">Investment Confirmed</h1>
-                    </div>
-                    <div style="background-color: #f9f9f9; padding: 30px; border-radius: 0 0 8px 8px;">
-                        <p>Hello %s,</p>
-                        <p>Your investment has been confirmed! Here are the details:</p>
-                        <table style="width: 100%%; background-color: white; border-radius: 5px; padding: 15px; margin: 20px 0;">
-                            <tr>
-                                <td style="padding: 8px; color: #666;">Campaign:</td>
-                                <td style="padding: 8px; font-weight: bold;">%s</td>
-                            </tr>
-                            <tr>
-                                <td style="padding: 8px; color: #666;">Amount:</td>
-                                <td style="padding: 8px; font-weight: bold;">%s %s</td>
-                            </tr>
-                        </table>
-                        <div style="text-align: center; margin: 30px 0;">
-                            <a href="https://keza.com/investments" style="background-color: #1a5632; color: white; padding: 12px 30px; text-decoration: none; border-radius: 5px; font-weight: bold;">View Your Investments</a>
-                        </div>
-                        <p>Thank you for investing with Keza!</p>
-                        <p>Best regards,<br>The Keza Team</p>
-                    </div>
-                    <div style="text-align: center; padding: 15px; color: #888; font-size: 12px;">
-                        <p>&copy; 2026 Keza. All rights reserved.</p>
-                    </div>
-                </body>
-                </html>
-                """.formatted(firstName, campaignName, currency, amount);
+        return templateRenderer.render("email/investment-confirmation", Map.of(
+                "firstName", firstName,
+                "campaignName", campaignName,
+                "amount", amount,
+                "currency", currency,
+                "investmentDate", LocalDate.now(),
+                "investmentsUrl", frontendUrl + "/investments"));
+    }
+
+    private String buildCampaignLaunchedEmailHtml(String campaignId, String campaignName) {
+        return templateRenderer.render("email/campaign-launched", Map.of(
+                "campaignName", campaignName,
+                "campaignUrl", frontendUrl + "/campaigns/" + campaignId));
     }
 }
@@ -1,7 +1,7 @@
 package com.keza.notification.adapter.in.messaging;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.keza.infrastructure.messaging.EventCodec;
 import com.keza.notification.domain.model.NotificationChannel;
 import com.keza.notification.domain.service.NotificationService;
 import com.rabbitmq.client.Channel;
@@ -14,6 +14,7 @@ import org.springframework.stereotype.Component;
 import java.io.IOException;
 import java.util.UUID;
 
+import static com.keza.infrastructure.config.RabbitMQConfig.NOTIFICATION_LISTENER_FACTORY;
 import static com.keza.infrastructure.config.RabbitMQConfig.NOTIFICATION_PAYMENT_QUEUE;
 
 /**
@@ -27,14 +28,14 @@ import static com.keza.infrastructure.config.RabbitMQConfig.NOTIFICATION_PAYMENT
 public class NotificationPaymentListener {
 
     private final NotificationService notificationService;
-    private final ObjectMapper objectMapper;
+    private final EventCodec eventCodec;
 
-    @RabbitListener(queues = NOTIFICATION_PAYMENT_QUEUE)
+    @RabbitListener(queues = NOTIFICATION_PAYMENT_QUEUE, containerFactory = NOTIFICATION_LISTENER_FACTORY)
     public void handlePaymentEvent(Message message, Channel channel) throws IOException {
         long deliveryTag = message.getMessageProperties().getDeliveryTag();
 
         try {
-            JsonNode event = objectMapper.readTree(message.getBody());
+            JsonNode event = eventCodec.readTree(message);
 
             String eventType = event.path("eventType").asText();
             String providerReference = event.path("providerReference").asText();
@@ -1,7 +1,9 @@
 package com.keza.notification.adapter.in.web;
 
 import com.keza.common.dto.ApiResponse;
+import com.keza.common.dto.PageCursor;
 import com.keza.common.dto.PagedResponse;
+import com.keza.common.dto.PagingMode;
 import com.keza.notification.application.dto.NotificationPreferenceRequest;
 import com.keza.notification.application.dto.NotificationPreferenceResponse;
 import com.keza.notification.application.dto.NotificationResponse;
@@ -27,8 +29,16 @@ public class NotificationController {
     @GetMapping
     public ResponseEntity<ApiResponse<PagedResponse<NotificationResponse>>> getNotifications(
             Authentication authentication,
-            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(required = false) PagingMode paging,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         UUID userId = (UUID) authentication.getPrincipal();
+        if (PagingMode.isCursor(paging, cursor)) {
+            PagedResponse<NotificationResponse> response = notificationUseCase.getUserNotifications(
+                    userId, PageCursor.decode(cursor), Math.max(1, Math.min(pageable.getPageSize(), 100)), includeTotal);
+            return ResponseEntity.ok(ApiResponse.success(response));
+        }
         PagedResponse<NotificationResponse> response = notificationUseCase.getUserNotifications(userId, pageable);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
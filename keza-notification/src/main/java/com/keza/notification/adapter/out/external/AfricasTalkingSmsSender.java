@@ -8,6 +8,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * SMS sender implementation using Africa's Talking API.
  * Activated when the Africa's Talking API key is configured.
@@ -45,4 +47,29 @@ public class AfricasTalkingSmsSender implements SmsSender {
             throw new RuntimeException("Failed to send SMS via Africa's Talking to " + phoneNumber, e);
         }
     }
+
+    /**
+     * Sends one request for all recipients. Bulk sends are queued by Africa's Talking, so the
+     * call returns once the batch is accepted rather than after every message is delivered.
+     */
+    @Override
+    public void sendBulk(String message, List<String> phoneNumbers) {
+        if (phoneNumbers.isEmpty()) {
+            return;
+        }
+        try {
+            String[] recipients = phoneNumbers.toArray(String[]::new);
+            if (senderId != null) {
+                smsService.send(message, senderId, recipients, true);
+            } else {
+                smsService.send(message, recipients, true);
+            }
+            log.info("Bulk SMS queued for {} recipients via Africa's Talking", phoneNumbers.size());
+        } catch (Exception e) {
+            log.error("Failed to send bulk SMS to {} recipients via Africa's Talking: {}",
+                    phoneNumbers.size(), e.getMessage(), e);
+            throw new RuntimeException("Failed to send bulk SMS via Africa's Talking to "
+                    + phoneNumbers.size() + " recipients", e);
+        }
+    }
 }
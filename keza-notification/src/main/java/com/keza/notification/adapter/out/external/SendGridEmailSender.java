@@ -1,5 +1,6 @@
 package com.keza.notification.adapter.out.external;
 
+import com.keza.notification.domain.model.EmailRecipient;
 import com.keza.notification.domain.port.out.EmailSender;
 import com.sendgrid.Method;
 import com.sendgrid.Request;
@@ -8,12 +9,14 @@ import com.sendgrid.SendGrid;
 import com.sendgrid.helpers.mail.Mail;
 import com.sendgrid.helpers.mail.objects.Content;
 import com.sendgrid.helpers.mail.objects.Email;
+import com.sendgrid.helpers.mail.objects.Personalization;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component("sendGridEmailSender")
 @ConditionalOnProperty(name = "keza.notification.sendgrid.api-key")
@@ -40,6 +43,33 @@ public class SendGridEmailSender implements EmailSender {
         Content content = new Content("text/html", htmlBody);
         Mail mail = new Mail(from, subject, toEmail, content);
 
+        post(mail, to, subject);
+    }
+
+    /**
+     * Sends one request with a personalization per recipient, so each recipient gets their own
+     * copy and substitutions are applied by SendGrid.
+     */
+    @Override
+    public void sendBulk(String subject, String htmlBody, List<EmailRecipient> recipients) {
+        if (recipients.isEmpty()) {
+            return;
+        }
+        Mail mail = new Mail();
+        mail.setFrom(new Email(fromEmail, fromName));
+        mail.setSubject(subject);
+        mail.addContent(new Content("text/html", htmlBody));
+        for (EmailRecipient recipient : recipients) {
+            Personalization personalization = new Personalization();
+            personalization.addTo(new Email(recipient.email()));
+            recipient.substitutions().forEach(personalization::addSubstitution);
+            mail.addPersonalization(personalization);
+        }
+
+        post(mail, recipients.size() + " recipients", subject);
+    }
+
+    private void post(Mail mail, String to, String subject) {
         Request request = new Request();
         try {
             request.setMethod(Method.POST);
@@ -0,0 +1,119 @@
+package com.keza.notification.adapter.out.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.keza.notification.domain.model.DigestEntry;
+import com.keza.notification.domain.port.out.NotificationDigestStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Digest entries in Redis: a list of entries per user, plus one sorted set of pending users
+ * scored by when their window opened, so due users are found with a single range query.
+ * Entries are read without removing them and trimmed only once their digest is delivered, so a
+ * failed send or save leaves them in place for the next run.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class RedisNotificationDigestStore implements NotificationDigestStore {
+
+    private static final String PENDING_KEY = "keza:notification:digest:pending";
+    private static final String ENTRIES_PREFIX = "keza:notification:digest:user:";
+
+    /**
+     * Entries kept per user. A digest lists only the first few anyway; older entries beyond this are dropped.
+     */
+    private static final int MAX_ENTRIES = 200;
+
+    /**
+     * Lets entries expire if the digest job stops running, instead of accumulating forever.
+     */
+    private static final Duration ENTRIES_TTL = Duration.ofDays(2);
+
+    /**
+     * Trims the delivered entries and, in the same step, either drops the user from the pending set
+     * or reopens their window if entries arrived meanwhile. Atomic, so an entry appended between
+     * the trim and the pending update cannot be left without a pending user.
+     */
+    private static final RedisScript<Long> ACKNOWLEDGE = new DefaultRedisScript<>("""
+            redis.call('LTRIM', KEYS[1], tonumber(ARGV[1]), -1)
+            if redis.call('LLEN', KEYS[1]) == 0 then
+                redis.call('ZREM', KEYS[2], ARGV[2])
+            else
+                redis.call('ZADD', KEYS[2], tonumber(ARGV[3]), ARGV[2])
+            end
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void append(UUID userId, DigestEntry entry) {
+        String key = ENTRIES_PREFIX + userId;
+        redisTemplate.opsForList().rightPush(key, write(entry));
+        redisTemplate.opsForList().trim(key, -MAX_ENTRIES, -1);
+        redisTemplate.expire(key, ENTRIES_TTL);
+        redisTemplate.opsForZSet().addIfAbsent(PENDING_KEY, userId.toString(), entry.createdAt().toEpochMilli());
+    }
+
+    @Override
+    public List<UUID> findDue(Instant windowOpenedBefore, int limit) {
+        Set<String> due = redisTemplate.opsForZSet()
+                .rangeByScore(PENDING_KEY, 0, windowOpenedBefore.toEpochMilli(), 0, limit);
+        if (due == null || due.isEmpty()) {
+            return List.of();
+        }
+        return due.stream().map(UUID::fromString).toList();
+    }
+
+    @Override
+    public List<DigestEntry> peek(UUID userId) {
+        List<String> raw = redisTemplate.opsForList().range(ENTRIES_PREFIX + userId, 0, MAX_ENTRIES - 1);
+        if (raw == null) {
+            return List.of();
+        }
+        List<DigestEntry> entries = new ArrayList<>(raw.size());
+        for (String json : raw) {
+            try {
+                entries.add(objectMapper.readValue(json, DigestEntry.class));
+            } catch (JsonProcessingException e) {
+                log.warn("Dropping unreadable digest entry for user {}: {}", userId, e.getMessage());
+                // Removed now so the entries returned line up with the ones acknowledge trims
+                redisTemplate.opsForList().remove(ENTRIES_PREFIX + userId, 1, json);
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public void acknowledge(UUID userId, int delivered) {
+        redisTemplate.execute(ACKNOWLEDGE, List.of(ENTRIES_PREFIX + userId, PENDING_KEY),
+                String.valueOf(delivered), userId.toString(), String.valueOf(Instant.now().toEpochMilli()));
+    }
+
+    @Override
+    public void postpone(UUID userId, Instant now) {
+        redisTemplate.opsForZSet().add(PENDING_KEY, userId.toString(), now.toEpochMilli());
+    }
+
+    private String write(DigestEntry entry) {
+        try {
+            return objectMapper.writeValueAsString(entry);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize digest entry of type " + entry.type(), e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.keza.notification.adapter.out.template;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import org.thymeleaf.templateresolver.ITemplateResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Adds a plain-text template resolver for {@code text/*} templates next to Spring Boot's HTML
+ * resolver. Both cache parsed templates, so each template is read and parsed once per JVM.
+ */
+@Configuration
+public class NotificationTemplateConfig {
+
+    static final String TEMPLATE_PREFIX = "templates/";
+    static final String TEXT_TEMPLATES = "text/";
+    static final String TEXT_SUFFIX = ".txt";
+    static final String HTML_SUFFIX = ".html";
+
+    @Bean
+    public ITemplateResolver textTemplateResolver() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix(TEMPLATE_PREFIX);
+        resolver.setSuffix(TEXT_SUFFIX);
+        resolver.setTemplateMode(TemplateMode.TEXT);
+        resolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resolver.setResolvablePatterns(Set.of(TEXT_TEMPLATES + "*"));
+        resolver.setCacheable(true);
+        // Ahead of the HTML resolver, which would otherwise claim text/* as missing .html files
+        resolver.setOrder(0);
+        return resolver;
+    }
+}
@@ -0,0 +1,55 @@
+package com.keza.notification.adapter.out.template;
+
+import com.keza.notification.domain.port.out.TemplateRenderer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.io.StringWriter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.keza.notification.adapter.out.template.NotificationTemplateConfig.HTML_SUFFIX;
+import static com.keza.notification.adapter.out.template.NotificationTemplateConfig.TEMPLATE_PREFIX;
+import static com.keza.notification.adapter.out.template.NotificationTemplateConfig.TEXT_SUFFIX;
+import static com.keza.notification.adapter.out.template.NotificationTemplateConfig.TEXT_TEMPLATES;
+
+/**
+ * Renders notification templates with the Thymeleaf engine, which parses each template once and
+ * renders later calls from its cache.
+ */
+@Component
+@RequiredArgsConstructor
+public class ThymeleafTemplateRenderer implements TemplateRenderer {
+
+    /**
+     * Output buffer sizes, large enough for the rendered templates so the buffer is not regrown
+     * and copied while rendering.
+     */
+    private static final int HTML_BUFFER_SIZE = 4096;
+    private static final int TEXT_BUFFER_SIZE = 256;
+
+    private final ITemplateEngine templateEngine;
+
+    /**
+     * Template chosen for each template and locale, so the classpath is checked once per pair.
+     */
+    private final Map<String, String> variants = new ConcurrentHashMap<>();
+
+    @Override
+    public String render(String template, Locale locale, Map<String, Object> variables) {
+        boolean text = template.startsWith(TEXT_TEMPLATES);
+        StringWriter out = new StringWriter(text ? TEXT_BUFFER_SIZE : HTML_BUFFER_SIZE);
+        templateEngine.process(variantOf(template, locale, text), new Context(locale, variables), out);
+        return out.toString();
+    }
+
+    private String variantOf(String template, Locale locale, boolean text) {
+        return variants.computeIfAbsent(template + '_' + locale.getLanguage(), variant ->
+                getClass().getClassLoader().getResource(TEMPLATE_PREFIX + variant + (text ? TEXT_SUFFIX : HTML_SUFFIX)) != null
+                        ? variant
+                        : template);
+    }
+}
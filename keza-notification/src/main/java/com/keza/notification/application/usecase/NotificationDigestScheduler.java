@@ -0,0 +1,57 @@
+package com.keza.notification.application.usecase;
+
+import com.keza.infrastructure.scheduling.SchedulerLease;
+import com.keza.notification.domain.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Sends digest emails to users whose digest window has closed. One replica runs per tick under
+ * a {@link SchedulerLease}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationDigestScheduler {
+
+    static final String DIGEST_LEASE = "notification-digest";
+
+    static final Duration DIGEST_LEASE_DURATION = Duration.ofSeconds(55);
+
+    /**
+     * Users whose digests are sent per round; a round is one bulk email request.
+     */
+    static final int USERS_PER_ROUND = 500;
+
+    /**
+     * Rounds per tick, so a large backlog is spread over several ticks instead of outlasting the lease.
+     */
+    static final int MAX_ROUNDS = 20;
+
+    private final NotificationService notificationService;
+    private final SchedulerLease schedulerLease;
+
+    @Value("${keza.notification.digest.window:15m}")
+    private Duration window;
+
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+    public void sendDueDigests() {
+        if (!schedulerLease.tryAcquire(DIGEST_LEASE, DIGEST_LEASE_DURATION)) {
+            return;
+        }
+
+        Instant windowOpenedBefore = Instant.now().minus(window);
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+            if (notificationService.sendDueDigests(windowOpenedBefore, USERS_PER_ROUND) < USERS_PER_ROUND) {
+                return;
+            }
+        }
+        log.info("Digest backlog not cleared after {} rounds; continuing next tick", MAX_ROUNDS);
+    }
+}
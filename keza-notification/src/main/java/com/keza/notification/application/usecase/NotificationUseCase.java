@@ -1,5 +1,6 @@
 package com.keza.notification.application.usecase;
 
+import com.keza.common.dto.PageCursor;
 import com.keza.common.dto.PagedResponse;
 import com.keza.common.exception.ResourceNotFoundException;
 import com.keza.notification.application.dto.NotificationPreferenceRequest;
@@ -9,14 +10,19 @@ import com.keza.notification.domain.model.Notification;
 import com.keza.notification.domain.model.NotificationPreference;
 import com.keza.notification.domain.port.out.NotificationPreferenceRepository;
 import com.keza.notification.domain.port.out.NotificationRepository;
+import com.keza.notification.domain.service.NotificationPreferenceLookup;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -30,9 +36,25 @@ public class NotificationUseCase {
     @Transactional(readOnly = true)
     public PagedResponse<NotificationResponse> getUserNotifications(UUID userId, Pageable pageable) {
         Page<NotificationResponse> page = notificationRepository
-                .findByUserIdOrderByCreatedAtDesc(userId, pageable)
+                .findByUserIdOrderByCreatedAtDescIdDesc(userId,
+                        PageRequest.of(pageable.getPageNumber(), Math.max(1, Math.min(pageable.getPageSize(), 100))))
                 .map(this::mapToResponse);
-        return PagedResponse.from(page);
+        return PagedResponse.from(page, notification -> new PageCursor(notification.getCreatedAt(), notification.getId()));
+    }
+
+    /**
+     * Cursor-paged variant of {@link #getUserNotifications(UUID, Pageable)}, newest first; the
+     * total is counted only when requested.
+     */
+    @Transactional(readOnly = true)
+    public PagedResponse<NotificationResponse> getUserNotifications(UUID userId, PageCursor after,
+                                                                    int size, boolean includeTotal) {
+        Limit limit = Limit.of(size + 1);
+        List<Notification> rows = after == null
+                ? notificationRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, limit)
+                : notificationRepository.findByUserIdBefore(userId, after.createdAt(), after.id(), limit);
+        Long total = includeTotal ? notificationRepository.countByUserId(userId) : null;
+        return PagedResponse.fromKeyset(rows, size, PageCursor::of, this::mapToResponse, total);
     }
 
     @Transactional(readOnly = true)
@@ -67,6 +89,7 @@ public class NotificationUseCase {
     }
 
     @Transactional
+    @CacheEvict(value = NotificationPreferenceLookup.CACHE_NAME, key = "#userId")
     public NotificationPreferenceResponse updatePreferences(UUID userId, NotificationPreferenceRequest request) {
         NotificationPreference pref = preferenceRepository.findByUserId(userId)
                 .orElseGet(() -> createDefaultPreferences(userId));
@@ -0,0 +1,39 @@
+package com.keza.notification.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Which delivery channels a user accepts, as read from their {@link NotificationPreference}.
+ * Small and cacheable, unlike the entity it is read from.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChannelPreferences {
+
+    private boolean emailEnabled;
+    private boolean smsEnabled;
+    private boolean pushEnabled;
+
+    public static ChannelPreferences from(NotificationPreference preference) {
+        return new ChannelPreferences(preference.isEmailEnabled(), preference.isSmsEnabled(), preference.isPushEnabled());
+    }
+
+    /**
+     * Preferences for a user who never saved any: every channel enabled.
+     */
+    public static ChannelPreferences defaults() {
+        return new ChannelPreferences(true, true, true);
+    }
+
+    public boolean isEnabled(NotificationChannel channel) {
+        return switch (channel) {
+            case EMAIL -> emailEnabled;
+            case SMS -> smsEnabled;
+            case PUSH -> pushEnabled;
+            case IN_APP -> true; // In-app notifications are always enabled
+        };
+    }
+}
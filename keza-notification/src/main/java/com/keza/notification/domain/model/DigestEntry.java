@@ -0,0 +1,9 @@
+package com.keza.notification.domain.model;
+
+import java.time.Instant;
+
+/**
+ * An email held back for a user's next digest instead of being sent on its own.
+ */
+public record DigestEntry(String type, String title, String message, String recipientEmail, Instant createdAt) {
+}
@@ -0,0 +1,14 @@
+package com.keza.notification.domain.model;
+
+import java.util.Map;
+
+/**
+ * One addressee of a bulk email, with the values that replace placeholders in the shared body
+ * for this addressee only.
+ */
+public record EmailRecipient(String email, Map<String, String> substitutions) {
+
+    public EmailRecipient(String email) {
+        this(email, Map.of());
+    }
+}
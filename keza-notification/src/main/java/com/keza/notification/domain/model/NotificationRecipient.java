@@ -0,0 +1,10 @@
+package com.keza.notification.domain.model;
+
+import java.util.UUID;
+
+/**
+ * One recipient of a bulk notification. Email and phone number are optional; a recipient
+ * without them still gets the in-app notification.
+ */
+public record NotificationRecipient(UUID userId, String email, String phoneNumber) {
+}
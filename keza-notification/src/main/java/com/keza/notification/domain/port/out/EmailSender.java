@@ -1,5 +1,24 @@
 package com.keza.notification.domain.port.out;
 
+import com.keza.notification.domain.model.EmailRecipient;
+
+import java.util.List;
+
 public interface EmailSender {
     void send(String to, String subject, String htmlBody);
+
+    /**
+     * Sends the same email to every recipient, each receiving their own copy with the
+     * recipient's substitutions applied to {@code htmlBody}. Providers with a bulk API send the
+     * whole list in one request; the default sends one email per recipient.
+     */
+    default void sendBulk(String subject, String htmlBody, List<EmailRecipient> recipients) {
+        for (EmailRecipient recipient : recipients) {
+            String body = htmlBody;
+            for (var substitution : recipient.substitutions().entrySet()) {
+                body = body.replace(substitution.getKey(), substitution.getValue());
+            }
+            send(recipient.email(), subject, body);
+        }
+    }
 }
@@ -0,0 +1,41 @@
+package com.keza.notification.domain.port.out;
+
+import com.keza.notification.domain.model.DigestEntry;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Holds emails of chatty notification types until the user's digest window closes.
+ */
+public interface NotificationDigestStore {
+
+    /**
+     * Adds an entry to the user's pending digest. The user's window opens with their first entry.
+     */
+    void append(UUID userId, DigestEntry entry);
+
+    /**
+     * Returns up to {@code limit} users whose window opened before {@code windowOpenedBefore}.
+     * They stay pending until {@link #acknowledge acknowledged} or {@link #postpone postponed}.
+     */
+    List<UUID> findDue(Instant windowOpenedBefore, int limit);
+
+    /**
+     * Returns the user's pending entries, oldest first, without removing them.
+     */
+    List<DigestEntry> peek(UUID userId);
+
+    /**
+     * Removes the user's first {@code delivered} entries once their digest has been sent and
+     * recorded. A user with entries appended since the peek stays pending, in a new window.
+     */
+    void acknowledge(UUID userId, int delivered);
+
+    /**
+     * Keeps the user's entries and reopens their window at {@code now}, so a digest that could not
+     * be sent is retried once the next window closes.
+     */
+    void postpone(UUID userId, Instant now);
+}
@@ -4,6 +4,8 @@ import com.keza.notification.domain.model.NotificationPreference;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +13,6 @@ import java.util.UUID;
 public interface NotificationPreferenceRepository extends JpaRepository<NotificationPreference, UUID> {
 
     Optional<NotificationPreference> findByUserId(UUID userId);
+
+    List<NotificationPreference> findByUserIdIn(Collection<UUID> userIds);
 }
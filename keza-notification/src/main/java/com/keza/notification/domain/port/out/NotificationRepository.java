@@ -1,6 +1,7 @@
 package com.keza.notification.domain.port.out;
 
 import com.keza.notification.domain.model.Notification;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,12 +11,22 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, UUID> {
 
-    Page<Notification> findByUserIdOrderByCreatedAtDesc(UUID userId, Pageable pageable);
+    Page<Notification> findByUserIdOrderByCreatedAtDescIdDesc(UUID userId, Pageable pageable);
+
+    List<Notification> findByUserIdOrderByCreatedAtDescIdDesc(UUID userId, Limit limit);
+
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId AND n.createdAt <= :createdAt " +
+            "AND (n.createdAt < :createdAt OR n.id < :id) ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findByUserIdBefore(@Param("userId") UUID userId, @Param("createdAt") Instant createdAt,
+                                          @Param("id") UUID id, Limit limit);
+
+    long countByUserId(UUID userId);
 
     long countByUserIdAndReadFalse(UUID userId);
 
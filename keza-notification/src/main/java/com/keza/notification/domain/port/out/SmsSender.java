@@ -1,5 +1,17 @@
 package com.keza.notification.domain.port.out;
 
+import java.util.List;
+
 public interface SmsSender {
     void send(String phoneNumber, String message);
+
+    /**
+     * Sends the same message to every phone number. Providers with a bulk API send the whole
+     * list in one request; the default sends one message per number.
+     */
+    default void sendBulk(String message, List<String> phoneNumbers) {
+        for (String phoneNumber : phoneNumbers) {
+            send(phoneNumber, message);
+        }
+    }
 }
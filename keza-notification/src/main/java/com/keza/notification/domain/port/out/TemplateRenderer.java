@@ -0,0 +1,22 @@
+package com.keza.notification.domain.port.out;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renders notification templates. Templates under {@code email/} render as HTML with their
+ * variables escaped; templates under {@code text/} render as plain text for SMS and in-app
+ * messages.
+ */
+public interface TemplateRenderer {
+
+    /**
+     * Renders the locale's variant of {@code template} (for example {@code email/welcome_sw})
+     * when one exists, and the default template otherwise.
+     */
+    String render(String template, Locale locale, Map<String, Object> variables);
+
+    default String render(String template, Map<String, Object> variables) {
+        return render(template, Locale.ENGLISH, variables);
+    }
+}
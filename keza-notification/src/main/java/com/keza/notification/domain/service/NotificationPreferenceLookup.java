@@ -0,0 +1,44 @@
+package com.keza.notification.domain.service;
+
+import com.keza.notification.domain.model.ChannelPreferences;
+import com.keza.notification.domain.port.out.NotificationPreferenceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads users' channel preferences. Single lookups are cached, since most users receive many
+ * notifications and rarely change their preferences; bulk lookups read a whole page of users in
+ * one query instead.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationPreferenceLookup {
+
+    public static final String CACHE_NAME = "notification-preferences";
+
+    private final NotificationPreferenceRepository preferenceRepository;
+
+    @Cacheable(value = CACHE_NAME, key = "#userId")
+    public ChannelPreferences get(UUID userId) {
+        return preferenceRepository.findByUserId(userId)
+                .map(ChannelPreferences::from)
+                .orElseGet(ChannelPreferences::defaults); // Default to enabled if no preferences exist
+    }
+
+    /**
+     * @return preferences for every user in {@code userIds}, defaults for users who never saved any
+     */
+    public Map<UUID, ChannelPreferences> getAll(Collection<UUID> userIds) {
+        Map<UUID, ChannelPreferences> preferences = new HashMap<>();
+        userIds.forEach(userId -> preferences.put(userId, ChannelPreferences.defaults()));
+        preferenceRepository.findByUserIdIn(userIds)
+                .forEach(preference -> preferences.put(preference.getUserId(), ChannelPreferences.from(preference)));
+        return preferences;
+    }
+}
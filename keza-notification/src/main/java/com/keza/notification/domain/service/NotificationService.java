@@ -1,17 +1,26 @@
 package com.keza.notification.domain.service;
 
+import com.keza.notification.domain.model.ChannelPreferences;
+import com.keza.notification.domain.model.DigestEntry;
+import com.keza.notification.domain.model.EmailRecipient;
 import com.keza.notification.domain.model.Notification;
 import com.keza.notification.domain.model.NotificationChannel;
-import com.keza.notification.domain.model.NotificationPreference;
+import com.keza.notification.domain.model.NotificationRecipient;
 import com.keza.notification.domain.port.out.EmailSender;
-import com.keza.notification.domain.port.out.NotificationPreferenceRepository;
+import com.keza.notification.domain.port.out.NotificationDigestStore;
 import com.keza.notification.domain.port.out.NotificationRepository;
 import com.keza.notification.domain.port.out.SmsSender;
+import com.keza.notification.domain.port.out.TemplateRenderer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -21,9 +30,11 @@ import java.util.UUID;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
-    private final NotificationPreferenceRepository preferenceRepository;
+    private final NotificationPreferenceLookup preferenceLookup;
+    private final NotificationDigestStore digestStore;
     private final EmailSender emailSender;
     private final SmsSender smsSender;
+    private final TemplateRenderer templateRenderer;
 
     /**
      * Critical notification types that bypass user preferences.
@@ -35,6 +46,37 @@ public class NotificationService {
             "EMAIL_VERIFICATION"
     );
 
+    /**
+     * Recipients per provider request in bulk sends. Within the per-request limits of both
+     * SendGrid (1000 personalizations) and Africa's Talking.
+     */
+    static final int BULK_SEND_CHUNK = 500;
+
+    static final String DIGEST_TYPE = "NOTIFICATION_DIGEST";
+    static final String DIGEST_PLACEHOLDER = "-digest-items-";
+
+    /**
+     * Entries listed in one digest email; the rest are summarised as a count.
+     */
+    private static final int DIGEST_MAX_ITEMS = 20;
+
+    /**
+     * No type is digested by default: every email sent today carries its own rendered template,
+     * which a digest entry does not keep.
+     */
+    static final String DEFAULT_DIGEST_TYPES = "";
+
+    /**
+     * Emails of these types are collected into a periodic digest instead of being sent one by one.
+     * Only chatty, informational types belong here; transactional emails such as investment
+     * confirmations must go out at once.
+     */
+    @Value("${keza.notification.digest.types:" + DEFAULT_DIGEST_TYPES + "}")
+    private Set<String> digestTypes;
+
+    @Value("${keza.notification.frontend-url:https://keza.com}")
+    private String frontendUrl;
+
     @Transactional
     public Notification sendNotification(UUID userId, String type, String title, String message,
                                          NotificationChannel channel) {
@@ -59,18 +101,15 @@ public class NotificationService {
                 .data(data)
                 .build();
 
-        notification = notificationRepository.save(notification);
-
-        // Dispatch to the appropriate channel
+        // Dispatch before persisting so the row is written once, already in its final state
         try {
             dispatch(notification);
             notification.markAsSent();
-            notification = notificationRepository.save(notification);
         } catch (Exception e) {
-            log.error("Failed to dispatch notification {} via {}: {}", notification.getId(), channel, e.getMessage(), e);
+            log.error("Failed to dispatch {} notification for user {} via {}: {}", type, userId, channel, e.getMessage(), e);
         }
 
-        return notification;
+        return notificationRepository.save(notification);
     }
 
     private void dispatch(Notification notification) {
@@ -105,6 +144,12 @@ public class NotificationService {
             return null;
         }
 
+        if (!CRITICAL_TYPES.contains(type) && digestTypes.contains(type)) {
+            digestStore.append(userId, new DigestEntry(type, title, message, recipientEmail, Instant.now()));
+            log.debug("Email notification {} for user {} held for the next digest", type, userId);
+            return null;
+        }
+
         Notification notification = Notification.builder()
                 .userId(userId)
                 .type(type)
@@ -114,18 +159,15 @@ public class NotificationService {
                 .data(data)
                 .build();
 
-        notification = notificationRepository.save(notification);
-
         try {
             emailSender.send(recipientEmail, title, htmlBody);
             notification.markAsSent();
-            notification = notificationRepository.save(notification);
             log.info("Email notification sent to {} for user {}", recipientEmail, userId);
         } catch (Exception e) {
-            log.error("Failed to send email to {} for notification {}: {}", recipientEmail, notification.getId(), e.getMessage(), e);
+            log.error("Failed to send {} email to {} for user {}: {}", type, recipientEmail, userId, e.getMessage(), e);
         }
 
-        return notification;
+        return notificationRepository.save(notification);
     }
 
     /**
@@ -148,28 +190,170 @@ public class NotificationService {
                 .data(data)
                 .build();
 
-        notification = notificationRepository.save(notification);
-
         try {
             smsSender.send(phoneNumber, message);
             notification.markAsSent();
-            notification = notificationRepository.save(notification);
             log.info("SMS notification sent to {} for user {}", phoneNumber, userId);
         } catch (Exception e) {
-            log.error("Failed to send SMS to {} for notification {}: {}", phoneNumber, notification.getId(), e.getMessage(), e);
+            log.error("Failed to send {} SMS to {} for user {}: {}", type, phoneNumber, userId, e.getMessage(), e);
+        }
+
+        return notificationRepository.save(notification);
+    }
+
+    /**
+     * Notifies many users of the same event. Preferences for all recipients are read in one
+     * query, emails and SMS go out through the providers' bulk APIs, and every notification row
+     * is written in one batched insert. Every recipient gets the in-app notification; email and
+     * SMS follow their preferences unless the type is critical.
+     *
+     * @param htmlBody email body, or null to send no email
+     * @return the number of notifications stored
+     */
+    @Transactional
+    public int sendBulkNotification(String type, String title, String message, String htmlBody, String data,
+                                    List<NotificationRecipient> recipients) {
+        boolean critical = CRITICAL_TYPES.contains(type);
+        Map<UUID, ChannelPreferences> preferences = critical
+                ? Map.of()
+                : preferenceLookup.getAll(recipients.stream().map(NotificationRecipient::userId).toList());
+
+        List<Notification> notifications = new ArrayList<>(recipients.size() * 2);
+        List<EmailRecipient> emailRecipients = new ArrayList<>();
+        List<Notification> emails = new ArrayList<>();
+        List<String> phoneNumbers = new ArrayList<>();
+        List<Notification> smses = new ArrayList<>();
+
+        for (NotificationRecipient recipient : recipients) {
+            ChannelPreferences preference = preferences.getOrDefault(recipient.userId(), ChannelPreferences.defaults());
+
+            Notification inApp = buildNotification(recipient.userId(), type, NotificationChannel.IN_APP, title, message, data);
+            inApp.markAsSent();
+            notifications.add(inApp);
+
+            if (htmlBody != null && hasText(recipient.email()) && preference.isEnabled(NotificationChannel.EMAIL)) {
+                emailRecipients.add(new EmailRecipient(recipient.email()));
+                emails.add(buildNotification(recipient.userId(), type, NotificationChannel.EMAIL, title, message, data));
+            }
+            if (hasText(recipient.phoneNumber()) && preference.isEnabled(NotificationChannel.SMS)) {
+                phoneNumbers.add(recipient.phoneNumber());
+                smses.add(buildNotification(recipient.userId(), type, NotificationChannel.SMS, title, message, data));
+            }
+        }
+
+        sendEmailsInChunks(type, title, htmlBody, emailRecipients, emails);
+        sendSmsInChunks(type, message, phoneNumbers, smses);
+
+        notifications.addAll(emails);
+        notifications.addAll(smses);
+        notificationRepository.saveAll(notifications);
+        log.info("Bulk {} notification stored for {} recipients ({} emails, {} SMS)",
+                type, recipients.size(), emails.size(), smses.size());
+        return notifications.size();
+    }
+
+    /**
+     * Sends one digest email to each of up to {@code maxUsers} users whose digest window opened
+     * before {@code windowOpenedBefore}. All digests go out through the bulk email API, with
+     * each user's entries substituted into the shared template.
+     * <p>
+     * Entries are removed from the digest store only after the digest rows are saved, and only
+     * for users whose email went out; users whose send failed are postponed to a later window.
+     * This runs outside a transaction so the rows are committed before the entries are removed.
+     *
+     * @return the number of users claimed; fewer than {@code maxUsers} means none are left due
+     */
+    public int sendDueDigests(Instant windowOpenedBefore, int maxUsers) {
+        List<UUID> users = digestStore.findDue(windowOpenedBefore, maxUsers);
+
+        List<EmailRecipient> recipients = new ArrayList<>(users.size());
+        List<Notification> digests = new ArrayList<>(users.size());
+        List<Integer> entryCounts = new ArrayList<>(users.size());
+        for (UUID userId : users) {
+            List<DigestEntry> entries = digestStore.peek(userId);
+            if (entries.isEmpty()) {
+                digestStore.acknowledge(userId, 0);
+                continue;
+            }
+            entryCounts.add(entries.size());
+            String email = entries.get(entries.size() - 1).recipientEmail();
+            recipients.add(new EmailRecipient(email, Map.of(DIGEST_PLACEHOLDER, buildDigestItemsHtml(entries))));
+            digests.add(buildNotification(userId, DIGEST_TYPE, NotificationChannel.EMAIL, "Your Keza updates",
+                    "You have " + entries.size() + " new update" + (entries.size() == 1 ? "" : "s") + ".", null));
+        }
+
+        if (!recipients.isEmpty()) {
+            String htmlBody = templateRenderer.render("email/digest", Map.of(
+                    "itemsPlaceholder", DIGEST_PLACEHOLDER,
+                    "notificationsUrl", frontendUrl + "/notifications"));
+            sendEmailsInChunks(DIGEST_TYPE, "Your Keza updates", htmlBody, recipients, digests);
+        }
+        notificationRepository.saveAll(digests);
+
+        Instant now = Instant.now();
+        for (int i = 0; i < digests.size(); i++) {
+            Notification digest = digests.get(i);
+            if (digest.isSent()) {
+                digestStore.acknowledge(digest.getUserId(), entryCounts.get(i));
+            } else {
+                digestStore.postpone(digest.getUserId(), now);
+            }
+        }
+        if (!digests.isEmpty()) {
+            log.info("Sent {} notification digests", digests.size());
+        }
+        return users.size();
+    }
+
+    private void sendEmailsInChunks(String type, String subject, String htmlBody, List<EmailRecipient> recipients,
+                                    List<Notification> notifications) {
+        for (int from = 0; from < recipients.size(); from += BULK_SEND_CHUNK) {
+            int to = Math.min(from + BULK_SEND_CHUNK, recipients.size());
+            try {
+                emailSender.sendBulk(subject, htmlBody, recipients.subList(from, to));
+                notifications.subList(from, to).forEach(Notification::markAsSent);
+            } catch (Exception e) {
+                log.error("Failed to send {} bulk email to {} recipients: {}", type, to - from, e.getMessage(), e);
+            }
         }
+    }
 
-        return notification;
+    private void sendSmsInChunks(String type, String message, List<String> phoneNumbers,
+                                 List<Notification> notifications) {
+        for (int from = 0; from < phoneNumbers.size(); from += BULK_SEND_CHUNK) {
+            int to = Math.min(from + BULK_SEND_CHUNK, phoneNumbers.size());
+            try {
+                smsSender.sendBulk(message, phoneNumbers.subList(from, to));
+                notifications.subList(from, to).forEach(Notification::markAsSent);
+            } catch (Exception e) {
+                log.error("Failed to send {} bulk SMS to {} recipients: {}", type, to - from, e.getMessage(), e);
+            }
+        }
+    }
+
+    private Notification buildNotification(UUID userId, String type, NotificationChannel channel, String title,
+                                           String message, String data) {
+        return Notification.builder()
+                .userId(userId)
+                .type(type)
+                .channel(channel)
+                .title(title)
+                .message(message)
+                .data(data)
+                .build();
     }
 
     private boolean isChannelEnabled(UUID userId, NotificationChannel channel) {
-        return preferenceRepository.findByUserId(userId)
-                .map(pref -> switch (channel) {
-                    case EMAIL -> pref.isEmailEnabled();
-                    case SMS -> pref.isSmsEnabled();
-                    case PUSH -> pref.isPushEnabled();
-                    case IN_APP -> true; // In-app notifications are always enabled
-                })
-                .orElse(true); // Default to enabled if no preferences exist
+        return preferenceLookup.get(userId).isEnabled(channel);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private String buildDigestItemsHtml(List<DigestEntry> entries) {
+        return templateRenderer.render("email/digest-items", Map.of(
+                "entries", entries.subList(0, Math.min(entries.size(), DIGEST_MAX_ITEMS)),
+                "more", Math.max(entries.size() - DIGEST_MAX_ITEMS, 0)));
     }
 }
@@ -1,9 +1,14 @@
 package com.keza.notification.adapter.in.messaging;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.keza.infrastructure.messaging.EventCodec;
+import com.keza.infrastructure.messaging.event.NotificationEvent;
 import com.keza.notification.domain.model.NotificationChannel;
+import com.keza.notification.domain.model.NotificationRecipient;
 import com.keza.notification.domain.port.out.EmailSender;
+import com.keza.notification.domain.port.out.TemplateRenderer;
 import com.keza.notification.domain.service.NotificationService;
 import com.rabbitmq.client.Channel;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +16,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
@@ -19,8 +25,10 @@ import org.springframework.amqp.core.Message;
 import org.springframework.amqp.core.MessageProperties;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -34,8 +42,13 @@ class NotificationEventListenerTest {
     @Mock
     private EmailSender emailSender;
 
+    @Mock
+    private TemplateRenderer templateRenderer;
+
     @Spy
-    private ObjectMapper objectMapper = new ObjectMapper();
+    private EventCodec eventCodec = new EventCodec(EventCodec.CONTENT_TYPE_SMILE);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
     @InjectMocks
     private NotificationEventListener listener;
@@ -45,6 +58,12 @@ class NotificationEventListenerTest {
 
     private static final long DELIVERY_TAG = 42L;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(templateRenderer.render(anyString(), anyMap()))
+                .thenAnswer(invocation -> "<rendered>" + invocation.getArgument(0) + "</rendered>");
+    }
+
     private Message createMessage(ObjectNode event) throws Exception {
         byte[] body = objectMapper.writeValueAsBytes(event);
         MessageProperties props = new MessageProperties();
@@ -89,6 +108,26 @@ class NotificationEventListenerTest {
             verify(channel).basicAck(DELIVERY_TAG, false);
         }
 
+        @Test
+        @DisplayName("should read a Smile-encoded event the same as JSON")
+        void shouldHandleSmileEvent() throws Exception {
+            UUID userId = UUID.randomUUID();
+            MessageProperties props = new MessageProperties();
+            props.setDeliveryTag(DELIVERY_TAG);
+            props.setContentType(EventCodec.CONTENT_TYPE_SMILE);
+            Message message = new Message(eventCodec.encode(
+                    new NotificationEvent.UserRegistered(userId.toString(), "john@example.com", "John")), props);
+
+            listener.handleNotificationEvent(message, channel);
+
+            verify(notificationService).sendNotification(
+                    eq(userId), eq("USER_REGISTERED"),
+                    eq("Welcome to Keza!"),
+                    contains("Welcome to Keza, John"),
+                    eq(NotificationChannel.IN_APP));
+            verify(channel).basicAck(DELIVERY_TAG, false);
+        }
+
         @Test
         @DisplayName("should skip email when email is empty")
         void shouldSkipEmailWhenEmpty() throws Exception {
@@ -275,6 +314,42 @@ class NotificationEventListenerTest {
         }
     }
 
+    @Nested
+    @DisplayName("CAMPAIGN_LAUNCHED event")
+    class CampaignLaunchedEvent {
+
+        @Test
+        @SuppressWarnings("unchecked")
+        @DisplayName("should notify the whole page of recipients with one bulk send")
+        void shouldSendBulkNotification() throws Exception {
+            UUID campaignId = UUID.randomUUID();
+            UUID firstInvestor = UUID.randomUUID();
+            UUID secondInvestor = UUID.randomUUID();
+            ObjectNode event = objectMapper.createObjectNode();
+            event.put("type", "CAMPAIGN_LAUNCHED");
+            event.put("campaignId", campaignId.toString());
+            event.put("campaignName", "Solar <Farm>");
+            ArrayNode recipients = event.putArray("recipients");
+            recipients.addObject().put("userId", firstInvestor.toString()).put("email", "first@example.com");
+            recipients.addObject().put("userId", secondInvestor.toString()).put("email", "");
+            when(notificationService.sendBulkNotification(any(), any(), any(), any(), any(), anyList())).thenReturn(3);
+
+            listener.handleNotificationEvent(createMessage(event), channel);
+
+            ArgumentCaptor<List<NotificationRecipient>> sent = ArgumentCaptor.forClass(List.class);
+            verify(notificationService).sendBulkNotification(
+                    eq("CAMPAIGN_LAUNCHED"), eq("Campaign Now Live"), eq("<rendered>text/campaign-launched</rendered>"),
+                    eq("<rendered>email/campaign-launched</rendered>"), contains(campaignId.toString()), sent.capture());
+            verify(templateRenderer, times(1)).render(eq("email/campaign-launched"),
+                    argThat(variables -> "Solar <Farm>".equals(variables.get("campaignName"))));
+            assertThat(sent.getValue()).containsExactly(
+                    new NotificationRecipient(firstInvestor, "first@example.com", null),
+                    new NotificationRecipient(secondInvestor, null, null));
+            verify(notificationService, never()).sendEmailNotification(any(), any(), any(), any(), any(), any(), any());
+            verify(channel).basicAck(DELIVERY_TAG, false);
+        }
+    }
+
     @Nested
     @DisplayName("unknown event type")
     class UnknownEventType {
@@ -13,6 +13,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
@@ -68,6 +69,30 @@ class AfricasTalkingSmsSenderTest {
                     .hasMessageContaining("+254712345678")
                     .hasCauseInstanceOf(IOException.class);
         }
+
+        @Test
+        @DisplayName("should queue a bulk send as one request for all recipients")
+        void shouldSendBulkInOneRequest() throws Exception {
+            when(smsService.send(anyString(), anyString(), any(String[].class), eq(true)))
+                    .thenReturn(Collections.emptyList());
+
+            smsSender.sendBulk("Campaign is live", List.of("+254712345678", "+254722345678"));
+
+            verify(smsService).send(
+                    eq("Campaign is live"),
+                    eq("KEZA"),
+                    eq(new String[]{"+254712345678", "+254722345678"}),
+                    eq(true)
+            );
+        }
+
+        @Test
+        @DisplayName("should not call the provider for an empty bulk send")
+        void shouldSkipEmptyBulkSend() {
+            smsSender.sendBulk("Campaign is live", List.of());
+
+            verifyNoInteractions(smsService);
+        }
     }
 
     @Nested
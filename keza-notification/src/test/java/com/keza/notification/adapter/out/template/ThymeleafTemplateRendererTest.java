@@ -0,0 +1,94 @@
+package com.keza.notification.adapter.out.template;
+
+import com.keza.notification.domain.model.DigestEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ThymeleafTemplateRenderer")
+class ThymeleafTemplateRendererTest {
+
+    private ThymeleafTemplateRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        // Mirrors Spring Boot's default HTML resolver plus the module's text resolver
+        ClassLoaderTemplateResolver htmlResolver = new ClassLoaderTemplateResolver();
+        htmlResolver.setPrefix("templates/");
+        htmlResolver.setSuffix(".html");
+        htmlResolver.setTemplateMode(TemplateMode.HTML);
+        htmlResolver.setOrder(1);
+
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.addTemplateResolver(new NotificationTemplateConfig().textTemplateResolver());
+        engine.addTemplateResolver(htmlResolver);
+        renderer = new ThymeleafTemplateRenderer(engine);
+    }
+
+    @Test
+    @DisplayName("should render an email with the shared layout fragments and escape its variables")
+    void shouldRenderEmailWithFragments() {
+        String html = renderer.render("email/investment-confirmation", Map.of(
+                "firstName", "<Jane>",
+                "campaignName", "Solar & Wind",
+                "amount", "5000",
+                "currency", "KES",
+                "investmentDate", LocalDate.of(2026, 3, 1),
+                "investmentsUrl", "https://keza.com/investments"));
+
+        assertThat(html)
+                .contains("Investment Confirmed")
+                .contains("&lt;Jane&gt;")
+                .contains("Solar &amp; Wind")
+                .contains("2026-03-01")
+                .contains("href=\"https://keza.com/investments\"")
+                .contains("View Your Investments")
+                .contains("The Keza Team")
+                .contains("Please keep this for your records.")
+                .doesNotContain("th:");
+    }
+
+    @Test
+    @DisplayName("should render text templates without HTML escaping")
+    void shouldRenderTextTemplate() {
+        String text = renderer.render("text/campaign-launched", Map.of("campaignName", "Solar & Wind"));
+
+        assertThat(text).isEqualTo(
+                "The campaign 'Solar & Wind' you registered interest in is now live and accepting investments.");
+    }
+
+    @Test
+    @DisplayName("should list digest entries and summarise the rest")
+    void shouldRenderDigestItems() {
+        DigestEntry entry = new DigestEntry("INVESTMENT_CONFIRMED", "Investment Confirmed", "KES 5,000 in <Solar>",
+                "jane@example.com", Instant.now());
+
+        String items = renderer.render("email/digest-items", Map.of("entries", List.of(entry), "more", 3));
+
+        assertThat(items)
+                .contains("<strong>Investment Confirmed</strong>")
+                .contains("KES 5,000 in &lt;Solar&gt;")
+                .contains("and 3 more");
+    }
+
+    @Test
+    @DisplayName("should fall back to the default template when the locale has no variant")
+    void shouldFallBackToDefaultTemplate() {
+        String html = renderer.render("email/welcome", Locale.forLanguageTag("sw"), Map.of(
+                "firstName", "Amani",
+                "dashboardUrl", "https://keza.com/dashboard"));
+
+        assertThat(html).contains("Welcome to Keza!").contains("Amani");
+    }
+}
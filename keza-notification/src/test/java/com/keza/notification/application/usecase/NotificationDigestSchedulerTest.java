@@ -0,0 +1,80 @@
+package com.keza.notification.application.usecase;
+
+import com.keza.infrastructure.scheduling.SchedulerLease;
+import com.keza.notification.domain.service.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationDigestScheduler")
+class NotificationDigestSchedulerTest {
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private SchedulerLease schedulerLease;
+
+    @InjectMocks
+    private NotificationDigestScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(scheduler, "window", Duration.ofMinutes(15));
+    }
+
+    private void leaseAcquired(boolean acquired) {
+        when(schedulerLease.tryAcquire(NotificationDigestScheduler.DIGEST_LEASE,
+                NotificationDigestScheduler.DIGEST_LEASE_DURATION)).thenReturn(acquired);
+    }
+
+    @Test
+    @DisplayName("should send digests whose window opened before the configured window")
+    void shouldSendDueDigests() {
+        leaseAcquired(true);
+        Instant before = Instant.now();
+        when(notificationService.sendDueDigests(any(), eq(NotificationDigestScheduler.USERS_PER_ROUND))).thenReturn(3);
+
+        scheduler.sendDueDigests();
+
+        ArgumentCaptor<Instant> windowOpenedBefore = ArgumentCaptor.forClass(Instant.class);
+        verify(notificationService).sendDueDigests(windowOpenedBefore.capture(), eq(NotificationDigestScheduler.USERS_PER_ROUND));
+        assertThat(windowOpenedBefore.getValue()).isBefore(before.minus(Duration.ofMinutes(14)));
+    }
+
+    @Test
+    @DisplayName("should keep sending rounds while they are full, up to the round limit")
+    void shouldDrainBacklogUpToRoundLimit() {
+        leaseAcquired(true);
+        when(notificationService.sendDueDigests(any(), anyInt())).thenReturn(NotificationDigestScheduler.USERS_PER_ROUND);
+
+        scheduler.sendDueDigests();
+
+        verify(notificationService, times(NotificationDigestScheduler.MAX_ROUNDS)).sendDueDigests(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("should skip the tick when another replica holds the lease")
+    void shouldSkipWhenLeaseHeldElsewhere() {
+        leaseAcquired(false);
+
+        scheduler.sendDueDigests();
+
+        verifyNoInteractions(notificationService);
+    }
+}
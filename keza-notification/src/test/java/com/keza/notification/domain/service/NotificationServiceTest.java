@@ -1,12 +1,17 @@
 package com.keza.notification.domain.service;
 
+import com.keza.notification.domain.model.ChannelPreferences;
+import com.keza.notification.domain.model.DigestEntry;
+import com.keza.notification.domain.model.EmailRecipient;
 import com.keza.notification.domain.model.Notification;
 import com.keza.notification.domain.model.NotificationChannel;
 import com.keza.notification.domain.model.NotificationPreference;
+import com.keza.notification.domain.model.NotificationRecipient;
 import com.keza.notification.domain.port.out.EmailSender;
-import com.keza.notification.domain.port.out.NotificationPreferenceRepository;
+import com.keza.notification.domain.port.out.NotificationDigestStore;
 import com.keza.notification.domain.port.out.NotificationRepository;
 import com.keza.notification.domain.port.out.SmsSender;
+import com.keza.notification.domain.port.out.TemplateRenderer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -14,17 +19,28 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
-
-import java.util.Optional;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,7 +52,10 @@ class NotificationServiceTest {
     private NotificationRepository notificationRepository;
 
     @Mock
-    private NotificationPreferenceRepository preferenceRepository;
+    private NotificationPreferenceLookup preferenceLookup;
+
+    @Mock
+    private NotificationDigestStore digestStore;
 
     @Mock
     private EmailSender emailSender;
@@ -44,6 +63,9 @@ class NotificationServiceTest {
     @Mock
     private SmsSender smsSender;
 
+    @Mock
+    private TemplateRenderer templateRenderer;
+
     @InjectMocks
     private NotificationService notificationService;
 
@@ -55,6 +77,7 @@ class NotificationServiceTest {
     @BeforeEach
     void setUp() {
         userId = UUID.randomUUID();
+        ReflectionTestUtils.setField(notificationService, "digestTypes", Set.of());
     }
 
     private Notification savedNotification(Notification notification) {
@@ -80,7 +103,7 @@ class NotificationServiceTest {
                         .pushEnabled(true)
                         .build();
 
-                when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(pref));
+                when(preferenceLookup.get(userId)).thenReturn(ChannelPreferences.from(pref));
                 when(notificationRepository.save(any(Notification.class))).thenAnswer(inv -> {
                     Notification n = inv.getArgument(0);
                     n.setId(UUID.randomUUID());
@@ -94,7 +117,7 @@ class NotificationServiceTest {
                 assertThat(result).isNotNull();
                 assertThat(result.getType()).isEqualTo("INVESTMENT_CONFIRMED");
                 assertThat(result.getChannel()).isEqualTo(NotificationChannel.IN_APP);
-                verify(notificationRepository, times(2)).save(any(Notification.class));
+                verify(notificationRepository).save(any(Notification.class));
             }
 
             @Test
@@ -107,7 +130,7 @@ class NotificationServiceTest {
                         .pushEnabled(false)
                         .build();
 
-                when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(pref));
+                when(preferenceLookup.get(userId)).thenReturn(ChannelPreferences.from(pref));
 
                 Notification result = notificationService.sendNotification(
                         userId, "CAMPAIGN_FUNDED", "Campaign Funded!", "A campaign was funded",
@@ -127,7 +150,7 @@ class NotificationServiceTest {
                         .pushEnabled(true)
                         .build();
 
-                when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(pref));
+                when(preferenceLookup.get(userId)).thenReturn(ChannelPreferences.from(pref));
 
                 Notification result = notificationService.sendNotification(
                         userId, "PAYMENT_RECEIVED", "Payment", "Payment received",
@@ -150,7 +173,7 @@ class NotificationServiceTest {
                         .emailEnabled(false)
                         .build();
 
-                when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(pref));
+                when(preferenceLookup.get(userId)).thenReturn(ChannelPreferences.from(pref));
                 when(notificationRepository.save(any(Notification.class))).thenAnswer(inv -> {
                     Notification n = inv.getArgument(0);
                     n.setId(UUID.randomUUID());
@@ -162,7 +185,7 @@ class NotificationServiceTest {
                         NotificationChannel.EMAIL);
 
                 assertThat(result).isNotNull();
-                verify(notificationRepository, times(2)).save(any());
+                verify(notificationRepository).save(any());
             }
 
             @Test
@@ -175,7 +198,7 @@ class NotificationServiceTest {
                         .pushEnabled(false)
                         .build();
 
-                when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(pref));
+                when(preferenceLookup.get(userId)).thenReturn(ChannelPreferences.from(pref));
                 when(notificationRepository.save(any(Notification.class))).thenAnswer(inv -> {
                     Notification n = inv.getArgument(0);
                     n.setId(UUID.randomUUID());
@@ -199,7 +222,7 @@ class NotificationServiceTest {
                         .pushEnabled(false)
                         .build();
 
-                when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(pref));
+                when(preferenceLookup.get(userId)).thenReturn(ChannelPreferences.from(pref));
                 when(notificationRepository.save(any(Notification.class))).thenAnswer(inv -> {
                     Notification n = inv.getArgument(0);
                     n.setId(UUID.randomUUID());
@@ -221,7 +244,7 @@ class NotificationServiceTest {
                         .emailEnabled(false)
                         .build();
 
-                when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(pref));
+                when(preferenceLookup.get(userId)).thenReturn(ChannelPreferences.from(pref));
                 when(notificationRepository.save(any(Notification.class))).thenAnswer(inv -> {
                     Notification n = inv.getArgument(0);
                     n.setId(UUID.randomUUID());
@@ -243,7 +266,7 @@ class NotificationServiceTest {
             @Test
             @DisplayName("should default to enabled when no preferences exist")
             void shouldDefaultToEnabledWhenNoPreferences() {
-                when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.empty());
+                when(preferenceLookup.get(userId)).thenReturn(ChannelPreferences.defaults());
                 when(notificationRepository.save(any(Notification.class))).thenAnswer(inv -> {
                     Notification n = inv.getArgument(0);
                     n.setId(UUID.randomUUID());
@@ -255,14 +278,14 @@ class NotificationServiceTest {
                         NotificationChannel.EMAIL);
 
                 assertThat(result).isNotNull();
-                verify(notificationRepository, times(2)).save(any());
+                verify(notificationRepository).save(any());
             }
         }
 
         @Test
         @DisplayName("should store notification with correct fields")
         void shouldStoreNotificationWithCorrectFields() {
-            when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.empty());
+            when(preferenceLookup.get(userId)).thenReturn(ChannelPreferences.defaults());
             when(notificationRepository.save(any(Notification.class))).thenAnswer(inv -> {
                 Notification n = inv.getArgument(0);
                 n.setId(UUID.randomUUID());
@@ -287,7 +310,7 @@ class NotificationServiceTest {
         @Test
         @DisplayName("should mark notification as sent after successful dispatch")
         void shouldMarkAsSentAfterDispatch() {
-            when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.empty());
+            when(preferenceLookup.get(userId)).thenReturn(ChannelPreferences.defaults());
             when(notificationRepository.save(any(Notification.class))).thenAnswer(inv -> {
                 Notification n = inv.getArgument(0);
                 if (n.getId() == null) n.setId(UUID.randomUUID());
@@ -312,7 +335,7 @@ class NotificationServiceTest {
                     .pushEnabled(false)
                     .build();
 
-            when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(pref));
+            when(preferenceLookup.get(userId)).thenReturn(ChannelPreferences.from(pref));
             when(notificationRepository.save(any(Notification.class))).thenAnswer(inv -> {
                 Notification n = inv.getArgument(0);
                 n.setId(UUID.randomUUID());
@@ -334,7 +357,7 @@ class NotificationServiceTest {
         @Test
         @DisplayName("should send email when email channel is enabled")
         void shouldSendEmailWhenEnabled() {
-            when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.empty());
+            when(preferenceLookup.get(userId)).thenReturn(ChannelPreferences.defaults());
             when(notificationRepository.save(any(Notification.class))).thenAnswer(inv -> {
                 Notification n = inv.getArgument(0);
                 if (n.getId() == null) n.setId(UUID.randomUUID());
@@ -347,6 +370,7 @@ class NotificationServiceTest {
 
             assertThat(result).isNotNull();
             verify(emailSender).send("user@example.com", "Investment Done", "<h1>Hello</h1>");
+            verify(notificationRepository).save(argThat(Notification::isSent));
         }
 
         @Test
@@ -357,7 +381,7 @@ class NotificationServiceTest {
                     .emailEnabled(false)
                     .build();
 
-            when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(pref));
+            when(preferenceLookup.get(userId)).thenReturn(ChannelPreferences.from(pref));
 
             Notification result = notificationService.sendEmailNotification(
                     userId, "CAMPAIGN_FUNDED", "Funded", "Funded",
@@ -375,7 +399,7 @@ class NotificationServiceTest {
                     .emailEnabled(false)
                     .build();
 
-            when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(pref));
+            when(preferenceLookup.get(userId)).thenReturn(ChannelPreferences.from(pref));
             when(notificationRepository.save(any(Notification.class))).thenAnswer(inv -> {
                 Notification n = inv.getArgument(0);
                 if (n.getId() == null) n.setId(UUID.randomUUID());
@@ -393,7 +417,7 @@ class NotificationServiceTest {
         @Test
         @DisplayName("should handle email sender failure gracefully")
         void shouldHandleEmailSenderFailure() {
-            when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.empty());
+            when(preferenceLookup.get(userId)).thenReturn(ChannelPreferences.defaults());
             when(notificationRepository.save(any(Notification.class))).thenAnswer(inv -> {
                 Notification n = inv.getArgument(0);
                 if (n.getId() == null) n.setId(UUID.randomUUID());
@@ -418,7 +442,7 @@ class NotificationServiceTest {
         @Test
         @DisplayName("should send SMS when SMS channel is enabled")
         void shouldSendSmsWhenEnabled() {
-            when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.empty());
+            when(preferenceLookup.get(userId)).thenReturn(ChannelPreferences.defaults());
             when(notificationRepository.save(any(Notification.class))).thenAnswer(inv -> {
                 Notification n = inv.getArgument(0);
                 if (n.getId() == null) n.setId(UUID.randomUUID());
@@ -441,7 +465,7 @@ class NotificationServiceTest {
                     .smsEnabled(false)
                     .build();
 
-            when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(pref));
+            when(preferenceLookup.get(userId)).thenReturn(ChannelPreferences.from(pref));
 
             Notification result = notificationService.sendSmsNotification(
                     userId, "CAMPAIGN_FUNDED", "Funded", "Funded",
@@ -454,7 +478,7 @@ class NotificationServiceTest {
         @Test
         @DisplayName("should handle SMS sender failure gracefully")
         void shouldHandleSmsSenderFailure() {
-            when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.empty());
+            when(preferenceLookup.get(userId)).thenReturn(ChannelPreferences.defaults());
             when(notificationRepository.save(any(Notification.class))).thenAnswer(inv -> {
                 Notification n = inv.getArgument(0);
                 if (n.getId() == null) n.setId(UUID.randomUUID());
@@ -470,4 +494,184 @@ class NotificationServiceTest {
             assertThat(result.isSent()).isFalse();
         }
     }
+
+    @Nested
+    @DisplayName("digests")
+    class Digests {
+
+        @Test
+        @DisplayName("should send an investment confirmation at once with the default digest types")
+        void shouldSendInvestmentConfirmationImmediatelyByDefault() {
+            ReflectionTestUtils.setField(notificationService, "digestTypes",
+                    StringUtils.commaDelimitedListToSet(NotificationService.DEFAULT_DIGEST_TYPES));
+            when(preferenceLookup.get(userId)).thenReturn(ChannelPreferences.defaults());
+            when(notificationRepository.save(any(Notification.class))).thenAnswer(inv -> savedNotification(inv.getArgument(0)));
+
+            Notification result = notificationService.sendEmailNotification(
+                    userId, "INVESTMENT_CONFIRMED", "Investment Confirmed", "Confirmed",
+                    "user@example.com", "<h1>Thank you for investing</h1>", "{\"amount\":\"5000\"}");
+
+            verify(emailSender).send("user@example.com", "Investment Confirmed", "<h1>Thank you for investing</h1>");
+            verifyNoInteractions(digestStore);
+            assertThat(result.isSent()).isTrue();
+            assertThat(result.getData()).isEqualTo("{\"amount\":\"5000\"}");
+        }
+
+        @Test
+        @DisplayName("should hold a digest-type email for the next digest instead of sending it")
+        void shouldHoldDigestTypeEmail() {
+            ReflectionTestUtils.setField(notificationService, "digestTypes", Set.of("CAMPAIGN_UPDATE"));
+            when(preferenceLookup.get(userId)).thenReturn(ChannelPreferences.defaults());
+
+            Notification result = notificationService.sendEmailNotification(
+                    userId, "CAMPAIGN_UPDATE", "Investment Done", "Confirmed",
+                    "user@example.com", "<h1>Hello</h1>", null);
+
+            assertThat(result).isNull();
+            ArgumentCaptor<DigestEntry> entry = ArgumentCaptor.forClass(DigestEntry.class);
+            verify(digestStore).append(eq(userId), entry.capture());
+            assertThat(entry.getValue().title()).isEqualTo("Investment Done");
+            assertThat(entry.getValue().recipientEmail()).isEqualTo("user@example.com");
+            verifyNoInteractions(emailSender, notificationRepository);
+        }
+
+        @Test
+        @DisplayName("should send one digest email per due user through the bulk API")
+        @SuppressWarnings("unchecked")
+        void shouldSendDueDigests() {
+            UUID otherUser = UUID.randomUUID();
+            Instant cutoff = Instant.now();
+            when(digestStore.findDue(cutoff, 100)).thenReturn(List.of(userId, otherUser));
+            when(digestStore.peek(userId)).thenReturn(List.of(
+                    new DigestEntry("INVESTMENT_CONFIRMED", "Investment Confirmed", "KES 5,000 in Solar", "user@example.com", cutoff),
+                    new DigestEntry("INVESTMENT_CONFIRMED", "Investment Confirmed", "KES 1,000 in Water", "user@example.com", cutoff)));
+            when(digestStore.peek(otherUser)).thenReturn(List.of());
+            when(templateRenderer.render(eq("email/digest-items"), anyMap())).thenReturn("<li>two investments</li>");
+            when(templateRenderer.render(eq("email/digest"), anyMap())).thenReturn("<ul>-digest-items-</ul>");
+
+            int claimed = notificationService.sendDueDigests(cutoff, 100);
+
+            assertThat(claimed).isEqualTo(2);
+            ArgumentCaptor<List<EmailRecipient>> recipients = ArgumentCaptor.forClass(List.class);
+            verify(emailSender).sendBulk(eq("Your Keza updates"), eq("<ul>-digest-items-</ul>"), recipients.capture());
+            assertThat(recipients.getValue()).singleElement().satisfies(recipient -> {
+                assertThat(recipient.email()).isEqualTo("user@example.com");
+                assertThat(recipient.substitutions())
+                        .containsEntry(NotificationService.DIGEST_PLACEHOLDER, "<li>two investments</li>");
+            });
+            verify(templateRenderer).render(eq("email/digest-items"),
+                    argThat(variables -> ((List<?>) variables.get("entries")).size() == 2
+                            && Integer.valueOf(0).equals(variables.get("more"))));
+            ArgumentCaptor<List<Notification>> saved = ArgumentCaptor.forClass(List.class);
+            verify(notificationRepository).saveAll(saved.capture());
+            assertThat(saved.getValue()).singleElement().satisfies(digest -> {
+                assertThat(digest.getType()).isEqualTo(NotificationService.DIGEST_TYPE);
+                assertThat(digest.getMessage()).isEqualTo("You have 2 new updates.");
+                assertThat(digest.isSent()).isTrue();
+            });
+        }
+
+        @Test
+        @DisplayName("should remove delivered entries only after the digests are saved")
+        void shouldAcknowledgeAfterSave() {
+            Instant cutoff = Instant.now();
+            when(digestStore.findDue(cutoff, 100)).thenReturn(List.of(userId));
+            when(digestStore.peek(userId)).thenReturn(List.of(
+                    new DigestEntry("INVESTMENT_CONFIRMED", "Investment Confirmed", "KES 5,000 in Solar", "user@example.com", cutoff)));
+            when(templateRenderer.render(anyString(), anyMap())).thenReturn("<li>one investment</li>");
+
+            notificationService.sendDueDigests(cutoff, 100);
+
+            InOrder inOrder = inOrder(emailSender, notificationRepository, digestStore);
+            inOrder.verify(emailSender).sendBulk(anyString(), anyString(), anyList());
+            inOrder.verify(notificationRepository).saveAll(anyList());
+            inOrder.verify(digestStore).acknowledge(userId, 1);
+            verify(digestStore, never()).postpone(any(), any());
+        }
+
+        @Test
+        @DisplayName("should keep the entries of users whose digest could not be sent")
+        void shouldPostponeFailedDigests() {
+            Instant cutoff = Instant.now();
+            when(digestStore.findDue(cutoff, 100)).thenReturn(List.of(userId));
+            when(digestStore.peek(userId)).thenReturn(List.of(
+                    new DigestEntry("INVESTMENT_CONFIRMED", "Investment Confirmed", "KES 5,000 in Solar", "user@example.com", cutoff)));
+            when(templateRenderer.render(anyString(), anyMap())).thenReturn("<li>one investment</li>");
+            doThrow(new RuntimeException("SendGrid unavailable")).when(emailSender).sendBulk(anyString(), anyString(), anyList());
+
+            notificationService.sendDueDigests(cutoff, 100);
+
+            verify(digestStore).postpone(eq(userId), any(Instant.class));
+            verify(digestStore, never()).acknowledge(any(), anyInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("sendBulkNotification")
+    class SendBulkNotification {
+
+        @Test
+        @DisplayName("should read preferences once, send through the bulk APIs and save every row in one batch")
+        @SuppressWarnings("unchecked")
+        void shouldSendBulk() {
+            UUID emailOptOut = UUID.randomUUID();
+            when(preferenceLookup.getAll(anyList())).thenReturn(Map.of(
+                    userId, ChannelPreferences.defaults(),
+                    emailOptOut, new ChannelPreferences(false, true, true)));
+
+            int stored = notificationService.sendBulkNotification("CAMPAIGN_LAUNCHED", "Live", "Now live",
+                    "<h1>Live</h1>", null, List.of(
+                            new NotificationRecipient(userId, "user@example.com", "+254712345678"),
+                            new NotificationRecipient(emailOptOut, "optout@example.com", null)));
+
+            // Two in-app, one email, one SMS
+            assertThat(stored).isEqualTo(4);
+            verify(preferenceLookup).getAll(List.of(userId, emailOptOut));
+            verify(preferenceLookup, never()).get(any());
+            verify(emailSender).sendBulk("Live", "<h1>Live</h1>", List.of(new EmailRecipient("user@example.com")));
+            verify(smsSender).sendBulk("Now live", List.of("+254712345678"));
+            verify(emailSender, never()).send(any(), any(), any());
+            verify(notificationRepository, never()).save(any());
+
+            ArgumentCaptor<List<Notification>> saved = ArgumentCaptor.forClass(List.class);
+            verify(notificationRepository).saveAll(saved.capture());
+            assertThat(saved.getValue()).hasSize(4).allMatch(Notification::isSent);
+            assertThat(saved.getValue()).filteredOn(n -> n.getChannel() == NotificationChannel.EMAIL)
+                    .extracting(Notification::getUserId).containsExactly(userId);
+        }
+
+        @Test
+        @DisplayName("should split large sends into provider-sized chunks and keep failed chunks unsent")
+        @SuppressWarnings("unchecked")
+        void shouldChunkBulkSends() {
+            List<NotificationRecipient> recipients = IntStream.range(0, NotificationService.BULK_SEND_CHUNK + 1)
+                    .mapToObj(i -> new NotificationRecipient(UUID.randomUUID(), "investor" + i + "@example.com", null))
+                    .toList();
+            when(preferenceLookup.getAll(anyList())).thenReturn(Map.of());
+            doThrow(new RuntimeException("SendGrid error"))
+                    .when(emailSender).sendBulk(any(), any(), argThat(chunk -> chunk.size() == 1));
+
+            notificationService.sendBulkNotification("CAMPAIGN_LAUNCHED", "Live", "Now live", "<h1>Live</h1>", null,
+                    recipients);
+
+            verify(emailSender, times(2)).sendBulk(any(), any(), anyList());
+            ArgumentCaptor<List<Notification>> saved = ArgumentCaptor.forClass(List.class);
+            verify(notificationRepository).saveAll(saved.capture());
+            List<Notification> emails = new ArrayList<>(saved.getValue().stream()
+                    .filter(n -> n.getChannel() == NotificationChannel.EMAIL).toList());
+            assertThat(emails).hasSize(NotificationService.BULK_SEND_CHUNK + 1);
+            assertThat(emails.subList(0, NotificationService.BULK_SEND_CHUNK)).allMatch(Notification::isSent);
+            assertThat(emails.get(NotificationService.BULK_SEND_CHUNK).isSent()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should skip the preference lookup for critical types")
+        void shouldBypassPreferencesForCriticalTypes() {
+            notificationService.sendBulkNotification("SECURITY_ALERT", "Alert", "Check your account", "<h1>Alert</h1>",
+                    null, List.of(new NotificationRecipient(userId, "user@example.com", null)));
+
+            verifyNoInteractions(preferenceLookup);
+            verify(emailSender).sendBulk(any(), any(), eq(List.of(new EmailRecipient("user@example.com"))));
+        }
+    }
 }
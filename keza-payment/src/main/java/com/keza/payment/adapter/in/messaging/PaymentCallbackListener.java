@@ -1,5 +1,6 @@
 package com.keza.payment.adapter.in.messaging;
 
+import com.keza.infrastructure.messaging.event.PaymentEvent;
 import com.rabbitmq.client.Channel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,7 +12,6 @@ import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
 
 import static com.keza.infrastructure.config.RabbitMQConfig.*;
@@ -30,7 +30,7 @@ public class PaymentCallbackListener {
 
     private final RabbitTemplate rabbitTemplate;
 
-    @RabbitListener(queues = PAYMENT_CALLBACK_QUEUE)
+    @RabbitListener(queues = PAYMENT_CALLBACK_QUEUE, containerFactory = PAYMENT_CALLBACK_LISTENER_FACTORY)
     public void handlePaymentCallbackEvent(
             @Payload Map<String, Object> event,
             @Header(AmqpHeaders.DELIVERY_TAG) long deliveryTag,
@@ -73,50 +73,43 @@ public class PaymentCallbackListener {
     private void handlePaymentCompleted(String providerReference, Map<String, Object> event) {
         log.info("Processing COMPLETED payment event for providerReference: {}", providerReference);
 
-        @SuppressWarnings("unchecked")
-        Map<String, Object> metadata = (Map<String, Object>) event.get("metadata");
-
-        Map<String, Object> domainEvent = new HashMap<>();
-        domainEvent.put("eventType", "PAYMENT_COMPLETED");
-        domainEvent.put("providerReference", providerReference);
-        domainEvent.put("timestamp", System.currentTimeMillis());
-
+        Map<String, Object> metadata = metadataOf(event);
         if (metadata != null) {
-            domainEvent.put("transactionId", extractString(metadata, "transactionId"));
-            domainEvent.put("investmentId", extractString(metadata, "investmentId"));
-            domainEvent.put("amount", metadata.get("amount"));
-            domainEvent.put("userId", extractString(metadata, "userId"));
-            domainEvent.put("campaignName", extractString(metadata, "campaignName"));
-            domainEvent.put("currency", metadata.getOrDefault("currency", "KES"));
             log.debug("Payment metadata: {}", metadata);
         }
 
-        publishPaymentDomainEvent(domainEvent);
+        publishPaymentDomainEvent(new PaymentEvent(
+                PaymentEvent.PAYMENT_COMPLETED,
+                providerReference,
+                extractString(metadata, "transactionId"),
+                extractString(metadata, "investmentId"),
+                extractString(metadata, "userId"),
+                extractString(metadata, "amount"),
+                currencyOf(metadata),
+                extractString(metadata, "campaignName"),
+                null,
+                null,
+                System.currentTimeMillis()));
         log.info("Published PAYMENT_COMPLETED domain event for providerReference: {}", providerReference);
     }
 
     private void handlePaymentFailed(String providerReference, Map<String, Object> event) {
         log.info("Processing FAILED payment event for providerReference: {}", providerReference);
 
-        @SuppressWarnings("unchecked")
-        Map<String, Object> metadata = (Map<String, Object>) event.get("metadata");
-
-        Map<String, Object> domainEvent = new HashMap<>();
-        domainEvent.put("eventType", "PAYMENT_FAILED");
-        domainEvent.put("providerReference", providerReference);
-        domainEvent.put("failureReason", extractString(event, "failureReason"));
-        domainEvent.put("timestamp", System.currentTimeMillis());
-
-        if (metadata != null) {
-            domainEvent.put("transactionId", extractString(metadata, "transactionId"));
-            domainEvent.put("investmentId", extractString(metadata, "investmentId"));
-            domainEvent.put("userId", extractString(metadata, "userId"));
-            domainEvent.put("campaignName", extractString(metadata, "campaignName"));
-            domainEvent.put("currency", metadata.getOrDefault("currency", "KES"));
-            domainEvent.put("amount", metadata.get("amount"));
-        }
-
-        publishPaymentDomainEvent(domainEvent);
+        Map<String, Object> metadata = metadataOf(event);
+
+        publishPaymentDomainEvent(new PaymentEvent(
+                PaymentEvent.PAYMENT_FAILED,
+                providerReference,
+                extractString(metadata, "transactionId"),
+                extractString(metadata, "investmentId"),
+                extractString(metadata, "userId"),
+                extractString(metadata, "amount"),
+                currencyOf(metadata),
+                extractString(metadata, "campaignName"),
+                extractString(event, "failureReason"),
+                null,
+                System.currentTimeMillis()));
         log.info("Published PAYMENT_FAILED domain event for providerReference: {}", providerReference);
     }
 
@@ -128,25 +121,20 @@ public class PaymentCallbackListener {
 
         log.info("Refund processed. transactionId={}, refundReference={}", transactionId, refundReference);
 
-        @SuppressWarnings("unchecked")
-        Map<String, Object> metadata = (Map<String, Object>) event.get("metadata");
-
-        Map<String, Object> domainEvent = new HashMap<>();
-        domainEvent.put("eventType", "PAYMENT_REFUNDED");
-        domainEvent.put("providerReference", providerReference);
-        domainEvent.put("transactionId", transactionId);
-        domainEvent.put("refundReference", refundReference);
-        domainEvent.put("amount", event.get("amount"));
-        domainEvent.put("timestamp", System.currentTimeMillis());
-
-        if (metadata != null) {
-            domainEvent.put("investmentId", extractString(metadata, "investmentId"));
-            domainEvent.put("userId", extractString(metadata, "userId"));
-            domainEvent.put("campaignName", extractString(metadata, "campaignName"));
-            domainEvent.put("currency", metadata.getOrDefault("currency", "KES"));
-        }
-
-        publishPaymentDomainEvent(domainEvent);
+        Map<String, Object> metadata = metadataOf(event);
+
+        publishPaymentDomainEvent(new PaymentEvent(
+                PaymentEvent.PAYMENT_REFUNDED,
+                providerReference,
+                transactionId,
+                extractString(metadata, "investmentId"),
+                extractString(metadata, "userId"),
+                extractString(event, "amount"),
+                currencyOf(metadata),
+                extractString(metadata, "campaignName"),
+                null,
+                refundReference,
+                System.currentTimeMillis()));
         log.info("Published PAYMENT_REFUNDED domain event for providerReference: {}", providerReference);
     }
 
@@ -155,12 +143,21 @@ public class PaymentCallbackListener {
      * Both the investment-payment queue and notification-payment queue are bound
      * to this exchange with the same routing key, so both modules receive the event.
      */
-    private void publishPaymentDomainEvent(Map<String, Object> domainEvent) {
+    private void publishPaymentDomainEvent(PaymentEvent domainEvent) {
         rabbitTemplate.convertAndSend(PAYMENT_EXCHANGE, PAYMENT_ROUTING_KEY, domainEvent);
     }
 
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> metadataOf(Map<String, Object> event) {
+        return (Map<String, Object>) event.get("metadata");
+    }
+
+    private String currencyOf(Map<String, Object> metadata) {
+        return metadata != null ? String.valueOf(metadata.getOrDefault("currency", "KES")) : null;
+    }
+
     private String extractString(Map<String, Object> map, String key) {
-        Object value = map.get(key);
+        Object value = map != null ? map.get(key) : null;
         return value != null ? value.toString() : null;
     }
 }
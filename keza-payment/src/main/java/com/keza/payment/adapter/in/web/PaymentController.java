@@ -2,6 +2,7 @@ package com.keza.payment.adapter.in.web;
 
 import com.keza.common.dto.ApiResponse;
 import com.keza.common.enums.PaymentMethod;
+import com.keza.infrastructure.idempotency.Idempotent;
 import com.keza.payment.application.dto.PaymentInitiationRequest;
 import com.keza.payment.application.dto.PaymentResponse;
 import com.keza.payment.application.usecase.PaymentUseCase;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @RestController
@@ -27,21 +29,26 @@ public class PaymentController {
     private final PaymentUseCase paymentUseCase;
 
     /**
-     * Initiates a payment for a given transaction using the specified payment method.
+     * Initiates a payment for a given transaction using the specified payment method. The
+     * provider call runs on the payment gateway executor, so the servlet thread is released
+     * while the STK push is in flight.
      */
     @PostMapping("/initiate")
-    public ResponseEntity<ApiResponse<PaymentResponse>> initiatePayment(
+    @Idempotent
+    public CompletableFuture<ResponseEntity<ApiResponse<PaymentResponse>>> initiatePayment(
             @Valid @RequestBody PaymentInitiationRequest request) {
 
         log.info("Payment initiation request: transactionId={}, method={}",
                 request.getTransactionId(), request.getPaymentMethod());
 
-        PaymentInitiationResult result = paymentUseCase.initiatePayment(
+        return paymentUseCase.initiatePaymentAsync(
                 request.getTransactionId(),
                 request.getPaymentMethod(),
                 request.getMetadata()
-        );
+        ).thenApply(this::toInitiationResponse);
+    }
 
+    private ResponseEntity<ApiResponse<PaymentResponse>> toInitiationResponse(PaymentInitiationResult result) {
         PaymentResponse response = PaymentResponse.builder()
                 .success(result.success())
                 .providerReference(result.providerReference())
@@ -83,6 +90,7 @@ public class PaymentController {
      */
     @PostMapping("/refund/{transactionId}")
     @PreAuthorize("hasRole('ADMIN')")
+    @Idempotent
     public ResponseEntity<ApiResponse<PaymentResponse>> initiateRefund(
             @PathVariable UUID transactionId,
             @RequestParam String providerReference,
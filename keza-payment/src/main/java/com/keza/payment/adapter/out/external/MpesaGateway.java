@@ -10,7 +10,6 @@ import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
@@ -20,14 +19,11 @@ import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
 public class MpesaGateway implements PaymentGateway {
 
-    private static final String MPESA_OAUTH_TOKEN_CACHE_KEY = "keza:mpesa:oauth_token";
-    private static final String OAUTH_PATH = "/oauth/v1/generate?grant_type=client_credentials";
     private static final String STK_PUSH_PATH = "/mpesa/stkpush/v1/processrequest";
     private static final String STK_QUERY_PATH = "/mpesa/stkpushquery/v1/query";
     private static final String REVERSAL_PATH = "/mpesa/reversal/v1/request";
@@ -35,13 +31,7 @@ public class MpesaGateway implements PaymentGateway {
 
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
-    private final StringRedisTemplate redisTemplate;
-
-    @Value("${keza.mpesa.consumer-key}")
-    private String consumerKey;
-
-    @Value("${keza.mpesa.consumer-secret}")
-    private String consumerSecret;
+    private final MpesaTokenProvider tokenProvider;
 
     @Value("${keza.mpesa.passkey}")
     private String passkey;
@@ -55,10 +45,10 @@ public class MpesaGateway implements PaymentGateway {
     @Value("${keza.mpesa.base-url:https://sandbox.safaricom.co.ke}")
     private String baseUrl;
 
-    public MpesaGateway(RestTemplate restTemplate, ObjectMapper objectMapper, StringRedisTemplate redisTemplate) {
+    public MpesaGateway(RestTemplate restTemplate, ObjectMapper objectMapper, MpesaTokenProvider tokenProvider) {
         this.restTemplate = restTemplate;
         this.objectMapper = objectMapper;
-        this.redisTemplate = redisTemplate;
+        this.tokenProvider = tokenProvider;
     }
 
     @Override
@@ -77,7 +67,7 @@ public class MpesaGateway implements PaymentGateway {
             return new PaymentInitiationResult(false, null, null, "Phone number is required for M-Pesa payments");
         }
 
-        String accessToken = getOAuthToken();
+        String accessToken = tokenProvider.getToken();
         String timestamp = LocalDateTime.now().format(MPESA_TIMESTAMP_FORMAT);
         String password = generatePassword(timestamp);
 
@@ -147,7 +137,7 @@ public class MpesaGateway implements PaymentGateway {
     public PaymentStatusResult checkStatus(String providerReference) {
         log.info("Checking M-Pesa payment status for CheckoutRequestID: {}", providerReference);
 
-        String accessToken = getOAuthToken();
+        String accessToken = tokenProvider.getToken();
         String timestamp = LocalDateTime.now().format(MPESA_TIMESTAMP_FORMAT);
         String password = generatePassword(timestamp);
 
@@ -183,6 +173,8 @@ public class MpesaGateway implements PaymentGateway {
                 case "0" -> "COMPLETED";
                 case "1032" -> "CANCELLED";
                 case "1037" -> "TIMEOUT";
+                // No ResultCode yet: the customer has not answered the STK prompt
+                case "" -> "PENDING";
                 default -> "FAILED";
             };
 
@@ -205,7 +197,7 @@ public class MpesaGateway implements PaymentGateway {
     public RefundResult refund(String providerReference, BigDecimal amount) {
         log.info("Initiating M-Pesa reversal for providerReference: {}, amount: {}", providerReference, amount);
 
-        String accessToken = getOAuthToken();
+        String accessToken = tokenProvider.getToken();
 
         Map<String, Object> reversalRequest = new LinkedHashMap<>();
         reversalRequest.put("Initiator", "apitest");
@@ -257,63 +249,6 @@ public class MpesaGateway implements PaymentGateway {
         }
     }
 
-    // ---- OAuth Token Management ----
-
-    private String getOAuthToken() {
-        // Try cache first
-        String cachedToken = redisTemplate.opsForValue().get(MPESA_OAUTH_TOKEN_CACHE_KEY);
-        if (cachedToken != null && !cachedToken.isBlank()) {
-            log.debug("Using cached M-Pesa OAuth token");
-            return cachedToken;
-        }
-
-        log.info("Fetching new M-Pesa OAuth token");
-        return generateOAuthToken();
-    }
-
-    private String generateOAuthToken() {
-        String credentials = consumerKey + ":" + consumerSecret;
-        String encodedCredentials = Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-        headers.set("Authorization", "Basic " + encodedCredentials);
-
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-
-        try {
-            ResponseEntity<JsonNode> response = restTemplate.exchange(
-                    baseUrl + OAUTH_PATH,
-                    HttpMethod.GET,
-                    entity,
-                    JsonNode.class
-            );
-
-            JsonNode body = response.getBody();
-            if (body == null) {
-                throw new RuntimeException("Empty response from M-Pesa OAuth endpoint");
-            }
-
-            String accessToken = body.path("access_token").asText();
-            long expiresIn = body.path("expires_in").asLong(3599);
-
-            if (accessToken.isBlank()) {
-                throw new RuntimeException("No access_token in M-Pesa OAuth response");
-            }
-
-            // Cache the token in Redis with a TTL slightly shorter than its expiry
-            long cacheTtlSeconds = Math.max(expiresIn - 60, 60);
-            redisTemplate.opsForValue().set(MPESA_OAUTH_TOKEN_CACHE_KEY, accessToken, cacheTtlSeconds, TimeUnit.SECONDS);
-
-            log.info("M-Pesa OAuth token obtained and cached for {} seconds", cacheTtlSeconds);
-            return accessToken;
-
-        } catch (Exception e) {
-            log.error("Failed to generate M-Pesa OAuth token", e);
-            throw new RuntimeException("Failed to obtain M-Pesa access token: " + e.getMessage(), e);
-        }
-    }
-
     private String generatePassword(String timestamp) {
         String rawPassword = shortcode + passkey + timestamp;
         return Base64.getEncoder().encodeToString(rawPassword.getBytes(StandardCharsets.UTF_8));
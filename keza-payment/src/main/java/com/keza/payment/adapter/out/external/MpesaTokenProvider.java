@@ -0,0 +1,233 @@
+package com.keza.payment.adapter.out.external;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.*;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Supplies the Daraja OAuth token to {@link MpesaGateway}.
+ * <p>
+ * The token is held in memory and in Redis, so a payment normally costs neither a Redis nor an
+ * OAuth round-trip. Refreshes are single-flight: within a JVM concurrent callers wait on one
+ * in-flight fetch, and across replicas a short Redis lock lets one instance call Safaricom while
+ * the others keep using the current token or pick up the new one from Redis. A scheduled check
+ * renews the token {@link #RENEW_BEFORE_EXPIRY} ahead of its expiry so callers never block on an
+ * expired token during normal operation.
+ */
+@Slf4j
+@Component
+public class MpesaTokenProvider {
+
+    static final String TOKEN_CACHE_KEY = "keza:mpesa:oauth_token";
+    static final String REFRESH_LOCK_KEY = "keza:mpesa:oauth_token:refresh";
+    static final Duration RENEW_BEFORE_EXPIRY = Duration.ofMinutes(5);
+
+    private static final String OAUTH_PATH = "/oauth/v1/generate?grant_type=client_credentials";
+    private static final Duration REFRESH_LOCK_TTL = Duration.ofSeconds(30);
+    private static final Duration PEER_REFRESH_WAIT = Duration.ofSeconds(5);
+    private static final Duration PEER_REFRESH_POLL = Duration.ofMillis(100);
+
+    private final RestTemplate restTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final String instanceId = ManagementFactory.getRuntimeMXBean().getName();
+
+    private final AtomicReference<CompletableFuture<CachedToken>> inFlight = new AtomicReference<>();
+    private volatile CachedToken current;
+
+    @Value("${keza.mpesa.consumer-key}")
+    private String consumerKey;
+
+    @Value("${keza.mpesa.consumer-secret}")
+    private String consumerSecret;
+
+    @Value("${keza.mpesa.base-url:https://sandbox.safaricom.co.ke}")
+    private String baseUrl;
+
+    public MpesaTokenProvider(RestTemplate restTemplate, StringRedisTemplate redisTemplate) {
+        this.restTemplate = restTemplate;
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Returns a valid access token, blocking only when no valid token exists anywhere.
+     */
+    public String getToken() {
+        CachedToken token = current;
+        if (token != null && token.isValidAt(Instant.now())) {
+            return token.value();
+        }
+        return refresh().value();
+    }
+
+    /**
+     * Renews the token ahead of expiry. Every replica runs this, but only the one holding the
+     * refresh lock calls Safaricom; the rest adopt the renewed token from Redis.
+     */
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+    public void renewIfDue() {
+        CachedToken token = current;
+        if (token != null && !token.isDueForRenewalAt(Instant.now())) {
+            return;
+        }
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Early renewal of M-Pesa OAuth token failed; will retry on the next tick: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Runs at most one refresh per JVM at a time; callers arriving while one is in flight share
+     * its result.
+     */
+    private CachedToken refresh() {
+        CompletableFuture<CachedToken> mine = new CompletableFuture<>();
+        CompletableFuture<CachedToken> running = inFlight.compareAndExchange(null, mine);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            CachedToken token = loadOrFetch();
+            current = token;
+            mine.complete(token);
+            return token;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
+    private CachedToken loadOrFetch() {
+        Instant now = Instant.now();
+        CachedToken shared = readShared();
+        if (shared != null && !shared.isDueForRenewalAt(now)) {
+            return shared;
+        }
+        if (tryLockRefresh()) {
+            return fetchAndShare();
+        }
+        // Another replica is renewing. Keep using the current token while it is still valid;
+        // otherwise wait briefly for the renewed one rather than calling Safaricom as well
+        if (shared != null && shared.isValidAt(now)) {
+            return shared;
+        }
+        return awaitPeerRefresh();
+    }
+
+    private CachedToken awaitPeerRefresh() {
+        Instant deadline = Instant.now().plus(PEER_REFRESH_WAIT);
+        while (Instant.now().isBefore(deadline)) {
+            try {
+                Thread.sleep(PEER_REFRESH_POLL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for M-Pesa access token", e);
+            }
+            CachedToken shared = readShared();
+            if (shared != null && shared.isValidAt(Instant.now())) {
+                return shared;
+            }
+        }
+        log.warn("No M-Pesa OAuth token appeared within {}; fetching one directly", PEER_REFRESH_WAIT);
+        return fetchAndShare();
+    }
+
+    private boolean tryLockRefresh() {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(REFRESH_LOCK_KEY, instanceId, REFRESH_LOCK_TTL));
+    }
+
+    private CachedToken readShared() {
+        String value = redisTemplate.opsForValue().get(TOKEN_CACHE_KEY);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        Long ttlSeconds = redisTemplate.getExpire(TOKEN_CACHE_KEY, TimeUnit.SECONDS);
+        if (ttlSeconds == null || ttlSeconds <= 0) {
+            return null;
+        }
+        return new CachedToken(value, Instant.now().plusSeconds(ttlSeconds));
+    }
+
+    private CachedToken fetchAndShare() {
+        log.info("Fetching new M-Pesa OAuth token");
+
+        String credentials = consumerKey + ":" + consumerSecret;
+        String encodedCredentials = Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+        headers.set("Authorization", "Basic " + encodedCredentials);
+
+        try {
+            ResponseEntity<JsonNode> response = restTemplate.exchange(
+                    baseUrl + OAUTH_PATH,
+                    HttpMethod.GET,
+                    new HttpEntity<>(headers),
+                    JsonNode.class
+            );
+
+            JsonNode body = response.getBody();
+            if (body == null) {
+                throw new RuntimeException("Empty response from M-Pesa OAuth endpoint");
+            }
+
+            String accessToken = body.path("access_token").asText();
+            long expiresIn = body.path("expires_in").asLong(3599);
+
+            if (accessToken.isBlank()) {
+                throw new RuntimeException("No access_token in M-Pesa OAuth response");
+            }
+
+            // Cache the token in Redis with a TTL slightly shorter than its expiry
+            long cacheTtlSeconds = Math.max(expiresIn - 60, 60);
+            redisTemplate.opsForValue().set(TOKEN_CACHE_KEY, accessToken, cacheTtlSeconds, TimeUnit.SECONDS);
+
+            log.info("M-Pesa OAuth token obtained and cached for {} seconds", cacheTtlSeconds);
+            return new CachedToken(accessToken, Instant.now().plusSeconds(cacheTtlSeconds));
+
+        } catch (Exception e) {
+            log.error("Failed to generate M-Pesa OAuth token", e);
+            throw new RuntimeException("Failed to obtain M-Pesa access token: " + e.getMessage(), e);
+        }
+    }
+
+    private static CachedToken await(CompletableFuture<CachedToken> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    record CachedToken(String value, Instant expiresAt) {
+
+        boolean isValidAt(Instant now) {
+            return now.isBefore(expiresAt);
+        }
+
+        boolean isDueForRenewalAt(Instant now) {
+            return !now.isBefore(expiresAt.minus(RENEW_BEFORE_EXPIRY));
+        }
+    }
+}
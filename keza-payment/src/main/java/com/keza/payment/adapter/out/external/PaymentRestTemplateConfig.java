@@ -1,20 +1,108 @@
 package com.keza.payment.adapter.out.external;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
 import java.time.Duration;
 
+/**
+ * HTTP client shared by the payment gateways. Connections are pooled and kept alive between
+ * calls so a burst of payments reuses TLS sessions instead of opening one per request, and the
+ * M-Pesa route gets its own limit so it cannot starve the other providers. When the pool is
+ * exhausted callers wait at most {@code pool-wait} for a connection and then fail fast.
+ */
 @Configuration
 public class PaymentRestTemplateConfig {
 
+    @Value("${keza.payment.http.max-connections:200}")
+    private int maxConnections;
+
+    @Value("${keza.payment.http.max-connections-per-route:20}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${keza.mpesa.max-connections:50}")
+    private int mpesaMaxConnections;
+
+    @Value("${keza.mpesa.base-url:https://sandbox.safaricom.co.ke}")
+    private String mpesaBaseUrl;
+
+    @Value("${keza.payment.http.connect-timeout:5s}")
+    private Duration connectTimeout;
+
+    @Value("${keza.payment.http.read-timeout:30s}")
+    private Duration readTimeout;
+
+    @Value("${keza.payment.http.pool-wait:2s}")
+    private Duration poolWait;
+
+    @Value("${keza.payment.http.keep-alive:30s}")
+    private Duration keepAlive;
+
+    @Value("${keza.payment.http.connection-ttl:5m}")
+    private Duration connectionTtl;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager paymentConnectionManager() {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        // Providers drop idle connections behind load balancers; re-check
+                        // anything that sat unused before sending a payment over it
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .setTimeToLive(TimeValue.of(connectionTtl))
+                        .build())
+                .build();
+        connectionManager.setMaxPerRoute(routeOf(mpesaBaseUrl), mpesaMaxConnections);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient paymentHttpClient(PoolingHttpClientConnectionManager paymentConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(paymentConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(poolWait))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.of(keepAlive))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(keepAlive))
+                .build();
+    }
+
     @Bean
-    public RestTemplate paymentRestTemplate(RestTemplateBuilder builder) {
+    public RestTemplate paymentRestTemplate(RestTemplateBuilder builder, CloseableHttpClient paymentHttpClient) {
         return builder
-                .connectTimeout(Duration.ofSeconds(10))
-                .readTimeout(Duration.ofSeconds(30))
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(paymentHttpClient))
                 .build();
     }
+
+    /**
+     * The pool keys routes by their normalised target, so the default port has to be filled in
+     * here for the limit to match the route the client actually resolves.
+     */
+    private static HttpRoute routeOf(String baseUrl) {
+        URI uri = URI.create(baseUrl);
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() != -1 ? uri.getPort() : (secure ? 443 : 80);
+        return new HttpRoute(new HttpHost(uri.getScheme(), uri.getHost(), port), null, secure);
+    }
 }
@@ -0,0 +1,85 @@
+package com.keza.payment.adapter.out.persistence;
+
+import com.keza.common.dto.PageCursor;
+import com.keza.common.enums.PaymentMethod;
+import com.keza.payment.domain.model.PendingPayment;
+import com.keza.payment.domain.port.out.PendingPaymentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@Transactional
+public class PendingPaymentRepositoryImpl implements PendingPaymentRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public void attachProviderReference(UUID transactionId, String providerReference) {
+        em.createNativeQuery("UPDATE transactions " +
+                        "SET provider_reference = :reference, updated_at = NOW(), version = version + 1 " +
+                        "WHERE id = :id AND provider_reference IS NULL")
+                .setParameter("reference", providerReference)
+                .setParameter("id", transactionId)
+                .executeUpdate();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PendingPayment> findStalePending(Instant staleBefore, Instant notBefore, PageCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT id, investment_id, user_id, payment_method, provider_reference, " +
+                "amount, currency, created_at FROM transactions " +
+                "WHERE status = 'PENDING' AND provider_reference IS NOT NULL " +
+                "AND created_at < :staleBefore AND created_at >= :notBefore ");
+        if (after != null) {
+            // Row comparison matches idx_transactions_pending_created_at, so each chunk is a range scan
+            sql.append("AND (created_at, id) < (:cursorCreatedAt, :cursorId) ");
+        }
+        sql.append("ORDER BY created_at DESC, id DESC LIMIT :limit");
+
+        Query query = em.createNativeQuery(sql.toString())
+                .setParameter("staleBefore", staleBefore)
+                .setParameter("notBefore", notBefore)
+                .setParameter("limit", limit);
+        if (after != null) {
+            query.setParameter("cursorCreatedAt", after.createdAt());
+            query.setParameter("cursorId", after.id());
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        return rows.stream().map(this::mapRow).toList();
+    }
+
+    private PendingPayment mapRow(Object[] row) {
+        return new PendingPayment(
+                (UUID) row[0],
+                (UUID) row[1],
+                (UUID) row[2],
+                PaymentMethod.valueOf((String) row[3]),
+                (String) row[4],
+                (BigDecimal) row[5],
+                (String) row[6],
+                toInstant(row[7]));
+    }
+
+    private Instant toInstant(Object value) {
+        if (value instanceof Timestamp ts) {
+            return ts.toInstant();
+        }
+        if (value instanceof OffsetDateTime odt) {
+            return odt.toInstant();
+        }
+        return (Instant) value;
+    }
+}
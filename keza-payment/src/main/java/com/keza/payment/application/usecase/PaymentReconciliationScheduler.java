@@ -0,0 +1,72 @@
+package com.keza.payment.application.usecase;
+
+import com.keza.infrastructure.scheduling.SchedulerLease;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Periodically reconciles pending payments whose callback is overdue. One replica runs per tick
+ * under a {@link SchedulerLease}; the run stops shortly before the lease lapses so two replicas
+ * never query the same backlog at once. The run itself happens on
+ * {@code paymentReconciliationRunner}, so the scheduler thread is released as soon as the lease
+ * is taken.
+ */
+@Slf4j
+@Component
+public class PaymentReconciliationScheduler {
+
+    static final String RECONCILIATION_LEASE = "payment-reconciliation";
+
+    /**
+     * Also the time budget of a run, which ends {@code RUN_MARGIN} before the lease does.
+     */
+    static final Duration RECONCILIATION_LEASE_DURATION = Duration.ofSeconds(290);
+
+    /**
+     * Time left at the end of the lease for in-flight status checks to finish.
+     */
+    private static final Duration RUN_MARGIN = Duration.ofSeconds(20);
+
+    private final PaymentReconciliationUseCase reconciliationUseCase;
+    private final SchedulerLease schedulerLease;
+    private final Executor reconciliationRunner;
+
+    @Value("${keza.payment.reconciliation.stale-after:2m}")
+    private Duration staleAfter;
+
+    @Value("${keza.payment.reconciliation.max-age:3d}")
+    private Duration maxAge;
+
+    public PaymentReconciliationScheduler(PaymentReconciliationUseCase reconciliationUseCase,
+                                          SchedulerLease schedulerLease,
+                                          @Qualifier("paymentReconciliationRunner") Executor reconciliationRunner) {
+        this.reconciliationUseCase = reconciliationUseCase;
+        this.schedulerLease = schedulerLease;
+        this.reconciliationRunner = reconciliationRunner;
+    }
+
+    @Scheduled(fixedDelay = 300000, initialDelay = 60000)
+    public void reconcilePendingPayments() {
+        if (!schedulerLease.tryAcquire(RECONCILIATION_LEASE, RECONCILIATION_LEASE_DURATION)) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        try {
+            reconciliationRunner.execute(() -> reconciliationUseCase.reconcile(
+                    now.minus(staleAfter),
+                    now.minus(maxAge),
+                    now.plus(RECONCILIATION_LEASE_DURATION).minus(RUN_MARGIN)));
+        } catch (RejectedExecutionException e) {
+            log.warn("Skipping payment reconciliation tick: the previous run is still going");
+        }
+    }
+}
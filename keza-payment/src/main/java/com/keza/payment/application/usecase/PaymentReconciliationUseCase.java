@@ -0,0 +1,152 @@
+package com.keza.payment.application.usecase;
+
+import com.keza.common.dto.PageCursor;
+import com.keza.common.exception.BusinessRuleException;
+import com.keza.payment.domain.model.PaymentStatusResult;
+import com.keza.payment.domain.model.PendingPayment;
+import com.keza.payment.domain.model.ReconciliationReport;
+import com.keza.payment.domain.port.out.PaymentGateway;
+import com.keza.payment.domain.port.out.PendingPaymentRepository;
+import com.keza.payment.domain.service.PaymentRouter;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Resolves payments whose provider callback never arrived by asking the provider directly.
+ * <p>
+ * Stale pending transactions are read in keyset-paged chunks and checked in parallel on a small
+ * dedicated executor. Each gateway draws from its own resilience4j rate limiter
+ * ({@code reconcile-<gateway>}), so a large backlog is worked through at a fixed rate that
+ * leaves the provider's capacity for live payments. Terminal outcomes are published through
+ * {@link PaymentUseCase#applyReconciledOutcome}, which bypasses the callback idempotency key: a
+ * payment is only reconciled while it is still pending, so a callback already seen for it never
+ * took effect.
+ */
+@Slf4j
+@Service
+public class PaymentReconciliationUseCase {
+
+    static final String RATE_LIMITER_PREFIX = "reconcile-";
+
+    private final PendingPaymentRepository pendingPaymentRepository;
+    private final PaymentRouter paymentRouter;
+    private final PaymentUseCase paymentUseCase;
+    private final RateLimiterRegistry rateLimiterRegistry;
+    private final Executor reconciliationExecutor;
+
+    @Value("${keza.payment.reconciliation.chunk-size:200}")
+    private int chunkSize;
+
+    public PaymentReconciliationUseCase(PendingPaymentRepository pendingPaymentRepository,
+                                        PaymentRouter paymentRouter,
+                                        PaymentUseCase paymentUseCase,
+                                        RateLimiterRegistry rateLimiterRegistry,
+                                        @Qualifier("paymentReconciliationExecutor") Executor reconciliationExecutor) {
+        this.pendingPaymentRepository = pendingPaymentRepository;
+        this.paymentRouter = paymentRouter;
+        this.paymentUseCase = paymentUseCase;
+        this.rateLimiterRegistry = rateLimiterRegistry;
+        this.reconciliationExecutor = reconciliationExecutor;
+    }
+
+    enum Outcome { COMPLETED, FAILED, UNRESOLVED, DEFERRED }
+
+    /**
+     * Checks pending payments created in {@code [notBefore, staleBefore)} until none are left or
+     * {@code deadline} passes. Payments not reached by the deadline are picked up by the next run.
+     */
+    public ReconciliationReport reconcile(Instant staleBefore, Instant notBefore, Instant deadline) {
+        Map<Outcome, Integer> tally = new EnumMap<>(Outcome.class);
+        int scanned = 0;
+        PageCursor cursor = null;
+
+        while (Instant.now().isBefore(deadline)) {
+            List<PendingPayment> chunk = pendingPaymentRepository.findStalePending(
+                    staleBefore, notBefore, cursor, chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            scanned += chunk.size();
+
+            List<CompletableFuture<Outcome>> checks = chunk.stream()
+                    .map(payment -> CompletableFuture.supplyAsync(
+                            () -> reconcileOne(payment, deadline), reconciliationExecutor))
+                    .toList();
+            checks.forEach(check -> tally.merge(check.join(), 1, Integer::sum));
+
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+            PendingPayment last = chunk.get(chunk.size() - 1);
+            cursor = new PageCursor(last.createdAt(), last.transactionId());
+        }
+
+        ReconciliationReport report = new ReconciliationReport(scanned,
+                tally.getOrDefault(Outcome.COMPLETED, 0),
+                tally.getOrDefault(Outcome.FAILED, 0),
+                tally.getOrDefault(Outcome.UNRESOLVED, 0),
+                tally.getOrDefault(Outcome.DEFERRED, 0));
+        log.info("Payment reconciliation finished: {}", report);
+        return report;
+    }
+
+    Outcome reconcileOne(PendingPayment payment, Instant deadline) {
+        if (!Instant.now().isBefore(deadline)) {
+            return Outcome.DEFERRED;
+        }
+        try {
+            PaymentGateway gateway = paymentRouter.route(payment.paymentMethod());
+            RateLimiter rateLimiter = rateLimiterRegistry.rateLimiter(RATE_LIMITER_PREFIX + gateway.getName());
+            if (!rateLimiter.acquirePermission()) {
+                return Outcome.DEFERRED;
+            }
+
+            PaymentStatusResult status = gateway.checkStatus(payment.providerReference());
+            return switch (status.status()) {
+                case "COMPLETED" -> apply(payment, true, status, Outcome.COMPLETED);
+                case "FAILED", "CANCELLED", "TIMEOUT" -> apply(payment, false, status, Outcome.FAILED);
+                default -> Outcome.UNRESOLVED;
+            };
+        } catch (BusinessRuleException e) {
+            log.warn("Cannot reconcile transaction {}: {}", payment.transactionId(), e.getMessage());
+            return Outcome.UNRESOLVED;
+        } catch (RuntimeException e) {
+            log.warn("Status check failed for transaction {} (providerReference: {}): {}",
+                    payment.transactionId(), payment.providerReference(), e.getMessage());
+            return Outcome.UNRESOLVED;
+        }
+    }
+
+    private Outcome apply(PendingPayment payment, boolean success, PaymentStatusResult status, Outcome outcome) {
+        Map<String, Object> metadata = new HashMap<>();
+        if (status.metadata() != null) {
+            metadata.putAll(status.metadata());
+        }
+        metadata.put("transactionId", payment.transactionId().toString());
+        if (payment.investmentId() != null) {
+            metadata.put("investmentId", payment.investmentId().toString());
+        }
+        metadata.put("userId", payment.userId().toString());
+        metadata.put("amount", payment.amount());
+        metadata.put("currency", payment.currency());
+        metadata.put("resultDesc", status.message());
+        metadata.put("source", "reconciliation");
+
+        log.info("Reconciled transaction {} as {} (providerReference: {})",
+                payment.transactionId(), status.status(), payment.providerReference());
+        paymentUseCase.applyReconciledOutcome(payment.providerReference(), success, metadata);
+        return outcome;
+    }
+}
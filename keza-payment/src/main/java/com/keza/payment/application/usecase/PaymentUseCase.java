@@ -2,36 +2,54 @@ package com.keza.payment.application.usecase;
 
 import com.keza.common.enums.PaymentMethod;
 import com.keza.common.exception.BusinessRuleException;
+import com.keza.common.exception.RateLimitException;
 import com.keza.payment.domain.model.PaymentInitiationResult;
 import com.keza.payment.domain.model.PaymentStatusResult;
 import com.keza.payment.domain.model.RefundResult;
 import com.keza.payment.domain.port.out.PaymentGateway;
+import com.keza.payment.domain.port.out.PendingPaymentRepository;
 import com.keza.payment.domain.service.PaymentRouter;
-import lombok.RequiredArgsConstructor;
+import com.keza.infrastructure.messaging.event.PaymentCallbackEvent;
+import com.keza.infrastructure.outbox.OutboxPublisher;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import static com.keza.infrastructure.config.RabbitMQConfig.*;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class PaymentUseCase {
 
     private static final String IDEMPOTENCY_KEY_PREFIX = "keza:payment:callback:";
     private static final long IDEMPOTENCY_TTL_HOURS = 24;
 
     private final PaymentRouter paymentRouter;
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxPublisher outboxPublisher;
     private final StringRedisTemplate redisTemplate;
+    private final PendingPaymentRepository pendingPaymentRepository;
+    private final Executor paymentGatewayExecutor;
+
+    public PaymentUseCase(PaymentRouter paymentRouter,
+                          OutboxPublisher outboxPublisher,
+                          StringRedisTemplate redisTemplate,
+                          PendingPaymentRepository pendingPaymentRepository,
+                          @Qualifier("paymentGatewayExecutor") Executor paymentGatewayExecutor) {
+        this.paymentRouter = paymentRouter;
+        this.outboxPublisher = outboxPublisher;
+        this.redisTemplate = redisTemplate;
+        this.pendingPaymentRepository = pendingPaymentRepository;
+        this.paymentGatewayExecutor = paymentGatewayExecutor;
+    }
 
     /**
      * Initiates a payment through the appropriate gateway based on the payment method.
@@ -44,24 +62,58 @@ public class PaymentUseCase {
     public PaymentInitiationResult initiatePayment(UUID transactionId, PaymentMethod method, Map<String, String> metadata) {
         log.info("Initiating payment for transaction: {}, method: {}", transactionId, method);
 
+        PaymentGateway gateway = resolveGateway(transactionId, method);
+        BigDecimal amount = parseAmount(metadata);
+        // Default currency for East Africa
+        String currency = metadata.getOrDefault("currency", "KES");
+
+        return callGateway(gateway, transactionId, amount, currency, metadata);
+    }
+
+    /**
+     * Same as {@link #initiatePayment} but performs the provider call on the payment gateway
+     * executor, so the caller's thread is released while the STK push is in flight. Validation
+     * errors are thrown immediately; when the executor is saturated the request is rejected with
+     * a {@link RateLimitException} rather than queued without bound.
+     */
+    public CompletableFuture<PaymentInitiationResult> initiatePaymentAsync(UUID transactionId, PaymentMethod method,
+                                                                           Map<String, String> metadata) {
+        log.info("Initiating payment asynchronously for transaction: {}, method: {}", transactionId, method);
+
+        PaymentGateway gateway = resolveGateway(transactionId, method);
+        BigDecimal amount = parseAmount(metadata);
+        String currency = metadata.getOrDefault("currency", "KES");
+
+        try {
+            return CompletableFuture.supplyAsync(
+                    () -> callGateway(gateway, transactionId, amount, currency, metadata), paymentGatewayExecutor);
+        } catch (RejectedExecutionException e) {
+            log.warn("Payment gateway executor saturated; rejecting transaction: {}", transactionId);
+            throw new RateLimitException("Payment provider is busy. Please try again shortly.");
+        }
+    }
+
+    private PaymentGateway resolveGateway(UUID transactionId, PaymentMethod method) {
         if (transactionId == null) {
             throw new BusinessRuleException("INVALID_TRANSACTION", "Transaction ID must not be null");
         }
         if (method == null) {
             throw new BusinessRuleException("INVALID_PAYMENT_METHOD", "Payment method must not be null");
         }
+        return paymentRouter.route(method);
+    }
 
-        PaymentGateway gateway = paymentRouter.route(method);
-
-        // Default currency for East Africa
-        String currency = metadata.getOrDefault("currency", "KES");
-        BigDecimal amount = parseAmount(metadata);
-
+    private PaymentInitiationResult callGateway(PaymentGateway gateway, UUID transactionId, BigDecimal amount,
+                                                String currency, Map<String, String> metadata) {
         PaymentInitiationResult result = gateway.initiatePayment(transactionId, amount, currency, metadata);
 
         if (result.success()) {
             log.info("Payment initiated successfully for transaction: {}. Provider reference: {}",
                     transactionId, result.providerReference());
+            if (result.providerReference() != null) {
+                // Lets callbacks and reconciliation find the transaction by its provider reference
+                pendingPaymentRepository.attachProviderReference(transactionId, result.providerReference());
+            }
         } else {
             log.warn("Payment initiation failed for transaction: {}. Message: {}", transactionId, result.message());
         }
@@ -72,7 +124,7 @@ public class PaymentUseCase {
     /**
      * Handles a payment callback in an idempotent manner.
      * Uses Redis to ensure each callback is processed only once.
-     * Publishes a payment event to RabbitMQ upon successful processing.
+     * Publishes a payment event through the outbox upon successful processing.
      *
      * @param providerReference the payment provider's reference
      * @param success           whether the payment was successful
@@ -96,22 +148,34 @@ public class PaymentUseCase {
             return;
         }
 
-        // Build the event payload
-        Map<String, Object> eventPayload = new HashMap<>();
-        eventPayload.put("providerReference", providerReference);
-        eventPayload.put("success", success);
-        eventPayload.put("status", success ? "COMPLETED" : "FAILED");
-        eventPayload.put("timestamp", System.currentTimeMillis());
-        if (metadata != null) {
-            eventPayload.put("metadata", metadata);
-        }
-
         // Publish to the payment exchange for downstream consumers
-        rabbitTemplate.convertAndSend(PAYMENT_EXCHANGE, PAYMENT_ROUTING_KEY, eventPayload);
+        outboxPublisher.publish("Payment", providerReference, PAYMENT_EXCHANGE, PAYMENT_ROUTING_KEY,
+                PaymentCallbackEvent.callback(providerReference, success, metadata));
 
         log.info("Payment callback event published for providerReference: {}, success: {}", providerReference, success);
     }
 
+    /**
+     * Publishes an outcome found by reconciliation for a payment still pending in the database.
+     * Unlike {@link #handlePaymentCallback}, it does not skip a provider reference whose callback
+     * was already seen: that callback's event evidently never took effect (for example, it was
+     * dead-lettered), and skipping it would leave the payment pending until it ages out of
+     * reconciliation. The idempotency key is rewritten so that later callbacks are still dropped.
+     * Consumers ignore an outcome that no longer applies, so a duplicate is harmless.
+     *
+     * @param providerReference the payment provider's reference
+     * @param success           whether the provider reports the payment as successful
+     * @param metadata          metadata of the pending transaction and the status check
+     */
+    public void applyReconciledOutcome(String providerReference, boolean success, Map<String, Object> metadata) {
+        outboxPublisher.publish("Payment", providerReference, PAYMENT_EXCHANGE, PAYMENT_ROUTING_KEY,
+                PaymentCallbackEvent.callback(providerReference, success, metadata));
+        redisTemplate.opsForValue().set(IDEMPOTENCY_KEY_PREFIX + providerReference,
+                success ? "SUCCESS" : "FAILED", IDEMPOTENCY_TTL_HOURS, TimeUnit.HOURS);
+
+        log.info("Reconciled payment event published for providerReference: {}, success: {}", providerReference, success);
+    }
+
     /**
      * Processes a refund for the given transaction.
      *
@@ -138,15 +202,9 @@ public class PaymentUseCase {
             log.info("Refund initiated for transaction: {}. Refund reference: {}", transactionId, result.refundReference());
 
             // Publish refund event
-            Map<String, Object> refundEvent = new HashMap<>();
-            refundEvent.put("transactionId", transactionId.toString());
-            refundEvent.put("providerReference", providerReference);
-            refundEvent.put("refundReference", result.refundReference());
-            refundEvent.put("amount", amount);
-            refundEvent.put("status", "REFUNDED");
-            refundEvent.put("timestamp", System.currentTimeMillis());
-
-            rabbitTemplate.convertAndSend(PAYMENT_EXCHANGE, PAYMENT_ROUTING_KEY, refundEvent);
+            outboxPublisher.publish("Payment", providerReference, PAYMENT_EXCHANGE, PAYMENT_ROUTING_KEY,
+                    PaymentCallbackEvent.refund(providerReference, transactionId.toString(),
+                            result.refundReference(), amount != null ? amount.toPlainString() : null));
         } else {
             log.warn("Refund failed for transaction: {}. Message: {}", transactionId, result.message());
         }
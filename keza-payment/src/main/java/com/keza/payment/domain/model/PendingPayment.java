@@ -0,0 +1,21 @@
+package com.keza.payment.domain.model;
+
+import com.keza.common.enums.PaymentMethod;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A payment transaction still awaiting its provider outcome, as seen by reconciliation.
+ */
+public record PendingPayment(
+        UUID transactionId,
+        UUID investmentId,
+        UUID userId,
+        PaymentMethod paymentMethod,
+        String providerReference,
+        BigDecimal amount,
+        String currency,
+        Instant createdAt
+) {}
@@ -0,0 +1,12 @@
+package com.keza.payment.domain.model;
+
+/**
+ * Outcome counts of one reconciliation run.
+ *
+ * @param scanned    pending payments read from the database
+ * @param completed  payments the provider reported as paid
+ * @param failed     payments the provider reported as failed, cancelled or timed out
+ * @param unresolved payments still pending at the provider, or whose status could not be read
+ * @param deferred   payments left for the next run because the rate budget or run time ran out
+ */
+public record ReconciliationReport(int scanned, int completed, int failed, int unresolved, int deferred) {}
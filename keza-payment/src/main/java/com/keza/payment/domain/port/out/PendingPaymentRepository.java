@@ -0,0 +1,31 @@
+package com.keza.payment.domain.port.out;
+
+import com.keza.common.dto.PageCursor;
+import com.keza.payment.domain.model.PendingPayment;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Provider-side view of the transactions table, via native SQL so the payment module does not
+ * depend on the investment module's entities.
+ */
+@Repository
+public interface PendingPaymentRepository {
+
+    /**
+     * Records the provider reference returned when a payment was initiated, so callbacks and
+     * reconciliation can find the transaction. A reference that is already set is kept.
+     */
+    void attachProviderReference(UUID transactionId, String providerReference);
+
+    /**
+     * Reads the next chunk of PENDING transactions with a provider reference that were created
+     * in {@code [notBefore, staleBefore)}, newest first in {@link PageCursor#SORT} order.
+     *
+     * @param after position of the last row of the previous chunk, or {@code null} to start
+     */
+    List<PendingPayment> findStalePending(Instant staleBefore, Instant notBefore, PageCursor after, int limit);
+}
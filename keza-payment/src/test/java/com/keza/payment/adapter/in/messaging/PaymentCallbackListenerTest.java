@@ -1,5 +1,6 @@
 package com.keza.payment.adapter.in.messaging;
 
+import com.keza.infrastructure.messaging.event.PaymentEvent;
 import com.rabbitmq.client.Channel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -37,7 +38,7 @@ class PaymentCallbackListenerTest {
     private PaymentCallbackListener listener;
 
     @Captor
-    private ArgumentCaptor<Map<String, Object>> eventCaptor;
+    private ArgumentCaptor<PaymentEvent> eventCaptor;
 
     private static final long DELIVERY_TAG = 1L;
 
@@ -63,15 +64,15 @@ class PaymentCallbackListenerTest {
             listener.handlePaymentCallbackEvent(event, DELIVERY_TAG, channel);
 
             verify(rabbitTemplate).convertAndSend(eq(PAYMENT_EXCHANGE), eq(PAYMENT_ROUTING_KEY), eventCaptor.capture());
-            Map<String, Object> published = eventCaptor.getValue();
+            PaymentEvent published = eventCaptor.getValue();
 
-            assertThat(published).containsEntry("eventType", "PAYMENT_COMPLETED");
-            assertThat(published).containsEntry("providerReference", "ws_CO_123");
-            assertThat(published).containsEntry("transactionId", "tx-123");
-            assertThat(published).containsEntry("investmentId", "inv-456");
-            assertThat(published).containsEntry("amount", "5000");
-            assertThat(published).containsEntry("userId", "user-789");
-            assertThat(published).containsKey("timestamp");
+            assertThat(published.eventType()).isEqualTo("PAYMENT_COMPLETED");
+            assertThat(published.providerReference()).isEqualTo("ws_CO_123");
+            assertThat(published.transactionId()).isEqualTo("tx-123");
+            assertThat(published.investmentId()).isEqualTo("inv-456");
+            assertThat(published.amount()).isEqualTo("5000");
+            assertThat(published.userId()).isEqualTo("user-789");
+            assertThat(published.timestamp()).isPositive();
 
             verify(channel).basicAck(DELIVERY_TAG, false);
             verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
@@ -94,12 +95,12 @@ class PaymentCallbackListenerTest {
             listener.handlePaymentCallbackEvent(event, DELIVERY_TAG, channel);
 
             verify(rabbitTemplate).convertAndSend(eq(PAYMENT_EXCHANGE), eq(PAYMENT_ROUTING_KEY), eventCaptor.capture());
-            Map<String, Object> published = eventCaptor.getValue();
+            PaymentEvent published = eventCaptor.getValue();
 
-            assertThat(published).containsEntry("eventType", "PAYMENT_FAILED");
-            assertThat(published).containsEntry("providerReference", "ws_CO_456");
-            assertThat(published).containsEntry("failureReason", "Insufficient funds");
-            assertThat(published).containsEntry("transactionId", "tx-123");
+            assertThat(published.eventType()).isEqualTo("PAYMENT_FAILED");
+            assertThat(published.providerReference()).isEqualTo("ws_CO_456");
+            assertThat(published.failureReason()).isEqualTo("Insufficient funds");
+            assertThat(published.transactionId()).isEqualTo("tx-123");
 
             verify(channel).basicAck(DELIVERY_TAG, false);
         }
@@ -122,13 +123,13 @@ class PaymentCallbackListenerTest {
             listener.handlePaymentCallbackEvent(event, DELIVERY_TAG, channel);
 
             verify(rabbitTemplate).convertAndSend(eq(PAYMENT_EXCHANGE), eq(PAYMENT_ROUTING_KEY), eventCaptor.capture());
-            Map<String, Object> published = eventCaptor.getValue();
+            PaymentEvent published = eventCaptor.getValue();
 
-            assertThat(published).containsEntry("eventType", "PAYMENT_REFUNDED");
-            assertThat(published).containsEntry("providerReference", "ws_CO_789");
-            assertThat(published).containsEntry("transactionId", "tx-123");
-            assertThat(published).containsEntry("refundReference", "ref-999");
-            assertThat(published).containsEntry("amount", "5000");
+            assertThat(published.eventType()).isEqualTo("PAYMENT_REFUNDED");
+            assertThat(published.providerReference()).isEqualTo("ws_CO_789");
+            assertThat(published.transactionId()).isEqualTo("tx-123");
+            assertThat(published.refundReference()).isEqualTo("ref-999");
+            assertThat(published.amount()).isEqualTo("5000");
 
             verify(channel).basicAck(DELIVERY_TAG, false);
         }
@@ -172,12 +173,12 @@ class PaymentCallbackListenerTest {
             listener.handlePaymentCallbackEvent(event, DELIVERY_TAG, channel);
 
             verify(rabbitTemplate).convertAndSend(eq(PAYMENT_EXCHANGE), eq(PAYMENT_ROUTING_KEY), eventCaptor.capture());
-            Map<String, Object> published = eventCaptor.getValue();
+            PaymentEvent published = eventCaptor.getValue();
 
-            assertThat(published).containsEntry("eventType", "PAYMENT_COMPLETED");
-            assertThat(published).containsEntry("providerReference", "ws_CO_no_meta");
+            assertThat(published.eventType()).isEqualTo("PAYMENT_COMPLETED");
+            assertThat(published.providerReference()).isEqualTo("ws_CO_no_meta");
             // Metadata fields should be null but event still published
-            assertThat(published.get("transactionId")).isNull();
+            assertThat(published.transactionId()).isNull();
 
             verify(channel).basicAck(DELIVERY_TAG, false);
         }
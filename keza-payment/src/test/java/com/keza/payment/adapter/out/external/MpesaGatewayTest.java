@@ -21,6 +21,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -55,14 +56,16 @@ class MpesaGatewayTest {
     @BeforeEach
     void setUp() {
         objectMapper = new ObjectMapper();
-        mpesaGateway = new MpesaGateway(restTemplate, objectMapper, redisTemplate);
+        MpesaTokenProvider tokenProvider = new MpesaTokenProvider(restTemplate, redisTemplate);
+        ReflectionTestUtils.setField(tokenProvider, "baseUrl", BASE_URL);
+        ReflectionTestUtils.setField(tokenProvider, "consumerKey", CONSUMER_KEY);
+        ReflectionTestUtils.setField(tokenProvider, "consumerSecret", CONSUMER_SECRET);
+        mpesaGateway = new MpesaGateway(restTemplate, objectMapper, tokenProvider);
 
         ReflectionTestUtils.setField(mpesaGateway, "baseUrl", BASE_URL);
         ReflectionTestUtils.setField(mpesaGateway, "shortcode", SHORTCODE);
         ReflectionTestUtils.setField(mpesaGateway, "passkey", PASSKEY);
         ReflectionTestUtils.setField(mpesaGateway, "callbackUrl", CALLBACK_URL);
-        ReflectionTestUtils.setField(mpesaGateway, "consumerKey", CONSUMER_KEY);
-        ReflectionTestUtils.setField(mpesaGateway, "consumerSecret", CONSUMER_SECRET);
     }
 
     @Test
@@ -74,11 +77,14 @@ class MpesaGatewayTest {
     private void stubCachedToken(String token) {
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
         when(valueOperations.get("keza:mpesa:oauth_token")).thenReturn(token);
+        when(redisTemplate.getExpire("keza:mpesa:oauth_token", TimeUnit.SECONDS)).thenReturn(3000L);
     }
 
     private void stubFreshToken() {
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
         when(valueOperations.get("keza:mpesa:oauth_token")).thenReturn(null);
+        when(valueOperations.setIfAbsent(eq("keza:mpesa:oauth_token:refresh"), anyString(), any(Duration.class)))
+                .thenReturn(true);
 
         ObjectNode tokenResponse = objectMapper.createObjectNode();
         tokenResponse.put("access_token", "fresh-token-123");
@@ -328,6 +334,27 @@ class MpesaGatewayTest {
             assertThat(result.status()).isEqualTo("TIMEOUT");
         }
 
+        @Test
+        @DisplayName("should return PENDING when the customer has not answered yet")
+        void shouldReturnPendingWithoutResultCode() {
+            stubCachedToken("token");
+
+            ObjectNode body = objectMapper.createObjectNode();
+            body.put("ResponseCode", "0");
+            body.put("MerchantRequestID", "mr_123");
+
+            when(restTemplate.exchange(
+                    contains("/stkpushquery"),
+                    eq(HttpMethod.POST),
+                    any(HttpEntity.class),
+                    eq(JsonNode.class)))
+                    .thenReturn(ResponseEntity.ok(body));
+
+            PaymentStatusResult result = mpesaGateway.checkStatus("ws_CO_123");
+
+            assertThat(result.status()).isEqualTo("PENDING");
+        }
+
         @Test
         @DisplayName("should return FAILED for unknown result codes")
         void shouldReturnFailedForUnknownCode() {
@@ -557,6 +584,8 @@ class MpesaGatewayTest {
         void shouldThrowWhenOAuthReturnsEmptyBody() {
             when(redisTemplate.opsForValue()).thenReturn(valueOperations);
             when(valueOperations.get("keza:mpesa:oauth_token")).thenReturn(null);
+            when(valueOperations.setIfAbsent(eq("keza:mpesa:oauth_token:refresh"), anyString(), any(Duration.class)))
+                    .thenReturn(true);
 
             when(restTemplate.exchange(
                     contains("/oauth/v1/generate"),
@@ -0,0 +1,179 @@
+package com.keza.payment.adapter.out.external;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MpesaTokenProvider")
+class MpesaTokenProviderTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MpesaTokenProvider tokenProvider;
+
+    private static final String BASE_URL = "https://sandbox.safaricom.co.ke";
+    private static final String OAUTH_URL = BASE_URL + "/oauth/v1/generate?grant_type=client_credentials";
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new MpesaTokenProvider(restTemplate, redisTemplate);
+        ReflectionTestUtils.setField(tokenProvider, "baseUrl", BASE_URL);
+        ReflectionTestUtils.setField(tokenProvider, "consumerKey", "test-consumer-key");
+        ReflectionTestUtils.setField(tokenProvider, "consumerSecret", "test-consumer-secret");
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    private void stubSharedToken(String token, long ttlSeconds) {
+        when(valueOperations.get(MpesaTokenProvider.TOKEN_CACHE_KEY)).thenReturn(token);
+        lenient().when(redisTemplate.getExpire(MpesaTokenProvider.TOKEN_CACHE_KEY, TimeUnit.SECONDS))
+                .thenReturn(ttlSeconds);
+    }
+
+    private void stubRefreshLock(boolean acquired) {
+        when(valueOperations.setIfAbsent(eq(MpesaTokenProvider.REFRESH_LOCK_KEY), anyString(), any(Duration.class)))
+                .thenReturn(acquired);
+    }
+
+    private void stubOAuthResponse(String token) {
+        ObjectNode tokenResponse = objectMapper.createObjectNode();
+        tokenResponse.put("access_token", token);
+        tokenResponse.put("expires_in", 3599);
+        when(restTemplate.exchange(eq(OAUTH_URL), eq(HttpMethod.GET), any(HttpEntity.class), eq(JsonNode.class)))
+                .thenAnswer(invocation -> {
+                    // Hold the fetch open long enough for concurrent callers to pile up behind it
+                    Thread.sleep(100);
+                    return ResponseEntity.ok(tokenResponse);
+                });
+    }
+
+    @Nested
+    @DisplayName("getToken")
+    class GetToken {
+
+        @Test
+        @DisplayName("should adopt the shared Redis token and then serve it from memory")
+        void shouldAdoptSharedTokenAndServeFromMemory() {
+            stubSharedToken("shared-token", 3000);
+
+            assertThat(tokenProvider.getToken()).isEqualTo("shared-token");
+            assertThat(tokenProvider.getToken()).isEqualTo("shared-token");
+
+            verify(valueOperations, times(1)).get(MpesaTokenProvider.TOKEN_CACHE_KEY);
+            verifyNoInteractions(restTemplate);
+        }
+
+        @Test
+        @DisplayName("should fetch the token once when many callers miss at the same time")
+        void shouldFetchOnceForConcurrentMisses() throws Exception {
+            stubSharedToken(null, 0);
+            stubRefreshLock(true);
+            stubOAuthResponse("fresh-token");
+
+            int callers = 16;
+            ExecutorService pool = Executors.newFixedThreadPool(callers);
+            CountDownLatch start = new CountDownLatch(1);
+            try {
+                List<Future<String>> results = IntStream.range(0, callers)
+                        .mapToObj(i -> pool.submit(() -> {
+                            start.await();
+                            return tokenProvider.getToken();
+                        }))
+                        .toList();
+                start.countDown();
+
+                for (Future<String> result : results) {
+                    assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("fresh-token");
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+
+            verify(restTemplate, times(1))
+                    .exchange(eq(OAUTH_URL), eq(HttpMethod.GET), any(HttpEntity.class), eq(JsonNode.class));
+            verify(valueOperations).set(MpesaTokenProvider.TOKEN_CACHE_KEY, "fresh-token", 3539L, TimeUnit.SECONDS);
+        }
+
+        @Test
+        @DisplayName("should wait for another replica's refresh instead of calling Safaricom")
+        void shouldWaitForPeerRefresh() {
+            when(valueOperations.get(MpesaTokenProvider.TOKEN_CACHE_KEY)).thenReturn(null, "peer-token");
+            when(redisTemplate.getExpire(MpesaTokenProvider.TOKEN_CACHE_KEY, TimeUnit.SECONDS)).thenReturn(3000L);
+            stubRefreshLock(false);
+
+            assertThat(tokenProvider.getToken()).isEqualTo("peer-token");
+
+            verifyNoInteractions(restTemplate);
+        }
+    }
+
+    @Nested
+    @DisplayName("renewIfDue")
+    class RenewIfDue {
+
+        @Test
+        @DisplayName("should renew a token that is close to expiry while holding the refresh lock")
+        void shouldRenewTokenCloseToExpiry() {
+            stubSharedToken("old-token", 120);
+            stubRefreshLock(true);
+            stubOAuthResponse("renewed-token");
+
+            tokenProvider.renewIfDue();
+
+            assertThat(tokenProvider.getToken()).isEqualTo("renewed-token");
+        }
+
+        @Test
+        @DisplayName("should keep the current token while another replica renews it")
+        void shouldKeepCurrentTokenWhileLockHeldElsewhere() {
+            stubSharedToken("old-token", 120);
+            stubRefreshLock(false);
+
+            tokenProvider.renewIfDue();
+
+            assertThat(tokenProvider.getToken()).isEqualTo("old-token");
+            verifyNoInteractions(restTemplate);
+        }
+
+        @Test
+        @DisplayName("should do nothing while the in-memory token is fresh")
+        void shouldSkipFreshToken() {
+            stubSharedToken("fresh-token", 3000);
+            tokenProvider.getToken();
+
+            tokenProvider.renewIfDue();
+
+            verify(valueOperations, times(1)).get(MpesaTokenProvider.TOKEN_CACHE_KEY);
+            verify(valueOperations, never()).setIfAbsent(anyString(), anyString(), any(Duration.class));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.keza.payment.application.usecase;
+
+import com.keza.infrastructure.scheduling.SchedulerLease;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PaymentReconciliationScheduler")
+class PaymentReconciliationSchedulerTest {
+
+    @Mock
+    private PaymentReconciliationUseCase reconciliationUseCase;
+
+    @Mock
+    private SchedulerLease schedulerLease;
+
+    private PaymentReconciliationScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new PaymentReconciliationScheduler(reconciliationUseCase, schedulerLease, Runnable::run);
+        ReflectionTestUtils.setField(scheduler, "staleAfter", Duration.ofMinutes(2));
+        ReflectionTestUtils.setField(scheduler, "maxAge", Duration.ofDays(3));
+    }
+
+    @Test
+    @DisplayName("should reconcile the stale window and stop before the lease lapses")
+    void shouldReconcileWithinLease() {
+        when(schedulerLease.tryAcquire(PaymentReconciliationScheduler.RECONCILIATION_LEASE,
+                PaymentReconciliationScheduler.RECONCILIATION_LEASE_DURATION)).thenReturn(true);
+        Instant before = Instant.now();
+
+        scheduler.reconcilePendingPayments();
+
+        ArgumentCaptor<Instant> staleBefore = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> notBefore = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> deadline = ArgumentCaptor.forClass(Instant.class);
+        verify(reconciliationUseCase).reconcile(staleBefore.capture(), notBefore.capture(), deadline.capture());
+        assertThat(staleBefore.getValue()).isBefore(before.minus(Duration.ofMinutes(1)));
+        assertThat(notBefore.getValue()).isBefore(staleBefore.getValue());
+        assertThat(deadline.getValue())
+                .isAfter(before)
+                .isBefore(before.plus(PaymentReconciliationScheduler.RECONCILIATION_LEASE_DURATION));
+    }
+
+    @Test
+    @DisplayName("should hand the run to its own executor and skip the tick while a run is still going")
+    void shouldSkipWhenPreviousRunBusy() {
+        scheduler = new PaymentReconciliationScheduler(reconciliationUseCase, schedulerLease, task -> {
+            throw new RejectedExecutionException("busy");
+        });
+        ReflectionTestUtils.setField(scheduler, "staleAfter", Duration.ofMinutes(2));
+        ReflectionTestUtils.setField(scheduler, "maxAge", Duration.ofDays(3));
+        when(schedulerLease.tryAcquire(PaymentReconciliationScheduler.RECONCILIATION_LEASE,
+                PaymentReconciliationScheduler.RECONCILIATION_LEASE_DURATION)).thenReturn(true);
+
+        scheduler.reconcilePendingPayments();
+
+        verifyNoInteractions(reconciliationUseCase);
+    }
+
+    @Test
+    @DisplayName("should skip the tick when another replica holds the lease")
+    void shouldSkipWhenLeaseHeldElsewhere() {
+        when(schedulerLease.tryAcquire(PaymentReconciliationScheduler.RECONCILIATION_LEASE,
+                PaymentReconciliationScheduler.RECONCILIATION_LEASE_DURATION)).thenReturn(false);
+
+        scheduler.reconcilePendingPayments();
+
+        verifyNoInteractions(reconciliationUseCase);
+    }
+}
@@ -0,0 +1,216 @@
+package com.keza.payment.application.usecase;
+
+import com.keza.common.dto.PageCursor;
+import com.keza.common.enums.PaymentMethod;
+import com.keza.payment.domain.model.PaymentStatusResult;
+import com.keza.payment.domain.model.PendingPayment;
+import com.keza.payment.domain.model.ReconciliationReport;
+import com.keza.payment.domain.port.out.PaymentGateway;
+import com.keza.payment.domain.port.out.PendingPaymentRepository;
+import com.keza.payment.domain.service.PaymentRouter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PaymentReconciliationUseCase")
+class PaymentReconciliationUseCaseTest {
+
+    @Mock
+    private PendingPaymentRepository pendingPaymentRepository;
+    @Mock
+    private PaymentRouter paymentRouter;
+    @Mock
+    private PaymentUseCase paymentUseCase;
+    @Mock
+    private PaymentGateway mpesaGateway;
+
+    @Captor
+    private ArgumentCaptor<Map<String, Object>> metadataCaptor;
+
+    private PaymentReconciliationUseCase reconciliationUseCase;
+
+    private final Instant staleBefore = Instant.now().minus(Duration.ofMinutes(2));
+    private final Instant notBefore = Instant.now().minus(Duration.ofDays(3));
+    private final Instant deadline = Instant.now().plus(Duration.ofMinutes(5));
+
+    @BeforeEach
+    void setUp() {
+        reconciliationUseCase = useCaseWith(RateLimiterRegistry.ofDefaults(), 200);
+    }
+
+    private PaymentReconciliationUseCase useCaseWith(RateLimiterRegistry registry, int chunkSize) {
+        PaymentReconciliationUseCase useCase = new PaymentReconciliationUseCase(
+                pendingPaymentRepository, paymentRouter, paymentUseCase, registry, Runnable::run);
+        ReflectionTestUtils.setField(useCase, "chunkSize", chunkSize);
+        return useCase;
+    }
+
+    private PendingPayment pending(String providerReference, Instant createdAt) {
+        return new PendingPayment(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), PaymentMethod.MPESA,
+                providerReference, new BigDecimal("5000.00"), "KES", createdAt);
+    }
+
+    private void stubMpesaRoute() {
+        when(paymentRouter.route(PaymentMethod.MPESA)).thenReturn(mpesaGateway);
+        when(mpesaGateway.getName()).thenReturn("mpesa");
+    }
+
+    private void stubStatus(String providerReference, String status) {
+        when(mpesaGateway.checkStatus(providerReference))
+                .thenReturn(new PaymentStatusResult(providerReference, status, status + " desc", Map.of()));
+    }
+
+    @Nested
+    @DisplayName("applying provider outcomes")
+    class ApplyingOutcomes {
+
+        @Test
+        @DisplayName("should apply a completed payment through the callback path with transaction details")
+        void shouldApplyCompletedPayment() {
+            PendingPayment payment = pending("ws_CO_1", Instant.now().minus(Duration.ofMinutes(10)));
+            when(pendingPaymentRepository.findStalePending(staleBefore, notBefore, null, 200))
+                    .thenReturn(List.of(payment));
+            stubMpesaRoute();
+            stubStatus("ws_CO_1", "COMPLETED");
+
+            ReconciliationReport report = reconciliationUseCase.reconcile(staleBefore, notBefore, deadline);
+
+            verify(paymentUseCase).applyReconciledOutcome(eq("ws_CO_1"), eq(true), metadataCaptor.capture());
+            assertThat(metadataCaptor.getValue())
+                    .containsEntry("transactionId", payment.transactionId().toString())
+                    .containsEntry("investmentId", payment.investmentId().toString())
+                    .containsEntry("source", "reconciliation");
+            assertThat(report).isEqualTo(new ReconciliationReport(1, 1, 0, 0, 0));
+        }
+
+        @Test
+        @DisplayName("should apply cancelled and timed-out payments as failures")
+        void shouldApplyCancelledAsFailure() {
+            PendingPayment cancelled = pending("ws_CO_1", Instant.now().minus(Duration.ofMinutes(10)));
+            PendingPayment timedOut = pending("ws_CO_2", Instant.now().minus(Duration.ofMinutes(11)));
+            when(pendingPaymentRepository.findStalePending(staleBefore, notBefore, null, 200))
+                    .thenReturn(List.of(cancelled, timedOut));
+            stubMpesaRoute();
+            stubStatus("ws_CO_1", "CANCELLED");
+            stubStatus("ws_CO_2", "TIMEOUT");
+
+            ReconciliationReport report = reconciliationUseCase.reconcile(staleBefore, notBefore, deadline);
+
+            verify(paymentUseCase).applyReconciledOutcome(eq("ws_CO_1"), eq(false), anyMap());
+            verify(paymentUseCase).applyReconciledOutcome(eq("ws_CO_2"), eq(false), anyMap());
+            assertThat(report.failed()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should leave payments still pending at the provider untouched")
+        void shouldLeavePendingPaymentsAlone() {
+            PendingPayment payment = pending("ws_CO_1", Instant.now().minus(Duration.ofMinutes(10)));
+            when(pendingPaymentRepository.findStalePending(staleBefore, notBefore, null, 200))
+                    .thenReturn(List.of(payment));
+            stubMpesaRoute();
+            stubStatus("ws_CO_1", "PENDING");
+
+            ReconciliationReport report = reconciliationUseCase.reconcile(staleBefore, notBefore, deadline);
+
+            verifyNoInteractions(paymentUseCase);
+            assertThat(report.unresolved()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should count a failing status check as unresolved and carry on")
+        void shouldSurviveStatusCheckFailure() {
+            PendingPayment broken = pending("ws_CO_1", Instant.now().minus(Duration.ofMinutes(10)));
+            PendingPayment paid = pending("ws_CO_2", Instant.now().minus(Duration.ofMinutes(11)));
+            when(pendingPaymentRepository.findStalePending(staleBefore, notBefore, null, 200))
+                    .thenReturn(List.of(broken, paid));
+            stubMpesaRoute();
+            when(mpesaGateway.checkStatus("ws_CO_1")).thenThrow(new RuntimeException("Connection reset"));
+            stubStatus("ws_CO_2", "COMPLETED");
+
+            ReconciliationReport report = reconciliationUseCase.reconcile(staleBefore, notBefore, deadline);
+
+            assertThat(report).isEqualTo(new ReconciliationReport(2, 1, 0, 1, 0));
+        }
+    }
+
+    @Nested
+    @DisplayName("paging and budgets")
+    class PagingAndBudgets {
+
+        @Test
+        @DisplayName("should page through the backlog with a keyset cursor from the last row of each chunk")
+        void shouldPageWithKeysetCursor() {
+            reconciliationUseCase = useCaseWith(RateLimiterRegistry.ofDefaults(), 2);
+            PendingPayment first = pending("ws_CO_1", Instant.now().minus(Duration.ofMinutes(10)));
+            PendingPayment second = pending("ws_CO_2", Instant.now().minus(Duration.ofMinutes(20)));
+            PendingPayment third = pending("ws_CO_3", Instant.now().minus(Duration.ofMinutes(30)));
+            PageCursor afterSecond = new PageCursor(second.createdAt(), second.transactionId());
+            when(pendingPaymentRepository.findStalePending(staleBefore, notBefore, null, 2))
+                    .thenReturn(List.of(first, second));
+            when(pendingPaymentRepository.findStalePending(staleBefore, notBefore, afterSecond, 2))
+                    .thenReturn(List.of(third));
+            stubMpesaRoute();
+            stubStatus("ws_CO_1", "PENDING");
+            stubStatus("ws_CO_2", "PENDING");
+            stubStatus("ws_CO_3", "PENDING");
+
+            ReconciliationReport report = reconciliationUseCase.reconcile(staleBefore, notBefore, deadline);
+
+            assertThat(report.scanned()).isEqualTo(3);
+            verify(pendingPaymentRepository, times(2)).findStalePending(any(), any(), any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("should defer payments once the gateway's rate budget is spent")
+        void shouldDeferWhenRateBudgetSpent() {
+            RateLimiterRegistry tightBudget = RateLimiterRegistry.of(RateLimiterConfig.custom()
+                    .limitForPeriod(1)
+                    .limitRefreshPeriod(Duration.ofMinutes(1))
+                    .timeoutDuration(Duration.ZERO)
+                    .build());
+            reconciliationUseCase = useCaseWith(tightBudget, 200);
+            PendingPayment first = pending("ws_CO_1", Instant.now().minus(Duration.ofMinutes(10)));
+            PendingPayment second = pending("ws_CO_2", Instant.now().minus(Duration.ofMinutes(11)));
+            when(pendingPaymentRepository.findStalePending(staleBefore, notBefore, null, 200))
+                    .thenReturn(List.of(first, second));
+            stubMpesaRoute();
+            stubStatus("ws_CO_1", "COMPLETED");
+
+            ReconciliationReport report = reconciliationUseCase.reconcile(staleBefore, notBefore, deadline);
+
+            verify(mpesaGateway, never()).checkStatus("ws_CO_2");
+            assertThat(report).isEqualTo(new ReconciliationReport(2, 1, 0, 0, 1));
+        }
+
+        @Test
+        @DisplayName("should not start when the run deadline has already passed")
+        void shouldNotStartAfterDeadline() {
+            ReconciliationReport report = reconciliationUseCase.reconcile(
+                    staleBefore, notBefore, Instant.now().minusSeconds(1));
+
+            verifyNoInteractions(pendingPaymentRepository, paymentRouter, paymentUseCase);
+            assertThat(report).isEqualTo(new ReconciliationReport(0, 0, 0, 0, 0));
+        }
+    }
+}
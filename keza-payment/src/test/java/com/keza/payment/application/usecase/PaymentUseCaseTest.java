@@ -2,10 +2,14 @@ package com.keza.payment.application.usecase;
 
 import com.keza.common.enums.PaymentMethod;
 import com.keza.common.exception.BusinessRuleException;
+import com.keza.common.exception.RateLimitException;
+import com.keza.infrastructure.messaging.event.PaymentCallbackEvent;
+import com.keza.infrastructure.outbox.OutboxPublisher;
 import com.keza.payment.domain.model.PaymentInitiationResult;
 import com.keza.payment.domain.model.PaymentStatusResult;
 import com.keza.payment.domain.model.RefundResult;
 import com.keza.payment.domain.port.out.PaymentGateway;
+import com.keza.payment.domain.port.out.PendingPaymentRepository;
 import com.keza.payment.domain.service.PaymentRouter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,7 +21,6 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 
@@ -25,6 +28,8 @@ import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import static com.keza.infrastructure.config.RabbitMQConfig.PAYMENT_EXCHANGE;
@@ -41,19 +46,21 @@ class PaymentUseCaseTest {
     @Mock
     private PaymentRouter paymentRouter;
     @Mock
-    private RabbitTemplate rabbitTemplate;
+    private OutboxPublisher outboxPublisher;
     @Mock
     private StringRedisTemplate redisTemplate;
     @Mock
     private ValueOperations<String, String> valueOperations;
     @Mock
     private PaymentGateway paymentGateway;
+    @Mock
+    private PendingPaymentRepository pendingPaymentRepository;
 
     @InjectMocks
     private PaymentUseCase paymentUseCase;
 
     @Captor
-    private ArgumentCaptor<Map<String, Object>> eventCaptor;
+    private ArgumentCaptor<PaymentCallbackEvent> eventCaptor;
 
     private UUID transactionId;
 
@@ -86,6 +93,7 @@ class PaymentUseCaseTest {
 
             verify(paymentRouter).route(PaymentMethod.MPESA);
             verify(paymentGateway).initiatePayment(eq(transactionId), any(), eq("KES"), eq(metadata));
+            verify(pendingPaymentRepository).attachProviderReference(transactionId, "ws_CO_123");
         }
 
         @Test
@@ -117,6 +125,7 @@ class PaymentUseCaseTest {
 
             assertThat(result.success()).isFalse();
             assertThat(result.message()).isEqualTo("Phone number invalid");
+            verifyNoInteractions(pendingPaymentRepository);
         }
 
         @Test
@@ -188,6 +197,61 @@ class PaymentUseCaseTest {
         }
     }
 
+    @Nested
+    @DisplayName("initiatePaymentAsync")
+    class InitiatePaymentAsync {
+
+        @Test
+        @DisplayName("should run the gateway call on the payment gateway executor")
+        void shouldRunGatewayCallOnExecutor() {
+            PaymentUseCase asyncUseCase = new PaymentUseCase(
+                    paymentRouter, outboxPublisher, redisTemplate, pendingPaymentRepository, Runnable::run);
+            Map<String, String> metadata = Map.of("amount", "5000", "phoneNumber", "254712345678");
+
+            when(paymentRouter.route(PaymentMethod.MPESA)).thenReturn(paymentGateway);
+            when(paymentGateway.initiatePayment(eq(transactionId), eq(new BigDecimal("5000")), eq("KES"), eq(metadata)))
+                    .thenReturn(new PaymentInitiationResult(true, "ws_CO_123", null, "STK push sent"));
+
+            PaymentInitiationResult result = asyncUseCase
+                    .initiatePaymentAsync(transactionId, PaymentMethod.MPESA, metadata)
+                    .join();
+
+            assertThat(result.success()).isTrue();
+            assertThat(result.providerReference()).isEqualTo("ws_CO_123");
+        }
+
+        @Test
+        @DisplayName("should validate before handing off to the executor")
+        void shouldValidateBeforeHandOff() {
+            Executor executor = mock(Executor.class);
+            PaymentUseCase asyncUseCase = new PaymentUseCase(
+                    paymentRouter, outboxPublisher, redisTemplate, pendingPaymentRepository, executor);
+
+            assertThatThrownBy(() -> asyncUseCase.initiatePaymentAsync(null, PaymentMethod.MPESA, Map.of("amount", "1")))
+                    .isInstanceOf(BusinessRuleException.class);
+
+            verifyNoInteractions(executor);
+        }
+
+        @Test
+        @DisplayName("should reject with RATE_LIMITED when the executor is saturated")
+        void shouldRejectWhenExecutorSaturated() {
+            Executor saturated = task -> {
+                throw new RejectedExecutionException("queue full");
+            };
+            PaymentUseCase asyncUseCase = new PaymentUseCase(
+                    paymentRouter, outboxPublisher, redisTemplate, pendingPaymentRepository, saturated);
+
+            when(paymentRouter.route(PaymentMethod.MPESA)).thenReturn(paymentGateway);
+
+            assertThatThrownBy(() -> asyncUseCase.initiatePaymentAsync(
+                    transactionId, PaymentMethod.MPESA, Map.of("amount", "5000")))
+                    .isInstanceOf(RateLimitException.class);
+
+            verifyNoInteractions(paymentGateway);
+        }
+    }
+
     @Nested
     @DisplayName("handlePaymentCallback")
     class HandlePaymentCallback {
@@ -210,14 +274,15 @@ class PaymentUseCaseTest {
                     eq(24L),
                     eq(TimeUnit.HOURS));
 
-            verify(rabbitTemplate).convertAndSend(eq(PAYMENT_EXCHANGE), eq(PAYMENT_ROUTING_KEY), eventCaptor.capture());
+            verify(outboxPublisher).publish(eq("Payment"), eq(providerReference), eq(PAYMENT_EXCHANGE), eq(PAYMENT_ROUTING_KEY),
+                    eventCaptor.capture());
 
-            Map<String, Object> event = eventCaptor.getValue();
-            assertThat(event).containsEntry("providerReference", providerReference);
-            assertThat(event).containsEntry("success", true);
-            assertThat(event).containsEntry("status", "COMPLETED");
-            assertThat(event).containsKey("timestamp");
-            assertThat(event).containsKey("metadata");
+            PaymentCallbackEvent event = eventCaptor.getValue();
+            assertThat(event.providerReference()).isEqualTo(providerReference);
+            assertThat(event.success()).isTrue();
+            assertThat(event.status()).isEqualTo(PaymentCallbackEvent.COMPLETED);
+            assertThat(event.timestamp()).isPositive();
+            assertThat(event.metadata()).isEqualTo(metadata);
         }
 
         @Test
@@ -233,8 +298,9 @@ class PaymentUseCaseTest {
             verify(valueOperations).setIfAbsent(
                     anyString(), eq("FAILED"), anyLong(), any(TimeUnit.class));
 
-            verify(rabbitTemplate).convertAndSend(eq(PAYMENT_EXCHANGE), eq(PAYMENT_ROUTING_KEY), eventCaptor.capture());
-            assertThat(eventCaptor.getValue()).containsEntry("status", "FAILED");
+            verify(outboxPublisher).publish(eq("Payment"), eq(providerReference), eq(PAYMENT_EXCHANGE), eq(PAYMENT_ROUTING_KEY),
+                    eventCaptor.capture());
+            assertThat(eventCaptor.getValue().status()).isEqualTo(PaymentCallbackEvent.FAILED);
         }
 
         @Test
@@ -247,7 +313,7 @@ class PaymentUseCaseTest {
 
             paymentUseCase.handlePaymentCallback(providerReference, true, null);
 
-            verify(rabbitTemplate, never()).convertAndSend(anyString(), anyString(), any(Object.class));
+            verify(outboxPublisher, never()).publish(anyString(), any(), anyString(), anyString(), any());
         }
 
         @Test
@@ -255,7 +321,7 @@ class PaymentUseCaseTest {
         void shouldIgnoreNullProviderReference() {
             paymentUseCase.handlePaymentCallback(null, true, null);
 
-            verifyNoInteractions(redisTemplate, rabbitTemplate);
+            verifyNoInteractions(redisTemplate, outboxPublisher);
         }
 
         @Test
@@ -263,7 +329,7 @@ class PaymentUseCaseTest {
         void shouldIgnoreBlankProviderReference() {
             paymentUseCase.handlePaymentCallback("  ", true, null);
 
-            verifyNoInteractions(redisTemplate, rabbitTemplate);
+            verifyNoInteractions(redisTemplate, outboxPublisher);
         }
 
         @Test
@@ -276,8 +342,29 @@ class PaymentUseCaseTest {
 
             paymentUseCase.handlePaymentCallback(providerReference, true, null);
 
-            verify(rabbitTemplate).convertAndSend(eq(PAYMENT_EXCHANGE), eq(PAYMENT_ROUTING_KEY), eventCaptor.capture());
-            assertThat(eventCaptor.getValue()).doesNotContainKey("metadata");
+            verify(outboxPublisher).publish(eq("Payment"), eq(providerReference), eq(PAYMENT_EXCHANGE), eq(PAYMENT_ROUTING_KEY),
+                    eventCaptor.capture());
+            assertThat(eventCaptor.getValue().metadata()).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("applyReconciledOutcome")
+    class ApplyReconciledOutcome {
+
+        @Test
+        @DisplayName("should publish even when the callback was already seen, and refresh the idempotency key")
+        void shouldPublishPastIdempotencyKey() {
+            String providerReference = "ws_CO_dead_lettered";
+            when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+            paymentUseCase.applyReconciledOutcome(providerReference, true, Map.of("source", "reconciliation"));
+
+            verify(outboxPublisher).publish(eq("Payment"), eq(providerReference), eq(PAYMENT_EXCHANGE), eq(PAYMENT_ROUTING_KEY),
+                    eventCaptor.capture());
+            assertThat(eventCaptor.getValue().status()).isEqualTo(PaymentCallbackEvent.COMPLETED);
+            verify(valueOperations).set("keza:payment:callback:" + providerReference, "SUCCESS", 24L, TimeUnit.HOURS);
+            verify(valueOperations, never()).setIfAbsent(anyString(), anyString(), anyLong(), any(TimeUnit.class));
         }
     }
 
@@ -300,11 +387,13 @@ class PaymentUseCaseTest {
             assertThat(result.success()).isTrue();
             assertThat(result.refundReference()).isEqualTo("conv-id-456");
 
-            verify(rabbitTemplate).convertAndSend(eq(PAYMENT_EXCHANGE), eq(PAYMENT_ROUTING_KEY), eventCaptor.capture());
-            Map<String, Object> event = eventCaptor.getValue();
-            assertThat(event).containsEntry("transactionId", transactionId.toString());
-            assertThat(event).containsEntry("status", "REFUNDED");
-            assertThat(event).containsEntry("refundReference", "conv-id-456");
+            verify(outboxPublisher).publish(eq("Payment"), eq(providerRef), eq(PAYMENT_EXCHANGE), eq(PAYMENT_ROUTING_KEY),
+                    eventCaptor.capture());
+            PaymentCallbackEvent event = eventCaptor.getValue();
+            assertThat(event.transactionId()).isEqualTo(transactionId.toString());
+            assertThat(event.status()).isEqualTo(PaymentCallbackEvent.REFUNDED);
+            assertThat(event.refundReference()).isEqualTo("conv-id-456");
+            assertThat(event.amount()).isEqualTo("5000");
         }
 
         @Test
@@ -320,7 +409,7 @@ class PaymentUseCaseTest {
             RefundResult result = paymentUseCase.processRefund(transactionId, providerRef, PaymentMethod.MPESA, amount);
 
             assertThat(result.success()).isFalse();
-            verifyNoInteractions(rabbitTemplate);
+            verifyNoInteractions(outboxPublisher);
         }
 
         @Test
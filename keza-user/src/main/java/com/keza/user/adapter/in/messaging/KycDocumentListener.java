@@ -20,7 +20,8 @@ public class KycDocumentListener {
 
     private final DocumentProcessingPort documentProcessingPort;
 
-    @RabbitListener(queues = RabbitMQConfig.KYC_PROCESSING_QUEUE, ackMode = "MANUAL")
+    @RabbitListener(queues = RabbitMQConfig.KYC_PROCESSING_QUEUE, ackMode = "MANUAL",
+            containerFactory = RabbitMQConfig.KYC_LISTENER_FACTORY)
     public void handleKycDocumentProcessing(UUID documentId, Channel channel,
                                             @Header(AmqpHeaders.DELIVERY_TAG) long deliveryTag) {
         log.info("Received KYC document processing request: documentId={}", documentId);
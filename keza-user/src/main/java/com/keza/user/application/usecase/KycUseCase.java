@@ -7,6 +7,7 @@ import com.keza.common.exception.ForbiddenException;
 import com.keza.common.exception.ResourceNotFoundException;
 import com.keza.infrastructure.audit.AuditLogger;
 import com.keza.infrastructure.config.RabbitMQConfig;
+import com.keza.infrastructure.outbox.OutboxPublisher;
 import com.keza.infrastructure.config.StorageConfig;
 import com.keza.infrastructure.config.StorageService;
 import com.keza.user.application.dto.KycDocumentResponse;
@@ -19,7 +20,6 @@ import com.keza.user.domain.port.out.UserRepository;
 import com.keza.user.domain.service.KycStateMachine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -48,7 +48,7 @@ public class KycUseCase {
     private final UserRepository userRepository;
     private final StorageService storageService;
     private final StorageConfig storageConfig;
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxPublisher outboxPublisher;
     private final KycStateMachine kycStateMachine;
     private final ApplicationEventPublisher eventPublisher;
     private final AuditLogger auditLogger;
@@ -97,8 +97,10 @@ public class KycUseCase {
                     userId, oldStatus, KycStatus.SUBMITTED.name(), document.getId()));
         }
 
-        // Publish message to RabbitMQ for async processing
-        rabbitTemplate.convertAndSend(
+        // Queue the document for async processing; sent once this transaction commits
+        outboxPublisher.publish(
+                "KycDocument",
+                document.getId(),
                 RabbitMQConfig.KYC_EXCHANGE,
                 RabbitMQConfig.KYC_ROUTING_KEY,
                 document.getId()
@@ -8,6 +8,7 @@ import com.keza.common.exception.ResourceNotFoundException;
 import com.keza.infrastructure.audit.AuditLogger;
 import com.keza.infrastructure.config.StorageConfig;
 import com.keza.infrastructure.config.StorageService;
+import com.keza.infrastructure.outbox.OutboxPublisher;
 import com.keza.user.application.dto.KycDocumentResponse;
 import com.keza.user.domain.event.KycStatusChangedEvent;
 import com.keza.user.domain.model.KycDocument;
@@ -26,7 +27,6 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
@@ -48,7 +48,7 @@ class KycUseCaseTest {
     @Mock private UserRepository userRepository;
     @Mock private StorageService storageService;
     @Mock private StorageConfig storageConfig;
-    @Mock private RabbitTemplate rabbitTemplate;
+    @Mock private OutboxPublisher outboxPublisher;
     @Mock private KycStateMachine kycStateMachine;
     @Mock private ApplicationEventPublisher eventPublisher;
     @Mock private AuditLogger auditLogger;
@@ -121,7 +121,7 @@ class KycUseCaseTest {
             assertThat(response.getDocumentType()).isEqualTo("NATIONAL_ID");
             assertThat(response.getStatus()).isEqualTo("PENDING");
             verify(storageService).upload(eq("keza-kyc-bucket"), anyString(), any(), eq(1024L), eq("image/jpeg"));
-            verify(rabbitTemplate).convertAndSend(anyString(), anyString(), eq(DOCUMENT_ID));
+            verify(outboxPublisher).publish(eq("KycDocument"), eq(DOCUMENT_ID), anyString(), anyString(), eq(DOCUMENT_ID));
             verify(auditLogger).log(eq("KYC_DOCUMENT_UPLOADED"), anyString(), anyString(), anyString());
         }
 